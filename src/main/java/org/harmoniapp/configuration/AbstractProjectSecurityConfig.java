@@ -7,7 +7,7 @@ import org.harmoniapp.exceptionhandling.CustomBasicAuthenticationEntryPoint;
 import org.harmoniapp.filter.AuthoritiesLoggingAfterFilter;
 import org.harmoniapp.filter.CsrfCookieFilter;
 import org.harmoniapp.filter.JWTTokenValidationFilter;
-import org.harmoniapp.repositories.user.UserRepository;
+import org.harmoniapp.services.auth.TokenRevocationService;
 import org.harmoniapp.utils.JwtTokenUtil;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -38,8 +38,7 @@ import java.util.List;
 public abstract class AbstractProjectSecurityConfig {
     protected final AclConfig aclConfig;
     protected final JwtTokenUtil jwtTokenUtil;
-    protected final HarmoniUserDetailsService harmoniUserDetailsService;
-    protected final UserRepository userRepository;
+    protected final TokenRevocationService tokenRevocationService;
 
     /**
      * Configures the default security filter chain.
@@ -107,7 +106,7 @@ public abstract class AbstractProjectSecurityConfig {
                         .csrfTokenRepository(CookieCsrfTokenRepository.withHttpOnlyFalse()))
                 .addFilterAfter(new CsrfCookieFilter(), BasicAuthenticationFilter.class)
                 .addFilterAfter(new AuthoritiesLoggingAfterFilter(), BasicAuthenticationFilter.class)
-                .addFilterBefore(new JWTTokenValidationFilter(jwtTokenUtil, harmoniUserDetailsService, userRepository), BasicAuthenticationFilter.class);
+                .addFilterBefore(new JWTTokenValidationFilter(jwtTokenUtil, tokenRevocationService), BasicAuthenticationFilter.class);
     }
 
     /**
@@ -36,6 +36,7 @@ public class AclConfigImpl implements AclConfig {
         configureProfileEndpoints(http);
         configureScheduleEndpoints(http);
         configureUserEndpoints(http);
+        configureActuatorEndpoints(http);
     }
 
     /**
@@ -92,7 +93,8 @@ public class AclConfigImpl implements AclConfig {
     private void configureImportExportEndpoints(HttpSecurity http) throws Exception {
         http.authorizeHttpRequests(request -> request
                 .requestMatchers("/excel/**").hasRole("ADMIN")
-                .requestMatchers("/pdf/**").hasRole("ADMIN"));
+                .requestMatchers("/pdf/**").hasRole("ADMIN")
+                .requestMatchers("/export-jobs/**").hasRole("ADMIN"));
     }
 
     /**
@@ -148,7 +150,7 @@ public class AclConfigImpl implements AclConfig {
     private void configureUserEndpoints(HttpSecurity http) throws Exception {
         http.authorizeHttpRequests(request -> request
                 .requestMatchers("/user/simple/empId/**", "/user/simple/**").hasAnyRole("USER", "ADMIN")
-                .requestMatchers("/user/supervisor", "/user/search").hasRole("ADMIN")
+                .requestMatchers("/user/supervisor", "/user/supervisor/page", "/user/search", "/user/list", "/user/page").hasRole("ADMIN")
                 .requestMatchers("/user/{id}/photo").authenticated()
                 .requestMatchers(new AntPathRequestMatcher("/user/{id}/changePassword"),
                         new AntPathRequestMatcher("/user/{id}/uploadPhoto"),
@@ -157,4 +159,17 @@ public class AclConfigImpl implements AclConfig {
                 .requestMatchers("/user/**").hasRole("ADMIN")
                 .requestMatchers("/userPhoto/**").hasAnyRole("USER", "ADMIN"));
     }
+
+    /**
+     * Configures the security settings for actuator endpoints.
+     * The health endpoint is public, so load balancers and orchestrators can probe it without a token.
+     *
+     * @param http the HttpSecurity object to configure
+     * @throws Exception if an error occurs while configuring security settings
+     */
+    private void configureActuatorEndpoints(HttpSecurity http) throws Exception {
+        http.authorizeHttpRequests(request -> request
+                .requestMatchers("/actuator/health", "/actuator/health/**").permitAll()
+                .requestMatchers("/actuator/**").hasRole("ADMIN"));
+    }
 }
@@ -0,0 +1,174 @@
+package org.harmoniapp.configuration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Configuration of the executors used by {@code @Async} methods.
+ * <p>
+ * Every workload runs on its own bounded executor, so a burst in one of them (e.g. notifications of a published
+ * schedule) cannot starve the others. Queue depth and pool size of each executor are published by the actuator
+ * as {@code executor.*} metrics tagged with the bean name, while queue wait and execution time are recorded
+ * as {@code harmoni.executor.wait} and {@code harmoni.executor.execution} timers.
+ * </p>
+ * <p>
+ * The defaults below are the only place where the executor sizes are set; a deployment overrides them with the
+ * {@code async.<executor>.*} properties (e.g. {@code ASYNC_EXPORT_CORE_POOL_SIZE}).
+ * </p>
+ */
+@Configuration
+@RequiredArgsConstructor
+public class AsyncConfig {
+    public static final String CHAT_EXECUTOR = "chatExecutor";
+    public static final String NOTIFICATION_EXECUTOR = "notificationExecutor";
+    public static final String MVC_ASYNC_EXECUTOR = "mvcAsyncExecutor";
+    public static final String EXPORT_JOB_EXECUTOR = "exportJobExecutor";
+    public static final String PASSWORD_HASHING_EXECUTOR = "passwordHashingExecutor";
+
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Executor for websocket chat fan-out.
+     * When the queue is full the caller sends the message itself, which slows down the producer instead of dropping messages.
+     *
+     * @param corePoolSize  the core number of threads
+     * @param maxPoolSize   the maximum number of threads
+     * @param queueCapacity the capacity of the task queue
+     * @return the chat executor
+     */
+    @Bean(name = CHAT_EXECUTOR)
+    public ThreadPoolTaskExecutor chatExecutor(@Value("${async.chat.core-pool-size:4}") int corePoolSize,
+                                               @Value("${async.chat.max-pool-size:8}") int maxPoolSize,
+                                               @Value("${async.chat.queue-capacity:500}") int queueCapacity) {
+        return createExecutor(CHAT_EXECUTOR, corePoolSize, maxPoolSize, queueCapacity, new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    /**
+     * Executor for creating and pushing notifications.
+     * When the queue is full the caller creates the notification itself, which applies backpressure to the publisher.
+     *
+     * @param corePoolSize  the core number of threads
+     * @param maxPoolSize   the maximum number of threads
+     * @param queueCapacity the capacity of the task queue
+     * @return the notification executor
+     */
+    @Bean(name = NOTIFICATION_EXECUTOR)
+    public ThreadPoolTaskExecutor notificationExecutor(@Value("${async.notification.core-pool-size:2}") int corePoolSize,
+                                                       @Value("${async.notification.max-pool-size:4}") int maxPoolSize,
+                                                       @Value("${async.notification.queue-capacity:1000}") int queueCapacity) {
+        return createExecutor(NOTIFICATION_EXECUTOR, corePoolSize, maxPoolSize, queueCapacity, new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    /**
+     * Executor for asynchronous request processing of Spring MVC, e.g. writing streamed export files.
+     * It serves only the MVC async work, so background workloads cannot fill it. Tasks exceeding the queue capacity
+     * are rejected instead of being run by the request thread; the client gets 503 with {@code Retry-After}.
+     *
+     * @param corePoolSize  the core number of threads
+     * @param maxPoolSize   the maximum number of threads
+     * @param queueCapacity the capacity of the task queue
+     * @return the MVC async executor
+     */
+    @Bean(name = MVC_ASYNC_EXECUTOR)
+    public ThreadPoolTaskExecutor mvcAsyncExecutor(@Value("${async.mvc.core-pool-size:4}") int corePoolSize,
+                                                   @Value("${async.mvc.max-pool-size:8}") int maxPoolSize,
+                                                   @Value("${async.mvc.queue-capacity:50}") int queueCapacity) {
+        return createExecutor(MVC_ASYNC_EXECUTOR, corePoolSize, maxPoolSize, queueCapacity, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Executor for background export jobs.
+     * It is separate from the MVC async executor used by streamed responses, so long running jobs cannot delay
+     * synchronous exports. Jobs exceeding the queue capacity are rejected and the user is asked to retry later.
+     *
+     * @param corePoolSize  the core number of threads
+     * @param maxPoolSize   the maximum number of threads
+     * @param queueCapacity the capacity of the task queue
+     * @return the export job executor
+     */
+    @Bean(name = EXPORT_JOB_EXECUTOR)
+    public ThreadPoolTaskExecutor exportJobExecutor(@Value("${async.export-job.core-pool-size:2}") int corePoolSize,
+                                                    @Value("${async.export-job.max-pool-size:2}") int maxPoolSize,
+                                                    @Value("${async.export-job.queue-capacity:50}") int queueCapacity) {
+        return createExecutor(EXPORT_JOB_EXECUTOR, corePoolSize, maxPoolSize, queueCapacity, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Executor for hashing passwords of users created in bulk.
+     * Hashing is CPU bound, so by default the pool has one thread per available processor. When the queue is full
+     * the caller hashes the password itself, which keeps the whole batch progressing instead of failing it.
+     *
+     * @param poolSize      the number of threads
+     * @param queueCapacity the capacity of the task queue
+     * @return the password hashing executor
+     */
+    @Bean(name = PASSWORD_HASHING_EXECUTOR)
+    public ThreadPoolTaskExecutor passwordHashingExecutor(
+            @Value("${async.password-hashing.pool-size:#{T(java.lang.Runtime).getRuntime().availableProcessors()}}") int poolSize,
+            @Value("${async.password-hashing.queue-capacity:500}") int queueCapacity) {
+        return createExecutor(PASSWORD_HASHING_EXECUTOR, poolSize, poolSize, queueCapacity, new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    /**
+     * Creates a bounded executor with named threads and timed tasks.
+     *
+     * @param name              the name of the executor, used as the thread name prefix and the metric tag
+     * @param corePoolSize      the core number of threads
+     * @param maxPoolSize       the maximum number of threads
+     * @param queueCapacity     the capacity of the task queue
+     * @param rejectionHandler  the policy applied when both the pool and the queue are full
+     * @return the configured executor
+     */
+    private ThreadPoolTaskExecutor createExecutor(String name, int corePoolSize, int maxPoolSize, int queueCapacity,
+                                                  RejectedExecutionHandler rejectionHandler) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix(name + "-");
+        executor.setCorePoolSize(corePoolSize);
+        executor.setMaxPoolSize(maxPoolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setRejectedExecutionHandler(rejectionHandler);
+        executor.setTaskDecorator(timedTaskDecorator(name));
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+
+    /**
+     * Creates a task decorator recording how long tasks wait in the queue and how long they run.
+     *
+     * @param name the name of the executor, used as the metric tag
+     * @return the task decorator
+     */
+    private TaskDecorator timedTaskDecorator(String name) {
+        Timer waitTimer = Timer.builder("harmoni.executor.wait")
+                .description("Time tasks spend in the executor queue")
+                .tag("name", name)
+                .register(meterRegistry);
+        Timer executionTimer = Timer.builder("harmoni.executor.execution")
+                .description("Time tasks spend running on the executor")
+                .tag("name", name)
+                .register(meterRegistry);
+        return runnable -> {
+            long submittedAt = System.nanoTime();
+            return () -> {
+                long startedAt = System.nanoTime();
+                waitTimer.record(startedAt - submittedAt, TimeUnit.NANOSECONDS);
+                try {
+                    runnable.run();
+                } finally {
+                    executionTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+                }
+            };
+        };
+    }
+}
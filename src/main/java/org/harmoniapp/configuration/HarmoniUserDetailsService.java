@@ -4,15 +4,12 @@ package org.harmoniapp.configuration;
 import lombok.RequiredArgsConstructor;
 import org.harmoniapp.entities.user.User;
 import org.harmoniapp.repositories.RepositoryCollector;
-import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.harmoniapp.services.auth.UserAuthenticationView;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
-import java.util.List;
-
 /**
  * Service class for loading user-specific data.
  * Implements the UserDetailsService interface to provide user details for authentication.
@@ -24,6 +21,8 @@ public class HarmoniUserDetailsService implements UserDetailsService {
 
     /**
      * Loads the user details by username.
+     * The user is always read from the database, as the details carry the password hash checked on login.
+     * Requests authenticated with a token use the {@link org.harmoniapp.services.auth.UserAuthenticationCache} instead.
      *
      * @param username the username identifying the user whose data is required
      * @return a fully populated UserDetails object
@@ -32,9 +31,9 @@ public class HarmoniUserDetailsService implements UserDetailsService {
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
         User user = fetchUserByUsername(username);
-        validateUser(user);
-        List<GrantedAuthority> authorities = getUserAuthorities(user);
-        return new org.springframework.security.core.userdetails.User(user.getEmail(), user.getPassword(), authorities);
+        UserAuthenticationView view = UserAuthenticationView.fromEntity(user);
+        view.validate();
+        return new org.springframework.security.core.userdetails.User(user.getEmail(), user.getPassword(), view.authorities());
     }
 
     /**
@@ -48,36 +47,4 @@ public class HarmoniUserDetailsService implements UserDetailsService {
         return repositoryCollector.getUsers().findByEmail(username)
                 .orElseThrow(() -> new UsernameNotFoundException("Nieprawidłowy login lub hasło"));
     }
-
-    /**
-     * Validates the user.
-     *
-     * @param user the User object to validate
-     * @throws UsernameNotFoundException if the user is inactive, has no password, or is locked due to multiple failed login attempts
-     */
-    private void validateUser(User user) {
-        if (!user.getIsActive()) {
-            throw new UsernameNotFoundException("Nieprawidłowy login lub hasło");
-        }
-        if (user.getPassword() == null) {
-            throw new UsernameNotFoundException("Nieprawidłowy login lub hasło");
-        }
-        if (user.getFailedLoginAttempts() >= 3) {
-            throw new UsernameNotFoundException("Konto zablokowane. Skontaktuj się z administratorem");
-        }
-    }
-
-    /**
-     * Gets the authorities granted to the user.
-     *
-     * @param user the User object
-     * @return a list of granted authorities
-     */
-    private List<GrantedAuthority> getUserAuthorities(User user) {
-        if (user.getRoles().stream().anyMatch(r -> r.getName().equalsIgnoreCase("ADMIN"))) {
-            return List.of(new SimpleGrantedAuthority("ROLE_ADMIN"));
-        } else {
-            return List.of(new SimpleGrantedAuthority("ROLE_USER"));
-        }
-    }
 }
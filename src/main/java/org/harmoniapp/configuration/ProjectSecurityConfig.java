@@ -1,6 +1,6 @@
 package org.harmoniapp.configuration;
 
-import org.harmoniapp.repositories.user.UserRepository;
+import org.harmoniapp.services.auth.TokenRevocationService;
 import org.harmoniapp.utils.JwtTokenUtil;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
@@ -22,8 +22,8 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 public class ProjectSecurityConfig extends AbstractProjectSecurityConfig {
 
     @Autowired
-    public ProjectSecurityConfig(AclConfig aclConfig, JwtTokenUtil jwtTokenUtil, HarmoniUserDetailsService harmoniUserDetailsService, UserRepository userRepository) {
-        super(aclConfig, jwtTokenUtil, harmoniUserDetailsService, userRepository);
+    public ProjectSecurityConfig(AclConfig aclConfig, JwtTokenUtil jwtTokenUtil, TokenRevocationService tokenRevocationService) {
+        super(aclConfig, jwtTokenUtil, tokenRevocationService);
     }
 
     /**
@@ -1,6 +1,6 @@
 package org.harmoniapp.configuration;
 
-import org.harmoniapp.repositories.user.UserRepository;
+import org.harmoniapp.services.auth.TokenRevocationService;
 import org.harmoniapp.utils.JwtTokenUtil;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
@@ -21,8 +21,8 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 @Profile("prod")
 public class ProjectSecurityProdConfig extends AbstractProjectSecurityConfig {
     @Autowired
-    public ProjectSecurityProdConfig(AclConfig aclConfig, JwtTokenUtil jwtTokenUtil, HarmoniUserDetailsService harmoniUserDetailsService, UserRepository userRepository) {
-        super(aclConfig, jwtTokenUtil, harmoniUserDetailsService, userRepository);
+    public ProjectSecurityProdConfig(AclConfig aclConfig, JwtTokenUtil jwtTokenUtil, TokenRevocationService tokenRevocationService) {
+        super(aclConfig, jwtTokenUtil, tokenRevocationService);
     }
 
     /**
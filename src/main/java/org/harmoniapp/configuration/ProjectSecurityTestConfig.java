@@ -2,7 +2,7 @@ package org.harmoniapp.configuration;
 
 import org.harmoniapp.filter.AuthoritiesLoggingAfterFilter;
 import org.harmoniapp.filter.JWTTokenValidationFilter;
-import org.harmoniapp.repositories.user.UserRepository;
+import org.harmoniapp.services.auth.TokenRevocationService;
 import org.harmoniapp.utils.JwtTokenUtil;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
@@ -21,8 +21,8 @@ import org.springframework.security.web.authentication.www.BasicAuthenticationFi
 public class ProjectSecurityTestConfig extends AbstractProjectSecurityConfig{
 
     @Autowired
-    public ProjectSecurityTestConfig(AclConfig aclConfig, JwtTokenUtil jwtTokenUtil, HarmoniUserDetailsService harmoniUserDetailsService, UserRepository userRepository) {
-        super(aclConfig, jwtTokenUtil, harmoniUserDetailsService, userRepository);
+    public ProjectSecurityTestConfig(AclConfig aclConfig, JwtTokenUtil jwtTokenUtil, TokenRevocationService tokenRevocationService) {
+        super(aclConfig, jwtTokenUtil, tokenRevocationService);
     }
 
     /**
@@ -35,7 +35,7 @@ public class ProjectSecurityTestConfig extends AbstractProjectSecurityConfig{
     protected void configureCsrf(HttpSecurity http) throws Exception {
         http.csrf(AbstractHttpConfigurer::disable)
                 .addFilterAfter(new AuthoritiesLoggingAfterFilter(), BasicAuthenticationFilter.class)
-                .addFilterBefore(new JWTTokenValidationFilter(jwtTokenUtil, harmoniUserDetailsService, userRepository), BasicAuthenticationFilter.class);
+                .addFilterBefore(new JWTTokenValidationFilter(jwtTokenUtil, tokenRevocationService), BasicAuthenticationFilter.class);
     }
 
 
@@ -0,0 +1,96 @@
+package org.harmoniapp.configuration;
+
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+
+import java.util.function.UnaryOperator;
+
+/**
+ * Maps the destinations used by the clients and the application onto destinations accepted by the external
+ * STOMP broker and back.
+ * <p>
+ * RabbitMQ only accepts the {@code /topic}, {@code /queue}, {@code /exchange}, {@code /amq/queue} and
+ * {@code /temp-queue} destinations and uses dots as separators of topic routing keys, so {@code /client/group/5}
+ * is relayed as {@code /topic/client.group.5}. ActiveMQ treats the same destination as a topic as well.
+ * Clients keep using the {@code /client/...} destinations; the mapping is only visible to the broker.
+ * </p>
+ */
+public class RelayDestinationMapper {
+    public static final String CLIENT_PREFIX = "/client/";
+    public static final String BROKER_PREFIX = "/topic/";
+    private static final String BROKER_CLIENT_PREFIX = BROKER_PREFIX + "client.";
+
+    /**
+     * Maps a client destination onto the broker destination.
+     *
+     * @param destination the client destination, e.g. {@code /client/group/5}
+     * @return the broker destination, e.g. {@code /topic/client.group.5}, or the given destination
+     * if it is not a client destination
+     */
+    public String toBrokerDestination(String destination) {
+        if (destination == null || !destination.startsWith(CLIENT_PREFIX)) {
+            return destination;
+        }
+        return BROKER_CLIENT_PREFIX + destination.substring(CLIENT_PREFIX.length()).replace('/', '.');
+    }
+
+    /**
+     * Maps a broker destination back onto the client destination.
+     *
+     * @param destination the broker destination, e.g. {@code /topic/client.group.5}
+     * @return the client destination, e.g. {@code /client/group/5}, or the given destination
+     * if it was not mapped from a client destination
+     */
+    public String toClientDestination(String destination) {
+        if (destination == null || !destination.startsWith(BROKER_CLIENT_PREFIX)) {
+            return destination;
+        }
+        return CLIENT_PREFIX + destination.substring(BROKER_CLIENT_PREFIX.length()).replace('.', '/');
+    }
+
+    /**
+     * Creates an interceptor rewriting client destinations of the messages sent to the broker.
+     * It is registered on the client inbound channel and on the broker channel.
+     *
+     * @return the ChannelInterceptor
+     */
+    public ChannelInterceptor toBrokerInterceptor() {
+        return new DestinationInterceptor(this::toBrokerDestination);
+    }
+
+    /**
+     * Creates an interceptor rewriting broker destinations of the messages sent to the clients.
+     * It is registered on the client outbound channel.
+     *
+     * @return the ChannelInterceptor
+     */
+    public ChannelInterceptor toClientInterceptor() {
+        return new DestinationInterceptor(this::toClientDestination);
+    }
+
+    /**
+     * Channel interceptor replacing the destination of the passing messages.
+     */
+    private record DestinationInterceptor(UnaryOperator<String> mapping) implements ChannelInterceptor {
+
+        @Override
+        public Message<?> preSend(Message<?> message, MessageChannel channel) {
+            String destination = SimpMessageHeaderAccessor.getDestination(message.getHeaders());
+            String mapped = mapping.apply(destination);
+            if (mapped == null || mapped.equals(destination)) {
+                return message;
+            }
+            MessageHeaderAccessor accessor = MessageHeaderAccessor.getMutableAccessor(message);
+            if (!(accessor instanceof SimpMessageHeaderAccessor simpAccessor)) {
+                return message;
+            }
+            simpAccessor.setDestination(mapped);
+            simpAccessor.setLeaveMutable(true);
+            return MessageBuilder.createMessage(message.getPayload(), simpAccessor.getMessageHeaders());
+        }
+    }
+}
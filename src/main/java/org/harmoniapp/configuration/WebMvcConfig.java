@@ -0,0 +1,36 @@
+package org.harmoniapp.configuration;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Spring MVC configuration.
+ * Streaming responses (e.g. exported files) are written on the bounded MVC async executor instead of
+ * an unbounded thread per request.
+ */
+@Configuration
+public class WebMvcConfig implements WebMvcConfigurer {
+    private final ThreadPoolTaskExecutor mvcAsyncExecutor;
+    private final long asyncRequestTimeout;
+
+    public WebMvcConfig(@Qualifier(AsyncConfig.MVC_ASYNC_EXECUTOR) ThreadPoolTaskExecutor mvcAsyncExecutor,
+                        @Value("${spring.mvc.async.request-timeout:300000}") long asyncRequestTimeout) {
+        this.mvcAsyncExecutor = mvcAsyncExecutor;
+        this.asyncRequestTimeout = asyncRequestTimeout;
+    }
+
+    /**
+     * Configures the executor and timeout of asynchronous request processing.
+     *
+     * @param configurer the AsyncSupportConfigurer to configure
+     */
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(mvcAsyncExecutor);
+        configurer.setDefaultTimeout(asyncRequestTimeout);
+    }
+}
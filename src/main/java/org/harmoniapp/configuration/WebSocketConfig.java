@@ -1,43 +1,159 @@
 package org.harmoniapp.configuration;
 
 import lombok.RequiredArgsConstructor;
+import org.harmoniapp.configuration.authmanagers.GroupSubscriptionValidator;
+import org.harmoniapp.services.auth.UserAuthenticationCache;
+import org.harmoniapp.services.auth.UserAuthenticationView;
 import org.harmoniapp.utils.JwtTokenUtil;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.messaging.Message;
 import org.springframework.messaging.MessageChannel;
 import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.messaging.simp.config.StompBrokerRelayRegistration;
 import org.springframework.messaging.simp.stomp.StompCommand;
 import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
 import org.springframework.messaging.support.ChannelInterceptor;
 import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.scheduling.TaskScheduler;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
 
 /**
  * WebSocket configuration class that enables WebSocket message broker and configures
  * STOMP endpoints, message broker, and client inbound channel.
+ * <p>
+ * The broker is either the in-memory simple broker, which only reaches clients connected to this instance,
+ * or a relay to an external STOMP broker (e.g. RabbitMQ or ActiveMQ), which is required when more than one
+ * instance of the application is running. The mode is selected with {@code websocket.broker.relay.enabled}.
+ * In the relay mode the {@code /client/...} destinations are relayed as {@code /topic/client....} destinations,
+ * see {@link RelayDestinationMapper}.
+ * </p>
  */
 @Configuration
 @RequiredArgsConstructor
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
     private final JwtTokenUtil jwtTokenUtil;
-    private final HarmoniUserDetailsService userDetailsService;
+    private final UserAuthenticationCache userAuthenticationCache;
+    private final GroupSubscriptionValidator groupSubscriptionValidator;
+    private final RelayDestinationMapper relayDestinationMapper = new RelayDestinationMapper();
+    private TaskScheduler heartbeatScheduler;
+
+    @Value("${websocket.broker.relay.enabled:false}")
+    private boolean relayEnabled;
+
+    @Value("${websocket.broker.relay.host:localhost}")
+    private String relayHost;
+
+    @Value("${websocket.broker.relay.port:61613}")
+    private int relayPort;
+
+    @Value("${websocket.broker.relay.virtual-host:}")
+    private String relayVirtualHost;
+
+    @Value("${websocket.broker.relay.client-login:guest}")
+    private String relayClientLogin;
+
+    @Value("${websocket.broker.relay.client-passcode:guest}")
+    private String relayClientPasscode;
+
+    @Value("${websocket.broker.relay.system-login:guest}")
+    private String relaySystemLogin;
+
+    @Value("${websocket.broker.relay.system-passcode:guest}")
+    private String relaySystemPasscode;
+
+    @Value("${websocket.broker.heartbeat.send-interval:10000}")
+    private long heartbeatSendInterval;
+
+    @Value("${websocket.broker.heartbeat.receive-interval:10000}")
+    private long heartbeatReceiveInterval;
+
+    @Value("${websocket.channel.inbound.core-pool-size:8}")
+    private int inboundCorePoolSize;
+
+    @Value("${websocket.channel.inbound.max-pool-size:16}")
+    private int inboundMaxPoolSize;
+
+    @Value("${websocket.channel.inbound.queue-capacity:1000}")
+    private int inboundQueueCapacity;
+
+    @Value("${websocket.channel.outbound.core-pool-size:8}")
+    private int outboundCorePoolSize;
+
+    @Value("${websocket.channel.outbound.max-pool-size:32}")
+    private int outboundMaxPoolSize;
+
+    @Value("${websocket.channel.outbound.queue-capacity:5000}")
+    private int outboundQueueCapacity;
 
     /**
-     * Configures the message broker with application destination prefixes and enables a simple broker.
+     * Sets the scheduler used by the simple broker to send and check heartbeats.
+     * The scheduler is injected lazily because it is created by the message broker configuration itself.
+     *
+     * @param heartbeatScheduler the broker task scheduler
+     */
+    @Autowired
+    public void setHeartbeatScheduler(@Lazy @Qualifier("messageBrokerTaskScheduler") TaskScheduler heartbeatScheduler) {
+        this.heartbeatScheduler = heartbeatScheduler;
+    }
+
+    /**
+     * Configures the message broker with application destination prefixes and enables either
+     * the simple broker or the external broker relay.
      *
      * @param config the MessageBrokerRegistry to configure
      */
     @Override
     public void configureMessageBroker(MessageBrokerRegistry config) {
-        config.enableSimpleBroker("/client");
+        if (relayEnabled) {
+            enableBrokerRelay(config);
+        } else {
+            enableSimpleBroker(config);
+        }
         config.setApplicationDestinationPrefixes("/server");
     }
 
+    /**
+     * Enables the in-memory simple broker for single instance deployments.
+     *
+     * @param config the MessageBrokerRegistry to configure
+     */
+    private void enableSimpleBroker(MessageBrokerRegistry config) {
+        config.enableSimpleBroker("/client")
+                .setHeartbeatValue(new long[]{heartbeatSendInterval, heartbeatReceiveInterval})
+                .setTaskScheduler(heartbeatScheduler);
+    }
+
+    /**
+     * Enables the relay to an external STOMP broker, so messages reach clients connected to any instance.
+     * The client credentials are used for the connections opened on behalf of the clients,
+     * the system credentials for the shared connection used to send messages from the application.
+     *
+     * @param config the MessageBrokerRegistry to configure
+     */
+    private void enableBrokerRelay(MessageBrokerRegistry config) {
+        StompBrokerRelayRegistration relay = config.enableStompBrokerRelay(RelayDestinationMapper.BROKER_PREFIX)
+                .setRelayHost(relayHost)
+                .setRelayPort(relayPort)
+                .setClientLogin(relayClientLogin)
+                .setClientPasscode(relayClientPasscode)
+                .setSystemLogin(relaySystemLogin)
+                .setSystemPasscode(relaySystemPasscode)
+                .setSystemHeartbeatSendInterval(heartbeatSendInterval)
+                .setSystemHeartbeatReceiveInterval(heartbeatReceiveInterval);
+        if (!relayVirtualHost.isBlank()) {
+            relay.setVirtualHost(relayVirtualHost);
+        }
+        config.configureBrokerChannel().interceptors(relayDestinationMapper.toBrokerInterceptor());
+    }
+
     /**
      * Registers STOMP endpoints with allowed origins and SockJS support.
      *
@@ -51,12 +167,35 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
     }
 
     /**
-     * Configures the client inbound channel with a custom interceptor for handling authentication.
+     * Configures the client outbound channel thread pool and, in the relay mode, maps the broker destinations
+     * back onto the client destinations.
+     *
+     * @param registration the ChannelRegistration to configure
+     */
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        registration.taskExecutor()
+                .corePoolSize(outboundCorePoolSize)
+                .maxPoolSize(outboundMaxPoolSize)
+                .queueCapacity(outboundQueueCapacity);
+        if (relayEnabled) {
+            registration.interceptors(relayDestinationMapper.toClientInterceptor());
+        }
+    }
+
+    /**
+     * Configures the client inbound channel thread pool and a custom interceptor for handling authentication
+     * and authorizing subscriptions to group topics. In the relay mode the destinations are mapped onto the broker
+     * destinations after the subscription has been authorized.
      *
      * @param registration the ChannelRegistration to configure
      */
     @Override
     public void configureClientInboundChannel(ChannelRegistration registration) {
+        registration.taskExecutor()
+                .corePoolSize(inboundCorePoolSize)
+                .maxPoolSize(inboundMaxPoolSize)
+                .queueCapacity(inboundQueueCapacity);
         registration.interceptors(new ChannelInterceptor() {
             @Override
             public Message<?> preSend(Message<?> message, MessageChannel channel) {
@@ -66,10 +205,15 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
                     if (token != null) {
                         authenticateUser(token, accessor);
                     }
+                } else if (accessor != null && StompCommand.SUBSCRIBE.equals(accessor.getCommand())) {
+                    groupSubscriptionValidator.validate(accessor);
                 }
                 return message;
             }
         });
+        if (relayEnabled) {
+            registration.interceptors(relayDestinationMapper.toBrokerInterceptor());
+        }
     }
 
     /**
@@ -94,8 +238,9 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
      */
     private void authenticateUser(String token, StompHeaderAccessor accessor) {
         String username = jwtTokenUtil.getUsername(token);
-        UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-        UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+        UserAuthenticationView view = userAuthenticationCache.get(username);
+        Principle principle = new Principle(jwtTokenUtil.getUserId(token), username);
+        UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(principle, null, view.authorities());
         SecurityContextHolder.getContext().setAuthentication(authentication);
         accessor.setUser(authentication);
     }
@@ -1,7 +1,7 @@
 package org.harmoniapp.configuration.authmanagers;
 
 import org.harmoniapp.configuration.Principle;
-import org.harmoniapp.repositories.chat.GroupRepository;
+import org.harmoniapp.services.chat.GroupMembershipCache;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.authorization.AuthorizationDecision;
@@ -21,8 +21,8 @@ import java.util.function.Supplier;
 public class ConversationMemberQueryParamAuthorizationManager extends GroupAccessValidator implements ExtractQueryParams {
 
     @Autowired
-    public ConversationMemberQueryParamAuthorizationManager(GroupRepository repository) {
-        super(repository);
+    public ConversationMemberQueryParamAuthorizationManager(GroupMembershipCache groupMembershipCache) {
+        super(groupMembershipCache);
     }
 
     /**
@@ -2,7 +2,7 @@ package org.harmoniapp.configuration.authmanagers;
 
 import lombok.RequiredArgsConstructor;
 import org.harmoniapp.configuration.Principle;
-import org.harmoniapp.repositories.chat.GroupRepository;
+import org.harmoniapp.services.chat.GroupMembershipCache;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.authorization.AuthorizationManager;
 import org.springframework.security.core.Authentication;
@@ -17,7 +17,7 @@ import org.springframework.stereotype.Component;
 @Component
 @RequiredArgsConstructor
 public abstract class GroupAccessValidator implements AuthorizationManager<RequestAuthorizationContext> {
-    protected final GroupRepository repository;
+    protected final GroupMembershipCache groupMembershipCache;
 
     /**
      * Determines if the authenticated user is a member of the specified group.
@@ -31,9 +31,7 @@ public abstract class GroupAccessValidator implements AuthorizationManager<Reque
         GrantedAuthority grantedAuthority = authentication.getAuthorities().iterator().next();
         if (grantedAuthority.getAuthority().equals("ROLE_ADMIN") || grantedAuthority.getAuthority().equals("ROLE_USER")) {
             Principle principle = (Principle) authentication.getPrincipal();
-            return repository.findById(groupId)
-                    .map(group -> group.getMembers().stream().anyMatch(user -> user.getId().equals(principle.id())))
-                    .orElse(false);
+            return groupMembershipCache.isMember(groupId, principle.id());
         }
         return false;
     }
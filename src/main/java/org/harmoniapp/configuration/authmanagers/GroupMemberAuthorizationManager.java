@@ -1,6 +1,6 @@
 package org.harmoniapp.configuration.authmanagers;
 
-import org.harmoniapp.repositories.chat.GroupRepository;
+import org.harmoniapp.services.chat.GroupMembershipCache;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.authorization.AuthorizationDecision;
@@ -17,8 +17,8 @@ import java.util.function.Supplier;
 public class GroupMemberAuthorizationManager extends GroupAccessValidator {
 
     @Autowired
-    public GroupMemberAuthorizationManager(GroupRepository repository) {
-        super(repository);
+    public GroupMemberAuthorizationManager(GroupMembershipCache groupMembershipCache) {
+        super(groupMembershipCache);
     }
 
     /**
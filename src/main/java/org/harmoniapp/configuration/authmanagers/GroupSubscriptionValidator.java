@@ -0,0 +1,91 @@
+package org.harmoniapp.configuration.authmanagers;
+
+import lombok.RequiredArgsConstructor;
+import org.harmoniapp.configuration.Principle;
+import org.harmoniapp.configuration.RelayDestinationMapper;
+import org.harmoniapp.services.chat.GroupMembershipCache;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Validates STOMP subscriptions to the group topics ({@code /client/group/{id}/...}).
+ * <p>
+ * Destinations are checked after being mapped onto the broker destinations by the {@link RelayDestinationMapper},
+ * so {@code /client/group/5} and {@code /client/group.5}, which both reach the topic of group 5 on a relay, are
+ * checked alike. Wildcard destinations, which the simple broker and the relay match against several topics, and
+ * the raw broker destinations, which skip the mapping, are denied. Only members of a group can subscribe to its
+ * topics; subscriptions to other destinations are not restricted.
+ * </p>
+ */
+@Component
+@RequiredArgsConstructor
+public class GroupSubscriptionValidator {
+    private static final String WILDCARD_CHARACTERS = "*?#{";
+    private static final String GROUP_DESTINATION_PREFIX = RelayDestinationMapper.BROKER_PREFIX + "client.group";
+    private static final Pattern GROUP_DESTINATION = Pattern.compile("^/topic/client\\.group\\.(\\d+)(\\..*)?$");
+    private final GroupMembershipCache groupMembershipCache;
+    private final RelayDestinationMapper relayDestinationMapper = new RelayDestinationMapper();
+
+    /**
+     * Ensures that the user of the SUBSCRIBE frame can subscribe to its destination.
+     *
+     * @param accessor the StompHeaderAccessor of the SUBSCRIBE frame
+     * @throws AccessDeniedException if the destination contains wildcards, is a broker destination or a malformed
+     *                               group destination, or the user is not authenticated or is not a member of the group
+     */
+    public void validate(StompHeaderAccessor accessor) throws AccessDeniedException {
+        String destination = accessor.getDestination();
+        if (destination == null) {
+            return;
+        }
+        if (containsWildcard(destination) || destination.startsWith(RelayDestinationMapper.BROKER_PREFIX)) {
+            throw new AccessDeniedException("Odmowa dostępu");
+        }
+        String brokerDestination = relayDestinationMapper.toBrokerDestination(destination);
+        if (!isGroupDestination(brokerDestination)) {
+            return;
+        }
+        Matcher matcher = GROUP_DESTINATION.matcher(brokerDestination);
+        if (!matcher.matches()) {
+            throw new AccessDeniedException("Odmowa dostępu");
+        }
+        if (!(accessor.getUser() instanceof Authentication authentication)
+                || !(authentication.getPrincipal() instanceof Principle principle)) {
+            throw new AccessDeniedException("Odmowa dostępu");
+        }
+        long groupId;
+        try {
+            groupId = Long.parseLong(matcher.group(1));
+        } catch (NumberFormatException e) {
+            throw new AccessDeniedException("Odmowa dostępu");
+        }
+        if (!groupMembershipCache.isMember(groupId, principle.id())) {
+            throw new AccessDeniedException("Odmowa dostępu");
+        }
+    }
+
+    /**
+     * Checks if the destination contains characters used as wildcards by the simple broker or the external broker.
+     *
+     * @param destination the destination of the subscription
+     * @return true if the destination contains a wildcard, false otherwise
+     */
+    private boolean containsWildcard(String destination) {
+        return destination.chars().anyMatch(character -> WILDCARD_CHARACTERS.indexOf(character) >= 0);
+    }
+
+    /**
+     * Checks if the broker destination belongs to the group topics.
+     *
+     * @param destination the broker destination of the subscription
+     * @return true if the destination is a group destination, false otherwise
+     */
+    private boolean isGroupDestination(String destination) {
+        return destination.equals(GROUP_DESTINATION_PREFIX) || destination.startsWith(GROUP_DESTINATION_PREFIX + ".");
+    }
+}
@@ -0,0 +1,35 @@
+package org.harmoniapp.contracts;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Represents a generic DTO (Data Transfer Object) for keyset paginated data.
+ * Unlike {@link PageDto} it carries no total count, so it can be produced without a count query.
+ *
+ * @param content    the elements of the page
+ * @param pageSize   the requested number of elements per page
+ * @param nextCursor the cursor to request the next page with, or null if this is the last page
+ * @param <T>        the type of elements in the content list
+ */
+public record CursorPageDto<T>(List<T> content, int pageSize, Long nextCursor) {
+
+    /**
+     * Maps rows fetched with a limit of {@code pageSize + 1} to a `CursorPageDto` object.
+     * The additional row only signals that a next page exists and is not returned.
+     *
+     * @param <T>       the type of elements in the target `CursorPageDto`
+     * @param <U>       the type of the fetched rows
+     * @param rows      the rows fetched with a limit of {@code pageSize + 1}
+     * @param pageSize  the requested number of elements per page
+     * @param mapper    a function to convert elements from type `U` to type `T`
+     * @param cursorKey a function extracting the keyset value of a row
+     * @return a `CursorPageDto` object containing the mapped data
+     */
+    public static <T, U> CursorPageDto<T> mapRows(List<U> rows, int pageSize, Function<U, T> mapper, Function<U, Long> cursorKey) {
+        boolean hasNext = rows.size() > pageSize;
+        List<U> pageRows = hasNext ? rows.subList(0, pageSize) : rows;
+        Long nextCursor = hasNext ? cursorKey.apply(pageRows.getLast()) : null;
+        return new CursorPageDto<>(pageRows.stream().map(mapper).toList(), pageSize, nextCursor);
+    }
+}
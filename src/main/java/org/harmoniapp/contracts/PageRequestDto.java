@@ -9,9 +9,12 @@ import org.springframework.web.bind.annotation.RequestParam;
  * @param pageSize the number of items per page, defaults to 10 if not provided
  * @param sortBy the field to sort by, optional
  * @param order the sort order, either 'asc' or 'desc', defaults to 'asc' if not provided
+ * @param cursor the cursor returned with the previous page of a keyset paginated endpoint, omitted for the first page;
+ *               keyset paginated endpoints ignore the page number and sorting
  */
 public record PageRequestDto(@RequestParam(required = false, defaultValue = "1") Integer pageNumber,
                              @RequestParam(required = false, defaultValue = "10") Integer pageSize,
                              @RequestParam(required = false) String sortBy,
-                             @RequestParam(required = false, defaultValue = "asc") String order) {
+                             @RequestParam(required = false, defaultValue = "asc") String order,
+                             @RequestParam(required = false) Long cursor) {
 }
@@ -56,6 +56,18 @@ public record MessageDto(
      * @return the corresponding MessageDto
      */
     public static MessageDto fromEntity(Message message, String translatedContent) {
+        return fromEntity(message, translatedContent, message.isRead());
+    }
+
+    /**
+     * Converts a Message entity to a MessageDto with the read status resolved for a specific reader.
+     *
+     * @param message           the Message entity
+     * @param translatedContent the translated content of the message
+     * @param isRead            whether the message has been read by the reader
+     * @return the corresponding MessageDto
+     */
+    public static MessageDto fromEntity(Message message, String translatedContent, boolean isRead) {
         return MessageDto.builder()
                 .id(message.getId())
                 .senderId(message.getSender().getId())
@@ -63,7 +75,7 @@ public record MessageDto(
                 .groupId(message.getGroup() != null ? message.getGroup().getId() : null)
                 .content(translatedContent != null ? translatedContent : message.getContent())
                 .sentAt(message.getSentAt())
-                .isRead(message.isRead())
+                .isRead(isRead)
                 .build();
     }
 
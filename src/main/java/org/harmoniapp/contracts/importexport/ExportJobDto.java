@@ -0,0 +1,27 @@
+package org.harmoniapp.contracts.importexport;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import org.harmoniapp.enums.ExportJobStatus;
+import org.harmoniapp.enums.ExportJobType;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Data Transfer Object for a background export job.
+ *
+ * @param id          the unique identifier of the job
+ * @param type        the type of the export
+ * @param status      the current status of the job
+ * @param createdAt   the time the job was submitted
+ * @param completedAt the time the job completed or failed, null while it is pending or running
+ * @param error       the reason of the failure, null unless the job failed
+ */
+public record ExportJobDto(
+        UUID id,
+        ExportJobType type,
+        ExportJobStatus status,
+        @JsonProperty("created_at") Instant createdAt,
+        @JsonProperty("completed_at") Instant completedAt,
+        String error) {
+}
@@ -0,0 +1,32 @@
+package org.harmoniapp.contracts.importexport;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.constraints.NotNull;
+import org.harmoniapp.enums.ExportJobType;
+
+import java.time.LocalDate;
+
+/**
+ * Data Transfer Object for submitting a background export job.
+ *
+ * @param type      the type of the export
+ * @param startDate the start date of the exported schedule, required for schedule exports
+ * @param endDate   the end date of the exported schedule, required for the Excel schedule export
+ * @param weeks     the number of exported weeks of the PDF schedule export, one by default
+ */
+public record ExportJobRequestDto(
+        @NotNull(message = "Typ eksportu nie może być pusty")
+        ExportJobType type,
+
+        @JsonProperty("start_date") LocalDate startDate,
+
+        @JsonProperty("end_date") LocalDate endDate,
+
+        Integer weeks) {
+
+    public ExportJobRequestDto {
+        if (weeks == null) {
+            weeks = 1;
+        }
+    }
+}
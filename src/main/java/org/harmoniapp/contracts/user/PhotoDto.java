@@ -1,13 +1,14 @@
 package org.harmoniapp.contracts.user;
 
-import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
 import org.springframework.http.MediaType;
 
 /**
  * A Data Transfer Object (DTO) for representing a photo.
  *
- * @param photo the photo as an InputStreamResource
+ * @param photo the photo file as a Resource
  * @param contentType the content type of the photo as MediaType
+ * @param eTag the entity tag of the photo file, changing whenever the file changes
  */
-public record PhotoDto(InputStreamResource photo, MediaType contentType) {
+public record PhotoDto(Resource photo, MediaType contentType, String eTag) {
 }
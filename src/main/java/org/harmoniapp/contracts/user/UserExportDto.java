@@ -0,0 +1,45 @@
+package org.harmoniapp.contracts.user;
+
+import lombok.Builder;
+
+/**
+ * Data Transfer Object representing a row of the user export.
+ * All values are already formatted, missing values are empty strings.
+ *
+ * @param employeeId           the employee ID of the user
+ * @param firstname            the first name of the user
+ * @param surname              the surname of the user
+ * @param email                the email of the user
+ * @param phoneNumber          the phone number of the user
+ * @param city                 the city of the residence
+ * @param street               the street of the residence
+ * @param apartment            the apartment of the residence
+ * @param zipCode              the zip code of the residence
+ * @param buildingNumber       the building number of the residence
+ * @param roles                the names of the roles of the user, separated by commas
+ * @param languages            the names of the languages of the user, separated by commas
+ * @param contractType         the name of the contract type
+ * @param contractSignature    the contract signature date
+ * @param contractExpiration   the contract expiration date
+ * @param supervisorEmployeeId the employee ID of the supervisor
+ * @param departmentName       the department name of the work address
+ */
+@Builder
+public record UserExportDto(String employeeId,
+                            String firstname,
+                            String surname,
+                            String email,
+                            String phoneNumber,
+                            String city,
+                            String street,
+                            String apartment,
+                            String zipCode,
+                            String buildingNumber,
+                            String roles,
+                            String languages,
+                            String contractType,
+                            String contractSignature,
+                            String contractExpiration,
+                            String supervisorEmployeeId,
+                            String departmentName) {
+}
@@ -0,0 +1,27 @@
+package org.harmoniapp.contracts.user;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import org.harmoniapp.repositories.user.UserListRow;
+
+/**
+ * Data Transfer Object representing a user on the user list page.
+ * The full UserDto is loaded only on the user details.
+ *
+ * @param id         the ID of the user
+ * @param firstname  the first name of the user
+ * @param surname    the surname of the user
+ * @param employeeId the employee ID of the user
+ * @param photo      the photo of the user
+ * @param role       the name of the primary role of the user
+ */
+public record UserListItemDto(long id,
+                              String firstname,
+                              String surname,
+                              @JsonProperty("employee_id") String employeeId,
+                              String photo,
+                              String role) {
+
+    public static UserListItemDto fromRow(UserListRow row) {
+        return new UserListItemDto(row.id(), row.firstname(), row.surname(), row.employeeId(), row.photo(), row.role());
+    }
+}
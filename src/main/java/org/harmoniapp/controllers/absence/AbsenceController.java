@@ -1,7 +1,10 @@
 package org.harmoniapp.controllers.absence;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Positive;
 import lombok.RequiredArgsConstructor;
+import org.harmoniapp.contracts.CursorPageDto;
 import org.harmoniapp.contracts.PageDto;
 import org.harmoniapp.contracts.absence.AbsenceDto;
 import org.harmoniapp.services.absence.AbsenceService;
@@ -34,6 +37,21 @@ public class AbsenceController {
         return absenceService.getByUserId(id, pageNumber, pageSize);
     }
 
+    /**
+     * Retrieves a keyset paginated list of AbsenceDto for a specific user by their ID, newest first.
+     *
+     * @param id       the ID of the user whose absences are to be retrieved
+     * @param cursor   the cursor returned with the previous page, omitted for the first page
+     * @param pageSize the number of items per page (optional, default is 50)
+     * @return a CursorPageDto containing a list of AbsenceDto corresponding to the user's absences
+     */
+    @GetMapping("user/{id}/page")
+    public CursorPageDto<AbsenceDto> getAbsencePageByUserId(@PathVariable long id,
+                                                            @RequestParam(required = false) Long cursor,
+                                                            @RequestParam(required = false, defaultValue = "50") @Positive @Max(100) Integer pageSize) {
+        return absenceService.getPageByUserId(id, cursor, pageSize);
+    }
+
     /**
      * Retrieves a paginated list of AbsenceDto filtered by the specified status ID.
      *
@@ -49,6 +67,21 @@ public class AbsenceController {
         return absenceService.getByStatus(id, pageNumber, pageSize);
     }
 
+    /**
+     * Retrieves a keyset paginated list of AbsenceDto filtered by the specified status ID, newest first.
+     *
+     * @param id       the ID of the status to filter absences by
+     * @param cursor   the cursor returned with the previous page, omitted for the first page
+     * @param pageSize the number of items per page (optional, default is 50)
+     * @return a CursorPageDto containing a list of AbsenceDto representing the absences with the specified status ID
+     */
+    @GetMapping("status/{id}/page")
+    public CursorPageDto<AbsenceDto> getAbsencePageByStatus(@PathVariable long id,
+                                                            @RequestParam(required = false) Long cursor,
+                                                            @RequestParam(required = false, defaultValue = "50") @Positive @Max(100) Integer pageSize) {
+        return absenceService.getPageByStatus(id, cursor, pageSize);
+    }
+
     /**
      * Retrieves a paginated list of all absences.
      *
@@ -62,6 +95,19 @@ public class AbsenceController {
         return absenceService.getAll(pageNumber, pageSize);
     }
 
+    /**
+     * Retrieves a keyset paginated list of all absences, newest first.
+     *
+     * @param cursor   the cursor returned with the previous page, omitted for the first page
+     * @param pageSize the number of items per page (optional, default is 50)
+     * @return a CursorPageDto containing a list of AbsenceDto representing all absences
+     */
+    @GetMapping("page")
+    public CursorPageDto<AbsenceDto> getAbsencePage(@RequestParam(required = false) Long cursor,
+                                                    @RequestParam(required = false, defaultValue = "50") @Positive @Max(100) Integer pageSize) {
+        return absenceService.getPage(cursor, pageSize);
+    }
+
     /**
      * Creates a new Absence.
      *
@@ -54,6 +54,18 @@ public class MessageController {
         return service.getLastMessage(chatRequestDto);
     }
 
+    /**
+     * Retrieves the number of unread messages in a conversation for the requesting user.
+     *
+     * @param chatRequestDto the chat request data
+     * @return the number of unread messages
+     */
+    @GetMapping("/unread-count")
+    @PreAuthorize("@securityService.canMarkAllMessagesAsRead(#chatRequestDto, authentication)")
+    public long getUnreadCount(@ModelAttribute ChatRequestDto chatRequestDto) {
+        return service.getUnreadCount(chatRequestDto);
+    }
+
     /**
      * Sends a new message.
      *
@@ -0,0 +1,78 @@
+package org.harmoniapp.controllers.importexport;
+
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.harmoniapp.contracts.importexport.ExportJobDto;
+import org.harmoniapp.contracts.importexport.ExportJobRequestDto;
+import org.harmoniapp.services.importexport.ExportJobFile;
+import org.harmoniapp.services.importexport.ExportJobService;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.UUID;
+
+/**
+ * Controller for generating large exports in the background.
+ * A job is submitted, then polled (or awaited through a notification) until it is completed, and its file downloaded.
+ */
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/export-jobs")
+public class ExportJobController {
+    private final ExportJobService exportJobService;
+
+    /**
+     * Submits an export job.
+     *
+     * @param request        the export job request
+     * @param authentication the authentication information of the user
+     * @return the submitted job
+     */
+    @PostMapping
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public ExportJobDto submit(@Valid @RequestBody ExportJobRequestDto request, Authentication authentication) {
+        return exportJobService.submit(request, authentication);
+    }
+
+    /**
+     * Retrieves the status of an export job.
+     *
+     * @param id             the ID of the job
+     * @param authentication the authentication information of the user
+     * @return the job
+     */
+    @GetMapping("/{id}")
+    public ExportJobDto getJob(@PathVariable UUID id, Authentication authentication) {
+        return exportJobService.getById(id, authentication);
+    }
+
+    /**
+     * Downloads the file generated by a completed export job.
+     *
+     * @param id             the ID of the job
+     * @param authentication the authentication information of the user
+     * @return ResponseEntity containing the generated file
+     */
+    @GetMapping("/{id}/file")
+    public ResponseEntity<Resource> downloadFile(@PathVariable UUID id, Authentication authentication) {
+        ExportJobFile file = exportJobService.getFile(id, authentication);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(file.type().getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(file.fileName()).build().toString())
+                .body(new FileSystemResource(file.path()));
+    }
+}
@@ -2,13 +2,13 @@ package org.harmoniapp.controllers.importexport;
 
 import lombok.RequiredArgsConstructor;
 import org.harmoniapp.services.importexport.PdfExportService;
-import org.springframework.core.io.InputStreamResource;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
 
@@ -23,29 +23,31 @@ public class PdfController {
     private final MediaType mediaType = MediaType.APPLICATION_PDF;
 
     /**
-     * Generates a PDF report for the shifts that occurred in the specified week.
+     * Generates a PDF report for the shifts that occurred in the specified weeks.
      *
-     * @param startOfWeek the start date of the week for which the report will be generated
-     * @return ResponseEntity containing the generated PDF as InputStreamResource
+     * @param startOfWeek the start date of the first week for which the report will be generated
+     * @param weeks       the number of consecutive weeks, one by default
+     * @return ResponseEntity containing the generated PDF as StreamingResponseBody
      */
     @GetMapping("/generate-pdf-shift")
-    public ResponseEntity<InputStreamResource> generatePdfForWeek(@RequestParam("startOfWeek") LocalDate startOfWeek) {
-        InputStreamResource resource = pdfExportService.generatePdfForWeek(startOfWeek);
+    public ResponseEntity<StreamingResponseBody> generatePdfForWeek(@RequestParam("startOfWeek") LocalDate startOfWeek,
+                                                                    @RequestParam(value = "weeks", defaultValue = "1") int weeks) {
+        StreamingResponseBody body = pdfExportService.generatePdfForWeeks(startOfWeek, weeks);
         return ResponseEntity.ok()
                 .contentType(mediaType)
-                .body(resource);
+                .body(body);
     }
 
     /**
      * Generates a PDF report for all employees.
      *
-     * @return ResponseEntity containing the generated PDF as InputStreamResource
+     * @return ResponseEntity containing the generated PDF as StreamingResponseBody
      */
     @GetMapping("/generate-pdf-all-employees")
-    public ResponseEntity<InputStreamResource> generatePdfForAllEmployees() {
-        InputStreamResource resource = pdfExportService.generatePdfForAllEmployees();
+    public ResponseEntity<StreamingResponseBody> generatePdfForAllEmployees() {
+        StreamingResponseBody body = pdfExportService.generatePdfForAllEmployees();
         return ResponseEntity.ok()
                 .contentType(mediaType)
-                .body(resource);
+                .body(body);
     }
 }
@@ -1,6 +1,9 @@
 package org.harmoniapp.controllers.notification;
 
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Positive;
 import lombok.RequiredArgsConstructor;
+import org.harmoniapp.contracts.CursorPageDto;
 import org.harmoniapp.contracts.notification.NotificationDto;
 import org.harmoniapp.services.notification.NotificationService;
 import org.springframework.http.HttpStatus;
@@ -30,6 +33,32 @@ public class NotificationController {
         return notificationService.getAllByUserId(id);
     }
 
+    /**
+     * Retrieves a page of notifications for a specific user, newest first.
+     *
+     * @param id       the ID of the user whose notifications are being retrieved
+     * @param cursor   the cursor returned with the previous page, omitted for the first page
+     * @param pageSize the number of notifications per page
+     * @return a CursorPageDto of NotificationDto objects
+     */
+    @GetMapping("/user/{id}/page")
+    public CursorPageDto<NotificationDto> getNotificationsPageByUserId(@PathVariable Long id,
+                                                                       @RequestParam(required = false) Long cursor,
+                                                                       @RequestParam(required = false, defaultValue = "20") @Positive @Max(100) Integer pageSize) {
+        return notificationService.getPageByUserId(id, cursor, pageSize);
+    }
+
+    /**
+     * Counts the unread notifications of a specific user.
+     *
+     * @param id the ID of the user whose unread notifications are being counted
+     * @return the number of unread notifications
+     */
+    @GetMapping("/user/{id}/unread/count")
+    public long countUnreadNotificationsByUserId(@PathVariable Long id) {
+        return notificationService.countUnreadByUserId(id);
+    }
+
     /**
      * Retrieves all unread notifications for a specific user.
      *
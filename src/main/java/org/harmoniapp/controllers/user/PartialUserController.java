@@ -47,11 +47,12 @@ public class PartialUserController {
     /**
      * Retrieves a list of users based on a search query.
      *
-     * @param q the search query string to filter users by. This can match against various user attributes.
-     * @return a list of {@link PartialUserDto} objects that match the search query.
+     * @param q           the search query string to filter users by. This can match against various user attributes.
+     * @param pageRequest the page number and page size of the results.
+     * @return a list of {@link PartialUserDto} objects that match the search query, the most relevant first.
      */
     @GetMapping(value = {"/search", "/empId/search"})
-    public List<PartialUserDto> getUsersSearch(@RequestParam String q) {
-        return service.getUsersSearch(q);
+    public List<PartialUserDto> getUsersSearch(@RequestParam String q, @ModelAttribute PageRequestDto pageRequest) {
+        return service.getUsersSearch(q, pageRequest);
     }
 }
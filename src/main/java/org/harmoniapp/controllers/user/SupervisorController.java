@@ -1,6 +1,7 @@
 package org.harmoniapp.controllers.user;
 
 import lombok.RequiredArgsConstructor;
+import org.harmoniapp.contracts.CursorPageDto;
 import org.harmoniapp.contracts.PageDto;
 import org.harmoniapp.contracts.PageRequestDto;
 import org.harmoniapp.contracts.user.SupervisorDto;
@@ -30,4 +31,15 @@ public class SupervisorController {
     public PageDto<SupervisorDto> getAllSupervisors(@ModelAttribute PageRequestDto pageRequest) {
         return service.getAllSupervisors(pageRequest);
     }
+
+    /**
+     * Retrieves a keyset paginated list of supervisors.
+     *
+     * @param pageRequest the page request containing the cursor and page size.
+     * @return a CursorPageDto containing a list of SupervisorDto objects and the cursor of the next page.
+     */
+    @GetMapping("/page")
+    public CursorPageDto<SupervisorDto> getSupervisorsPage(@ModelAttribute PageRequestDto pageRequest) {
+        return service.getSupervisorsPage(pageRequest);
+    }
 }
\ No newline at end of file
@@ -2,9 +2,11 @@ package org.harmoniapp.controllers.user;
 
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.harmoniapp.contracts.CursorPageDto;
 import org.harmoniapp.contracts.PageDto;
 import org.harmoniapp.contracts.PageRequestDto;
 import org.harmoniapp.contracts.user.UserDto;
+import org.harmoniapp.contracts.user.UserListItemDto;
 import org.harmoniapp.contracts.user.UserSearchParamsDto;
 import org.harmoniapp.services.user.UserService;
 import org.springframework.http.HttpStatus;
@@ -35,6 +37,34 @@ public class UserController {
         return service.getPage(searchParams, pageRequest);
     }
 
+    /**
+     * Retrieves a keyset paginated list of users based on search parameters, in ID order.
+     * Unlike {@link #getAllUsers}, the total number of users is not counted.
+     *
+     * @param searchParams The search parameters to filter users.
+     * @param pageRequest  The cursor and page size.
+     * @return A CursorPageDto containing a list of UserDto objects and the cursor of the next page.
+     */
+    @GetMapping("/page")
+    public CursorPageDto<UserDto> getUsersPage(@ModelAttribute UserSearchParamsDto searchParams,
+                                               @ModelAttribute PageRequestDto pageRequest) {
+        return service.getCursorPage(searchParams, pageRequest);
+    }
+
+    /**
+     * Retrieves a paginated list of users with the data shown on the user list page.
+     * The full UserDto of a user is available from its details.
+     *
+     * @param searchParams The search parameters to filter users.
+     * @param pageRequest  The pagination and sorting information.
+     * @return A PageDto containing a list of UserListItemDto objects matching the specified criteria.
+     */
+    @GetMapping("/list")
+    public PageDto<UserListItemDto> getUserList(@ModelAttribute UserSearchParamsDto searchParams,
+                                                @ModelAttribute PageRequestDto pageRequest) {
+        return service.getListPage(searchParams, pageRequest);
+    }
+
     /**
      * Retrieves a specific user by their ID.
      *
@@ -49,12 +79,13 @@ public class UserController {
     /**
      * Searches for users based on a query string and returns a list of UserDto objects.
      *
-     * @param q The query string used to search for users. Must not be null or empty.
-     * @return A list of UserDto objects that match the search criteria.
+     * @param q           The query string used to search for users. Must not be null or empty.
+     * @param pageRequest The page number and page size of the results.
+     * @return A list of UserDto objects that match the search criteria, the most relevant first.
      */
     @GetMapping("/search")
-    public List<UserDto> getUsersSearch(@RequestParam String q) {
-        return service.getUsersSearch(q);
+    public List<UserDto> getUsersSearch(@RequestParam String q, @ModelAttribute PageRequestDto pageRequest) {
+        return service.getUsersSearch(q, pageRequest);
     }
 
     /**
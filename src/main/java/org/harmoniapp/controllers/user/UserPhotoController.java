@@ -1,18 +1,24 @@
 package org.harmoniapp.controllers.user;
 
+import jakarta.validation.constraints.Positive;
 import lombok.RequiredArgsConstructor;
 import org.harmoniapp.contracts.user.PhotoDto;
 import org.harmoniapp.contracts.user.UserDto;
 import org.harmoniapp.services.user.UserPhotoService;
-import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.time.Duration;
+
 @RestController
 @RequiredArgsConstructor
 @RequestMapping("/user")
 public class UserPhotoController {
+    private static final CacheControl PHOTO_CACHE_CONTROL = CacheControl.maxAge(Duration.ofMinutes(1)).cachePrivate();
+
     private final UserPhotoService service;
 
     /**
@@ -42,15 +48,23 @@ public class UserPhotoController {
 
     /**
      * Retrieves the photo of a specific user by their ID.
+     * With a size, the smallest square thumbnail at least as large is returned instead, so avatars are not
+     * downloaded in their original size. The response carries the ETag of the photo and may be cached privately
+     * for a minute. A request with a matching If-None-Match header is answered with 304 Not Modified, without
+     * reading the photo file.
      *
-     * @param id The ID of the user whose photo is to be retrieved.
-     * @return A ResponseEntity containing the InputStreamResource of the user's photo.
+     * @param id   The ID of the user whose photo is to be retrieved.
+     * @param size The displayed size of the photo in pixels (optional, the original photo by default).
+     * @return A ResponseEntity containing the Resource of the user's photo.
      */
     @GetMapping("/{id}/photo")
-    public ResponseEntity<InputStreamResource> getUserPhoto(@PathVariable long id) {
-        PhotoDto photoDto = service.getUserPhoto(id);
+    public ResponseEntity<Resource> getUserPhoto(@PathVariable long id,
+                                                 @RequestParam(required = false) @Positive Integer size) {
+        PhotoDto photoDto = service.getUserPhoto(id, size);
         return ResponseEntity.ok()
                 .contentType(photoDto.contentType())
+                .eTag(photoDto.eTag())
+                .cacheControl(PHOTO_CACHE_CONTROL)
                 .body(photoDto.photo());
     }
 }
@@ -28,7 +28,7 @@ public class Group {
     @NotEmpty(message = "Nazwa grupy nie może być pusta")
     private String name;
 
-    @ManyToMany(fetch = FetchType.EAGER)
+    @ManyToMany
     @JoinTable(
             name = "group_members",
             joinColumns = @JoinColumn(name = "group_id"),
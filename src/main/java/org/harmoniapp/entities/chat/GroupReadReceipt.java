@@ -0,0 +1,49 @@
+package org.harmoniapp.entities.chat;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.proxy.HibernateProxy;
+
+import java.util.Objects;
+
+/**
+ * Per-member read high-water mark of a group chat.
+ * Every group message with an ID lower or equal to {@code lastReadMessageId} is considered read by the member.
+ */
+@Entity
+@Table(name = "group_read_receipt", schema = "public")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class GroupReadReceipt {
+
+    @EmbeddedId
+    private GroupReadReceiptId id;
+
+    @Column(name = "last_read_message_id")
+    @NotNull(message = "ID ostatniej przeczytanej wiadomości nie może być puste")
+    private Long lastReadMessageId;
+
+    @Override
+    public final boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null) return false;
+        Class<?> oEffectiveClass = o instanceof HibernateProxy ?
+                ((HibernateProxy) o).getHibernateLazyInitializer().getPersistentClass() : o.getClass();
+        Class<?> thisEffectiveClass = this instanceof HibernateProxy ?
+                ((HibernateProxy) this).getHibernateLazyInitializer().getPersistentClass() : this.getClass();
+        if (thisEffectiveClass != oEffectiveClass) return false;
+        GroupReadReceipt receipt = (GroupReadReceipt) o;
+        return getId() != null && Objects.equals(getId(), receipt.getId());
+    }
+
+    @Override
+    public final int hashCode() {
+        return Objects.hash(id);
+    }
+}
@@ -0,0 +1,25 @@
+package org.harmoniapp.entities.schedule;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Version of the schedule shared by all instances of the application.
+ * The table holds a single row that is bumped in the same transaction as the change of the shifts.
+ */
+@Entity
+@Table(name = "schedule_version", schema = "public")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScheduleVersion {
+
+    @Id
+    private Short id;
+
+    private Long version;
+}
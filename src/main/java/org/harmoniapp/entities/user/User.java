@@ -11,18 +11,47 @@ import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.proxy.HibernateProxy;
 import org.hibernate.validator.constraints.UniqueElements;
 
+import java.time.Instant;
 import java.time.LocalDate;
 import java.util.Objects;
 import java.util.Set;
 
 @Entity
 @Table(name = "user", schema = "public")
+@NamedEntityGraphs({
+        @NamedEntityGraph(name = User.AUTHENTICATION_GRAPH, attributeNodes = @NamedAttributeNode("roles")),
+        @NamedEntityGraph(name = User.LIST_GRAPH, attributeNodes = {
+                @NamedAttributeNode("contractType"),
+                @NamedAttributeNode("residence"),
+                @NamedAttributeNode("workAddress"),
+                @NamedAttributeNode("supervisor")}),
+        @NamedEntityGraph(name = User.DETAIL_GRAPH, attributeNodes = {
+                @NamedAttributeNode("contractType"),
+                @NamedAttributeNode("residence"),
+                @NamedAttributeNode("workAddress"),
+                @NamedAttributeNode("supervisor"),
+                @NamedAttributeNode("roles"),
+                @NamedAttributeNode("languages")})
+})
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class User {
+    /**
+     * Entity graph loading the roles needed to authenticate the user.
+     */
+    public static final String AUTHENTICATION_GRAPH = "User.authentication";
+    /**
+     * Entity graph loading the single-valued relations shown on user list pages. Collections are batch fetched,
+     * as fetching them with a join would break the pagination of the query.
+     */
+    public static final String LIST_GRAPH = "User.list";
+    /**
+     * Entity graph loading all the relations shown on the user details.
+     */
+    public static final String DETAIL_GRAPH = "User.detail";
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -45,7 +74,7 @@ public class User {
             message = "Hasło musi być zaszyfrowane algorytmem bcrypt")
     private String password;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn
     private ContractType contractType;
 
@@ -55,16 +84,16 @@ public class User {
     @Column(name = "contract_expiration")
     private LocalDate contractExpiration;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn
     @NotNull(message = "Adres zamieszkania nie może być pusty")
     private Address residence;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn
     private Address workAddress;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn
     private User supervisor;
 
@@ -113,7 +142,14 @@ public class User {
     @Column(name = "unused_absence_expiration")
     private LocalDate unusedAbsenceExpiration;
 
-    @ManyToMany(fetch = FetchType.EAGER)
+    /**
+     * Time since which the tokens of the user are valid, null if no token has been revoked yet.
+     * It is changed only by {@code UserRepository.updateTokensValidSince}, so saving the user never overwrites it.
+     */
+    @Column(name = "tokens_valid_since", insertable = false, updatable = false)
+    private Instant tokensValidSince;
+
+    @ManyToMany
     @JoinTable(
             name = "user_role",
             joinColumns = @JoinColumn(name = "user_id"),
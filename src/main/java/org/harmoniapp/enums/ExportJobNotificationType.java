@@ -0,0 +1,19 @@
+package org.harmoniapp.enums;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Enum representing different types of export job notifications.
+ */
+@Getter
+@AllArgsConstructor
+public enum ExportJobNotificationType {
+    SUCCESS("Eksport gotowy",
+            "Plik eksportu został wygenerowany i jest gotowy do pobrania."),
+    FAILURE("Eksport nie powiódł się",
+            "Nie udało się wygenerować pliku eksportu, spróbuj ponownie.");
+
+    private final String title;
+    private final String message;
+}
@@ -0,0 +1,11 @@
+package org.harmoniapp.enums;
+
+/**
+ * Enum representing the statuses of background export jobs.
+ */
+public enum ExportJobStatus {
+    PENDING,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
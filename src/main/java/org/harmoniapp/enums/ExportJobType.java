@@ -0,0 +1,19 @@
+package org.harmoniapp.enums;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Enum representing the types of files generated by background export jobs.
+ */
+@Getter
+@AllArgsConstructor
+public enum ExportJobType {
+    SCHEDULE_PDF("application/pdf", "pdf"),
+    SCHEDULE_XLSX("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet", "xlsx"),
+    USERS_PDF("application/pdf", "pdf"),
+    USERS_XLSX("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet", "xlsx");
+
+    private final String contentType;
+    private final String extension;
+}
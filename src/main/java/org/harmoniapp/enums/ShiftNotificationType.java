@@ -5,18 +5,26 @@ import lombok.Getter;
 
 /**
  * Enum representing different types of shift notifications.
+ * Each type has a message for a single shift and a summary message used when a user is notified
+ * about several shifts at once.
  */
 @Getter
 @AllArgsConstructor
 public enum ShiftNotificationType {
     PUBLISHED_SHIFT("Zmiana została opublikowana",
-            "Nowa zmiana została opublikowana. Zmiana %s - %s została opublikowana. Sprawdź swój harmonogram."),
+            "Nowa zmiana została opublikowana. Zmiana %s - %s została opublikowana. Sprawdź swój harmonogram.",
+            "Nowe zmiany zostały opublikowane",
+            "Liczba opublikowanych zmian: %d (%s - %s). Sprawdź swój harmonogram."),
     DELETED_SHIFT("Zmiana została usunięta",
-            "Zmiana %s - %s została usunięta. Sprawdź swój harmonogram.");
+            "Zmiana %s - %s została usunięta. Sprawdź swój harmonogram.",
+            "Zmiany zostały usunięte",
+            "Liczba usuniętych zmian: %d (%s - %s). Sprawdź swój harmonogram.");
 
 
     private final String title;
     private final String messageTemplate;
+    private final String summaryTitle;
+    private final String summaryMessageTemplate;
 
     /**
      * Formats the message template with the provided arguments.
@@ -27,4 +35,14 @@ public enum ShiftNotificationType {
     public String formatMessage(Object... args) {
         return messageTemplate.formatted(args);
     }
+
+    /**
+     * Formats the summary message template with the provided arguments.
+     *
+     * @param args the arguments to format the summary message template
+     * @return the formatted summary message
+     */
+    public String formatSummaryMessage(Object... args) {
+        return summaryMessageTemplate.formatted(args);
+    }
 }
@@ -0,0 +1,14 @@
+package org.harmoniapp.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Exception thrown when the file of an export job is requested before the job is completed.
+ */
+@ResponseStatus(HttpStatus.CONFLICT)
+public class ExportJobNotReadyException extends RuntimeException {
+    public ExportJobNotReadyException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,14 @@
+package org.harmoniapp.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Exception thrown when an export job cannot be queued because too many exports are waiting.
+ */
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class ExportJobRejectedException extends RuntimeException {
+    public ExportJobRejectedException(String message) {
+        super(message);
+    }
+}
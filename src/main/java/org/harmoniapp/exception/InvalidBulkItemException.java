@@ -0,0 +1,20 @@
+package org.harmoniapp.exception;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Exception thrown when an item of a bulk operation is invalid.
+ * Carries the position of the item, so callers can report which input caused the failure.
+ */
+@Getter
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidBulkItemException extends RuntimeException {
+    private final int index;
+
+    public InvalidBulkItemException(int index, String message) {
+        super(message);
+        this.index = index;
+    }
+}
@@ -0,0 +1,48 @@
+package org.harmoniapp.exceptionhandling;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Handler for requests rejected because a bounded executor is full.
+ * <p>
+ * Asynchronous request processing (e.g. streamed exports) runs on a bounded executor that rejects tasks when
+ * its queue is full. Instead of an internal server error the client gets a <code>503 Service Unavailable</code>
+ * status with a <code>Retry-After</code> header and a JSON response.
+ * </p>
+ */
+@RestControllerAdvice
+public class TaskRejectedExceptionHandler {
+    static final String RETRY_AFTER_SECONDS = "10";
+
+    /**
+     * Handles a rejected task by constructing a JSON response with the Retry-After header.
+     *
+     * @param request the {@link HttpServletRequest} whose task was rejected.
+     * @param ex      the exception thrown by the executor.
+     * @return the 503 response.
+     */
+    @ExceptionHandler(TaskRejectedException.class)
+    public ResponseEntity<Map<String, Object>> handleTaskRejected(HttpServletRequest request, TaskRejectedException ex) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("timestamp", LocalDateTime.now().toString());
+        body.put("status", HttpStatus.SERVICE_UNAVAILABLE.value());
+        body.put("error", HttpStatus.SERVICE_UNAVAILABLE.getReasonPhrase());
+        body.put("message", "Serwer jest przeciążony. Spróbuj ponownie później.");
+        body.put("path", request.getRequestURI());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
+    }
+}
@@ -1,39 +1,40 @@
 package org.harmoniapp.filter;
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.harmoniapp.entities.user.User;
-import org.harmoniapp.repositories.user.UserRepository;
-import org.harmoniapp.configuration.HarmoniUserDetailsService;
 import org.harmoniapp.configuration.Principle;
+import org.harmoniapp.services.auth.TokenRevocationService;
 import org.harmoniapp.utils.JwtTokenUtil;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.List;
 
 /**
  * Filter class for validating JWT tokens.
  * <p>
  * This filter class is used to validate JWT tokens received in the request headers. It extracts the token from the
  * request header, validates the token, and sets the user authentication details in the security context.
+ * The token is decoded once, and the principal and authorities are built from its signed claims, so authenticating
+ * a request does not query the database. Revoked tokens are rejected by the {@link TokenRevocationService}.
  * </p>
  */
 @RequiredArgsConstructor
 @Slf4j
 public class JWTTokenValidationFilter extends OncePerRequestFilter {
     private final JwtTokenUtil jwtTokenUtil;
-    private final HarmoniUserDetailsService userDetailsService;
-    private final UserRepository userRepository;
+    private final TokenRevocationService tokenRevocationService;
 
     /**
      * Filters incoming requests to validate and authenticate JWT tokens.
@@ -59,7 +60,7 @@ public class JWTTokenValidationFilter extends OncePerRequestFilter {
 
     /**
      * Determines whether this filter should not apply to a particular request.
-     * This filter is skipped for the "/login" endpoint.
+     * This filter is skipped for the "/login" endpoint, the websocket endpoint and the public health endpoint.
      *
      * @param request the {@link HttpServletRequest} object
      * @return {@code true} if the filter should not be applied to this request
@@ -68,25 +69,25 @@ public class JWTTokenValidationFilter extends OncePerRequestFilter {
     @Override
     protected boolean shouldNotFilter(HttpServletRequest request) throws ServletException {
         return request.getServletPath().equals("/login") || request.getRequestURI().equals("/login") //login path
-                || request.getServletPath().startsWith("/ws/"); //websocket path
+                || request.getServletPath().startsWith("/ws/") //websocket path
+                || request.getServletPath().equals("/actuator/health") || request.getServletPath().startsWith("/actuator/health/"); //health probes
     }
 
     /**
      * Validates and authenticates the provided JWT token.
      *
      * @param jwt the JWT token to validate and authenticate
-     * @throws BadCredentialsException if the token is invalid or the user is not found
+     * @throws BadCredentialsException if the token is invalid, expired or revoked
      */
     private void validateAndAuthenticateJwt(String jwt) {
-        String username = jwtTokenUtil.getUsername(jwt);
-        UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+        Claims claims = jwtTokenUtil.decodeJWT(jwt);
+        Long id = jwtTokenUtil.getUserId(claims);
+        String username = claims.getSubject();
 
-        User user = userRepository.findByEmail(username)
-                .orElseThrow(() -> new BadCredentialsException("Nie prawidłowy email lub hasło"));
-
-        if (jwtTokenUtil.isTokenValid(jwt, userDetails)) {
-            setAuthenticationContext(jwt, userDetails, username);
+        if (tokenRevocationService.isRevoked(id, username, claims.getIssuedAt().toInstant())) {
+            throw new BadCredentialsException("Nie prawidłowy token");
         }
+        setAuthenticationContext(new Principle(id, username), jwtTokenUtil.getGrantedAuthorities(claims));
     }
 
     /**
@@ -107,14 +108,11 @@ public class JWTTokenValidationFilter extends OncePerRequestFilter {
     /**
      * Sets the authentication context for the current request.
      *
-     * @param jwt the JWT token
-     * @param userDetails the user details
-     * @param username the username
+     * @param principle the principal of the authenticated user
+     * @param authorities the authorities signed into the token
      */
-    private void setAuthenticationContext(String jwt, UserDetails userDetails, String username) {
-        Long id = jwtTokenUtil.getUserId(jwt);
-        Principle principle = new Principle(id, username);
-        Authentication authentication = new UsernamePasswordAuthenticationToken(principle, null, userDetails.getAuthorities());
+    private void setAuthenticationContext(Principle principle, List<GrantedAuthority> authorities) {
+        Authentication authentication = new UsernamePasswordAuthenticationToken(principle, null, authorities);
         SecurityContextHolder.getContext().setAuthentication(authentication);
     }
 }
\ No newline at end of file
@@ -4,14 +4,17 @@ package org.harmoniapp.repositories;
 import org.harmoniapp.repositories.absence.AbsenceRepository;
 import org.harmoniapp.repositories.absence.AbsenceTypeRepository;
 import org.harmoniapp.repositories.absence.StatusRepository;
+import org.harmoniapp.repositories.chat.GroupReadReceiptRepository;
 import org.harmoniapp.repositories.chat.GroupRepository;
 import org.harmoniapp.repositories.chat.MessageRepository;
+import org.harmoniapp.repositories.importexport.ExportJobRepository;
 import org.harmoniapp.repositories.notification.NotificationRepository;
 import org.harmoniapp.repositories.profile.AddressRepository;
 import org.harmoniapp.repositories.profile.ContractTypeRepository;
 import org.harmoniapp.repositories.profile.LanguageRepository;
 import org.harmoniapp.repositories.profile.RoleRepository;
 import org.harmoniapp.repositories.schedule.PredefineShiftRepository;
+import org.harmoniapp.repositories.schedule.ScheduleVersionRepository;
 import org.harmoniapp.repositories.schedule.ShiftRepository;
 import org.harmoniapp.repositories.user.UserRepository;
 
@@ -27,8 +30,12 @@ public interface RepositoryCollector {
 
     ContractTypeRepository getContractTypes();
 
+    ExportJobRepository getExportJobs();
+
     GroupRepository getGroups();
 
+    GroupReadReceiptRepository getGroupReadReceipts();
+
     LanguageRepository getLanguages();
 
     MessageRepository getMessages();
@@ -39,6 +46,8 @@ public interface RepositoryCollector {
 
     RoleRepository getRoles();
 
+    ScheduleVersionRepository getScheduleVersions();
+
     ShiftRepository getShifts();
 
     StatusRepository getStatuses();
@@ -1,11 +1,13 @@
 package org.harmoniapp.repositories.absence;
 
 import org.harmoniapp.entities.absence.Absence;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.lang.Nullable;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -15,14 +17,26 @@ public interface AbsenceRepository extends JpaRepository<Absence, Long> {
     @Query("SELECT a FROM Absence a WHERE a.user.isActive = true")
     Page<Absence> findAllWithActiveUsers(Pageable pageable);
 
+    @Query("SELECT a FROM Absence a WHERE a.user.isActive = true AND (:cursor IS NULL OR a.id < :cursor) ORDER BY a.id DESC")
+    List<Absence> findAllWithActiveUsersBefore(@Nullable @Param("cursor") Long cursor, Limit limit);
+
     @Query("SELECT a FROM Absence a WHERE a.user.id = :userId AND (a.status.name = 'oczekuje' OR a.status.name = 'zatwierdzony')")
     Page<Absence> findAwaitingOrApprovedAbsenceByUserId(@Param("userId") long userId, Pageable pageable);
 
+    @Query("SELECT a FROM Absence a WHERE a.user.id = :userId AND (a.status.name = 'oczekuje' OR a.status.name = 'zatwierdzony') AND (:cursor IS NULL OR a.id < :cursor) ORDER BY a.id DESC")
+    List<Absence> findAwaitingOrApprovedAbsenceByUserIdBefore(@Param("userId") long userId, @Nullable @Param("cursor") Long cursor, Limit limit);
+
     @Query("SELECT a FROM Absence a WHERE a.status.id = :statusId")
     Page<Absence> findAbsenceByStatusId(@Param("statusId") long statusId, Pageable pageable);
 
+    @Query("SELECT a FROM Absence a WHERE a.status.id = :statusId AND (:cursor IS NULL OR a.id < :cursor) ORDER BY a.id DESC")
+    List<Absence> findAbsenceByStatusIdBefore(@Param("statusId") long statusId, @Nullable @Param("cursor") Long cursor, Limit limit);
+
     @Query("SELECT a FROM Absence a WHERE a.user.id = :userId AND (a.start <= :endDate AND a.end >= :startDate) AND a.status.name = 'zatwierdzony'")
     List<Absence> findApprovedAbsenceByDateRangeAndUserId(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate, @Param("userId") long userId);
 
+    @Query("SELECT a FROM Absence a WHERE (a.start <= :endDate AND a.end >= :startDate) AND a.status.name = 'zatwierdzony'")
+    List<Absence> findApprovedAbsenceByDateRange(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
     Boolean existsByUserIdAndId(long userId, long id);
 }
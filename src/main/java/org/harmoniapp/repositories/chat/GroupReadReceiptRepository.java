@@ -0,0 +1,41 @@
+package org.harmoniapp.repositories.chat;
+
+import org.harmoniapp.entities.chat.GroupReadReceipt;
+import org.harmoniapp.entities.chat.GroupReadReceiptId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+public interface GroupReadReceiptRepository extends JpaRepository<GroupReadReceipt, GroupReadReceiptId> {
+
+    @Query("SELECT r.lastReadMessageId FROM GroupReadReceipt r WHERE r.id.groupId = :groupId AND r.id.userId = :userId")
+    Optional<Long> findLastReadMessageId(@Param("groupId") Long groupId, @Param("userId") Long userId);
+
+    /**
+     * Moves the read high-water mark of the member forward, creating it if it does not exist yet.
+     * The mark never moves backwards, so concurrent or out-of-order calls are safe.
+     *
+     * @param groupId   the ID of the group
+     * @param userId    the ID of the member
+     * @param messageId the ID of the last message read by the member
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO group_read_receipt (group_id, user_id, last_read_message_id)
+                VALUES (:groupId, :userId, :messageId)
+                ON CONFLICT (group_id, user_id)
+                DO UPDATE SET last_read_message_id = GREATEST(group_read_receipt.last_read_message_id, EXCLUDED.last_read_message_id)""",
+            nativeQuery = true)
+    void markRead(@Param("groupId") Long groupId, @Param("userId") Long userId, @Param("messageId") Long messageId);
+
+    @Modifying
+    @Query(value = "DELETE FROM group_read_receipt WHERE group_id = :groupId", nativeQuery = true)
+    void deleteByGroupId(@Param("groupId") Long groupId);
+
+    @Modifying
+    @Query(value = "DELETE FROM group_read_receipt WHERE group_id = :groupId AND user_id = :userId", nativeQuery = true)
+    void deleteByGroupIdAndUserId(@Param("groupId") Long groupId, @Param("userId") Long userId);
+}
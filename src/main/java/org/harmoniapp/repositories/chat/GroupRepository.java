@@ -2,6 +2,15 @@ package org.harmoniapp.repositories.chat;
 
 import org.harmoniapp.entities.chat.Group;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
 
 public interface GroupRepository extends JpaRepository<Group, Long> {
+
+    boolean existsByIdAndMembersId(Long groupId, Long userId);
+
+    @Query("SELECT m.id FROM Group g JOIN g.members m WHERE g.id = :groupId")
+    List<Long> findMemberIdsById(@Param("groupId") Long groupId);
 }
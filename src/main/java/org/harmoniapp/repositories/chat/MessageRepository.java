@@ -61,9 +61,39 @@ public interface MessageRepository extends JpaRepository<Message, Long> {
     @Query("SELECT m FROM Message m WHERE m.receiver.id = :userId AND m.sender.id = :partnerId AND m.isRead = false")
     List<Message> findUnreadByUsersIds(@Param("userId") Long userId, @Param("partnerId") Long partnerId);
 
-    @Query("SELECT m FROM Message m WHERE m.group.id = :groupId AND m.isRead = false AND m.sender.id != :userId")
+    @Query("SELECT COUNT(m) FROM Message m WHERE m.receiver.id = :userId AND m.sender.id = :partnerId AND m.isRead = false")
+    long countUnreadByUsersIds(@Param("userId") Long userId, @Param("partnerId") Long partnerId);
+
+    /**
+     * Finds the group messages sent by other members after the read high-water mark of the given user.
+     *
+     * @param userId  the ID of the reading member
+     * @param groupId the ID of the group
+     * @return a list of unread messages ordered by their ID
+     */
+    @Query("""
+            SELECT m FROM Message m
+            WHERE m.group.id = :groupId AND m.sender.id != :userId
+                AND m.id > COALESCE((SELECT r.lastReadMessageId FROM GroupReadReceipt r
+                                     WHERE r.id.groupId = :groupId AND r.id.userId = :userId), 0)
+            ORDER BY m.id ASC""")
     List<Message> findUnreadByGroupId(@Param("userId") Long userId, @Param("groupId") Long groupId);
 
+    /**
+     * Counts the group messages sent by other members after the read high-water mark of the given user.
+     * Backed by the {@code (group_id, id)} index, so it is a range count regardless of the group history size.
+     *
+     * @param userId  the ID of the reading member
+     * @param groupId the ID of the group
+     * @return the number of unread messages
+     */
+    @Query("""
+            SELECT COUNT(m) FROM Message m
+            WHERE m.group.id = :groupId AND m.sender.id != :userId
+                AND m.id > COALESCE((SELECT r.lastReadMessageId FROM GroupReadReceipt r
+                                     WHERE r.id.groupId = :groupId AND r.id.userId = :userId), 0)""")
+    long countUnreadByGroupId(@Param("userId") Long userId, @Param("groupId") Long groupId);
+
 
     @Query(value = "SELECT m.content FROM Message m " +
             "WHERE m.group_id = :groupId ORDER BY m.sent_at DESC LIMIT 1", nativeQuery = true)
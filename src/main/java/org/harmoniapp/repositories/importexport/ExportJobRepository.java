@@ -0,0 +1,72 @@
+package org.harmoniapp.repositories.importexport;
+
+import org.harmoniapp.entities.importexport.ExportJob;
+import org.harmoniapp.enums.ExportJobStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface ExportJobRepository extends JpaRepository<ExportJob, UUID> {
+
+    Optional<ExportJob> findByIdAndOwnerId(UUID id, Long ownerId);
+
+    /**
+     * Finds the jobs finished before the given time and the unfinished jobs created before the abandonment time,
+     * i.e. jobs of an instance that stopped while running them.
+     *
+     * @param before          the time before which finished jobs expire
+     * @param abandonedBefore the time before which unfinished jobs are considered abandoned
+     * @return the expired jobs
+     */
+    @Query("""
+            SELECT j FROM ExportJob j
+            WHERE j.completedAt < :before OR (j.completedAt IS NULL AND j.createdAt < :abandonedBefore)""")
+    List<ExportJob> findExpired(@Param("before") Instant before, @Param("abandonedBefore") Instant abandonedBefore);
+
+    /**
+     * Changes the status of an unfinished job. Expired jobs removed in the meantime are not recreated.
+     *
+     * @param id     the ID of the job
+     * @param status the new status
+     * @return the number of updated jobs
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE ExportJob j SET j.status = :status WHERE j.id = :id AND j.completedAt IS NULL")
+    int updateStatus(@Param("id") UUID id, @Param("status") ExportJobStatus status);
+
+    /**
+     * Marks an unfinished job as completed or failed. Expired jobs removed in the meantime are not recreated.
+     *
+     * @param id          the ID of the job
+     * @param status      the final status
+     * @param completedAt the time the job finished
+     * @param error       the reason of the failure, null unless the job failed
+     * @return the number of updated jobs
+     */
+    @Modifying
+    @Transactional
+    @Query("""
+            UPDATE ExportJob j SET j.status = :status, j.completedAt = :completedAt, j.error = :error
+            WHERE j.id = :id AND j.completedAt IS NULL""")
+    int finish(@Param("id") UUID id, @Param("status") ExportJobStatus status,
+               @Param("completedAt") Instant completedAt, @Param("error") String error);
+
+    /**
+     * Deletes a job. When several instances purge the same job only one of them deletes it.
+     *
+     * @param id the ID of the job
+     * @return the number of deleted jobs
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM ExportJob j WHERE j.id = :id")
+    int deleteJobById(@Param("id") UUID id);
+}
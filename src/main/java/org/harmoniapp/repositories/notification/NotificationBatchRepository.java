@@ -0,0 +1,19 @@
+package org.harmoniapp.repositories.notification;
+
+import org.harmoniapp.entities.notification.Notification;
+
+import java.util.List;
+
+/**
+ * Repository fragment for writing notifications in JDBC batches.
+ */
+public interface NotificationBatchRepository {
+
+    /**
+     * Inserts all notifications in a single JDBC batch and assigns the generated IDs to them.
+     *
+     * @param notifications the notifications to insert, each with a user set
+     * @return the inserted notifications
+     */
+    List<Notification> insertAll(List<Notification> notifications);
+}
@@ -0,0 +1,65 @@
+package org.harmoniapp.repositories.notification;
+
+import lombok.RequiredArgsConstructor;
+import org.harmoniapp.entities.notification.Notification;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JDBC implementation of {@link NotificationBatchRepository}.
+ * Notification IDs are generated by the database, which prevents Hibernate from batching the inserts,
+ * so they are written with a plain JDBC batch instead.
+ */
+@RequiredArgsConstructor
+public class NotificationBatchRepositoryImpl implements NotificationBatchRepository {
+    private static final String INSERT_SQL =
+            "INSERT INTO notification (user_id, title, message, read, created_at) VALUES (?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Inserts all notifications in a single JDBC batch and assigns the generated IDs to them.
+     *
+     * @param notifications the notifications to insert, each with a user set
+     * @return the inserted notifications
+     */
+    @Override
+    public List<Notification> insertAll(List<Notification> notifications) {
+        if (notifications.isEmpty()) {
+            return notifications;
+        }
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(con -> con.prepareStatement(INSERT_SQL, new String[]{"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        Notification notification = notifications.get(i);
+                        ps.setLong(1, notification.getUser().getId());
+                        ps.setString(2, notification.getTitle());
+                        ps.setString(3, notification.getMessage());
+                        ps.setBoolean(4, notification.getRead());
+                        ps.setTimestamp(5, Timestamp.valueOf(notification.getCreatedAt()));
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return notifications.size();
+                    }
+                },
+                keyHolder);
+
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        for (int i = 0; i < notifications.size(); i++) {
+            notifications.get(i).setId(((Number) keys.get(i).get("id")).longValue());
+        }
+        return notifications;
+    }
+}
@@ -1,17 +1,47 @@
 package org.harmoniapp.repositories.notification;
 
 import org.harmoniapp.entities.notification.Notification;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
-public interface NotificationRepository extends JpaRepository<Notification, Long> {
+public interface NotificationRepository extends JpaRepository<Notification, Long>, NotificationBatchRepository {
 
     List<Notification> findAllByUserIdOrderByCreatedAtDesc(long userId);
 
+    boolean existsByIdAndUserId(Long id, Long userId);
+
+    List<Notification> findAllByUserIdOrderByIdDesc(long userId, Limit limit);
+
+    List<Notification> findAllByUserIdAndIdLessThanOrderByIdDesc(long userId, long id, Limit limit);
 
     @Query("SELECT n FROM Notification n WHERE n.user.id = :userId AND n.read = false ORDER BY n.createdAt DESC")
     List<Notification> findAllUnreadByUserIdOrderByCreatedAtDesc(@Param("userId") long userId);
+
+    @Query("SELECT COUNT(n) FROM Notification n WHERE n.user.id = :userId AND n.read = false")
+    long countUnreadByUserId(@Param("userId") long userId);
+
+    /**
+     * Deletes at most {@code batchSize} read notifications created before the given date.
+     * Every call runs in its own transaction, so a large purge does not hold locks for long.
+     *
+     * @param before    the date before which read notifications are deleted
+     * @param batchSize the maximum number of notifications to delete
+     * @return the number of deleted notifications
+     */
+    @Modifying
+    @Transactional
+    @Query(value = """
+            DELETE FROM notification WHERE id IN (
+                SELECT id FROM notification
+                WHERE read = true AND created_at < :before
+                LIMIT :batchSize)""",
+            nativeQuery = true)
+    int deleteReadCreatedBefore(@Param("before") LocalDateTime before, @Param("batchSize") int batchSize);
 }
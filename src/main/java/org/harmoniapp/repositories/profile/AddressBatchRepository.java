@@ -0,0 +1,19 @@
+package org.harmoniapp.repositories.profile;
+
+import org.harmoniapp.entities.profile.Address;
+
+import java.util.List;
+
+/**
+ * Repository fragment for writing addresses in JDBC batches.
+ */
+public interface AddressBatchRepository {
+
+    /**
+     * Inserts all addresses in a single JDBC batch and assigns the generated IDs to them.
+     *
+     * @param addresses the addresses to insert
+     * @return the inserted addresses
+     */
+    List<Address> insertAll(List<Address> addresses);
+}
@@ -0,0 +1,66 @@
+package org.harmoniapp.repositories.profile;
+
+import lombok.RequiredArgsConstructor;
+import org.harmoniapp.entities.profile.Address;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JDBC implementation of {@link AddressBatchRepository}.
+ * Address IDs are generated by the database, which prevents Hibernate from batching the inserts,
+ * so they are written with a plain JDBC batch instead.
+ */
+@RequiredArgsConstructor
+public class AddressBatchRepositoryImpl implements AddressBatchRepository {
+    private static final String INSERT_SQL = """
+            INSERT INTO address (zip_code, city, street, building_number, apartment, department_name)
+            VALUES (?, ?, ?, ?, ?, ?)""";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Inserts all addresses in a single JDBC batch and assigns the generated IDs to them.
+     *
+     * @param addresses the addresses to insert
+     * @return the inserted addresses
+     */
+    @Override
+    public List<Address> insertAll(List<Address> addresses) {
+        if (addresses.isEmpty()) {
+            return addresses;
+        }
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(con -> con.prepareStatement(INSERT_SQL, new String[]{"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        Address address = addresses.get(i);
+                        ps.setString(1, address.getZipCode());
+                        ps.setString(2, address.getCity());
+                        ps.setString(3, address.getStreet());
+                        ps.setString(4, address.getBuildingNumber());
+                        ps.setString(5, address.getApartment());
+                        ps.setString(6, address.getDepartmentName());
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return addresses.size();
+                    }
+                },
+                keyHolder);
+
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        for (int i = 0; i < addresses.size(); i++) {
+            addresses.get(i).setId(((Number) keys.get(i).get("id")).longValue());
+        }
+        return addresses;
+    }
+}
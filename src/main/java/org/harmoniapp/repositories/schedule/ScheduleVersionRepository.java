@@ -0,0 +1,25 @@
+package org.harmoniapp.repositories.schedule;
+
+import org.harmoniapp.entities.schedule.ScheduleVersion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+public interface ScheduleVersionRepository extends JpaRepository<ScheduleVersion, Short> {
+
+    @Query("SELECT COALESCE(MAX(v.version), 0) FROM ScheduleVersion v")
+    long findCurrentVersion();
+
+    /**
+     * Increments the version of the schedule, creating the row if it does not exist yet.
+     * The row stays locked until the surrounding transaction ends, so concurrent schedule changes bump it one by one.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = """
+            INSERT INTO schedule_version (id, version) VALUES (1, 1)
+                ON CONFLICT (id) DO UPDATE SET version = schedule_version.version + 1""",
+            nativeQuery = true)
+    void increment();
+}
@@ -0,0 +1,19 @@
+package org.harmoniapp.repositories.schedule;
+
+import org.harmoniapp.entities.schedule.Shift;
+
+import java.util.List;
+
+/**
+ * Repository fragment for writing shifts in JDBC batches.
+ */
+public interface ShiftBatchRepository {
+
+    /**
+     * Inserts all shifts in a single JDBC batch and assigns the generated IDs to them.
+     *
+     * @param shifts the shifts to insert, each with a user set
+     * @return the inserted shifts
+     */
+    List<Shift> insertAll(List<Shift> shifts);
+}
@@ -0,0 +1,70 @@
+package org.harmoniapp.repositories.schedule;
+
+import lombok.RequiredArgsConstructor;
+import org.harmoniapp.entities.schedule.Shift;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JDBC implementation of {@link ShiftBatchRepository}.
+ * Shift IDs are generated by the database, which prevents Hibernate from batching the inserts,
+ * so they are written with a plain JDBC batch instead.
+ */
+@RequiredArgsConstructor
+public class ShiftBatchRepositoryImpl implements ShiftBatchRepository {
+    private static final String INSERT_SQL =
+            "INSERT INTO shift (\"start\", \"end\", user_id, role_id, published) VALUES (?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Inserts all shifts in a single JDBC batch and assigns the generated IDs to them.
+     *
+     * @param shifts the shifts to insert, each with a user set
+     * @return the inserted shifts
+     */
+    @Override
+    public List<Shift> insertAll(List<Shift> shifts) {
+        if (shifts.isEmpty()) {
+            return shifts;
+        }
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(con -> con.prepareStatement(INSERT_SQL, new String[]{"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        Shift shift = shifts.get(i);
+                        ps.setTimestamp(1, Timestamp.valueOf(shift.getStart()));
+                        ps.setTimestamp(2, Timestamp.valueOf(shift.getEnd()));
+                        ps.setLong(3, shift.getUser().getId());
+                        if (shift.getRole() != null) {
+                            ps.setLong(4, shift.getRole().getId());
+                        } else {
+                            ps.setNull(4, Types.BIGINT);
+                        }
+                        ps.setBoolean(5, shift.getPublished());
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return shifts.size();
+                    }
+                },
+                keyHolder);
+
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        for (int i = 0; i < shifts.size(); i++) {
+            shifts.get(i).setId(((Number) keys.get(i).get("id")).longValue());
+        }
+        return shifts;
+    }
+}
@@ -8,12 +8,15 @@ import org.springframework.data.repository.query.Param;
 import java.time.LocalDateTime;
 import java.util.List;
 
-public interface ShiftRepository extends JpaRepository<Shift, Long> {
+public interface ShiftRepository extends JpaRepository<Shift, Long>, ShiftBatchRepository {
 
     @Query("SELECT s FROM Shift s WHERE (s.start <= :end AND s.end >= :start) AND s.user.id = :userId")
     List<Shift> findAllByDateRangeAndUserId(@Param("start") LocalDateTime start,
                                             @Param("end") LocalDateTime end, @Param("userId") Long userId);
 
+    @Query("SELECT s FROM Shift s WHERE s.start < :end AND s.end > :start")
+    List<Shift> findAllOverlapping(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
     @Query("SELECT s FROM Shift s WHERE s.start BETWEEN :start AND :end")
     List<Shift> findAllByDateRange(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
 
@@ -27,4 +30,6 @@ public interface ShiftRepository extends JpaRepository<Shift, Long> {
                                                   @Param("end") LocalDateTime end, @Param("userId") Long userId);
 
     List<Shift> findByRole_Id(Long id);
+
+    boolean existsByIdAndUserId(Long id, Long userId);
 }
@@ -0,0 +1,10 @@
+package org.harmoniapp.repositories.user;
+
+/**
+ * Projection of a name of a role or a language assigned to a user.
+ *
+ * @param userId the ID of the user
+ * @param name   the name of the role or the language
+ */
+public record UserAttributeRow(Long userId, String name) {
+}
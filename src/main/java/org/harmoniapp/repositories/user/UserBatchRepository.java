@@ -0,0 +1,20 @@
+package org.harmoniapp.repositories.user;
+
+import org.harmoniapp.entities.user.User;
+
+import java.util.List;
+
+/**
+ * Repository fragment for writing users in JDBC batches.
+ */
+public interface UserBatchRepository {
+
+    /**
+     * Inserts all users together with their roles and languages in JDBC batches
+     * and assigns the generated IDs to them.
+     *
+     * @param users the users to insert, each with a saved residence and a contract type set
+     * @return the inserted users
+     */
+    List<User> insertAll(List<User> users);
+}
@@ -0,0 +1,147 @@
+package org.harmoniapp.repositories.user;
+
+import lombok.RequiredArgsConstructor;
+import org.harmoniapp.entities.profile.Language;
+import org.harmoniapp.entities.profile.Role;
+import org.harmoniapp.entities.user.User;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JDBC implementation of {@link UserBatchRepository}.
+ * User IDs are generated by the database, which prevents Hibernate from batching the inserts,
+ * so users and their role and language assignments are written with plain JDBC batches instead.
+ */
+@RequiredArgsConstructor
+public class UserBatchRepositoryImpl implements UserBatchRepository {
+    private static final String INSERT_USER_SQL = """
+            INSERT INTO "user" (firstname, surname, email, password, contract_type_id, contract_signature,
+                contract_expiration, residence_id, work_address_id, supervisor_id, phone_number, employee_id, photo,
+                failed_login_attempts, password_expiration_date, is_active, available_absence_days,
+                unused_absence_days, unused_absence_expiration)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)""";
+    private static final String INSERT_USER_ROLE_SQL = "INSERT INTO user_role (user_id, role_id) VALUES (?, ?)";
+    private static final String INSERT_USER_LANGUAGE_SQL =
+            "INSERT INTO user_language (user_id, language_id) VALUES (?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Inserts all users together with their roles and languages in JDBC batches
+     * and assigns the generated IDs to them.
+     *
+     * @param users the users to insert, each with a saved residence and a contract type set
+     * @return the inserted users
+     */
+    @Override
+    public List<User> insertAll(List<User> users) {
+        if (users.isEmpty()) {
+            return users;
+        }
+        insertUsers(users);
+
+        List<long[]> userRoles = new ArrayList<>();
+        List<long[]> userLanguages = new ArrayList<>();
+        for (User user : users) {
+            if (user.getRoles() != null) {
+                for (Role role : user.getRoles()) {
+                    userRoles.add(new long[]{user.getId(), role.getId()});
+                }
+            }
+            if (user.getLanguages() != null) {
+                for (Language language : user.getLanguages()) {
+                    userLanguages.add(new long[]{user.getId(), language.getId()});
+                }
+            }
+        }
+        insertPairs(INSERT_USER_ROLE_SQL, userRoles);
+        insertPairs(INSERT_USER_LANGUAGE_SQL, userLanguages);
+        return users;
+    }
+
+    /**
+     * Inserts the users in a single JDBC batch and assigns the generated IDs to them.
+     *
+     * @param users the users to insert
+     */
+    private void insertUsers(List<User> users) {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(con -> con.prepareStatement(INSERT_USER_SQL, new String[]{"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        User user = users.get(i);
+                        ps.setString(1, user.getFirstname());
+                        ps.setString(2, user.getSurname());
+                        ps.setString(3, user.getEmail());
+                        ps.setString(4, user.getPassword());
+                        ps.setLong(5, user.getContractType().getId());
+                        ps.setObject(6, user.getContractSignature());
+                        ps.setObject(7, user.getContractExpiration());
+                        ps.setLong(8, user.getResidence().getId());
+                        setId(ps, 9, user.getWorkAddress() == null ? null : user.getWorkAddress().getId());
+                        setId(ps, 10, user.getSupervisor() == null ? null : user.getSupervisor().getId());
+                        ps.setString(11, user.getPhoneNumber());
+                        ps.setString(12, user.getEmployeeId());
+                        ps.setString(13, user.getPhoto());
+                        ps.setInt(14, user.getFailedLoginAttempts());
+                        ps.setObject(15, user.getPasswordExpirationDate());
+                        ps.setBoolean(16, user.getIsActive());
+                        ps.setInt(17, user.getAvailableAbsenceDays());
+                        ps.setInt(18, user.getUnusedAbsenceDays());
+                        ps.setObject(19, user.getUnusedAbsenceExpiration());
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return users.size();
+                    }
+                },
+                keyHolder);
+
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        for (int i = 0; i < users.size(); i++) {
+            users.get(i).setId(((Number) keys.get(i).get("id")).longValue());
+        }
+    }
+
+    /**
+     * Inserts rows of a join table in a single JDBC batch.
+     *
+     * @param sql   the insert statement with two ID parameters
+     * @param pairs the pairs of IDs to insert
+     */
+    private void insertPairs(String sql, List<long[]> pairs) {
+        if (pairs.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(sql, pairs, pairs.size(), (ps, pair) -> {
+            ps.setLong(1, pair[0]);
+            ps.setLong(2, pair[1]);
+        });
+    }
+
+    /**
+     * Sets a nullable ID parameter of the statement.
+     *
+     * @param ps    the statement
+     * @param index the index of the parameter
+     * @param id    the ID to set, or null
+     */
+    private static void setId(PreparedStatement ps, int index, Long id) throws SQLException {
+        if (id == null) {
+            ps.setNull(index, Types.BIGINT);
+        } else {
+            ps.setLong(index, id);
+        }
+    }
+}
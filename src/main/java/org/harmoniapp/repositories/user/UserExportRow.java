@@ -0,0 +1,41 @@
+package org.harmoniapp.repositories.user;
+
+import java.time.LocalDate;
+
+/**
+ * Projection of an active user with the columns of the user export, read in a single query.
+ *
+ * @param id                   the ID of the user
+ * @param employeeId           the employee ID of the user
+ * @param firstname            the first name of the user
+ * @param surname              the surname of the user
+ * @param email                the email of the user
+ * @param phoneNumber          the phone number of the user
+ * @param city                 the city of the residence
+ * @param street               the street of the residence
+ * @param apartment            the apartment of the residence
+ * @param zipCode              the zip code of the residence
+ * @param buildingNumber       the building number of the residence
+ * @param contractType         the name of the contract type
+ * @param contractSignature    the contract signature date
+ * @param contractExpiration   the contract expiration date
+ * @param supervisorEmployeeId the employee ID of the supervisor
+ * @param departmentName       the department name of the work address
+ */
+public record UserExportRow(Long id,
+                            String employeeId,
+                            String firstname,
+                            String surname,
+                            String email,
+                            String phoneNumber,
+                            String city,
+                            String street,
+                            String apartment,
+                            String zipCode,
+                            String buildingNumber,
+                            String contractType,
+                            LocalDate contractSignature,
+                            LocalDate contractExpiration,
+                            String supervisorEmployeeId,
+                            String departmentName) {
+}
@@ -0,0 +1,19 @@
+package org.harmoniapp.repositories.user;
+
+/**
+ * Projection of an active user with the columns of the user list page, read in a single query.
+ *
+ * @param id         the ID of the user
+ * @param firstname  the first name of the user
+ * @param surname    the surname of the user
+ * @param employeeId the employee ID of the user
+ * @param photo      the photo of the user
+ * @param role       the name of the primary role of the user
+ */
+public record UserListRow(Long id,
+                          String firstname,
+                          String surname,
+                          String employeeId,
+                          String photo,
+                          String role) {
+}
@@ -2,64 +2,164 @@ package org.harmoniapp.repositories.user;
 
 import org.harmoniapp.entities.user.User;
 import org.jetbrains.annotations.NotNull;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.lang.Nullable;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
 import java.time.LocalDate;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
-public interface UserRepository extends JpaRepository<User, Long>, JpaSpecificationExecutor<User> {
+public interface UserRepository extends JpaRepository<User, Long>, JpaSpecificationExecutor<User>, UserBatchRepository {
 
     boolean existsById(@NotNull Long id);
 
+    @EntityGraph(User.DETAIL_GRAPH)
     Optional<User> findByIdAndIsActiveTrue(Long id);
 
+    @EntityGraph(User.LIST_GRAPH)
     Page<User> findAllByIsActiveTrue(Pageable pageable);
 
     List<User> findByIsActiveTrue(Sort sort);
 
     List<User> findAllByIsActiveTrue();
 
+    List<User> findAllByIdInAndIsActiveTrue(Collection<Long> ids);
+
+    @EntityGraph(User.LIST_GRAPH)
     @Query("""
-            select u from User u left join u.roles roles left join u.languages languages
-            where ((u.contractType.id in ?1 or ?1 is null) and
-                  (roles.id in ?2 or ?2 is null) and
-                  (languages.id in ?3 or ?3 is null))
-                  and u.isActive = true""")
+            select u from User u
+            where u.isActive = true
+                  and (u.contractType.id in ?1 or ?1 is null)
+                  and (?2 is null or exists (
+                      select ru.id from User ru join ru.roles r where ru.id = u.id and r.id in ?2))
+                  and (?3 is null or exists (
+                      select lu.id from User lu join lu.languages l where lu.id = u.id and l.id in ?3))""")
     Page<User> findAllByContractAndRoleAndLanguageAndIsActive(@Nullable Collection<Long> contract,
                                                               @Nullable Collection<Long> role,
                                                               @Nullable Collection<Long> language,
                                                               Pageable pageable);
 
+    /**
+     * Reads the active users following the cursor in ID order, filtered like
+     * {@link #findAllByContractAndRoleAndLanguageAndIsActive}. The users are located by the ID of the last user
+     * of the previous page instead of an offset, and no count query is run.
+     */
+    @EntityGraph(User.LIST_GRAPH)
     @Query("""
-            select u from User u left join u.roles roles left join u.languages languages
-            where u.isActive = true and
-                  (
-                  upper(u.firstname) like concat(?1, '%') or
-                  upper(u.surname) like concat(?1, '%')
-                  )""")
-    List<User> findAllActiveBySearch(String search);
-
-    @Query("""
-        select u from User u
-        where u.isActive = ?2 and upper(u.firstname) in ?1 and upper(u.surname) in ?1""")
-    List<User> findAllActiveBySearchName(List<String> search);
+            select u from User u
+            where u.isActive = true
+                  and (?1 is null or u.contractType.id in ?1)
+                  and (?2 is null or exists (
+                      select ru.id from User ru join ru.roles r where ru.id = u.id and r.id in ?2))
+                  and (?3 is null or exists (
+                      select lu.id from User lu join lu.languages l where lu.id = u.id and l.id in ?3))
+                  and (?4 is null or u.id > ?4)
+            order by u.id""")
+    List<User> findActiveAfter(@Nullable Collection<Long> contract,
+                               @Nullable Collection<Long> role,
+                               @Nullable Collection<Long> language,
+                               @Nullable Long cursor,
+                               Limit limit);
+
+    /**
+     * Reads a page of active users with the columns of the user list page.
+     * The filters are {@code EXISTS} subqueries instead of joins, so users are not duplicated and the count query
+     * reads the user table only. The primary role is the first role by name other than the administrator role,
+     * or the administrator role if the user has no other role.
+     *
+     * @param contract the IDs of the contract types to filter by, or null
+     * @param role     the IDs of the roles to filter by, or null
+     * @param language the IDs of the languages to filter by, or null
+     * @param pageable the pagination and sorting details
+     * @return a page of user list rows
+     */
+    @Query(value = """
+            select new org.harmoniapp.repositories.user.UserListRow(u.id, u.firstname, u.surname, u.employeeId, u.photo,
+                coalesce(
+                    (select min(r.name) from User ru join ru.roles r where ru.id = u.id and upper(r.name) <> 'ADMIN'),
+                    (select min(r.name) from User ru join ru.roles r where ru.id = u.id)))
+            from User u
+            where u.isActive = true
+                  and (u.contractType.id in ?1 or ?1 is null)
+                  and (?2 is null or exists (
+                      select ru.id from User ru join ru.roles r where ru.id = u.id and r.id in ?2))
+                  and (?3 is null or exists (
+                      select lu.id from User lu join lu.languages l where lu.id = u.id and l.id in ?3))""",
+            countQuery = """
+            select count(u) from User u
+            where u.isActive = true
+                  and (u.contractType.id in ?1 or ?1 is null)
+                  and (?2 is null or exists (
+                      select ru.id from User ru join ru.roles r where ru.id = u.id and r.id in ?2))
+                  and (?3 is null or exists (
+                      select lu.id from User lu join lu.languages l where lu.id = u.id and l.id in ?3))""")
+    Page<UserListRow> findListPage(@Nullable Collection<Long> contract,
+                                   @Nullable Collection<Long> role,
+                                   @Nullable Collection<Long> language,
+                                   Pageable pageable);
+
+    /**
+     * Searches active users by their first name, surname, email and employee ID, ranked by relevance.
+     * Every token of the query matches a word prefix through the full-text index, and the whole query matches
+     * misspelled words through the trigram index. Both indexes are defined in {@code db/user-search.sql} over
+     * the same expression as this query, which requires the {@code pg_trgm} extension.
+     *
+     * @param tsQuery the full-text query, with every token matched as a prefix
+     * @param text    the normalized query text, matched by trigram word similarity
+     * @param limit   the maximum number of users to return
+     * @param offset  the number of users to skip
+     * @return the matching users, the most relevant first
+     */
+    @Query(value = """
+            SELECT u.* FROM "user" u
+            WHERE u.is_active = true AND (
+                to_tsvector('simple', lower(coalesce(u.firstname, '') || ' ' || coalesce(u.surname, '') || ' '
+                    || coalesce(u.email, '') || ' ' || coalesce(u.employee_id, ''))) @@ to_tsquery('simple', :tsQuery)
+                OR :text <% lower(coalesce(u.firstname, '') || ' ' || coalesce(u.surname, '') || ' '
+                    || coalesce(u.email, '') || ' ' || coalesce(u.employee_id, '')))
+            ORDER BY ts_rank(to_tsvector('simple', lower(coalesce(u.firstname, '') || ' ' || coalesce(u.surname, '') || ' '
+                         || coalesce(u.email, '') || ' ' || coalesce(u.employee_id, ''))), to_tsquery('simple', :tsQuery)) DESC,
+                     word_similarity(:text, lower(coalesce(u.firstname, '') || ' ' || coalesce(u.surname, '') || ' '
+                         || coalesce(u.email, '') || ' ' || coalesce(u.employee_id, ''))) DESC,
+                     u.surname, u.firstname, u.id
+            LIMIT :limit OFFSET :offset""",
+            nativeQuery = true)
+    List<User> searchActive(@Param("tsQuery") String tsQuery, @Param("text") String text,
+                            @Param("limit") int limit, @Param("offset") long offset);
 
     @Query("""
         select u from User u left join u.roles roles
         where upper(roles.name) like upper('ADMIN') and u.isActive = true""")
     Page<User> findSupervisors(Pageable pageable);
 
+    @Query("""
+        select u from User u left join u.roles roles
+        where upper(roles.name) like upper('ADMIN') and u.isActive = true and (?1 is null or u.id > ?1)
+        order by u.id""")
+    List<User> findSupervisorsAfter(@Nullable Long cursor, Limit limit);
+
+    @EntityGraph(User.AUTHENTICATION_GRAPH)
     Optional<User> findByEmail(String email);
 
+    @Query("select coalesce(u.photo, 'default.jpg') from User u where u.id = :id and u.isActive = true")
+    Optional<String> findActivePhotoById(@Param("id") long id);
+
+    boolean existsByPhoto(String photo);
+
+    @EntityGraph(attributePaths = "roles")
     @Query("""
         select u from User u
         where u.isActive = true and u not in (
@@ -87,4 +187,50 @@ public interface UserRepository extends JpaRepository<User, Long>, JpaSpecificat
     List<User> findAllActiveSupervisors();
 
     Set<User> findByIdInAndIsActiveTrue(Collection<Long> ids);
-}
\ No newline at end of file
+
+    @Query("select u.email from User u where u.email in ?1")
+    List<String> findExistingEmails(Collection<String> emails);
+
+    @Query("select u.employeeId from User u where u.employeeId in ?1")
+    List<String> findExistingEmployeeIds(Collection<String> employeeIds);
+
+    @Query("""
+            select new org.harmoniapp.repositories.user.UserExportRow(
+                u.id, u.employeeId, u.firstname, u.surname, u.email, u.phoneNumber,
+                r.city, r.street, r.apartment, r.zipCode, r.buildingNumber,
+                c.name, u.contractSignature, u.contractExpiration, s.employeeId, w.departmentName)
+            from User u
+            left join u.residence r
+            left join u.contractType c
+            left join u.supervisor s
+            left join u.workAddress w
+            where u.isActive = true
+            order by u.surname, u.firstname""")
+    List<UserExportRow> findAllActiveForExport();
+
+    @Query("""
+            select new org.harmoniapp.repositories.user.UserAttributeRow(u.id, r.name)
+            from User u join u.roles r
+            where u.isActive = true
+            order by r.name""")
+    List<UserAttributeRow> findAllActiveRoleNames();
+
+    @Query("""
+            select new org.harmoniapp.repositories.user.UserAttributeRow(u.id, l.name)
+            from User u join u.languages l
+            where u.isActive = true
+            order by l.name""")
+    List<UserAttributeRow> findAllActiveLanguageNames();
+
+    /**
+     * Revokes the tokens of a user issued before the given time.
+     * The update joins the surrounding transaction, so the revocation becomes visible with the change causing it.
+     *
+     * @param id    the ID of the user
+     * @param since the time since which the tokens of the user are valid
+     */
+    @Modifying
+    @Transactional
+    @Query("update User u set u.tokensValidSince = :since where u.id = :id")
+    void updateTokensValidSince(@Param("id") long id, @Param("since") Instant since);
+}
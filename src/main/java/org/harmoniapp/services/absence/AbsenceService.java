@@ -1,5 +1,6 @@
 package org.harmoniapp.services.absence;
 
+import org.harmoniapp.contracts.CursorPageDto;
 import org.harmoniapp.contracts.PageDto;
 import org.harmoniapp.contracts.absence.AbsenceDto;
 
@@ -37,6 +38,35 @@ public interface AbsenceService {
      */
     PageDto<AbsenceDto> getAll(int pageNumber, int pageSize);
 
+    /**
+     * Retrieves a keyset paginated list of absences for a specific user, newest first.
+     *
+     * @param id       the ID of the user
+     * @param cursor   the cursor returned with the previous page, or null for the first page
+     * @param pageSize the number of items per page
+     * @return a keyset paginated list of absences
+     */
+    CursorPageDto<AbsenceDto> getPageByUserId(long id, Long cursor, int pageSize);
+
+    /**
+     * Retrieves a keyset paginated list of absences by status, newest first.
+     *
+     * @param statusId the ID of the status
+     * @param cursor   the cursor returned with the previous page, or null for the first page
+     * @param pageSize the number of items per page
+     * @return a keyset paginated list of absences
+     */
+    CursorPageDto<AbsenceDto> getPageByStatus(long statusId, Long cursor, int pageSize);
+
+    /**
+     * Retrieves a keyset paginated list of all absences, newest first.
+     *
+     * @param cursor   the cursor returned with the previous page, or null for the first page
+     * @param pageSize the number of items per page
+     * @return a keyset paginated list of all absences
+     */
+    CursorPageDto<AbsenceDto> getPage(Long cursor, int pageSize);
+
     /**
      * Creates a new absence.
      *
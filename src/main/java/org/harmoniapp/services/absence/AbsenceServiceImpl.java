@@ -1,6 +1,7 @@
 package org.harmoniapp.services.absence;
 
 import lombok.RequiredArgsConstructor;
+import org.harmoniapp.contracts.CursorPageDto;
 import org.harmoniapp.contracts.PageDto;
 import org.harmoniapp.contracts.absence.AbsenceDto;
 import org.harmoniapp.contracts.notification.NotificationDto;
@@ -16,6 +17,7 @@ import org.harmoniapp.exception.InvalidDateException;
 import org.harmoniapp.repositories.RepositoryCollector;
 import org.harmoniapp.services.notification.NotificationService;
 import org.harmoniapp.utils.HolidayCalculator;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -24,6 +26,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.util.List;
 
 /**
  * Service class for managing absences.
@@ -81,6 +84,54 @@ public class AbsenceServiceImpl implements AbsenceService {
         return PageDto.mapPage(absence, AbsenceDto::fromEntity);
     }
 
+    /**
+     * Retrieves a page of absences for a specific user, newest first.
+     * The page is located by the ID of the last absence of the previous page instead of an offset,
+     * so deep pages cost the same as the first one and no count query is needed.
+     *
+     * @param id       the user ID
+     * @param cursor   the cursor returned with the previous page, or null for the first page
+     * @param pageSize the size of the page to retrieve
+     * @return a CursorPageDto containing AbsenceDto objects
+     */
+    @Override
+    public CursorPageDto<AbsenceDto> getPageByUserId(long id, Long cursor, int pageSize) {
+        List<Absence> userAbsences = repositoryCollector.getAbsences()
+                .findAwaitingOrApprovedAbsenceByUserIdBefore(id, cursor, Limit.of(pageSize + 1));
+        return CursorPageDto.mapRows(userAbsences, pageSize, AbsenceDto::fromEntity, Absence::getId);
+    }
+
+    /**
+     * Retrieves a page of absences with a specific status, newest first.
+     * The page is located by the ID of the last absence of the previous page instead of an offset.
+     *
+     * @param statusId the status ID
+     * @param cursor   the cursor returned with the previous page, or null for the first page
+     * @param pageSize the size of the page to retrieve
+     * @return a CursorPageDto containing AbsenceDto objects
+     */
+    @Override
+    public CursorPageDto<AbsenceDto> getPageByStatus(long statusId, Long cursor, int pageSize) {
+        List<Absence> absencesWithStatus = repositoryCollector.getAbsences()
+                .findAbsenceByStatusIdBefore(statusId, cursor, Limit.of(pageSize + 1));
+        return CursorPageDto.mapRows(absencesWithStatus, pageSize, AbsenceDto::fromEntity, Absence::getId);
+    }
+
+    /**
+     * Retrieves a page of all absences with active users, newest first.
+     * The page is located by the ID of the last absence of the previous page instead of an offset.
+     *
+     * @param cursor   the cursor returned with the previous page, or null for the first page
+     * @param pageSize the size of the page to retrieve
+     * @return a CursorPageDto containing AbsenceDto objects
+     */
+    @Override
+    public CursorPageDto<AbsenceDto> getPage(Long cursor, int pageSize) {
+        List<Absence> absences = repositoryCollector.getAbsences()
+                .findAllWithActiveUsersBefore(cursor, Limit.of(pageSize + 1));
+        return CursorPageDto.mapRows(absences, pageSize, AbsenceDto::fromEntity, Absence::getId);
+    }
+
     /**
      * Creates a new absence.
      *
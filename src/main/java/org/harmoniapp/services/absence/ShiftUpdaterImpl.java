@@ -4,6 +4,7 @@ import lombok.RequiredArgsConstructor;
 import org.harmoniapp.entities.absence.Absence;
 import org.harmoniapp.entities.schedule.Shift;
 import org.harmoniapp.repositories.RepositoryCollector;
+import org.harmoniapp.services.schedule.ScheduleVersionService;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -18,6 +19,7 @@ import java.util.List;
 @RequiredArgsConstructor
 public class ShiftUpdaterImpl implements ShiftUpdater {
     private final RepositoryCollector repositoryCollector;
+    private final ScheduleVersionService scheduleVersionService;
 
     /**
      * Removes shifts that overlap with the absence period.
@@ -32,5 +34,8 @@ public class ShiftUpdaterImpl implements ShiftUpdater {
         List<Shift> overlappingShifts = repositoryCollector.getShifts()
                 .findAllByDateRangeAndUserId(startDateTime, endDateTime, absence.getUser().getId());
         repositoryCollector.getShifts().deleteAll(overlappingShifts);
+        if (!overlappingShifts.isEmpty()) {
+            scheduleVersionService.bump();
+        }
     }
 }
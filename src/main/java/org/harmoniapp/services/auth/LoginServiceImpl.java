@@ -28,6 +28,8 @@ public class LoginServiceImpl implements LoginService {
     private final RepositoryCollector repositoryCollector;
     private final AuthenticationManager authenticationManager;
     private final JwtTokenUtil jwtTokenUtil;
+    private final TokenRevocationService tokenRevocationService;
+    private final UserAuthenticationCache userAuthenticationCache;
 
     @Value("${server.servlet.context-path}")
     private String contextPath;
@@ -85,12 +87,17 @@ public class LoginServiceImpl implements LoginService {
 
     /**
      * Increments the failed login attempts counter for the given user.
+     * Once the account gets locked, the tokens issued to the user are revoked.
      *
      * @param user the user whose failed login attempts counter is to be incremented
      */
     private void incrementFailedLoginAttempts(User user) {
         user.setFailedLoginAttempts(user.getFailedLoginAttempts() + 1);
         repositoryCollector.getUsers().save(user);
+        userAuthenticationCache.evict(user.getEmail());
+        if (user.getFailedLoginAttempts() >= UserAuthenticationView.MAX_FAILED_LOGIN_ATTEMPTS) {
+            tokenRevocationService.revokeTokens(user.getId());
+        }
     }
 
     /**
@@ -101,6 +108,7 @@ public class LoginServiceImpl implements LoginService {
     private void resetFailedLoginAttempts(User user) {
         user.setFailedLoginAttempts(0);
         repositoryCollector.getUsers().save(user);
+        userAuthenticationCache.evict(user.getEmail());
     }
 
     /**
@@ -5,9 +5,8 @@ import org.harmoniapp.configuration.Principle;
 import org.harmoniapp.contracts.absence.AbsenceDto;
 import org.harmoniapp.contracts.chat.ChatRequestDto;
 import org.harmoniapp.contracts.chat.MessageDto;
-import org.harmoniapp.entities.notification.Notification;
-import org.harmoniapp.entities.schedule.Shift;
 import org.harmoniapp.repositories.RepositoryCollector;
+import org.harmoniapp.services.chat.GroupMembershipCache;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
 
@@ -18,6 +17,7 @@ import java.util.List;
 @RequiredArgsConstructor
 public class SecurityServiceImpl implements SecurityService {
     private final RepositoryCollector repositoryCollector;
+    private final GroupMembershipCache groupMembershipCache;
 
     /**
      * Checks if the authenticated user is the owner of the specified notification.
@@ -28,11 +28,8 @@ public class SecurityServiceImpl implements SecurityService {
      */
     @Override
     public boolean isNotificationOwner(Long notificationId, Authentication authentication) {
-        Notification notification = repositoryCollector.getNotifications().findById(notificationId).orElse(null);
-        if (notification == null) return false;
-
         Principle principle = (Principle) authentication.getPrincipal();
-        return notification.getUser().getId().equals(principle.id());
+        return repositoryCollector.getNotifications().existsByIdAndUserId(notificationId, principle.id());
     }
 
     /**
@@ -44,11 +41,8 @@ public class SecurityServiceImpl implements SecurityService {
      */
     @Override
     public boolean isShiftOwner(Long shiftId, Authentication authentication) {
-        Shift shift = repositoryCollector.getShifts().findById(shiftId).orElse(null);
-        if (shift == null) return false;
-
         Principle principle = (Principle) authentication.getPrincipal();
-        return shift.getUser().getId().equals(principle.id());
+        return repositoryCollector.getShifts().existsByIdAndUserId(shiftId, principle.id());
     }
 
     /**
@@ -120,8 +114,6 @@ public class SecurityServiceImpl implements SecurityService {
      * @return true if the user is a member of the group, false otherwise
      */
     private boolean isGroupMember(Long groupId, Long userId) {
-        return repositoryCollector.getGroups().findById(groupId)
-                .map(group -> group.getMembers().stream().anyMatch(user -> user.getId().equals(userId)))
-                .orElse(false);
+        return groupMembershipCache.isMember(groupId, userId);
     }
 }
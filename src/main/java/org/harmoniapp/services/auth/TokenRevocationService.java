@@ -0,0 +1,26 @@
+package org.harmoniapp.services.auth;
+
+import java.time.Instant;
+
+/**
+ * Service interface for revoking the JWT tokens of a user.
+ */
+public interface TokenRevocationService {
+
+    /**
+     * Checks whether a token of the given user has been revoked.
+     *
+     * @param userId   the ID of the user the token was issued to
+     * @param username the username the token was issued to
+     * @param issuedAt the time the token was issued
+     * @return true if the token is revoked or the user is no longer allowed to sign in, false otherwise
+     */
+    boolean isRevoked(long userId, String username, Instant issuedAt);
+
+    /**
+     * Revokes all tokens issued to the given user so far.
+     *
+     * @param userId the ID of the user
+     */
+    void revokeTokens(long userId);
+}
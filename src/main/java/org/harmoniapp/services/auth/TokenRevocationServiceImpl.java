@@ -0,0 +1,58 @@
+package org.harmoniapp.services.auth;
+
+import lombok.RequiredArgsConstructor;
+import org.harmoniapp.repositories.RepositoryCollector;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Service implementation for revoking the JWT tokens of a user.
+ * <p>
+ * The time since which the tokens of a user are valid is stored with the user, so a revocation made on one instance
+ * of the application applies to all of them. Tokens are checked against the authentication view of the user, which
+ * holds that time and is cached by the {@link UserAuthenticationCache}, so a request does not query the database.
+ * The instance revoking the tokens evicts the view immediately; other instances see the revocation once their
+ * cached view expires, i.e. within {@code auth.cache.ttl}.
+ * </p>
+ */
+@Service
+@RequiredArgsConstructor
+public class TokenRevocationServiceImpl implements TokenRevocationService {
+    private final RepositoryCollector repositoryCollector;
+    private final UserAuthenticationCache userAuthenticationCache;
+
+    /**
+     * Checks whether a token of the given user has been revoked.
+     *
+     * @param userId   the ID of the user the token was issued to
+     * @param username the username the token was issued to
+     * @param issuedAt the time the token was issued
+     * @return true if the token is revoked or the user is no longer allowed to sign in, false otherwise
+     */
+    @Override
+    public boolean isRevoked(long userId, String username, Instant issuedAt) {
+        UserAuthenticationView view;
+        try {
+            view = userAuthenticationCache.get(username);
+        } catch (UsernameNotFoundException e) {
+            return true;
+        }
+        return issuedAt.isBefore(view.tokensValidSince());
+    }
+
+    /**
+     * Revokes all tokens issued to the given user so far.
+     * Within a transaction the revocation is stored together with the change causing it. Tokens carry the issue time
+     * in seconds, so the time is truncated to seconds as well, which keeps a token issued right after the revocation
+     * valid. Callers evict the authentication view of the user, as they change the user anyway.
+     *
+     * @param userId the ID of the user
+     */
+    @Override
+    public void revokeTokens(long userId) {
+        repositoryCollector.getUsers().updateTokensValidSince(userId, Instant.now().truncatedTo(ChronoUnit.SECONDS));
+    }
+}
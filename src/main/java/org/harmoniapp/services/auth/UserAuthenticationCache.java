@@ -0,0 +1,26 @@
+package org.harmoniapp.services.auth;
+
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+/**
+ * Service interface for a cache of the authentication views of users, used to authenticate requests
+ * carrying a token without loading the user on every request.
+ */
+public interface UserAuthenticationCache {
+
+    /**
+     * Retrieves the validated authentication view of a user.
+     *
+     * @param username the username (email) of the user
+     * @return the authentication view of the user
+     * @throws UsernameNotFoundException if the user is not found, inactive, has no password, or is locked
+     */
+    UserAuthenticationView get(String username);
+
+    /**
+     * Evicts the authentication view of a user, e.g. after the user has been changed.
+     *
+     * @param username the username (email) of the user
+     */
+    void evict(String username);
+}
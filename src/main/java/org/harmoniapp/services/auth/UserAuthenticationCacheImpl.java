@@ -0,0 +1,70 @@
+package org.harmoniapp.services.auth;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.harmoniapp.repositories.RepositoryCollector;
+import org.harmoniapp.utils.TtlLruCache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+
+/**
+ * Service implementation of a bounded cache of the authentication views of users.
+ * <p>
+ * Views are kept in a {@link TtlLruCache} named {@code userAuthentication}. Services changing the state of a user
+ * relevant to authentication (activity, password, lockout, roles, email) evict the view explicitly, so the time to
+ * live only bounds changes made outside of them, e.g. on another instance.
+ * </p>
+ */
+@Service
+public class UserAuthenticationCacheImpl implements UserAuthenticationCache {
+    private final RepositoryCollector repositoryCollector;
+    private final TtlLruCache<String, UserAuthenticationView> views;
+
+    @Autowired
+    public UserAuthenticationCacheImpl(RepositoryCollector repositoryCollector,
+                                       MeterRegistry meterRegistry,
+                                       @Value("${auth.cache.max-size:1000}") int maxSize,
+                                       @Value("${auth.cache.ttl:5m}") Duration ttl) {
+        this(repositoryCollector, meterRegistry, maxSize, ttl, Clock.systemUTC());
+    }
+
+    UserAuthenticationCacheImpl(RepositoryCollector repositoryCollector, MeterRegistry meterRegistry,
+                                int maxSize, Duration ttl, Clock clock) {
+        this.repositoryCollector = repositoryCollector;
+        this.views = new TtlLruCache<>("userAuthentication", meterRegistry, maxSize, ttl, clock);
+    }
+
+    /**
+     * Retrieves the validated authentication view of a user, loading it from the database on a miss.
+     *
+     * @param username the username (email) of the user
+     * @return the authentication view of the user
+     * @throws UsernameNotFoundException if the user is not found, inactive, has no password, or is locked
+     */
+    @Override
+    public UserAuthenticationView get(String username) {
+        UserAuthenticationView view = views.get(username, this::load);
+        view.validate();
+        return view;
+    }
+
+    /**
+     * Evicts the authentication view of a user.
+     *
+     * @param username the username (email) of the user
+     */
+    @Override
+    public void evict(String username) {
+        views.evict(username);
+    }
+
+    private UserAuthenticationView load(String username) {
+        return repositoryCollector.getUsers().findByEmail(username)
+                .map(UserAuthenticationView::fromEntity)
+                .orElseThrow(() -> new UsernameNotFoundException("Nieprawidłowy login lub hasło"));
+    }
+}
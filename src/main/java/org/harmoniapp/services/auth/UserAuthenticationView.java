@@ -0,0 +1,67 @@
+package org.harmoniapp.services.auth;
+
+import org.harmoniapp.entities.user.User;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * The part of a user needed to decide whether the user may be authenticated and with which authorities.
+ * It does not hold the password hash, only whether a password is set.
+ *
+ * @param username         the username (email) of the user
+ * @param active           whether the user is active
+ * @param passwordSet      whether the user has a password set
+ * @param locked           whether the account is locked due to multiple failed login attempts
+ * @param authorities      the authorities granted to the user
+ * @param tokensValidSince the time since which the tokens of the user are valid, the epoch if none was revoked
+ */
+public record UserAuthenticationView(String username,
+                                     boolean active,
+                                     boolean passwordSet,
+                                     boolean locked,
+                                     List<GrantedAuthority> authorities,
+                                     Instant tokensValidSince) {
+    public static final int MAX_FAILED_LOGIN_ATTEMPTS = 3;
+
+    /**
+     * Creates the authentication view of a user.
+     *
+     * @param user the User entity
+     * @return the authentication view of the user
+     */
+    public static UserAuthenticationView fromEntity(User user) {
+        return new UserAuthenticationView(
+                user.getEmail(),
+                user.getIsActive(),
+                user.getPassword() != null,
+                user.getFailedLoginAttempts() >= MAX_FAILED_LOGIN_ATTEMPTS,
+                getAuthorities(user),
+                user.getTokensValidSince() != null ? user.getTokensValidSince() : Instant.EPOCH);
+    }
+
+    /**
+     * Validates that the user may be authenticated.
+     *
+     * @throws UsernameNotFoundException if the user is inactive, has no password, or is locked due to multiple failed login attempts
+     */
+    public void validate() {
+        if (!active || !passwordSet) {
+            throw new UsernameNotFoundException("Nieprawidłowy login lub hasło");
+        }
+        if (locked) {
+            throw new UsernameNotFoundException("Konto zablokowane. Skontaktuj się z administratorem");
+        }
+    }
+
+    private static List<GrantedAuthority> getAuthorities(User user) {
+        if (user.getRoles().stream().anyMatch(r -> r.getName().equalsIgnoreCase("ADMIN"))) {
+            return List.of(new SimpleGrantedAuthority("ROLE_ADMIN"));
+        } else {
+            return List.of(new SimpleGrantedAuthority("ROLE_USER"));
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package org.harmoniapp.services.chat;
+
+/**
+ * Service interface for a cache of group memberships, used to authorize chat requests without loading
+ * the members of a group on every request.
+ */
+public interface GroupMembershipCache {
+
+    /**
+     * Checks if the user is a member of the specified group.
+     *
+     * @param groupId the ID of the group
+     * @param userId  the ID of the user
+     * @return true if the user is a member of the group, false otherwise
+     */
+    boolean isMember(long groupId, long userId);
+
+    /**
+     * Evicts the members of a group, e.g. after a member has been added or removed.
+     *
+     * @param groupId the ID of the group
+     */
+    void evict(long groupId);
+}
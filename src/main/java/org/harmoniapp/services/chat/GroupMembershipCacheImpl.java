@@ -0,0 +1,70 @@
+package org.harmoniapp.services.chat;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.harmoniapp.repositories.RepositoryCollector;
+import org.harmoniapp.utils.TtlLruCache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * Service implementation of a short-lived cache of group memberships.
+ * <p>
+ * The member IDs of a group are loaded with a single ID-only query and kept as a sorted array searched with a binary
+ * search, which takes memory proportional to the number of members rather than to the largest user ID. The arrays are
+ * kept in a {@link TtlLruCache} named {@code groupMembership}. The group service evicts a group when its members
+ * change, so the time to live only bounds changes made outside of it.
+ * </p>
+ */
+@Service
+public class GroupMembershipCacheImpl implements GroupMembershipCache {
+    private final RepositoryCollector repositoryCollector;
+    private final TtlLruCache<Long, long[]> groups;
+
+    @Autowired
+    public GroupMembershipCacheImpl(RepositoryCollector repositoryCollector,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${chat.membership-cache.max-size:1000}") int maxSize,
+                                    @Value("${chat.membership-cache.ttl:1m}") Duration ttl) {
+        this(repositoryCollector, meterRegistry, maxSize, ttl, Clock.systemUTC());
+    }
+
+    GroupMembershipCacheImpl(RepositoryCollector repositoryCollector, MeterRegistry meterRegistry,
+                             int maxSize, Duration ttl, Clock clock) {
+        this.repositoryCollector = repositoryCollector;
+        this.groups = new TtlLruCache<>("groupMembership", meterRegistry, maxSize, ttl, clock);
+    }
+
+    /**
+     * Checks if the user is a member of the specified group, loading the members of the group on a miss.
+     *
+     * @param groupId the ID of the group
+     * @param userId  the ID of the user
+     * @return true if the user is a member of the group, false otherwise
+     */
+    @Override
+    public boolean isMember(long groupId, long userId) {
+        return Arrays.binarySearch(groups.get(groupId, this::load), userId) >= 0;
+    }
+
+    /**
+     * Evicts the members of a group.
+     *
+     * @param groupId the ID of the group
+     */
+    @Override
+    public void evict(long groupId) {
+        groups.evict(groupId);
+    }
+
+    private long[] load(long groupId) {
+        return repositoryCollector.getGroups().findMemberIdsById(groupId).stream()
+                .mapToLong(Long::longValue)
+                .sorted()
+                .toArray();
+    }
+}
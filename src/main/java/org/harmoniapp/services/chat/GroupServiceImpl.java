@@ -21,6 +21,7 @@ import java.util.Set;
 @RequiredArgsConstructor
 public class GroupServiceImpl implements GroupService {
     private final RepositoryCollector repositoryCollector;
+    private final GroupMembershipCache groupMembershipCache;
 
     /**
      * Retrieves a GroupDto by its ID.
@@ -85,6 +86,7 @@ public class GroupServiceImpl implements GroupService {
         Group group = getGroupById(groupId);
         User user = getUserById(userId, true);
         group.getMembers().add(user);
+        groupMembershipCache.evict(groupId);
         return saveGroup(group);
     }
 
@@ -107,6 +109,8 @@ public class GroupServiceImpl implements GroupService {
             delete(groupId);
             return null;
         }
+        repositoryCollector.getGroupReadReceipts().deleteByGroupIdAndUserId(groupId, userId);
+        groupMembershipCache.evict(groupId);
         Group newGroup = new Group(group.getId(), group.getName(), members);
         return saveGroup(newGroup);
     }
@@ -123,8 +127,10 @@ public class GroupServiceImpl implements GroupService {
         if (!repositoryCollector.getGroups().existsById(groupId)) {
             throw new EntityNotFoundException("Nie znaleziono grupy o ID: " + groupId);
         }
+        repositoryCollector.getGroupReadReceipts().deleteByGroupId(groupId);
         repositoryCollector.getMessages().deleteByGroupId(groupId);
         repositoryCollector.getGroups().deleteById(groupId);
+        groupMembershipCache.evict(groupId);
     }
 
     /**
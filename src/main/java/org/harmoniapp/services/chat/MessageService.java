@@ -37,6 +37,14 @@ public interface MessageService {
      */
     String getLastMessage(ChatRequestDto chatRequestDto);
 
+    /**
+     * Counts the unread messages of a conversation for the first user of the chat request.
+     *
+     * @param chatRequestDto the chat request details
+     * @return the number of unread messages
+     */
+    long getUnreadCount(ChatRequestDto chatRequestDto);
+
     /**
      * Creates a new message.
      *
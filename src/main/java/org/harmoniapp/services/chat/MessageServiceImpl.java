@@ -38,8 +38,10 @@ public class MessageServiceImpl implements MessageService {
     public List<MessageDto> getChatHistory(ChatRequestDto chatRequestDto, TranslationRequestDto translationRequestDto) {
         assert chatRequestDto.userId1() != null;
         List<Message> messages = getMessages(chatRequestDto);
+        long lastReadMessageId = getLastReadMessageId(chatRequestDto);
         return messages.stream()
-                .map(message -> mapMessage(message, translationRequestDto))
+                .map(message -> mapMessage(message, translationRequestDto,
+                        isReadBy(message, chatRequestDto.userId1(), lastReadMessageId)))
                 .toList();
     }
 
@@ -83,6 +85,30 @@ public class MessageServiceImpl implements MessageService {
         }
     }
 
+    /**
+     * Counts the unread messages of a conversation for the first user of the chat request.
+     *
+     * @param chatRequestDto the chat request containing user and group IDs
+     * @return the number of unread messages
+     * @throws InvalidConversationException if the conversation is invalid
+     */
+    @Override
+    public long getUnreadCount(ChatRequestDto chatRequestDto) {
+        Long userId1 = chatRequestDto.userId1();
+        Long userId2 = chatRequestDto.userId2();
+        Long groupId = chatRequestDto.groupId();
+        if (userId1 == null) {
+            throw new InvalidConversationException("Nieprawidłowy konwersacja");
+        }
+        if (groupId != null) {
+            return repositoryCollector.getMessages().countUnreadByGroupId(userId1, groupId);
+        }
+        if (userId2 != null) {
+            return repositoryCollector.getMessages().countUnreadByUsersIds(userId1, userId2);
+        }
+        throw new InvalidConversationException("Nieprawidłowy konwersacja");
+    }
+
     /**
      * Creates a new message.
      *
@@ -121,10 +147,17 @@ public class MessageServiceImpl implements MessageService {
         if (messages.isEmpty()) {
             return List.of();
         }
-        messages = markAsReadAndSave(messages);
-        List<MessageDto> messagesDto = messages.stream()
-                .map(MessageDto::fromEntity)
-                .toList();
+        List<MessageDto> messagesDto;
+        if (chatRequestDto.groupId() != null) {
+            markGroupAsRead(chatRequestDto.groupId(), chatRequestDto.userId1(), messages);
+            messagesDto = messages.stream()
+                    .map(message -> MessageDto.fromEntity(message, null, true))
+                    .toList();
+        } else {
+            messagesDto = markAsReadAndSave(messages).stream()
+                    .map(MessageDto::fromEntity)
+                    .toList();
+        }
 
         sendUpdateStatus(messagesDto);
         return messagesDto;
@@ -165,22 +198,54 @@ public class MessageServiceImpl implements MessageService {
         }
     }
 
+    /**
+     * Retrieves the read high-water mark of the first user in a group conversation.
+     *
+     * @param chatRequestDto the chat request containing user and group IDs
+     * @return the ID of the last message read by the user, or 0 if the conversation is not a group or nothing was read yet
+     */
+    private long getLastReadMessageId(ChatRequestDto chatRequestDto) {
+        if (chatRequestDto.groupId() == null) {
+            return 0;
+        }
+        return repositoryCollector.getGroupReadReceipts()
+                .findLastReadMessageId(chatRequestDto.groupId(), chatRequestDto.userId1())
+                .orElse(0L);
+    }
+
+    /**
+     * Determines whether the message has been read from the perspective of the given user.
+     * Direct messages carry their own status, group messages are compared against the user's read high-water mark.
+     *
+     * @param message           the Message entity
+     * @param userId            the ID of the reading user
+     * @param lastReadMessageId the read high-water mark of the user in the group
+     * @return true if the message is read, false otherwise
+     */
+    private boolean isReadBy(Message message, Long userId, long lastReadMessageId) {
+        if (message.getGroup() == null) {
+            return message.isRead();
+        }
+        return message.getSender().getId().equals(userId) || message.getId() <= lastReadMessageId;
+    }
+
     /**
      * Maps a Message entity to a MessageDto, optionally translating the message content.
      *
      * @param message               the Message entity to be mapped
      * @param translationRequestDto the translation request containing translation preferences
+     * @param isRead                whether the message has been read by the requesting user
      * @return a MessageDto object representing the mapped message
      */
-    MessageDto mapMessage(Message message, TranslationRequestDto translationRequestDto) {
+    MessageDto mapMessage(Message message, TranslationRequestDto translationRequestDto, boolean isRead) {
         if (shouldTranslate(translationRequestDto)) {
             try {
                 String content = translationService.translate(message.getContent(), translationRequestDto.targetLanguage());
-                return MessageDto.fromEntity(message, content);
+                return MessageDto.fromEntity(message, content, isRead);
             } catch (TranslationFailsException ignored) {
             }
         }
-        return MessageDto.fromEntity(message);
+        return MessageDto.fromEntity(message, null, isRead);
     }
 
     /**
@@ -297,6 +362,18 @@ public class MessageServiceImpl implements MessageService {
         throw new InvalidConversationException("Nieprawidłowy konwersacja");
     }
 
+    /**
+     * Moves the read high-water mark of the member past the given group messages.
+     *
+     * @param groupId  the ID of the group
+     * @param userId   the ID of the reading member
+     * @param messages the unread group messages, ordered by their ID
+     */
+    private void markGroupAsRead(long groupId, long userId, List<Message> messages) {
+        Long lastMessageId = messages.getLast().getId();
+        repositoryCollector.getGroupReadReceipts().markRead(groupId, userId, lastMessageId);
+    }
+
     /**
      * Marks the given list of messages as read and saves them to the repository.
      *
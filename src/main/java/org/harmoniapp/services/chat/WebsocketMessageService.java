@@ -19,7 +19,7 @@ public interface WebsocketMessageService {
     void sendMessage(long receiverId, MessageDto message);
 
     /**
-     * Sends a message to a specific group.
+     * Sends a message to a specific group, publishing it once to the group topic.
      *
      * @param group      the group to send the message to
      * @param messageDto the message to send
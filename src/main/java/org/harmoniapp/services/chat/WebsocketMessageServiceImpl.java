@@ -1,6 +1,7 @@
 package org.harmoniapp.services.chat;
 
 import lombok.RequiredArgsConstructor;
+import org.harmoniapp.configuration.AsyncConfig;
 import org.harmoniapp.contracts.chat.MessageDto;
 import org.harmoniapp.entities.chat.Group;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
@@ -24,38 +25,34 @@ public class WebsocketMessageServiceImpl implements WebsocketMessageService {
      * @param message    the message to be sent
      */
     @Override
-    @Async
+    @Async(AsyncConfig.CHAT_EXECUTOR)
     public void sendMessage(long receiverId, MessageDto message) {
         sendMessage("/client/messages/" + receiverId, message);
     }
 
     /**
-     * Sends a message to all members of the specified group, except the sender.
+     * Publishes a message once to the topic of the specified group.
+     * Subscriptions to the topic are restricted to group members, see {@code WebSocketConfig}.
      *
      * @param group      the group to send the message to
      * @param messageDto the message to be sent
      */
     @Override
-    @Async
+    @Async(AsyncConfig.CHAT_EXECUTOR)
     public void sendMessageToGroup(Group group, MessageDto messageDto) {
-        group.getMembers()
-                .stream()
-                .filter(member -> !member.getId().equals(messageDto.senderId()))
-                .forEach(member -> sendMessage("/client/groupMessages/" + member.getId(), messageDto));
+        sendMessage("/client/group/" + group.getId(), messageDto);
     }
 
     /**
-     * Sends a status update to all members of the specified group, except the sender.
+     * Publishes a status update once to the read status topic of the specified group.
      *
      * @param group    the group to send the status update to
      * @param messages the list of messages to be sent as status updates
      */
     @Override
-    @Async
+    @Async(AsyncConfig.CHAT_EXECUTOR)
     public void sendStatusUpdate(Group group, List<MessageDto> messages) {
-        group.getMembers().stream()
-                .filter(member -> !member.getId().equals(messages.getFirst().senderId()))
-                .forEach(member -> sendMessage("/client/groupMessages/readStatus/" + member.getId(), messages));
+        sendMessage("/client/group/" + group.getId() + "/readStatus", messages);
     }
 
     /**
@@ -65,7 +62,7 @@ public class WebsocketMessageServiceImpl implements WebsocketMessageService {
      * @param messages   the list of messages to be sent as status updates
      */
     @Override
-    @Async
+    @Async(AsyncConfig.CHAT_EXECUTOR)
     public void sendStatusUpdate(long receiverId, List<MessageDto> messages) {
         sendMessage("/client/messages/readStatus/" + receiverId, messages);
     }
@@ -1,33 +1,37 @@
 package org.harmoniapp.services.importexport;
 
-import org.apache.poi.ss.usermodel.Workbook;
-import org.harmoniapp.exception.FileGenerationException;
-import org.springframework.core.io.InputStreamResource;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
+import java.util.function.Consumer;
 
 /**
  * Abstract class for exporting data to Excel format.
+ * <p>
+ * Workbooks are created as streaming {@link SXSSFWorkbook}s, which keep only a window of rows in memory
+ * and flush older rows to a temporary file, and are written directly to the response output stream.
+ * </p>
  */
 public abstract class ExcelExport {
+    protected static final int ROW_ACCESS_WINDOW = 100;
 
     /**
-     * Writes the given workbook to a ByteArrayInputStream.
+     * Creates a response body that fills a streaming workbook and writes it to the response output stream.
+     * The temporary files of the workbook are removed once it has been written.
      *
-     * @param workbook the workbook to be written
-     * @return an InputStreamResource containing the Excel file data
-     * @throws FileGenerationException if an I/O error occurs during writing
+     * @param content the function filling the workbook with data
+     * @return a StreamingResponseBody writing the Excel file
      */
-    protected InputStreamResource writeFile(Workbook workbook) {
-        ByteArrayOutputStream out = new ByteArrayOutputStream();
-        try {
-            workbook.write(out);
-        } catch (IOException e) {
-            throw new FileGenerationException(e.getMessage());
-        }
-        ByteArrayInputStream in = new ByteArrayInputStream(out.toByteArray());
-        return new InputStreamResource(in);
+    protected StreamingResponseBody writeFile(Consumer<SXSSFWorkbook> content) {
+        return out -> {
+            SXSSFWorkbook workbook = new SXSSFWorkbook(ROW_ACCESS_WINDOW);
+            try {
+                content.accept(workbook);
+                workbook.write(out);
+            } finally {
+                workbook.dispose();
+                workbook.close();
+            }
+        };
     }
 }
@@ -1,6 +1,6 @@
 package org.harmoniapp.services.importexport;
 
-import org.springframework.core.io.InputStreamResource;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 /**
  * Service interface for exporting data to Excel files.
@@ -10,16 +10,16 @@ public interface ExcelExportService {
     /**
      * Exports user data to an Excel file.
      *
-     * @return an InputStreamResource containing the Excel file
+     * @return a StreamingResponseBody writing the Excel file
      */
-    InputStreamResource exportUsers();
+    StreamingResponseBody exportUsers();
 
     /**
      * Exports shift data to an Excel file within the specified date range.
      *
      * @param start the start date of the range
      * @param end   the end date of the range
-     * @return an InputStreamResource containing the Excel file
+     * @return a StreamingResponseBody writing the Excel file
      */
-    InputStreamResource exportShifts(String start, String end);
+    StreamingResponseBody exportShifts(String start, String end);
 }
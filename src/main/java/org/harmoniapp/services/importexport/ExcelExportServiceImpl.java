@@ -3,8 +3,9 @@ package org.harmoniapp.services.importexport;
 
 import lombok.RequiredArgsConstructor;
 import org.harmoniapp.exception.InvalidDateException;
-import org.springframework.core.io.InputStreamResource;
+import org.harmoniapp.services.schedule.ScheduleVersionService;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
 
@@ -16,14 +17,16 @@ import java.time.LocalDate;
 public class ExcelExportServiceImpl implements ExcelExportService {
     private final ExportUser userExcelExport;
     private final ExportSchedule scheduleExcelExport;
+    private final ExportFileCache exportFileCache;
+    private final ScheduleVersionService scheduleVersionService;
 
     /**
      * Exports user data to an Excel file.
      *
-     * @return an InputStreamResource containing the Excel file
+     * @return a StreamingResponseBody writing the Excel file
      */
     @Override
-    public InputStreamResource exportUsers() {
+    public StreamingResponseBody exportUsers() {
         return userExcelExport.exportUsers();
     }
 
@@ -32,10 +35,10 @@ public class ExcelExportServiceImpl implements ExcelExportService {
      *
      * @param start the start date of the date range.
      * @param end   the end date of the date range.
-     * @return an InputStreamResource containing the Excel file.
+     * @return a StreamingResponseBody writing the Excel file.
      */
     @Override
-    public InputStreamResource exportShifts(String start, String end) {
+    public StreamingResponseBody exportShifts(String start, String end) {
         LocalDate startDate;
         LocalDate endDate;
         try {
@@ -44,6 +47,7 @@ public class ExcelExportServiceImpl implements ExcelExportService {
         } catch (Exception e) {
             throw new InvalidDateException("Nieprawidłowy format daty");
         }
-        return scheduleExcelExport.exportShifts(startDate, endDate);
+        ExportCacheKey key = new ExportCacheKey("xlsx", startDate, endDate, scheduleVersionService.getVersion());
+        return exportFileCache.getOrRender(key, () -> scheduleExcelExport.exportShifts(startDate, endDate));
     }
 }
@@ -1,46 +1,256 @@
 package org.harmoniapp.services.importexport;
 
 import jakarta.validation.constraints.NotNull;
-import org.apache.poi.ss.usermodel.Sheet;
-import org.apache.poi.ss.usermodel.Workbook;
-import org.apache.poi.ss.usermodel.WorkbookFactory;
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.*;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.usermodel.XSSFComment;
 import org.harmoniapp.exception.EmptyFileException;
 import org.harmoniapp.exception.UnsupportedFileTypeException;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.web.multipart.MultipartFile;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
 
+import javax.xml.parsers.ParserConfigurationException;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Abstract class for importing data from Excel files.
+ * <p>
+ * XLSX files are parsed with the event based (SAX) reader, so rows are handed over in chunks as they are read
+ * and memory usage depends on the chunk size rather than on the size of the file.
+ * Legacy XLS files are read with the workbook model and handed over in the same way.
+ * </p>
  */
 public abstract class ExcelImport {
+    @Value("${import.chunk-size:500}")
+    protected int chunkSize = 500;
 
     /**
-     * Reads the first sheet from the provided Excel file.
+     * Reads the non-blank rows of the first sheet of the provided Excel file.
+     * The first row is passed to the header handler, the remaining rows are passed to the chunk handler
+     * in chunks of at most {@code chunkSize} rows. Exceptions thrown by the handlers are propagated unchanged,
+     * even when the parser wraps them.
      *
-     * @param file the Excel file to read.
-     * @return the first sheet in the workbook.
+     * @param file          the Excel file to read.
+     * @param headerHandler the handler of the header row.
+     * @param chunkHandler  the handler of the chunks of data rows.
+     * @return the number of rows read, including the header row.
      * @throws IllegalArgumentException     if the file is not found, cannot be read.
-     * @throws EmptyFileException           if the file is empty.
+     * @throws EmptyFileException           if the file does not contain a sheet.
      * @throws UnsupportedFileTypeException if the file is not an Excel file.
      */
-    protected Sheet readSheet(@NotNull MultipartFile file) {
-        Sheet sheet;
+    protected int readRows(@NotNull MultipartFile file, Consumer<ExcelRow> headerHandler,
+                           Consumer<List<ExcelRow>> chunkHandler) {
         assert file.getOriginalFilename() != null;
-        if (!(file.getOriginalFilename().toLowerCase().endsWith(".xlsx") || file.getOriginalFilename().toLowerCase().endsWith(".xls"))) {
+        String filename = file.getOriginalFilename().toLowerCase();
+        if (!(filename.endsWith(".xlsx") || filename.endsWith(".xls"))) {
             throw new UnsupportedFileTypeException("Plik musi być w formacie Excel");
         }
-        try (Workbook wb = WorkbookFactory.create(file.getInputStream())) {
-            sheet = wb.getSheetAt(0);
-            if (sheet == null) {
-                throw new EmptyFileException("Nie znaleziono arkusza w pliku");
+        RowChunker chunker = new RowChunker(headerHandler, chunkHandler);
+        try {
+            if (filename.endsWith(".xlsx")) {
+                readXlsx(file, chunker);
+            } else {
+                readXls(file, chunker);
             }
-        } catch (FileNotFoundException | NullPointerException e) {
+        } catch (RuntimeException e) {
+            throw chunker.handlerFailure != null ? chunker.handlerFailure : e;
+        } catch (FileNotFoundException e) {
             throw new IllegalArgumentException("Plk nie został znaleziony");
-        } catch (IOException e) {
+        } catch (IOException | OpenXML4JException | SAXException | ParserConfigurationException e) {
+            if (chunker.handlerFailure != null) {
+                throw chunker.handlerFailure;
+            }
             throw new IllegalArgumentException("Błąd odczytu pliku");
         }
-        return sheet;
+        chunker.flush();
+        return chunker.rowCount;
+    }
+
+    /**
+     * Streams the rows of the first sheet of an XLSX file.
+     * The upload is copied to a temporary file, so the package can be read without unpacking it into memory.
+     *
+     * @param file    the XLSX file to read.
+     * @param chunker the collector of the read rows.
+     */
+    private void readXlsx(MultipartFile file, RowChunker chunker)
+            throws IOException, OpenXML4JException, SAXException, ParserConfigurationException {
+        Path tempFile = Files.createTempFile("harmoni-import", ".xlsx");
+        try {
+            file.transferTo(tempFile);
+            OPCPackage pkg = OPCPackage.open(tempFile.toFile(), PackageAccess.READ);
+            try {
+                XSSFReader reader = new XSSFReader(pkg);
+                Iterator<InputStream> sheets = reader.getSheetsData();
+                if (!sheets.hasNext()) {
+                    throw new EmptyFileException("Nie znaleziono arkusza w pliku");
+                }
+                try (InputStream sheet = sheets.next()) {
+                    XMLReader parser = XMLHelper.newXMLReader();
+                    parser.setContentHandler(new XSSFSheetXMLHandler(reader.getStylesTable(),
+                            new ReadOnlySharedStringsTable(pkg), chunker, new IsoDateFormatter(), false));
+                    parser.parse(new InputSource(sheet));
+                }
+            } finally {
+                pkg.revert();
+            }
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    /**
+     * Reads the rows of the first sheet of an XLS file.
+     *
+     * @param file    the XLS file to read.
+     * @param chunker the collector of the read rows.
+     */
+    private void readXls(MultipartFile file, RowChunker chunker) throws IOException {
+        try (Workbook wb = WorkbookFactory.create(file.getInputStream())) {
+            if (wb.getNumberOfSheets() == 0) {
+                throw new EmptyFileException("Nie znaleziono arkusza w pliku");
+            }
+            DataFormatter formatter = new DataFormatter();
+            for (Row row : wb.getSheetAt(0)) {
+                List<String> cells = new ArrayList<>();
+                for (Cell cell : row) {
+                    setCellValue(cells, cell.getColumnIndex(), formatCell(cell, formatter));
+                }
+                chunker.accept(new ExcelRow(row.getRowNum(), cells));
+            }
+        }
+    }
+
+    /**
+     * Formats the value of a cell, using the ISO-8601 format for dates.
+     *
+     * @param cell      the cell to format.
+     * @param formatter the formatter of the non-date values.
+     * @return the formatted value of the cell.
+     */
+    private String formatCell(Cell cell, DataFormatter formatter) {
+        if (cell.getCellType() == CellType.NUMERIC && DateUtil.isCellDateFormatted(cell)) {
+            return cell.getLocalDateTimeCellValue().toLocalDate().toString();
+        }
+        return formatter.formatCellValue(cell);
+    }
+
+    /**
+     * Sets the value of the cell in the given column, filling the missing cells before it with empty strings.
+     *
+     * @param cells  the values of the row.
+     * @param column the column of the cell.
+     * @param value  the value of the cell.
+     */
+    private static void setCellValue(List<String> cells, int column, String value) {
+        while (cells.size() < column) {
+            cells.add("");
+        }
+        if (cells.size() == column) {
+            cells.add(value);
+        } else {
+            cells.set(column, value);
+        }
+    }
+
+    /**
+     * Collects the read rows and hands them over to the handlers, skipping blank rows.
+     */
+    private class RowChunker implements XSSFSheetXMLHandler.SheetContentsHandler {
+        private final Consumer<ExcelRow> headerHandler;
+        private final Consumer<List<ExcelRow>> chunkHandler;
+        private List<ExcelRow> chunk = new ArrayList<>();
+        private List<String> currentCells;
+        private int rowCount;
+        private RuntimeException handlerFailure;
+
+        private RowChunker(Consumer<ExcelRow> headerHandler, Consumer<List<ExcelRow>> chunkHandler) {
+            this.headerHandler = headerHandler;
+            this.chunkHandler = chunkHandler;
+        }
+
+        @Override
+        public void startRow(int rowNum) {
+            currentCells = new ArrayList<>();
+        }
+
+        @Override
+        public void endRow(int rowNum) {
+            accept(new ExcelRow(rowNum, currentCells));
+        }
+
+        @Override
+        public void cell(String cellReference, String formattedValue, XSSFComment comment) {
+            int column = cellReference == null ? currentCells.size() : new CellReference(cellReference).getCol();
+            setCellValue(currentCells, column, formattedValue);
+        }
+
+        private void accept(ExcelRow row) {
+            if (row.isBlank()) {
+                return;
+            }
+            if (rowCount++ == 0) {
+                handle(() -> headerHandler.accept(row));
+                return;
+            }
+            chunk.add(row);
+            if (chunk.size() >= chunkSize) {
+                flush();
+            }
+        }
+
+        private void flush() {
+            if (!chunk.isEmpty()) {
+                List<ExcelRow> rows = chunk;
+                handle(() -> chunkHandler.accept(rows));
+                chunk = new ArrayList<>();
+            }
+        }
+
+        /**
+         * Runs a handler, remembering its failure, so it is not mistaken for a failure to read the file.
+         *
+         * @param handler the handler to run.
+         */
+        private void handle(Runnable handler) {
+            try {
+                handler.run();
+            } catch (RuntimeException e) {
+                handlerFailure = e;
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Data formatter writing date cells in the ISO-8601 format (yyyy-MM-dd), regardless of their number format.
+     */
+    private static class IsoDateFormatter extends DataFormatter {
+
+        @Override
+        public String formatRawCellContents(double value, int formatIndex, String formatString, boolean use1904Windowing) {
+            if (DateUtil.isADateFormat(formatIndex, formatString) && DateUtil.isValidExcelDate(value)) {
+                return DateUtil.getLocalDateTime(value, use1904Windowing).toLocalDate().toString();
+            }
+            return super.formatRawCellContents(value, formatIndex, formatString, use1904Windowing);
+        }
     }
 }
@@ -0,0 +1,57 @@
+package org.harmoniapp.services.importexport;
+
+import org.apache.poi.ss.util.CellAddress;
+
+import java.util.List;
+
+/**
+ * A single row read from an Excel sheet, with cell values formatted as strings.
+ * Missing cells between filled ones are represented by empty strings.
+ *
+ * @param rowNum the zero-based index of the row in the sheet
+ * @param cells  the formatted values of the cells, indexed by column
+ */
+public record ExcelRow(int rowNum, List<String> cells) {
+
+    /**
+     * Returns the trimmed value of the cell in the given column.
+     *
+     * @param column the zero-based column index
+     * @return the value of the cell, or an empty string if the cell is missing
+     */
+    public String getCell(int column) {
+        if (column < 0 || column >= cells.size()) {
+            return "";
+        }
+        String value = cells.get(column);
+        return value == null ? "" : value.trim();
+    }
+
+    /**
+     * Returns the number of cells up to and including the last filled one.
+     *
+     * @return the number of cells in the row
+     */
+    public int size() {
+        return cells.size();
+    }
+
+    /**
+     * Checks whether all cells of the row are empty.
+     *
+     * @return true if the row contains no values, false otherwise
+     */
+    public boolean isBlank() {
+        return cells.stream().allMatch(value -> value == null || value.isBlank());
+    }
+
+    /**
+     * Formats the address of the cell in the given column, e.g. "B2".
+     *
+     * @param column the zero-based column index
+     * @return the address of the cell
+     */
+    public String address(int column) {
+        return new CellAddress(rowNum, column).formatAsString();
+    }
+}
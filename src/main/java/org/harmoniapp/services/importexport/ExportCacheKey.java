@@ -0,0 +1,23 @@
+package org.harmoniapp.services.importexport;
+
+import java.time.LocalDate;
+
+/**
+ * Key of a cached schedule export file.
+ *
+ * @param format    the format of the file, used as its extension
+ * @param startDate the start date of the exported range
+ * @param endDate   the end date of the exported range
+ * @param version   the version of the schedule the file was generated from
+ */
+public record ExportCacheKey(String format, LocalDate startDate, LocalDate endDate, long version) {
+
+    /**
+     * Creates the name of the file the export is stored in.
+     *
+     * @return the file name
+     */
+    public String fileName() {
+        return "schedule-%s-%s-v%d.%s".formatted(startDate, endDate, version, format);
+    }
+}
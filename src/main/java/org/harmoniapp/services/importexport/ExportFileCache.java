@@ -0,0 +1,20 @@
+package org.harmoniapp.services.importexport;
+
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.function.Supplier;
+
+/**
+ * Interface for caching generated export files.
+ */
+public interface ExportFileCache {
+
+    /**
+     * Retrieves a cached export file, or renders it and stores it in the cache.
+     *
+     * @param key      the key of the export
+     * @param renderer the supplier of the StreamingResponseBody rendering the export, called only on a cache miss
+     * @return a StreamingResponseBody writing the export file
+     */
+    StreamingResponseBody getOrRender(ExportCacheKey key, Supplier<StreamingResponseBody> renderer);
+}
@@ -0,0 +1,315 @@
+package org.harmoniapp.services.importexport;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.io.output.TeeOutputStream;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Service implementation caching generated export files on the local disk.
+ * <p>
+ * The first request of an export streams the rendered file to the response and to the cache directory at the same
+ * time, the following requests transfer the stored file to the response without rendering it again. Files are evicted
+ * in least recently used order once their total size exceeds the configured limit, and are not served when they are
+ * older than the configured maximum age.
+ * </p>
+ * <p>
+ * Only one request renders a missing export at a time. Requests for the same export arriving while it is being
+ * rendered wait for it and transfer the stored file; if the render fails or takes longer than
+ * {@value #RENDER_WAIT_SECONDS} seconds, they render the export themselves.
+ * </p>
+ * <p>
+ * The index is kept in memory, so the files left by a previous run are deleted on startup. Only the files named like
+ * the cached exports and their temporary files are deleted, other files in the directory are left untouched.
+ * </p>
+ */
+@Slf4j
+@Service
+public class ExportFileCacheImpl implements ExportFileCache {
+    private static final long RENDER_WAIT_SECONDS = 60;
+    private static final String CACHED_FILE_PREFIX = "schedule-";
+    private static final String TEMP_FILE_PREFIX = "export-";
+    private static final String TEMP_FILE_SUFFIX = ".tmp";
+    private final Path directory;
+    private final long maxSize;
+    private final Duration maxAge;
+    private final Clock clock;
+    private final Map<ExportCacheKey, CachedFile> files = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<ExportCacheKey, CompletableFuture<Path>> rendering = new ConcurrentHashMap<>();
+    private long totalSize;
+
+    @Autowired
+    public ExportFileCacheImpl(@Value("${export.cache.directory:${java.io.tmpdir}/harmoni-export-cache}") Path directory,
+                               @Value("${export.cache.max-size:100MB}") DataSize maxSize,
+                               @Value("${export.cache.max-age:1h}") Duration maxAge) {
+        this(directory, maxSize, maxAge, Clock.systemUTC());
+    }
+
+    ExportFileCacheImpl(Path directory, DataSize maxSize, Duration maxAge, Clock clock) {
+        this.directory = directory;
+        this.maxSize = maxSize.toBytes();
+        this.maxAge = maxAge;
+        this.clock = clock;
+        clearDirectory();
+    }
+
+    /**
+     * Retrieves a cached export file, or renders it and stores it in the cache.
+     * The renderer is called before the response is committed, so errors like missing data are still reported
+     * with a proper status. While the export is being rendered by another request, the returned body waits for
+     * the stored file instead.
+     *
+     * @param key      the key of the export
+     * @param renderer the supplier of the StreamingResponseBody rendering the export, called only on a cache miss
+     * @return a StreamingResponseBody writing the export file
+     */
+    @Override
+    public StreamingResponseBody getOrRender(ExportCacheKey key, Supplier<StreamingResponseBody> renderer) {
+        Path cached = lookup(key);
+        if (cached != null) {
+            return out -> transferOrRender(cached, renderer, out);
+        }
+        CompletableFuture<Path> render = new CompletableFuture<>();
+        CompletableFuture<Path> pending = rendering.putIfAbsent(key, render);
+        if (pending != null) {
+            return out -> transferOrRender(await(pending), renderer, out);
+        }
+        Path stored = lookup(key);
+        if (stored != null) {
+            finish(key, render, stored);
+            return out -> transferOrRender(stored, renderer, out);
+        }
+        StreamingResponseBody body;
+        try {
+            body = renderer.get();
+        } catch (RuntimeException e) {
+            finish(key, render, null);
+            throw e;
+        }
+        return out -> {
+            Path file = null;
+            try {
+                file = renderAndStore(key, body, out);
+            } finally {
+                finish(key, render, file);
+            }
+        };
+    }
+
+    /**
+     * Ends the render of an export, releasing the requests waiting for it.
+     *
+     * @param key    the key of the export
+     * @param render the future of the render
+     * @param stored the path of the stored file, or null if the render failed
+     */
+    private void finish(ExportCacheKey key, CompletableFuture<Path> render, Path stored) {
+        rendering.remove(key, render);
+        render.complete(stored);
+    }
+
+    /**
+     * Waits for the render of an export by another request.
+     *
+     * @param render the future of the render
+     * @return the path of the stored file, or null if the render failed or did not finish in time
+     */
+    private Path await(CompletableFuture<Path> render) {
+        try {
+            return render.get(RENDER_WAIT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException | TimeoutException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Transfers a cached file to the output stream, or renders the export if the file is missing.
+     *
+     * @param path     the path of the cached file, or null if there is none
+     * @param renderer the supplier of the StreamingResponseBody rendering the export
+     * @param out      the output stream of the response
+     * @throws IOException if the export cannot be written
+     */
+    private void transferOrRender(Path path, Supplier<StreamingResponseBody> renderer, OutputStream out)
+            throws IOException {
+        if (path != null) {
+            try {
+                transfer(path, out);
+                return;
+            } catch (NoSuchFileException e) {
+                log.debug("Cached export file {} was evicted while being served", path);
+            }
+        }
+        renderer.get().writeTo(out);
+    }
+
+    /**
+     * Looks up a cached file, dropping it if it is too old.
+     *
+     * @param key the key of the export
+     * @return the path of the cached file, or null if the file is not cached
+     */
+    private synchronized Path lookup(ExportCacheKey key) {
+        CachedFile file = files.get(key);
+        if (file == null) {
+            return null;
+        }
+        if (file.createdAt().plus(maxAge).isBefore(clock.instant())) {
+            remove(key);
+            return null;
+        }
+        return file.path();
+    }
+
+    /**
+     * Transfers a cached file to the output stream through its file channel.
+     *
+     * @param path the path of the cached file
+     * @param out  the output stream of the response
+     * @throws IOException if the file cannot be read or the response cannot be written
+     */
+    private void transfer(Path path, OutputStream out) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            WritableByteChannel target = Channels.newChannel(out);
+            long size = channel.size();
+            long position = 0;
+            while (position < size) {
+                position += channel.transferTo(position, size - position, target);
+            }
+        }
+    }
+
+    /**
+     * Renders the export to the output stream and to a temporary file, which is then stored in the cache.
+     *
+     * @param key  the key of the export
+     * @param body the StreamingResponseBody rendering the export
+     * @param out  the output stream of the response
+     * @return the path of the stored file
+     * @throws IOException if the export cannot be written
+     */
+    private Path renderAndStore(ExportCacheKey key, StreamingResponseBody body, OutputStream out) throws IOException {
+        Path temp = Files.createTempFile(directory, TEMP_FILE_PREFIX, TEMP_FILE_SUFFIX);
+        try {
+            try (OutputStream file = Files.newOutputStream(temp)) {
+                body.writeTo(new TeeOutputStream(out, file));
+            }
+            return store(key, temp);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+    }
+
+    /**
+     * Moves a rendered file into the cache and evicts the least recently used files over the size limit.
+     *
+     * @param key  the key of the export
+     * @param temp the path of the rendered file
+     * @return the path of the stored file
+     * @throws IOException if the file cannot be moved
+     */
+    private synchronized Path store(ExportCacheKey key, Path temp) throws IOException {
+        Path path = Files.move(temp, directory.resolve(key.fileName()),
+                StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        CachedFile file = new CachedFile(path, Files.size(path), clock.instant());
+        CachedFile replaced = files.put(key, file);
+        if (replaced != null) {
+            totalSize -= replaced.size();
+        }
+        totalSize += file.size();
+
+        Iterator<Map.Entry<ExportCacheKey, CachedFile>> eldest = files.entrySet().iterator();
+        while (totalSize > maxSize && eldest.hasNext()) {
+            CachedFile evicted = eldest.next().getValue();
+            eldest.remove();
+            totalSize -= evicted.size();
+            delete(evicted.path());
+        }
+        return path;
+    }
+
+    /**
+     * Removes a file from the cache.
+     *
+     * @param key the key of the export
+     */
+    private void remove(ExportCacheKey key) {
+        CachedFile file = files.remove(key);
+        totalSize -= file.size();
+        delete(file.path());
+    }
+
+    /**
+     * Creates the cache directory, or deletes the cached and temporary files left in it by a previous run.
+     */
+    private void clearDirectory() {
+        try {
+            Files.createDirectories(directory);
+            try (Stream<Path> paths = Files.list(directory)) {
+                paths.filter(this::isCacheFile).forEach(this::delete);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot prepare the export cache directory " + directory, e);
+        }
+    }
+
+    /**
+     * Checks if a file in the cache directory was created by the cache.
+     *
+     * @param path the path of the file
+     * @return true if the file is a cached export or a temporary file of a render, false otherwise
+     */
+    private boolean isCacheFile(Path path) {
+        String name = path.getFileName().toString();
+        return Files.isRegularFile(path) && (name.startsWith(CACHED_FILE_PREFIX)
+                || name.startsWith(TEMP_FILE_PREFIX) && name.endsWith(TEMP_FILE_SUFFIX));
+    }
+
+    /**
+     * Deletes a cached file, logging a failure instead of propagating it.
+     *
+     * @param path the path of the file
+     */
+    private void delete(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Cannot delete cached export file {}", path, e);
+        }
+    }
+
+    private record CachedFile(Path path, long size, Instant createdAt) {
+    }
+}
@@ -0,0 +1,23 @@
+package org.harmoniapp.services.importexport;
+
+import org.harmoniapp.enums.ExportJobType;
+
+import java.nio.file.Path;
+
+/**
+ * The file generated by a completed export job.
+ *
+ * @param path the path of the generated file
+ * @param type the type of the export, determining the content type and extension of the file
+ */
+public record ExportJobFile(Path path, ExportJobType type) {
+
+    /**
+     * Returns the name under which the file is downloaded.
+     *
+     * @return the file name
+     */
+    public String fileName() {
+        return "export-" + type.name().toLowerCase() + "." + type.getExtension();
+    }
+}
@@ -0,0 +1,47 @@
+package org.harmoniapp.services.importexport;
+
+import org.harmoniapp.contracts.importexport.ExportJobDto;
+import org.harmoniapp.contracts.importexport.ExportJobRequestDto;
+import org.springframework.security.core.Authentication;
+
+import java.util.UUID;
+
+/**
+ * Service interface for generating large exports in the background.
+ */
+public interface ExportJobService {
+
+    /**
+     * Submits an export job, which generates the file in the background and notifies the user once it is done.
+     *
+     * @param request        the export job request
+     * @param authentication the authentication information of the user submitting the job
+     * @return the submitted job
+     */
+    ExportJobDto submit(ExportJobRequestDto request, Authentication authentication);
+
+    /**
+     * Retrieves an export job of the user.
+     *
+     * @param id             the ID of the job
+     * @param authentication the authentication information of the user
+     * @return the job
+     */
+    ExportJobDto getById(UUID id, Authentication authentication);
+
+    /**
+     * Retrieves the file generated by a completed export job of the user.
+     *
+     * @param id             the ID of the job
+     * @param authentication the authentication information of the user
+     * @return the generated file
+     */
+    ExportJobFile getFile(UUID id, Authentication authentication);
+
+    /**
+     * Removes finished jobs older than the retention period, along with their files.
+     *
+     * @return the number of removed jobs
+     */
+    int purgeExpiredJobs();
+}
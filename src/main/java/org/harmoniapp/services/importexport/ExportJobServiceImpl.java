@@ -0,0 +1,354 @@
+package org.harmoniapp.services.importexport;
+
+import lombok.extern.slf4j.Slf4j;
+import org.harmoniapp.configuration.AsyncConfig;
+import org.harmoniapp.configuration.Principle;
+import org.harmoniapp.contracts.importexport.ExportJobDto;
+import org.harmoniapp.contracts.importexport.ExportJobRequestDto;
+import org.harmoniapp.contracts.notification.NotificationDto;
+import org.harmoniapp.entities.importexport.ExportJob;
+import org.harmoniapp.enums.ExportJobNotificationType;
+import org.harmoniapp.enums.ExportJobStatus;
+import org.harmoniapp.enums.ExportJobType;
+import org.harmoniapp.exception.EntityNotFoundException;
+import org.harmoniapp.exception.ExportJobNotReadyException;
+import org.harmoniapp.exception.ExportJobRejectedException;
+import org.harmoniapp.exception.InvalidDateException;
+import org.harmoniapp.repositories.RepositoryCollector;
+import org.harmoniapp.services.notification.NotificationService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Service implementation generating large exports in the background.
+ * <p>
+ * Jobs run on the dedicated export job executor and write the file to the jobs directory instead of a request thread
+ * writing it to the response, so long exports neither hold request threads nor hit client timeouts. Once a job is done
+ * its owner is notified, and can download the file until it expires.
+ * </p>
+ * <p>
+ * Jobs are stored in the database and the files in the jobs directory, so the status and the file of a job can be
+ * requested from any instance as long as the directory is shared by all of them. A job runs on the instance that
+ * accepted it, and jobs left unfinished by a stopped instance are removed once they are a day old.
+ * </p>
+ */
+@Slf4j
+@Service
+public class ExportJobServiceImpl implements ExportJobService {
+    static final Duration ABANDONED_AFTER = Duration.ofDays(1);
+    private final RepositoryCollector repositoryCollector;
+    private final PdfExportService pdfExportService;
+    private final ExcelExportService excelExportService;
+    private final NotificationService notificationService;
+    private final Executor exportJobExecutor;
+    private final TransactionOperations transactionOperations;
+    private final Path directory;
+    private final Duration retention;
+    private final Clock clock;
+
+    @Autowired
+    public ExportJobServiceImpl(RepositoryCollector repositoryCollector,
+                                PdfExportService pdfExportService,
+                                ExcelExportService excelExportService,
+                                NotificationService notificationService,
+                                @Qualifier(AsyncConfig.EXPORT_JOB_EXECUTOR) Executor exportJobExecutor,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${export.jobs.directory:${java.io.tmpdir}/harmoni-export-jobs}") Path directory,
+                                @Value("${export.jobs.retention:1h}") Duration retention) {
+        this(repositoryCollector, pdfExportService, excelExportService, notificationService, exportJobExecutor,
+                readOnlyTransaction(transactionManager), directory, retention, Clock.systemUTC());
+    }
+
+    ExportJobServiceImpl(RepositoryCollector repositoryCollector,
+                         PdfExportService pdfExportService,
+                         ExcelExportService excelExportService,
+                         NotificationService notificationService,
+                         Executor exportJobExecutor,
+                         TransactionOperations transactionOperations,
+                         Path directory,
+                         Duration retention,
+                         Clock clock) {
+        this.repositoryCollector = repositoryCollector;
+        this.pdfExportService = pdfExportService;
+        this.excelExportService = excelExportService;
+        this.notificationService = notificationService;
+        this.exportJobExecutor = exportJobExecutor;
+        this.transactionOperations = transactionOperations;
+        this.directory = directory;
+        this.retention = retention;
+        this.clock = clock;
+        createDirectory();
+    }
+
+    /**
+     * Submits an export job, which generates the file in the background and notifies the user once it is done.
+     *
+     * @param request        the export job request
+     * @param authentication the authentication information of the user submitting the job
+     * @return the submitted job
+     * @throws InvalidDateException        if a date required by the export type is missing or the range is invalid
+     * @throws ExportJobRejectedException if the export job queue is full
+     */
+    @Override
+    public ExportJobDto submit(ExportJobRequestDto request, Authentication authentication) {
+        validate(request);
+        Principle principle = (Principle) authentication.getPrincipal();
+        ExportJob job = new ExportJob(UUID.randomUUID(), principle.id(), request.type(), ExportJobStatus.PENDING,
+                clock.instant(), null, null);
+        repositoryCollector.getExportJobs().save(job);
+        try {
+            exportJobExecutor.execute(() -> run(job, request));
+        } catch (RejectedExecutionException e) {
+            repositoryCollector.getExportJobs().deleteJobById(job.getId());
+            throw new ExportJobRejectedException("Zbyt wiele eksportów oczekuje w kolejce. Spróbuj ponownie później.");
+        }
+        return toDto(job);
+    }
+
+    /**
+     * Retrieves an export job of the user.
+     *
+     * @param id             the ID of the job
+     * @param authentication the authentication information of the user
+     * @return the job
+     * @throws EntityNotFoundException if the job does not exist or belongs to another user
+     */
+    @Override
+    public ExportJobDto getById(UUID id, Authentication authentication) {
+        return toDto(getJob(id, authentication));
+    }
+
+    /**
+     * Retrieves the file generated by a completed export job of the user.
+     *
+     * @param id             the ID of the job
+     * @param authentication the authentication information of the user
+     * @return the generated file
+     * @throws EntityNotFoundException     if the job does not exist or belongs to another user
+     * @throws ExportJobNotReadyException if the job is not completed
+     */
+    @Override
+    public ExportJobFile getFile(UUID id, Authentication authentication) {
+        ExportJob job = getJob(id, authentication);
+        if (job.getStatus() != ExportJobStatus.COMPLETED) {
+            throw new ExportJobNotReadyException("Plik eksportu nie jest jeszcze gotowy");
+        }
+        return new ExportJobFile(pathOf(job), job.getType());
+    }
+
+    /**
+     * Scheduled task removing finished jobs older than the retention period and abandoned jobs, along with their files.
+     * This task runs every ten minutes on every instance; each job is removed by one of them.
+     *
+     * @return the number of removed jobs
+     */
+    @Override
+    @Scheduled(cron = "${export.jobs.purge.cron:0 */10 * * * ?}")
+    public int purgeExpiredJobs() {
+        Instant now = clock.instant();
+        Instant before = now.minus(retention);
+        int removed = 0;
+        for (ExportJob job : repositoryCollector.getExportJobs().findExpired(before, now.minus(ABANDONED_AFTER))) {
+            if (repositoryCollector.getExportJobs().deleteJobById(job.getId()) > 0) {
+                delete(pathOf(job));
+                removed++;
+            }
+        }
+        log.debug("Removed {} export jobs completed before {}", removed, before);
+        return removed;
+    }
+
+    /**
+     * Validates that the dates required by the export type are provided.
+     *
+     * @param request the export job request
+     * @throws InvalidDateException if a required date is missing or the end date is before the start date
+     */
+    private void validate(ExportJobRequestDto request) {
+        ExportJobType type = request.type();
+        if ((type == ExportJobType.SCHEDULE_PDF || type == ExportJobType.SCHEDULE_XLSX) && request.startDate() == null) {
+            throw new InvalidDateException("Data początkowa nie może być pusta");
+        }
+        if (type == ExportJobType.SCHEDULE_XLSX) {
+            if (request.endDate() == null) {
+                throw new InvalidDateException("Data końcowa nie może być pusta");
+            }
+            if (request.endDate().isBefore(request.startDate())) {
+                throw new InvalidDateException("Data końcowa nie może być wcześniejsza niż data początkowa");
+            }
+        }
+    }
+
+    /**
+     * Retrieves a job, making sure it belongs to the authenticated user.
+     *
+     * @param id             the ID of the job
+     * @param authentication the authentication information of the user
+     * @return the job
+     * @throws EntityNotFoundException if the job does not exist or belongs to another user
+     */
+    private ExportJob getJob(UUID id, Authentication authentication) {
+        Principle principle = (Principle) authentication.getPrincipal();
+        return repositoryCollector.getExportJobs().findByIdAndOwnerId(id, principle.id())
+                .orElseThrow(() -> new EntityNotFoundException("Nie znaleziono zadania eksportu"));
+    }
+
+    /**
+     * Generates the file of a job and notifies its owner about the result.
+     * The export is rendered in a read-only transaction, as the job runs outside any request.
+     * A job removed by the purge in the meantime is neither recreated nor notified about.
+     *
+     * @param job     the job
+     * @param request the export job request
+     */
+    private void run(ExportJob job, ExportJobRequestDto request) {
+        if (repositoryCollector.getExportJobs().updateStatus(job.getId(), ExportJobStatus.RUNNING) == 0) {
+            return;
+        }
+        Path path = pathOf(job);
+        try {
+            transactionOperations.executeWithoutResult(status -> write(render(request), path));
+        } catch (RuntimeException e) {
+            log.warn("Export job {} of type {} failed", job.getId(), job.getType(), e);
+            delete(path);
+            repositoryCollector.getExportJobs().finish(job.getId(), ExportJobStatus.FAILED, clock.instant(), getErrorMessage(e));
+            notifyOwner(job, ExportJobNotificationType.FAILURE);
+            return;
+        }
+        if (repositoryCollector.getExportJobs().finish(job.getId(), ExportJobStatus.COMPLETED, clock.instant(), null) == 0) {
+            delete(path);
+            return;
+        }
+        notifyOwner(job, ExportJobNotificationType.SUCCESS);
+    }
+
+    /**
+     * Resolves the path of the file generated by a job.
+     *
+     * @param job the job
+     * @return the path of the file in the jobs directory
+     */
+    private Path pathOf(ExportJob job) {
+        return directory.resolve(job.getId() + "." + job.getType().getExtension());
+    }
+
+    /**
+     * Creates the StreamingResponseBody rendering the requested export.
+     *
+     * @param request the export job request
+     * @return a StreamingResponseBody writing the export file
+     */
+    private StreamingResponseBody render(ExportJobRequestDto request) {
+        return switch (request.type()) {
+            case SCHEDULE_PDF -> pdfExportService.generatePdfForWeeks(request.startDate(), request.weeks());
+            case SCHEDULE_XLSX -> excelExportService.exportShifts(request.startDate().toString(),
+                    request.endDate().toString());
+            case USERS_PDF -> pdfExportService.generatePdfForAllEmployees();
+            case USERS_XLSX -> excelExportService.exportUsers();
+        };
+    }
+
+    /**
+     * Writes a rendered export to a file.
+     *
+     * @param body the StreamingResponseBody rendering the export
+     * @param path the path of the file
+     */
+    private void write(StreamingResponseBody body, Path path) {
+        try (OutputStream out = Files.newOutputStream(path)) {
+            body.writeTo(out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Returns the message of an exception meant for the user, or a generic message for unexpected errors.
+     *
+     * @param e the exception
+     * @return the error message
+     */
+    private String getErrorMessage(RuntimeException e) {
+        if (AnnotatedElementUtils.hasAnnotation(e.getClass(), ResponseStatus.class)) {
+            return e.getMessage();
+        }
+        return ExportJobNotificationType.FAILURE.getMessage();
+    }
+
+    /**
+     * Notifies the owner of a job, logging a failure instead of propagating it, as the job is already finished.
+     *
+     * @param job  the finished job
+     * @param type the type of the notification
+     */
+    private void notifyOwner(ExportJob job, ExportJobNotificationType type) {
+        try {
+            notificationService.create(NotificationDto.createNotification(job.getOwnerId(), type.getTitle(), type.getMessage()));
+        } catch (RuntimeException e) {
+            log.warn("Cannot notify user {} about export job {}", job.getOwnerId(), job.getId(), e);
+        }
+    }
+
+    /**
+     * Creates the jobs directory. Files of other instances may already be in it, so it is not cleared.
+     */
+    private void createDirectory() {
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot prepare the export jobs directory " + directory, e);
+        }
+    }
+
+    /**
+     * Deletes an export file, logging a failure instead of propagating it.
+     *
+     * @param path the path of the file
+     */
+    private void delete(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Cannot delete export job file {}", path, e);
+        }
+    }
+
+    private static TransactionOperations readOnlyTransaction(PlatformTransactionManager transactionManager) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+        return template;
+    }
+
+    /**
+     * Converts a job to its Data Transfer Object.
+     *
+     * @param job the job
+     * @return the ExportJobDto
+     */
+    private static ExportJobDto toDto(ExportJob job) {
+        return new ExportJobDto(job.getId(), job.getType(), job.getStatus(), job.getCreatedAt(), job.getCompletedAt(),
+                job.getError());
+    }
+}
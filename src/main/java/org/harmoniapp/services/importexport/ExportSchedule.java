@@ -2,7 +2,7 @@ package org.harmoniapp.services.importexport;
 
 import org.harmoniapp.entities.schedule.Shift;
 import org.harmoniapp.entities.user.User;
-import org.springframework.core.io.InputStreamResource;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -17,9 +17,9 @@ public interface ExportSchedule {
      *
      * @param startDate the start date of the range
      * @param endDate   the end date of the range
-     * @return an InputStreamResource containing the exported data
+     * @return a StreamingResponseBody writing the exported data
      */
-    InputStreamResource exportShifts(LocalDate startDate, LocalDate endDate);
+    StreamingResponseBody exportShifts(LocalDate startDate, LocalDate endDate);
 
 
     /**
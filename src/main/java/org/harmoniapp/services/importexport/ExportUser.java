@@ -1,6 +1,6 @@
 package org.harmoniapp.services.importexport;
 
-import org.springframework.core.io.InputStreamResource;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 /**
  * Interface for exporting user data.
@@ -8,9 +8,9 @@ import org.springframework.core.io.InputStreamResource;
 public interface ExportUser {
 
     /**
-     * Exports user data as an InputStreamResource wrapped in a ResponseEntity.
+     * Exports user data as a body streamed to the response.
      *
-     * @return an InputStreamResource of exported user data.
+     * @return a StreamingResponseBody writing the exported user data.
      */
-    InputStreamResource exportUsers();
+    StreamingResponseBody exportUsers();
 }
@@ -1,22 +1,109 @@
 package org.harmoniapp.services.importexport;
 
+import com.lowagie.text.Document;
+import com.lowagie.text.DocumentException;
 import com.lowagie.text.Element;
 import com.lowagie.text.Font;
 import com.lowagie.text.FontFactory;
+import com.lowagie.text.PageSize;
 import com.lowagie.text.Phrase;
 import com.lowagie.text.pdf.PdfPCell;
 import com.lowagie.text.pdf.PdfPTable;
-import org.springframework.core.io.InputStreamResource;
+import com.lowagie.text.pdf.PdfWriter;
+import org.harmoniapp.exception.FileGenerationException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.awt.*;
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.util.List;
 
 /**
  * Abstract class for exporting data to PDF format.
+ * <p>
+ * Documents are written straight to the response stream. Long tables are created incomplete and added to the document
+ * every {@value #ROWS_PER_CHUNK} rows, so the finished rows are laid out, flushed with their pages and released,
+ * instead of keeping the whole table and document in memory.
+ * </p>
  */
 public abstract class PdfExport {
+    protected static final int ROWS_PER_CHUNK = 50;
+
+    /**
+     * Content of a PDF document, written to an opened document.
+     */
+    @FunctionalInterface
+    protected interface DocumentContent {
+
+        /**
+         * Writes the content to the document.
+         *
+         * @param document the opened document
+         * @throws DocumentException if there is an error adding the content
+         */
+        void write(Document document) throws DocumentException;
+    }
+
+    /**
+     * Creates a StreamingResponseBody writing a landscape A4 document with the given content to the response.
+     *
+     * @param content the content of the document
+     * @return a StreamingResponseBody writing the PDF file
+     * @throws FileGenerationException if there is an error generating the PDF file
+     */
+    protected StreamingResponseBody writeDocument(DocumentContent content) {
+        return out -> {
+            Document document = new Document(PageSize.A4.rotate());
+            try {
+                PdfWriter writer = PdfWriter.getInstance(document, out);
+                writer.setCloseStream(false);
+                document.open();
+                content.write(document);
+                document.close();
+            } catch (DocumentException e) {
+                throw new FileGenerationException("Nie udało się wygenerować pliku PDF. Spróbuj ponownie.");
+            }
+        };
+    }
+
+    /**
+     * Creates an incomplete table with a header row repeated on every page.
+     *
+     * @param headersCell a list of header titles
+     * @return the created table
+     */
+    protected PdfPTable createTable(List<String> headersCell) {
+        PdfPTable table = new PdfPTable(headersCell.size());
+        table.setWidthPercentage(100);
+        table.setHeaderRows(1);
+        table.setComplete(false);
+        addTableHeader(headersCell, table);
+        return table;
+    }
+
+    /**
+     * Adds the rows of an incomplete table to the document once a chunk of rows is complete.
+     *
+     * @param document the document to add the rows to
+     * @param table    the incomplete table
+     * @param rowCount the number of rows added to the table so far
+     * @throws DocumentException if there is an error adding the rows
+     */
+    protected void flushChunk(Document document, PdfPTable table, int rowCount) throws DocumentException {
+        if (rowCount % ROWS_PER_CHUNK == 0) {
+            document.add(table);
+        }
+    }
+
+    /**
+     * Marks the table as complete and adds its remaining rows to the document.
+     *
+     * @param document the document to add the rows to
+     * @param table    the table to complete
+     * @throws DocumentException if there is an error adding the rows
+     */
+    protected void completeTable(Document document, PdfPTable table) throws DocumentException {
+        table.setComplete(true);
+        document.add(table);
+    }
 
     /**
      * Adds a header row to the PDF table.
@@ -35,15 +122,4 @@ public abstract class PdfExport {
             table.addCell(header);
         });
     }
-
-    /**
-     * Converts a ByteArrayOutputStream to an InputStreamResource.
-     *
-     * @param outputStream the ByteArrayOutputStream containing the PDF data
-     * @return an InputStreamResource containing the PDF data
-     */
-    public InputStreamResource convertToInputStreamResource(ByteArrayOutputStream outputStream) {
-        ByteArrayInputStream inputStream = new ByteArrayInputStream(outputStream.toByteArray());
-        return new InputStreamResource(inputStream);
-    }
 }
@@ -1,6 +1,6 @@
 package org.harmoniapp.services.importexport;
 
-import org.springframework.core.io.InputStreamResource;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
 
@@ -13,14 +13,23 @@ public interface PdfExportService {
      * Generates a PDF report for a specific week.
      *
      * @param startOfWeek the start date of the week
-     * @return an InputStreamResource containing the generated PDF
+     * @return a StreamingResponseBody writing the generated PDF
      */
-    InputStreamResource generatePdfForWeek(LocalDate startOfWeek);
+    StreamingResponseBody generatePdfForWeek(LocalDate startOfWeek);
+
+    /**
+     * Generates a PDF report for the given number of consecutive weeks.
+     *
+     * @param startOfWeek the start date of the first week
+     * @param weeks       the number of weeks
+     * @return a StreamingResponseBody writing the generated PDF
+     */
+    StreamingResponseBody generatePdfForWeeks(LocalDate startOfWeek, int weeks);
 
     /**
      * Generates a PDF report for all employees.
      *
-     * @return an InputStreamResource containing the generated PDF
+     * @return a StreamingResponseBody writing the generated PDF
      */
-    InputStreamResource generatePdfForAllEmployees();
+    StreamingResponseBody generatePdfForAllEmployees();
 }
@@ -1,8 +1,10 @@
 package org.harmoniapp.services.importexport;
 
 import lombok.RequiredArgsConstructor;
-import org.springframework.core.io.InputStreamResource;
+import org.harmoniapp.exception.InvalidDateException;
+import org.harmoniapp.services.schedule.ScheduleVersionService;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
 
@@ -13,26 +15,46 @@ import java.time.LocalDate;
 @Service
 @RequiredArgsConstructor
 public class PdfExportServiceImpl implements PdfExportService {
+    private static final int MAX_WEEKS = 12;
+
     private final ExportUser userPdfExport;
     private final ExportSchedule schedulePdfExport;
+    private final ExportFileCache exportFileCache;
+    private final ScheduleVersionService scheduleVersionService;
 
     /**
      * Generates a PDF report for a specific week.
      *
      * @param startOfWeek the start date of the week
-     * @return an InputStreamResource containing the generated PDF
+     * @return a StreamingResponseBody writing the generated PDF
+     */
+    public StreamingResponseBody generatePdfForWeek(LocalDate startOfWeek) {
+        return generatePdfForWeeks(startOfWeek, 1);
+    }
+
+    /**
+     * Generates a PDF report for the given number of consecutive weeks.
+     *
+     * @param startOfWeek the start date of the first week
+     * @param weeks       the number of weeks
+     * @return a StreamingResponseBody writing the generated PDF
+     * @throws InvalidDateException if the number of weeks is out of range
      */
-    public InputStreamResource generatePdfForWeek(LocalDate startOfWeek) {
-        LocalDate end = startOfWeek.plusDays(6);
-        return schedulePdfExport.exportShifts(startOfWeek, end);
+    public StreamingResponseBody generatePdfForWeeks(LocalDate startOfWeek, int weeks) {
+        if (weeks < 1 || weeks > MAX_WEEKS) {
+            throw new InvalidDateException("Liczba tygodni musi wynosić od 1 do %d.".formatted(MAX_WEEKS));
+        }
+        LocalDate end = startOfWeek.plusWeeks(weeks).minusDays(1);
+        ExportCacheKey key = new ExportCacheKey("pdf", startOfWeek, end, scheduleVersionService.getVersion());
+        return exportFileCache.getOrRender(key, () -> schedulePdfExport.exportShifts(startOfWeek, end));
     }
 
     /**
      * Generates a PDF report for all employees.
      *
-     * @return an InputStreamResource containing the generated PDF
+     * @return a StreamingResponseBody writing the generated PDF
      */
-    public InputStreamResource generatePdfForAllEmployees() {
+    public StreamingResponseBody generatePdfForAllEmployees() {
         return userPdfExport.exportUsers();
     }
 }
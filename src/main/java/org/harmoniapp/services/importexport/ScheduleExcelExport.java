@@ -4,11 +4,10 @@ import lombok.AllArgsConstructor;
 import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.ss.usermodel.Sheet;
 import org.apache.poi.ss.usermodel.Workbook;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.harmoniapp.entities.schedule.Shift;
 import org.harmoniapp.entities.user.User;
-import org.springframework.core.io.InputStreamResource;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
 import java.util.HashMap;
@@ -29,19 +28,18 @@ public class ScheduleExcelExport extends ExcelExport implements ExportSchedule {
      *
      * @param startDate the start date of the range
      * @param endDate   the end date of the range
-     * @return an InputStreamResource containing the exported data
+     * @return a StreamingResponseBody writing the exported data
      */
     @Override
-    public InputStreamResource exportShifts(LocalDate startDate, LocalDate endDate) {
+    public StreamingResponseBody exportShifts(LocalDate startDate, LocalDate endDate) {
         List<Shift> shifts = scheduleDataService.getShifts(startDate, endDate);
         List<User> users = getUsers(shifts);
         Map<Long, Map<LocalDate, String>> userShiftMap = createUserShiftMap(shifts);
 
-        Workbook workbook = new XSSFWorkbook();
-        Sheet sheet = createSheetWithHeader(workbook, startDate, endDate);
-        populateSheetWithData(sheet, users, userShiftMap, startDate, endDate);
-
-        return writeFile(workbook);
+        return writeFile(workbook -> {
+            Sheet sheet = createSheetWithHeader(workbook, startDate, endDate);
+            populateSheetWithData(sheet, users, userShiftMap, startDate, endDate);
+        });
     }
 
     /**
@@ -1,10 +1,9 @@
 package org.harmoniapp.services.importexport;
 
+import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
-import org.apache.poi.ss.usermodel.Cell;
-import org.apache.poi.ss.usermodel.CellType;
-import org.apache.poi.ss.usermodel.Row;
-import org.apache.poi.ss.usermodel.Sheet;
+import org.harmoniapp.entities.absence.Absence;
+import org.harmoniapp.entities.profile.Role;
 import org.harmoniapp.entities.schedule.Shift;
 import org.harmoniapp.entities.user.User;
 import org.harmoniapp.exception.EmptyFileException;
@@ -13,11 +12,18 @@ import org.harmoniapp.repositories.RepositoryCollector;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
-import java.util.Iterator;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Service class for importing schedules from an Excel file.
@@ -26,67 +32,111 @@ import java.util.List;
 @Service
 @RequiredArgsConstructor
 public class ScheduleExcelImport extends ExcelImport implements ImportSchedule {
+    private static final DateTimeFormatter SHIFT_START_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+    private static final DateTimeFormatter SHIFT_END_FORMAT = DateTimeFormatter.ofPattern("HH:mm");
+
     private final RepositoryCollector repositoryCollector;
 
     /**
      * Imports a schedule from an Excel file.
+     * The existing shifts and approved absences of the imported date range are loaded once into an interval index,
+     * against which every imported shift is checked. The rows are processed in chunks and the shifts are inserted
+     * in JDBC batches within a single transaction, which is rolled back if any conflict is found.
      *
      * @param file the Excel file containing the schedule
      * @return a status message
      * @throws EmptyFileException   if no rows are found in the Excel file
-     * @throws InvalidCellException if an invalid employee ID is found in the Excel file
+     * @throws InvalidCellException if an invalid employee ID is found in the Excel file or imported shifts
+     *                              overlap existing shifts, approved absences or each other
      */
+    @Transactional
     public String importSchedule(MultipartFile file) {
-        Sheet sheet = readSheet(file);
-        List<User> users = repositoryCollector.getUsers().findAllByIsActiveTrue();
+        Map<String, User> users = repositoryCollector.getUsers().findAllByIsActiveTrue().stream()
+                .collect(Collectors.toMap(User::getEmployeeId, Function.identity(), (first, second) -> first));
+        List<LocalDateTime> dateHeaders = new ArrayList<>();
+        ShiftIntervalIndex occupied = new ShiftIntervalIndex();
 
-        Iterator<Row> rows = sheet.rowIterator();
-        if (!rows.hasNext()) {
+        int rowCount = readRows(file,
+                headerRow -> {
+                    dateHeaders.addAll(extractHeaders(headerRow));
+                    loadOccupiedIntervals(dateHeaders, occupied);
+                },
+                rows -> {
+                    List<Shift> shifts = processShiftRows(rows, users, dateHeaders, occupied);
+                    if (!occupied.hasConflicts()) {
+                        repositoryCollector.getShifts().insertAll(shifts);
+                    }
+                });
+        if (rowCount == 0) {
             throw new EmptyFileException("Nie znaleziono wierszy w pliku Excel");
         }
-        List<LocalDateTime> dateHeaders = extractHeaders(rows.next());
-        List<Shift> shiftList = processShiftRows(rows, users, dateHeaders);
-        repositoryCollector.getShifts().saveAll(shiftList);
+        if (occupied.hasConflicts()) {
+            throw new InvalidCellException(occupied.getConflictsMessage());
+        }
         return "Harmonogram zaimportowany pomyślnie";
     }
 
+    /**
+     * Loads the existing shifts and approved absences overlapping the imported date range into the interval index.
+     * The range is extended by one day, so that overnight shifts starting on the last imported day are checked too.
+     *
+     * @param dateHeaders the list of date headers
+     * @param occupied    the index to load the intervals into
+     */
+    protected void loadOccupiedIntervals(List<LocalDateTime> dateHeaders, ShiftIntervalIndex occupied) {
+        if (dateHeaders.isEmpty()) {
+            return;
+        }
+        LocalDate from = Collections.min(dateHeaders).toLocalDate();
+        LocalDate to = Collections.max(dateHeaders).toLocalDate().plusDays(1);
+
+        for (Shift shift : repositoryCollector.getShifts().findAllOverlapping(from.atStartOfDay(), to.plusDays(1).atStartOfDay())) {
+            occupied.add(shift.getUser().getId(), shift.getStart(), shift.getEnd(), "z istniejącą zmianą "
+                    + shift.getStart().format(SHIFT_START_FORMAT) + "-" + shift.getEnd().format(SHIFT_END_FORMAT));
+        }
+        for (Absence absence : repositoryCollector.getAbsences().findApprovedAbsenceByDateRange(from, to)) {
+            LocalDate start = absence.getStart().isBefore(from) ? from : absence.getStart();
+            LocalDate end = absence.getEnd().isAfter(to) ? to : absence.getEnd();
+            occupied.add(absence.getUser().getId(), start.atStartOfDay(), end.plusDays(1).atStartOfDay(),
+                    "z zatwierdzoną nieobecnością " + absence.getStart() + " - " + absence.getEnd());
+        }
+    }
+
     /**
      * Processes the rows from the Excel sheet and creates shifts.
+     * Shifts conflicting with the occupied intervals are recorded in the index and left out of the result.
      *
-     * @param rows        the iterator of rows to process
-     * @param users       the list of active users
+     * @param rows        the rows to process
+     * @param users       the active users by their employee ID
      * @param dateHeaders the list of date headers
+     * @param occupied    the index of the intervals occupied by users
      * @return a list of created shifts
      */
-    protected List<Shift> processShiftRows(Iterator<Row> rows, List<User> users, List<LocalDateTime> dateHeaders) {
+    protected List<Shift> processShiftRows(List<ExcelRow> rows, Map<String, User> users, List<LocalDateTime> dateHeaders,
+                                           ShiftIntervalIndex occupied) {
         List<Shift> shiftList = new ArrayList<>();
-        while (rows.hasNext()) {
-            Row row = rows.next();
-            Cell empCell = row.getCell(0);
-            User user = getUser(users, empCell);
-            processRow(row, dateHeaders, user, shiftList);
+        for (ExcelRow row : rows) {
+            User user = getUser(users, row);
+            processRow(row, dateHeaders, user, occupied, shiftList);
         }
         return shiftList;
     }
 
     /**
-     * Retrieves a User object based on the employee ID found in the given cell.
+     * Retrieves a User object based on the employee ID found in the first cell of the given row.
      *
-     * @param users the list of active users
-     * @param cell  the cell containing the employee ID
+     * @param users the active users by their employee ID
+     * @param row   the row containing the employee ID
      * @return the User object corresponding to the employee ID
      * @throws InvalidCellException if the employee ID is not found in the list of users
      */
-    protected User getUser(List<User> users, Cell cell) {
-        if (cell == null) {
-            return null;
+    protected User getUser(Map<String, User> users, ExcelRow row) {
+        User user = users.get(row.getCell(0));
+        if (user == null) {
+            throw new InvalidCellException("Nieprawidłowa komórka: "
+                    + row.address(0) + " - nieprawidłowe ID pracownika");
         }
-        String empId = getCellValueAsString(cell);
-        return users.stream()
-                .filter(u -> u.getEmployeeId().equals(empId))
-                .findFirst()
-                .orElseThrow(() -> new InvalidCellException("Nieprawidłowa komórka: "
-                        + cell.getAddress().formatAsString() + " - nieprawidłowe ID pracownika"));
+        return user;
     }
 
     /**
@@ -95,67 +145,75 @@ public class ScheduleExcelImport extends ExcelImport implements ImportSchedule {
      * @param row       the row to process
      * @param header    the list of date headers
      * @param user      the user associated with the row
+     * @param occupied  the index of the intervals occupied by users
      * @param shiftList the list to add the created shifts to
      */
-    void processRow(Row row, List<LocalDateTime> header, User user, List<Shift> shiftList) {
+    void processRow(ExcelRow row, List<LocalDateTime> header, User user, ShiftIntervalIndex occupied,
+                    List<Shift> shiftList) {
+        Role role = getDefaultRole(user);
         for (int i = 0; i < header.size(); i++) {
-            Cell cell = row.getCell(i + 1);
-            String cellValue = getCellValueAsString(cell);
+            String cellValue = row.getCell(i + 1);
             if (cellValue.isEmpty()) {
                 continue;
             }
 
             LocalDateTime day = header.get(i);
-            LocalDateTime[] workHours = parseWorkHours(cellValue, day, cell);
-            Shift shift = createShift(user, workHours[0], workHours[1]);
-            shiftList.add(shift);
+            String cellAddress = row.address(i + 1);
+            LocalDateTime[] workHours = parseWorkHours(cellValue, day, cellAddress);
+            Shift shift = createShift(user, role, workHours[0], workHours[1]);
+            if (occupied.register(shift, cellAddress)) {
+                shiftList.add(shift);
+            }
         }
     }
 
+    /**
+     * Retrieves the role assigned to the imported shifts of the given user.
+     * The spreadsheet does not contain roles, so the role is known only if the user has exactly one.
+     *
+     * @param user the user associated with the shifts
+     * @return the only role of the user, or null if the user has no or multiple roles
+     */
+    private Role getDefaultRole(User user) {
+        Set<Role> roles = user.getRoles();
+        return roles != null && roles.size() == 1 ? roles.iterator().next() : null;
+    }
+
     /**
      * Parses the work hours from a cell value and combines them with a given day.
      *
-     * @param cellValue the cell value containing the work hours in the format HH:mm-HH:mm
-     * @param day       the day to combine with the parsed work hours
-     * @param cell      the cell containing the work hours, used for error reporting
+     * @param cellValue   the cell value containing the work hours in the format HH:mm-HH:mm
+     * @param day         the day to combine with the parsed work hours
+     * @param cellAddress the address of the cell containing the work hours, used for error reporting
      * @return an array containing the start and end times as LocalDateTime objects
      * @throws InvalidCellException if the work hours format is invalid
      */
-    private LocalDateTime[] parseWorkHours(String cellValue, LocalDateTime day, Cell cell) {
+    private LocalDateTime[] parseWorkHours(String cellValue, LocalDateTime day, String cellAddress) {
         List<String> workHours = List.of(cellValue.split("-", 2));
-        LocalDateTime start = parseTime(workHours.get(0), day, cell);
-        LocalDateTime end = parseTime(workHours.get(1), day, cell);
+        if (workHours.size() != 2) {
+            throw new InvalidCellException("Nieprawidłowa kmórka: " + cellAddress + " - oczekiwany format: HH:mm-HH:mm");
+        }
+        LocalDateTime start = parseTime(workHours.get(0), day, cellAddress);
+        LocalDateTime end = parseTime(workHours.get(1), day, cellAddress);
         if (start.isAfter(end)) {
             end = end.plusDays(1);
         }
         return new LocalDateTime[]{start, end};
     }
 
-    /**
-     * Converts the value of a cell to a string.
-     *
-     * @param cell the cell to convert
-     * @return the string value of the cell
-     */
-    private String getCellValueAsString(Cell cell) {
-        if (cell == null) {
-            return "";
-        }
-        cell.setCellType(CellType.STRING);
-        return cell.getStringCellValue().trim();
-    }
-
     /**
      * Creates a new Shift object.
      *
      * @param user  the user associated with the shift
+     * @param role  the role of the shift, may be null
      * @param start the start time of the shift
      * @param end   the end time of the shift
      * @return a new Shift object
      */
-    private Shift createShift(User user, LocalDateTime start, LocalDateTime end) {
+    private Shift createShift(User user, Role role, LocalDateTime start, LocalDateTime end) {
         return Shift.builder()
                 .user(user)
+                .role(role)
                 .start(start)
                 .end(end)
                 .published(false)
@@ -165,18 +223,18 @@ public class ScheduleExcelImport extends ExcelImport implements ImportSchedule {
     /**
      * Parses a time string and combines it with a given day to create a LocalDateTime.
      *
-     * @param time the time string to parse, expected format: HH:mm
-     * @param day  the day to combine with the parsed time
-     * @param cell the cell containing the time string, used for error reporting
+     * @param time        the time string to parse, expected format: HH:mm
+     * @param day         the day to combine with the parsed time
+     * @param cellAddress the address of the cell containing the time string, used for error reporting
      * @return a LocalDateTime combining the given day and parsed time
      * @throws InvalidCellException if the time string is invalid
      */
-    private LocalDateTime parseTime(String time, LocalDateTime day, Cell cell) {
+    private LocalDateTime parseTime(String time, LocalDateTime day, String cellAddress) {
         try {
             LocalTime localTime = LocalTime.parse(time.trim());
             return day.toLocalDate().atTime(localTime.getHour(), localTime.getMinute());
         } catch (Exception e) {
-            throw new InvalidCellException("Nieprawidłowa kmórka: " + cell.getAddress().formatAsString() + " - oczekiwany format: HH:mm-HH:mm");
+            throw new InvalidCellException("Nieprawidłowa kmórka: " + cellAddress + " - oczekiwany format: HH:mm-HH:mm");
         }
     }
 
@@ -185,30 +243,19 @@ public class ScheduleExcelImport extends ExcelImport implements ImportSchedule {
      *
      * @param headerRow the row containing the headers
      * @return a list of headers extracted from the row
-     * @throws EmptyFileException   if no headers are found in the Excel file
      * @throws InvalidCellException if the "id pracownika" column is not found or if a date cell has an invalid format
      */
-    List<LocalDateTime> extractHeaders(Row headerRow) {
-        List<LocalDateTime> headers = new ArrayList<>();
-        short dataFormat = headerRow.getSheet().getWorkbook().getCreationHelper().createDataFormat().getFormat("yyyy-mm-dd");
-
-        Iterator<Cell> cellIterator = headerRow.cellIterator();
-        if (!cellIterator.hasNext()) {
-            throw new EmptyFileException("Nie znaleziono wierszy w pliku Excel");
-        }
-        Cell cell = cellIterator.next();
-        if (!cell.getStringCellValue().trim().equalsIgnoreCase("id pracownika")) {
-            throw new InvalidCellException("Nieprawidłowa kmórka: " + cell.getAddress().formatAsString()
+    List<LocalDateTime> extractHeaders(ExcelRow headerRow) {
+        if (!headerRow.getCell(0).equalsIgnoreCase("id pracownika")) {
+            throw new InvalidCellException("Nieprawidłowa kmórka: " + headerRow.address(0)
                     + " - oczekiwany nagłówek: id pracownika");
         }
-        while (cellIterator.hasNext()) {
-            cell = cellIterator.next();
-            cell.getCellStyle().setDataFormat(dataFormat);
+        List<LocalDateTime> headers = new ArrayList<>();
+        for (int i = 1; i < headerRow.size(); i++) {
             try {
-                LocalDateTime date = cell.getLocalDateTimeCellValue();
-                headers.add(date);
-            } catch (IllegalStateException e) {
-                throw new InvalidCellException("Nieprawidłowa komórka: " + cell.getAddress().formatAsString()
+                headers.add(LocalDate.parse(headerRow.getCell(i)).atStartOfDay());
+            } catch (DateTimeParseException e) {
+                throw new InvalidCellException("Nieprawidłowa komórka: " + headerRow.address(i)
                         + " - oczekiwany format daty: yyyy-mm-dd");
             }
         }
@@ -4,19 +4,16 @@ import com.lowagie.text.Font;
 import com.lowagie.text.*;
 import com.lowagie.text.pdf.PdfPCell;
 import com.lowagie.text.pdf.PdfPTable;
-import com.lowagie.text.pdf.PdfWriter;
 import lombok.RequiredArgsConstructor;
 import org.harmoniapp.entities.schedule.Shift;
 import org.harmoniapp.entities.user.User;
-import org.harmoniapp.exception.FileGenerationException;
 import org.harmoniapp.exception.InvalidDateException;
-import org.springframework.core.io.InputStreamResource;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.awt.*;
-import java.io.ByteArrayOutputStream;
 import java.time.LocalDate;
-import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -29,23 +26,32 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class SchedulePdfExport extends PdfExport implements ExportSchedule {
     private final ScheduleDataService scheduleDataService;
-    private final List<String> headersCell = List.of("ID Pracownika", "Poniedzialek", "Wtorek", "Sroda",
+    private final List<String> dayNames = List.of("Poniedzialek", "Wtorek", "Sroda",
             "Czwartek", "Piatek", "Sobota", "Niedziela");
-    private final int maxDays = 7;
+    private final int daysPerTable = 7;
 
     /**
      * Exports shifts within a given date range to a PDF file.
+     * The shifts are loaded before the response is committed, the document is streamed to the response as it is written,
+     * with one table per week of the range.
      *
      * @param startDate the start date of the range
      * @param endDate   the end date of the range
-     * @return an InputStreamResource containing the PDF file
+     * @return a StreamingResponseBody writing the PDF file
      */
-    public InputStreamResource exportShifts(LocalDate startDate, LocalDate endDate) {
+    public StreamingResponseBody exportShifts(LocalDate startDate, LocalDate endDate) {
         validateDate(startDate, endDate);
-        Document document = new Document(PageSize.A4.rotate());
-        ByteArrayOutputStream out = new ByteArrayOutputStream();
-        writeDocument(document, out, startDate, endDate);
-        return convertToInputStreamResource(out);
+        List<Shift> shifts = scheduleDataService.getShifts(startDate, endDate);
+        Map<Long, Map<LocalDate, String>> shiftsByUserAndDay = groupShiftsByUserAndDay(shifts);
+        List<User> users = getUsers(shifts);
+
+        return writeDocument(document -> {
+            addDateParagraph(document, startDate, endDate);
+            for (LocalDate from = startDate; !from.isAfter(endDate); from = from.plusDays(daysPerTable)) {
+                LocalDate to = from.plusDays(daysPerTable - 1);
+                addTable(document, users, shiftsByUserAndDay, from, to.isAfter(endDate) ? endDate : to);
+            }
+        });
     }
 
     /**
@@ -54,8 +60,7 @@ public class SchedulePdfExport extends PdfExport implements ExportSchedule {
      * @param startDate the start date to validate
      * @param endDate   the end date to validate
      * @throws InvalidDateException if the start date or end date is null,
-     *                              if the start date is after the end date,
-     *                              or if the date range is longer than 7 days
+     *                              or if the start date is after the end date
      */
     void validateDate(LocalDate startDate, LocalDate endDate) {
         if (startDate == null || endDate == null) {
@@ -64,30 +69,6 @@ public class SchedulePdfExport extends PdfExport implements ExportSchedule {
         if (startDate.isAfter(endDate)) {
             throw new InvalidDateException("Data początkowa nie może być późniejsza niż data końcowa.");
         }
-        if (ChronoUnit.DAYS.between(startDate, endDate) > maxDays) {
-            throw new InvalidDateException("Zakres dat nie może być dłuższy niż 7 dni.");
-        }
-    }
-
-    /**
-     * Writes the PDF document with the given date range.
-     *
-     * @param document  the PDF document to write to
-     * @param out       the output stream to write the document to
-     * @param startDate the start date of the range
-     * @param endDate   the end date of the range
-     * @throws FileGenerationException if there is an error generating the PDF file
-     */
-    void writeDocument(Document document, ByteArrayOutputStream out, LocalDate startDate, LocalDate endDate) {
-        try {
-            PdfWriter.getInstance(document, out);
-            document.open();
-            addDateParagraph(document, startDate, endDate);
-            addTable(document, startDate, endDate);
-            document.close();
-        } catch (DocumentException e) {
-            throw new FileGenerationException("Nie udało się wygenerować pliku PDF. Spróbuj ponownie.");
-        }
     }
 
     /**
@@ -108,21 +89,42 @@ public class SchedulePdfExport extends PdfExport implements ExportSchedule {
 
     /**
      * Adds a table to the PDF document with shift information for the given date range.
+     * The rows are added to the document in chunks as the table grows.
      *
-     * @param document  the PDF document to add the table to
-     * @param startDate the start date of the range
-     * @param endDate   the end date of the range
+     * @param document           the PDF document to add the table to
+     * @param users              the list of users
+     * @param shiftsByUserAndDay a map of user IDs to a map of dates and shift information
+     * @param startDate          the start date of the range
+     * @param endDate            the end date of the range
      * @throws DocumentException if there is an error adding the table to the document
      */
-    private void addTable(Document document, LocalDate startDate, LocalDate endDate) throws DocumentException {
-        PdfPTable table = new PdfPTable(maxDays + 1);
-        addTableHeader(headersCell, table);
+    void addTable(Document document, List<User> users, Map<Long, Map<LocalDate, String>> shiftsByUserAndDay,
+                  LocalDate startDate, LocalDate endDate) throws DocumentException {
+        PdfPTable table = createTable(createHeaders(startDate, endDate));
+        int rowCount = 0;
+        for (User user : users) {
+            addCell(table, user.getEmployeeId());
+            populateRow(table, shiftsByUserAndDay.getOrDefault(user.getId(), Map.of()), startDate, endDate);
+            flushChunk(document, table, ++rowCount);
+        }
+        completeTable(document, table);
+        document.add(Chunk.NEWLINE);
+    }
 
-        List<Shift> shifts = scheduleDataService.getShifts(startDate, endDate);
-        Map<Long, Map<LocalDate, String>> shiftsByUserAndDay = groupShiftsByUserAndDay(shifts);
-        List<User> users = getUsers(shifts);
-        createTableRow(table, users, shiftsByUserAndDay, startDate, endDate);
-        document.add(table);
+    /**
+     * Creates the header titles of a table for the given date range.
+     *
+     * @param startDate the start date of the range
+     * @param endDate   the end date of the range
+     * @return a list of header titles, the employee ID followed by the day names and dates
+     */
+    List<String> createHeaders(LocalDate startDate, LocalDate endDate) {
+        List<String> headers = new ArrayList<>();
+        headers.add("ID Pracownika");
+        for (LocalDate day = startDate; !day.isAfter(endDate); day = day.plusDays(1)) {
+            headers.add(dayNames.get(day.getDayOfWeek().getValue() - 1) + "\n" + day);
+        }
+        return headers;
     }
 
     /**
@@ -143,23 +145,6 @@ public class SchedulePdfExport extends PdfExport implements ExportSchedule {
                 ));
     }
 
-    /**
-     * Creates a table row for each user and populates it with shift information.
-     *
-     * @param table              the table to add the row to
-     * @param users              the list of users
-     * @param shiftsByUserAndDay a map of user IDs to a map of dates and shift information
-     * @param startDate          the start date of the range
-     * @param endDate            the end date of the range
-     */
-    private void createTableRow(PdfPTable table, List<User> users, Map<Long, Map<LocalDate, String>> shiftsByUserAndDay,
-                                LocalDate startDate, LocalDate endDate) {
-        for (User user : users) {
-            addCell(table, user.getEmployeeId());
-            populateRow(table, shiftsByUserAndDay.get(user.getId()), startDate, endDate);
-        }
-    }
-
     /**
      * Populates a row in the PDF table with shift information for a user.
      *
@@ -195,9 +180,10 @@ public class SchedulePdfExport extends PdfExport implements ExportSchedule {
      * Creates the content for a shift cell.
      *
      * @param shift the shift to create the content for
-     * @return a string containing the shift start time, end time, and role name
+     * @return a string containing the shift start time, end time, and role name if the shift has a role
      */
     private String createShiftCellContent(Shift shift) {
-        return "%s - %s\n%s".formatted(shift.getStart().toLocalTime(), shift.getEnd().toLocalTime(), shift.getRole().getName());
+        String hours = "%s - %s".formatted(shift.getStart().toLocalTime(), shift.getEnd().toLocalTime());
+        return shift.getRole() != null ? hours + "\n" + shift.getRole().getName() : hours;
     }
 }
@@ -0,0 +1,98 @@
+package org.harmoniapp.services.importexport;
+
+import org.harmoniapp.entities.schedule.Shift;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Index of the time intervals occupied by users, used to detect conflicting shifts during a schedule import.
+ * Intervals are bucketed by user and day, so checking a shift only looks at the intervals of the days it spans.
+ */
+class ShiftIntervalIndex {
+    static final int MAX_REPORTED_CONFLICTS = 10;
+
+    private final Map<Long, Map<LocalDate, List<Interval>>> intervals = new HashMap<>();
+    private final List<String> conflicts = new ArrayList<>();
+    private int conflictCount;
+
+    /**
+     * Adds an occupied interval of the given user.
+     *
+     * @param userId      the ID of the user
+     * @param start       the start of the interval, inclusive
+     * @param end         the end of the interval, exclusive
+     * @param description the description of the interval used in conflict messages, e.g. "z istniejącą zmianą"
+     */
+    void add(long userId, LocalDateTime start, LocalDateTime end, String description) {
+        Interval interval = new Interval(start, end, description);
+        Map<LocalDate, List<Interval>> days = intervals.computeIfAbsent(userId, id -> new HashMap<>());
+        for (LocalDate day = start.toLocalDate(); day.atStartOfDay().isBefore(end); day = day.plusDays(1)) {
+            days.computeIfAbsent(day, d -> new ArrayList<>()).add(interval);
+        }
+    }
+
+    /**
+     * Registers an imported shift if it does not overlap any interval of its user, otherwise records a conflict.
+     *
+     * @param shift       the imported shift, with a user set
+     * @param cellAddress the address of the cell the shift was read from
+     * @return true if the shift was registered, false if it conflicts with another interval
+     */
+    boolean register(Shift shift, String cellAddress) {
+        long userId = shift.getUser().getId();
+        Optional<Interval> conflict = findOverlapping(userId, shift.getStart(), shift.getEnd());
+        if (conflict.isPresent()) {
+            conflictCount++;
+            if (conflicts.size() < MAX_REPORTED_CONFLICTS) {
+                conflicts.add(cellAddress + " koliduje " + conflict.get().description());
+            }
+            return false;
+        }
+        add(userId, shift.getStart(), shift.getEnd(), "ze zmianą z komórki " + cellAddress);
+        return true;
+    }
+
+    /**
+     * Checks whether any imported shift was in conflict.
+     *
+     * @return true if at least one conflict was recorded
+     */
+    boolean hasConflicts() {
+        return conflictCount > 0;
+    }
+
+    /**
+     * Builds a message describing the recorded conflicts, listing at most {@value #MAX_REPORTED_CONFLICTS} of them.
+     *
+     * @return the conflicts message
+     */
+    String getConflictsMessage() {
+        String message = "Wykryto kolidujące zmiany: " + String.join("; ", conflicts);
+        int omitted = conflictCount - conflicts.size();
+        return omitted > 0 ? message + " (i " + omitted + " więcej)" : message;
+    }
+
+    private Optional<Interval> findOverlapping(long userId, LocalDateTime start, LocalDateTime end) {
+        Map<LocalDate, List<Interval>> days = intervals.getOrDefault(userId, Map.of());
+        for (LocalDate day = start.toLocalDate(); day.atStartOfDay().isBefore(end); day = day.plusDays(1)) {
+            for (Interval interval : days.getOrDefault(day, List.of())) {
+                if (interval.overlaps(start, end)) {
+                    return Optional.of(interval);
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    private record Interval(LocalDateTime start, LocalDateTime end, String description) {
+        boolean overlaps(LocalDateTime otherStart, LocalDateTime otherEnd) {
+            return start.isBefore(otherEnd) && end.isAfter(otherStart);
+        }
+    }
+}
@@ -1,19 +1,25 @@
 package org.harmoniapp.services.importexport;
 
 import lombok.RequiredArgsConstructor;
-import org.harmoniapp.contracts.profile.LanguageDto;
-import org.harmoniapp.contracts.profile.RoleDto;
-import org.harmoniapp.contracts.user.UserDto;
-import org.harmoniapp.entities.user.User;
+import org.harmoniapp.contracts.user.UserExportDto;
 import org.harmoniapp.repositories.RepositoryCollector;
-import org.springframework.data.domain.Sort;
+import org.harmoniapp.repositories.user.UserAttributeRow;
+import org.harmoniapp.repositories.user.UserExportRow;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 /**
  * Service implementation for user data operations.
+ * <p>
+ * The export is read with projections in three queries, one for the user columns, including the supervisor
+ * employee ID, and one each for the role and language names, instead of loading every user entity
+ * with its associations and looking up its supervisor separately.
+ * </p>
  */
 @Service
 @RequiredArgsConstructor
@@ -21,55 +27,64 @@ public class UserDataServiceImpl implements UserDataService {
     private final RepositoryCollector repositoryCollector;
 
     /**
-     * Retrieves a list of all active users, sorted by surname and firstname.
+     * Retrieves the rows of the user export for all active users, sorted by surname and firstname.
      *
-     * @return a list of UserDto objects representing all active users
+     * @return a list of UserExportDto objects representing all active users
      */
-    public List<UserDto> getAllUsers() {
-        return repositoryCollector.getUsers()
-                .findByIsActiveTrue(Sort.by("surname", "firstname"))
-                .stream()
-                .map(UserDto::fromEntity)
+    @Override
+    @Transactional(readOnly = true)
+    public List<UserExportDto> getAllUsers() {
+        List<UserExportRow> rows = repositoryCollector.getUsers().findAllActiveForExport();
+        Map<Long, String> roles = joinNamesByUser(repositoryCollector.getUsers().findAllActiveRoleNames());
+        Map<Long, String> languages = joinNamesByUser(repositoryCollector.getUsers().findAllActiveLanguageNames());
+        return rows.stream()
+                .map(row -> toDto(row, roles.getOrDefault(row.id(), ""), languages.getOrDefault(row.id(), "")))
                 .toList();
     }
 
     /**
-     * Retrieves the roles of a given user as a comma-separated string.
+     * Groups the names by user and joins the names of each user into a comma-separated string.
      *
-     * @param user the UserDto object representing the user
-     * @return a string containing the roles of the user, separated by commas
+     * @param attributes the names of roles or languages assigned to users
+     * @return a map of user IDs to their names, separated by commas
      */
-    public String getRoles(UserDto user) {
-        return user.roles().stream()
-                .map(RoleDto::name)
-                .collect(Collectors.joining(", "));
+    private Map<Long, String> joinNamesByUser(List<UserAttributeRow> attributes) {
+        return attributes.stream()
+                .collect(Collectors.groupingBy(UserAttributeRow::userId,
+                        Collectors.mapping(UserAttributeRow::name, Collectors.joining(", "))));
     }
 
     /**
-     * Retrieves the languages of a given user as a comma-separated string.
+     * Converts a projected user row to a UserExportDto, replacing missing values with empty strings.
      *
-     * @param user the UserDto object representing the user
-     * @return a string containing the languages of the user, separated by commas
+     * @param row       the projected user row
+     * @param roles     the names of the roles of the user, separated by commas
+     * @param languages the names of the languages of the user, separated by commas
+     * @return the resulting UserExportDto
      */
-    public String getLanguages(UserDto user) {
-        return user.languages().stream()
-                .map(LanguageDto::name)
-                .collect(Collectors.joining(", "));
+    private UserExportDto toDto(UserExportRow row, String roles, String languages) {
+        return UserExportDto.builder()
+                .employeeId(text(row.employeeId()))
+                .firstname(text(row.firstname()))
+                .surname(text(row.surname()))
+                .email(text(row.email()))
+                .phoneNumber(text(row.phoneNumber()))
+                .city(text(row.city()))
+                .street(text(row.street()))
+                .apartment(text(row.apartment()))
+                .zipCode(text(row.zipCode()))
+                .buildingNumber(text(row.buildingNumber()))
+                .roles(roles)
+                .languages(languages)
+                .contractType(text(row.contractType()))
+                .contractSignature(text(row.contractSignature()))
+                .contractExpiration(text(row.contractExpiration()))
+                .supervisorEmployeeId(text(row.supervisorEmployeeId()))
+                .departmentName(text(row.departmentName()))
+                .build();
     }
 
-    /**
-     * Retrieves the employee ID of the supervisor of a given user.
-     *
-     * @param user the UserDto object representing the user
-     * @return a string containing the employee ID of the supervisor, or an empty string if the supervisor is not found
-     */
-    public String getSupervisorEmployeeId(UserDto user) {
-        if (user.supervisorId() != null) {
-            return repositoryCollector.getUsers()
-                    .findById(user.supervisorId())
-                    .map(User::getEmployeeId)
-                    .orElse("");
-        }
-        return "";
+    private String text(Object value) {
+        return Objects.toString(value, "");
     }
 }
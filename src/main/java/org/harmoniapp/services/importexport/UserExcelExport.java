@@ -3,11 +3,10 @@ package org.harmoniapp.services.importexport;
 import lombok.RequiredArgsConstructor;
 import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.ss.usermodel.Sheet;
-import org.apache.poi.ss.usermodel.Workbook;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
-import org.harmoniapp.contracts.user.UserDto;
-import org.springframework.core.io.InputStreamResource;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.harmoniapp.contracts.user.UserExportDto;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -28,23 +27,23 @@ public class UserExcelExport extends ExcelExport implements ExportUser {
     /**
      * Exports the list of active users to an Excel file.
      *
-     * @return an InputStreamResource containing the exported data
+     * @return a StreamingResponseBody writing the exported data
      */
     @Override
-    public InputStreamResource exportUsers() {
-        List<UserDto> users = userDataService.getAllUsers();
+    public StreamingResponseBody exportUsers() {
+        List<UserExportDto> users = userDataService.getAllUsers();
 
-        Workbook workbook = new XSSFWorkbook();
-        Sheet sheet = workbook.createSheet("Pracownicy");
-        createHeaderRow(sheet);
-        for (int i = 0; i < users.size(); i++) {
-            createEmployRow(sheet, users.get((i)), i);
-        }
-        for (int i = 0; i < headersCell.size(); i++) {
-            sheet.autoSizeColumn(i);
-        }
-
-        return writeFile(workbook);
+        return writeFile(workbook -> {
+            SXSSFSheet sheet = workbook.createSheet("Pracownicy");
+            sheet.trackAllColumnsForAutoSizing();
+            createHeaderRow(sheet);
+            for (int i = 0; i < users.size(); i++) {
+                createEmployRow(sheet, users.get((i)), i);
+            }
+            for (int i = 0; i < headersCell.size(); i++) {
+                sheet.autoSizeColumn(i);
+            }
+        });
     }
 
     /**
@@ -66,7 +65,7 @@ public class UserExcelExport extends ExcelExport implements ExportUser {
      * @param user   the user data to be filled in the row
      * @param rowIdx the index of the row to be created
      */
-    private void createEmployRow(Sheet sheet, UserDto user, int rowIdx) {
+    private void createEmployRow(Sheet sheet, UserExportDto user, int rowIdx) {
         Row row = sheet.createRow(rowIdx + 1);
         for (int i = 0; i < headersCell.size(); i++) {
             fillCell(row, user, i);
@@ -80,25 +79,25 @@ public class UserExcelExport extends ExcelExport implements ExportUser {
      * @param user    the user data to be filled in the cell
      * @param cellIdx the index of the cell to be created
      */
-    private void fillCell(Row row, UserDto user, int cellIdx) {
+    private void fillCell(Row row, UserExportDto user, int cellIdx) {
         switch (cellIdx) {
             case 0 -> row.createCell(cellIdx).setCellValue(user.employeeId());
             case 1 -> row.createCell(cellIdx).setCellValue(user.firstname());
             case 2 -> row.createCell(cellIdx).setCellValue(user.surname());
             case 3 -> row.createCell(cellIdx).setCellValue(user.email());
             case 4 -> row.createCell(cellIdx).setCellValue(user.phoneNumber());
-            case 5 -> row.createCell(cellIdx).setCellValue(user.residence().city());
-            case 6 -> row.createCell(cellIdx).setCellValue(user.residence().street());
-            case 7 -> row.createCell(cellIdx).setCellValue(user.residence().apartment());
-            case 8 -> row.createCell(cellIdx).setCellValue(user.residence().zipCode());
-            case 9 -> row.createCell(cellIdx).setCellValue(user.residence().buildingNumber());
-            case 10 -> row.createCell(cellIdx).setCellValue(userDataService.getRoles(user));
-            case 11 -> row.createCell(cellIdx).setCellValue(userDataService.getLanguages(user));
-            case 12 -> row.createCell(cellIdx).setCellValue(user.contractType().name());
-            case 13 -> row.createCell(cellIdx).setCellValue(user.contractSignature().toString());
-            case 14 -> row.createCell(cellIdx).setCellValue(user.contractExpiration().toString());
-            case 15 -> row.createCell(cellIdx).setCellValue(userDataService.getSupervisorEmployeeId(user));
-            case 16 -> row.createCell(cellIdx).setCellValue(user.workAddress().departmentName());
+            case 5 -> row.createCell(cellIdx).setCellValue(user.city());
+            case 6 -> row.createCell(cellIdx).setCellValue(user.street());
+            case 7 -> row.createCell(cellIdx).setCellValue(user.apartment());
+            case 8 -> row.createCell(cellIdx).setCellValue(user.zipCode());
+            case 9 -> row.createCell(cellIdx).setCellValue(user.buildingNumber());
+            case 10 -> row.createCell(cellIdx).setCellValue(user.roles());
+            case 11 -> row.createCell(cellIdx).setCellValue(user.languages());
+            case 12 -> row.createCell(cellIdx).setCellValue(user.contractType());
+            case 13 -> row.createCell(cellIdx).setCellValue(user.contractSignature());
+            case 14 -> row.createCell(cellIdx).setCellValue(user.contractExpiration());
+            case 15 -> row.createCell(cellIdx).setCellValue(user.supervisorEmployeeId());
+            case 16 -> row.createCell(cellIdx).setCellValue(user.departmentName());
         }
     }
 }
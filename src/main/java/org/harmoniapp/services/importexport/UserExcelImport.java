@@ -7,22 +7,12 @@ import com.lowagie.text.pdf.PdfPTable;
 import com.lowagie.text.pdf.PdfWriter;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
-import org.apache.poi.ss.usermodel.Cell;
-import org.apache.poi.ss.usermodel.CellType;
-import org.apache.poi.ss.usermodel.Row;
-import org.apache.poi.ss.usermodel.Sheet;
 import org.harmoniapp.contracts.profile.AddressDto;
-import org.harmoniapp.contracts.profile.ContractTypeDto;
-import org.harmoniapp.contracts.profile.LanguageDto;
-import org.harmoniapp.contracts.profile.RoleDto;
 import org.harmoniapp.contracts.user.UserDto;
-import org.harmoniapp.entities.profile.Address;
-import org.harmoniapp.entities.profile.ContractType;
-import org.harmoniapp.entities.profile.Language;
-import org.harmoniapp.entities.profile.Role;
 import org.harmoniapp.entities.user.User;
 import org.harmoniapp.exception.EmptyFileException;
 import org.harmoniapp.exception.FileGenerationException;
+import org.harmoniapp.exception.InvalidBulkItemException;
 import org.harmoniapp.exception.InvalidCellException;
 import org.harmoniapp.repositories.RepositoryCollector;
 import org.harmoniapp.services.user.UserServiceImpl;
@@ -35,9 +25,12 @@ import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Service class for importing users from an Excel file.
@@ -54,6 +47,7 @@ public class UserExcelImport extends ExcelImport implements ImportUser {
 
     /**
      * Imports users from an Excel file.
+     * The rows are validated and saved in chunks within a single transaction.
      *
      * @param file the Excel file containing user data.
      * @return an InputStreamResource containing the result of the import operation.
@@ -62,83 +56,102 @@ public class UserExcelImport extends ExcelImport implements ImportUser {
      */
     @Transactional
     public InputStreamResource importUsers(MultipartFile file) {
-        Sheet sheet = readSheet(file);
-        Iterator<Row> rows = sheet.rowIterator();
-        if (!rows.hasNext()) {
+        UserImportLookups lookups = UserImportLookups.of(
+                repositoryCollector.getRoles().findAll(),
+                repositoryCollector.getLanguages().findAll(),
+                repositoryCollector.getContractTypes().findAll(),
+                repositoryCollector.getUsers().findAllActiveSupervisors(),
+                repositoryCollector.getAddresses().findByDepartmentNameNotNull());
+
+        List<String> headers = new ArrayList<>();
+        List<UserDto> response = new ArrayList<>();
+        Map<Long, String> pendingSupervisors = new HashMap<>();
+        int rowCount = readRows(file,
+                headerRow -> headers.addAll(extractHeaders(headerRow)),
+                rows -> {
+                    List<UserDto> userDtoList = createUserDtoList(rows, headers, lookups);
+                    List<UserDto> savedUsers = saveUsers(userDtoList, rows);
+                    collectPendingSupervisors(rows, headers, savedUsers, pendingSupervisors);
+                    response.addAll(createResponseList(savedUsers));
+                });
+        if (rowCount == 0) {
             throw new EmptyFileException("Plik jest pusty");
         }
-        List<String> headers = extractHeaders(rows.next());
-        if (headers == null) {
-            throw new InvalidCellException("Nieprawidłowe nagłówki");
-        }
-
-        List<UserDto> userDtoList;
-        userDtoList = createUserDtoListFromSpreadsheet(rows, headers);
-
-        List<UserDto> savedUsers = saveUsers(userDtoList);
-        updateSupervisors(sheet, headers, savedUsers);
 
-        return generateResponse(savedUsers);
+        updateSupervisors(pendingSupervisors);
+        return generateResponse(response);
     }
 
     /**
      * Extracts headers from the given header row.
      *
      * @param headerRow the row containing the headers.
-     * @return a list of header names, or null if the headers are invalid.
+     * @return a list of header names.
+     * @throws InvalidCellException if the headers are invalid.
      */
-    protected List<String> extractHeaders(Row headerRow) {
+    protected List<String> extractHeaders(ExcelRow headerRow) {
         List<String> headers = new ArrayList<>();
-        for (Cell cell : headerRow) {
-            headers.add(cell.getStringCellValue().toLowerCase().trim());
+        for (int i = 0; i < headerRow.size(); i++) {
+            headers.add(headerRow.getCell(i).toLowerCase());
         }
         if (new HashSet<>(headers).size() != headers.size() || !new HashSet<>(headers).containsAll(expectedHeaders)) {
-            return null;
+            throw new InvalidCellException("Nieprawidłowe nagłówki");
         }
         return headers;
     }
 
     /**
-     * Saves a list of user DTOs to the database.
+     * Saves a list of user DTOs to the database in a single bulk operation.
      *
      * @param userDtoList the list of user DTOs to save.
+     * @param rows        the rows the user DTOs were created from, used for error reporting.
      * @return a list of saved user DTOs.
      * @throws InvalidCellException if a user cannot be saved.
      */
-    protected List<UserDto> saveUsers(List<UserDto> userDtoList) {
-        List<UserDto> savedUsers = new ArrayList<>();
-        for (UserDto userDto : userDtoList) {
-            try {
-                UserDto newUser = userService.create(userDto);
-                savedUsers.add(newUser);
-            } catch (Exception e) {
-                throw new InvalidCellException("Nieprawidłowy wiersz: " + (userDtoList.indexOf(userDto) + 2));
-            }
+    protected List<UserDto> saveUsers(List<UserDto> userDtoList, List<ExcelRow> rows) {
+        try {
+            return userService.createAll(userDtoList);
+        } catch (InvalidBulkItemException e) {
+            throw new InvalidCellException("Nieprawidłowy wiersz: " + (rows.get(e.getIndex()).rowNum() + 1)
+                    + " - " + e.getMessage());
         }
-        return savedUsers;
     }
 
     /**
-     * Updates the supervisors for the saved users.
+     * Remembers the supervisor employee IDs of the saved users whose supervisor could not be resolved,
+     * e.g. because the supervisor is imported from the same file.
      *
-     * @param sheet      the Excel sheet containing user data.
-     * @param headers    the list of headers from the Excel sheet.
-     * @param savedUsers the list of saved user DTOs.
+     * @param rows               the rows the users were created from.
+     * @param headers            the list of headers from the Excel sheet.
+     * @param savedUsers         the list of saved user DTOs.
+     * @param pendingSupervisors the map of user IDs to supervisor employee IDs to fill.
      */
-    protected void updateSupervisors(Sheet sheet, List<String> headers, List<UserDto> savedUsers) {
-        List<User> supervisors = repositoryCollector.getUsers().findAllActiveSupervisors();
-        List<User> usersToUpdate = new ArrayList<>();
+    protected void collectPendingSupervisors(List<ExcelRow> rows, List<String> headers, List<UserDto> savedUsers,
+                                             Map<Long, String> pendingSupervisors) {
+        int supervisorColumn = headers.indexOf("id przelozonego");
         for (int i = 0; i < savedUsers.size(); i++) {
             UserDto userDto = savedUsers.get(i);
             if (userDto == null || userDto.supervisorId() != null) {
                 continue;
             }
-            User user = repositoryCollector.getUsers().findById(userDto.id()).orElseThrow();
-            var sup = sheet.getRow(i + 1).getCell(headers.indexOf("id przelozonego"));
-            user.setSupervisor(supervisors.stream()
-                    .filter(s -> s.getEmployeeId().equals(sup.getStringCellValue()))
-                    .findFirst().orElse(null));
-            usersToUpdate.add(user);
+            pendingSupervisors.put(userDto.id(), rows.get(i).getCell(supervisorColumn));
+        }
+    }
+
+    /**
+     * Updates the supervisors for the saved users.
+     *
+     * @param pendingSupervisors the map of user IDs to supervisor employee IDs.
+     */
+    protected void updateSupervisors(Map<Long, String> pendingSupervisors) {
+        if (pendingSupervisors.isEmpty()) {
+            return;
+        }
+        Map<String, User> supervisors = repositoryCollector.getUsers().findAllActiveSupervisors().stream()
+                .collect(Collectors.toMap(User::getEmployeeId, Function.identity(), (first, second) -> first));
+        List<User> usersToUpdate = repositoryCollector.getUsers().findAllById(pendingSupervisors.keySet());
+        for (User user : usersToUpdate) {
+            user.setSupervisor(supervisors.get(pendingSupervisors.get(user.getId())));
         }
         repositoryCollector.getUsers().saveAll(usersToUpdate);
     }
@@ -146,12 +159,10 @@ public class UserExcelImport extends ExcelImport implements ImportUser {
     /**
      * Generates a response indicating the result of the import operation.
      *
-     * @param savedUsers the list of saved user DTOs.
+     * @param response the list of user DTOs with the employee ID, email, and password of the saved users.
      * @return an InputStreamResource containing the response data.
      */
-    protected InputStreamResource generateResponse(List<UserDto> savedUsers) {
-        List<UserDto> response = createResponseList(savedUsers);
-
+    protected InputStreamResource generateResponse(List<UserDto> response) {
         byte[] pdfData = generatePdf(response);
         ByteArrayInputStream bis = new ByteArrayInputStream(pdfData);
 
@@ -165,7 +176,7 @@ public class UserExcelImport extends ExcelImport implements ImportUser {
      * @param savedUsers the list of saved UserDto objects
      * @return a list of UserDto objects with limited fields
      */
-    private List<UserDto> createResponseList(List<UserDto> savedUsers) {
+    protected List<UserDto> createResponseList(List<UserDto> savedUsers) {
         List<UserDto> response = new ArrayList<>();
         for (UserDto savedUser : savedUsers) {
             UserDto dto = UserDto.builder()
@@ -242,28 +253,21 @@ public class UserExcelImport extends ExcelImport implements ImportUser {
     }
 
     /**
-     * Creates a list of user DTOs from the spreadsheet.
+     * Creates a list of user DTOs from the rows of the spreadsheet.
      *
-     * @param rows    the iterator over the rows of the spreadsheet.
+     * @param rows    the rows of the spreadsheet.
      * @param headers the list of headers from the spreadsheet.
-     * @return a list of user DTOs created from the spreadsheet.
-     * @throws RuntimeException if a row is invalid.
+     * @param lookups the lookups of the referenced entities.
+     * @return a list of user DTOs created from the rows.
+     * @throws InvalidCellException if a row is invalid.
      */
-    protected List<UserDto> createUserDtoListFromSpreadsheet(Iterator<Row> rows, List<String> headers) throws RuntimeException {
-        List<Role> roles = repositoryCollector.getRoles().findAll();
-        List<Language> languages = repositoryCollector.getLanguages().findAll();
-        List<ContractType> contractTypes = repositoryCollector.getContractTypes().findAll();
-        List<User> supervisors = repositoryCollector.getUsers().findAllActiveSupervisors();
-        List<Address> departments = repositoryCollector.getAddresses().findByDepartmentNameNotNull();
+    protected List<UserDto> createUserDtoList(List<ExcelRow> rows, List<String> headers, UserImportLookups lookups) {
         List<UserDto> userDtoList = new ArrayList<>();
-
-        while (rows.hasNext()) {
-            Row row = rows.next();
+        for (ExcelRow row : rows) {
             validateRow(row);
-            UserDto userDto = createUserDtoFromRow(row, headers, roles, languages, contractTypes, supervisors, departments);
+            UserDto userDto = createUserDtoFromRow(row, headers, lookups);
             userDtoList.add(userDto);
         }
-
         return userDtoList;
     }
 
@@ -273,153 +277,71 @@ public class UserExcelImport extends ExcelImport implements ImportUser {
      * @param row the row to validate.
      * @throws InvalidCellException if the row is invalid.
      */
-    private void validateRow(Row row) {
-        if (row.getLastCellNum() != expectedHeaders.size()) {
-            throw new InvalidCellException("Nieprawidłowy wiersz: " + (row.getRowNum() + 1));
+    private void validateRow(ExcelRow row) {
+        if (row.size() != expectedHeaders.size()) {
+            throw new InvalidCellException("Nieprawidłowy wiersz: " + (row.rowNum() + 1));
         }
     }
 
     /**
      * Creates a UserDto from a row in the spreadsheet.
      *
-     * @param row           the row containing user data.
-     * @param headers       the list of headers from the spreadsheet.
-     * @param roles         the list of roles from the database.
-     * @param languages     the list of languages from the database.
-     * @param contractTypes the list of contract types from the database.
-     * @param supervisors   the list of supervisors from the database.
-     * @param departments   the list of departments from the database.
+     * @param row     the row containing user data.
+     * @param headers the list of headers from the spreadsheet.
+     * @param lookups the lookups of the referenced entities.
      * @return a UserDto created from the row data.
      * @throws InvalidCellException if the row contains invalid data.
      */
-    protected UserDto createUserDtoFromRow(Row row, List<String> headers, List<Role> roles, List<Language> languages,
-                                           List<ContractType> contractTypes, List<User> supervisors, List<Address> departments) {
-        Iterator<Cell> cells = row.cellIterator();
+    protected UserDto createUserDtoFromRow(ExcelRow row, List<String> headers, UserImportLookups lookups) {
         var userBuilder = UserDto.builder();
         var addressBuilder = AddressDto.builder();
 
-        while (cells.hasNext()) {
-            Cell cell = cells.next();
-            populateUserAndAddressBuilders(cell, headers.get(cell.getColumnIndex()), userBuilder, addressBuilder, roles, languages, contractTypes, supervisors, departments);
+        for (int i = 0; i < row.size(); i++) {
+            String value = row.getCell(i);
+            if (value.isEmpty()) {
+                continue;
+            }
+            populateUserAndAddressBuilders(value, headers.get(i), userBuilder, addressBuilder, lookups);
         }
 
         UserDto preview = userBuilder.build();
-        if (preview.languages() == null || preview.languages().isEmpty() || preview.roles().isEmpty()) {
-            throw new InvalidCellException("Nieprawidłowy wiersz: " + (row.getRowNum() + 1));
+        if (preview.languages() == null || preview.languages().isEmpty() || preview.roles() == null || preview.roles().isEmpty()) {
+            throw new InvalidCellException("Nieprawidłowy wiersz: " + (row.rowNum() + 1));
         }
 
         return userBuilder.residence(addressBuilder.build()).build();
     }
 
     /**
-     * Populates the user and address builders with data from the given cell.
+     * Populates the user and address builders with the value of a cell.
      *
-     * @param cell           the cell containing the data.
+     * @param value          the trimmed value of the cell.
      * @param header         the header corresponding to the cell.
      * @param userBuilder    the builder for creating a UserDto.
      * @param addressBuilder the builder for creating an AddressDto.
-     * @param roles          the list of roles from the database.
-     * @param languages      the list of languages from the database.
-     * @param contractTypes  the list of contract types from the database.
-     * @param supervisors    the list of supervisors from the database.
-     * @param departments    the list of departments from the database.
+     * @param lookups        the lookups of the referenced entities.
      */
-    private void populateUserAndAddressBuilders(Cell cell, String header, UserDto.UserDtoBuilder userBuilder,
-                                        AddressDto.AddressDtoBuilder addressBuilder, List<Role> roles, List<Language> languages,
-                                        List<ContractType> contractTypes, List<User> supervisors, List<Address> departments) {
-        cell.setCellType(CellType.STRING);
+    private void populateUserAndAddressBuilders(String value, String header, UserDto.UserDtoBuilder userBuilder,
+                                        AddressDto.AddressDtoBuilder addressBuilder, UserImportLookups lookups) {
         switch (header) {
-            case "id pracownika" -> userBuilder.employeeId(cell.getStringCellValue().trim());
-            case "imie" -> userBuilder.firstname(cell.getStringCellValue().trim());
-            case "nazwisko" -> userBuilder.surname(cell.getStringCellValue().trim());
-            case "mail" -> userBuilder.email(cell.getStringCellValue().trim());
-            case "numer telefonu" -> userBuilder.phoneNumber(cell.getStringCellValue().trim());
-            case "miasto" -> addressBuilder.city(cell.getStringCellValue().trim());
-            case "ulica" -> addressBuilder.street(cell.getStringCellValue().trim());
-            case "numer mieszkania" -> addressBuilder.apartment(cell.getStringCellValue().trim());
-            case "kod pocztowy" -> addressBuilder.zipCode(cell.getStringCellValue().trim());
-            case "numer budynku" -> addressBuilder.buildingNumber(cell.getStringCellValue().trim());
-            case "role" -> userBuilder.roles(getRoles(cell.getStringCellValue().trim(), roles));
-            case "jezyki" -> userBuilder.languages(getLanguages(cell.getStringCellValue().trim(), languages));
-            case "typ umowy" -> userBuilder.contractType(getContractType(cell.getStringCellValue().trim(), contractTypes));
-            case "podpisanie umowy" -> userBuilder.contractSignature(LocalDate.parse(cell.getStringCellValue().trim()));
-            case "wygasniecie umowy" -> userBuilder.contractExpiration(LocalDate.parse(cell.getStringCellValue().trim()));
+            case "id pracownika" -> userBuilder.employeeId(value);
+            case "imie" -> userBuilder.firstname(value);
+            case "nazwisko" -> userBuilder.surname(value);
+            case "mail" -> userBuilder.email(value);
+            case "numer telefonu" -> userBuilder.phoneNumber(value);
+            case "miasto" -> addressBuilder.city(value);
+            case "ulica" -> addressBuilder.street(value);
+            case "numer mieszkania" -> addressBuilder.apartment(value);
+            case "kod pocztowy" -> addressBuilder.zipCode(value);
+            case "numer budynku" -> addressBuilder.buildingNumber(value);
+            case "role" -> userBuilder.roles(lookups.getRoles(value));
+            case "jezyki" -> userBuilder.languages(lookups.getLanguages(value));
+            case "typ umowy" -> userBuilder.contractType(lookups.getContractType(value));
+            case "podpisanie umowy" -> userBuilder.contractSignature(LocalDate.parse(value));
+            case "wygasniecie umowy" -> userBuilder.contractExpiration(LocalDate.parse(value));
             case "id przelozonego" ->
-                    userBuilder.supervisorId(getSupervisorId(cell.getStringCellValue().trim(), supervisors));
-            case "oddzial" -> userBuilder.workAddress(getDepartment(cell.getStringCellValue().trim(), departments));
+                    userBuilder.supervisorId(lookups.getSupervisorId(value));
+            case "oddzial" -> userBuilder.workAddress(lookups.getDepartment(value));
         }
     }
-
-    /**
-     * Retrieves a list of roles based on the provided role names.
-     *
-     * @param roles    the comma-separated role names.
-     * @param roleList the list of roles to filter from.
-     * @return a list of roles that match the provided names.
-     */
-    private List<RoleDto> getRoles(String roles, List<Role> roleList) {
-        return roleList.stream()
-                .filter(r -> List.of(roles.split(",")).contains(r.getName()))
-                .map(RoleDto::fromEntity)
-                .toList();
-    }
-
-    /**
-     * Retrieves a list of language DTOs based on the provided language names.
-     *
-     * @param languages    the comma-separated language names.
-     * @param languageList the list of languages to filter from.
-     * @return a list of language DTOs that match the provided names.
-     */
-    private List<LanguageDto> getLanguages(String languages, List<Language> languageList) {
-        return languageList.stream()
-                .filter(l -> List.of(languages.split(",")).contains(l.getName()))
-                .map(LanguageDto::fromEntity)
-                .toList();
-    }
-
-    /**
-     * Retrieves a contract type based on the provided contract type name.
-     *
-     * @param contractTypeName the name of the contract type to find.
-     * @param contractTypes    the list of contract types to search.
-     * @return the matching contract type, or null if no match is found.
-     */
-    private ContractTypeDto getContractType(String contractTypeName, List<ContractType> contractTypes) {
-        return contractTypes.stream()
-                .filter(c -> c.getName().equals(contractTypeName))
-                .findFirst()
-                .map(ContractTypeDto::fromEntity)
-                .orElse(null);
-    }
-
-    /**
-     * Retrieves the supervisor ID based on the provided supervisor employee ID.
-     *
-     * @param supervisorEmployeeId the employee ID of the supervisor to find.
-     * @param supervisors          the list of supervisors to search.
-     * @return the ID of the matching supervisor, or -1L if no match is found.
-     */
-    private Long getSupervisorId(String supervisorEmployeeId, List<User> supervisors) {
-        return supervisors.stream()
-                .filter(u -> u.getEmployeeId().equals(supervisorEmployeeId))
-                .findFirst()
-                .map(User::getId)
-                .orElse(-1L);
-    }
-
-    /**
-     * Retrieves the department address based on the provided department name.
-     *
-     * @param departmentName the name of the department to find.
-     * @param departments    the list of departments to search.
-     * @return the address of the matching department, or null if no match is found.
-     */
-    private AddressDto getDepartment(String departmentName, List<Address> departments) {
-        return departments.stream()
-                .filter(a -> a.getDepartmentName().equals(departmentName))
-                .map(AddressDto::fromEntity)
-                .findFirst()
-                .orElse(null);
-    }
 }
@@ -0,0 +1,123 @@
+package org.harmoniapp.services.importexport;
+
+import org.harmoniapp.contracts.profile.AddressDto;
+import org.harmoniapp.contracts.profile.ContractTypeDto;
+import org.harmoniapp.contracts.profile.LanguageDto;
+import org.harmoniapp.contracts.profile.RoleDto;
+import org.harmoniapp.entities.profile.Address;
+import org.harmoniapp.entities.profile.ContractType;
+import org.harmoniapp.entities.profile.Language;
+import org.harmoniapp.entities.profile.Role;
+import org.harmoniapp.entities.user.User;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Lookups of the entities referenced by the imported users, built once per import and keyed by the names
+ * used in the spreadsheet.
+ *
+ * @param roles         the roles by their names
+ * @param languages     the languages by their names
+ * @param contractTypes the contract types by their names
+ * @param supervisorIds the IDs of the supervisors by their employee IDs
+ * @param departments   the departments by their names
+ */
+public record UserImportLookups(Map<String, RoleDto> roles, Map<String, LanguageDto> languages,
+                                Map<String, ContractTypeDto> contractTypes, Map<String, Long> supervisorIds,
+                                Map<String, AddressDto> departments) {
+
+    /**
+     * Builds the lookups from the given entities.
+     *
+     * @param roles         the list of roles from the database
+     * @param languages     the list of languages from the database
+     * @param contractTypes the list of contract types from the database
+     * @param supervisors   the list of supervisors from the database
+     * @param departments   the list of departments from the database
+     * @return the lookups
+     */
+    public static UserImportLookups of(List<Role> roles, List<Language> languages, List<ContractType> contractTypes,
+                                       List<User> supervisors, List<Address> departments) {
+        return new UserImportLookups(
+                toMap(roles, Role::getName, RoleDto::fromEntity),
+                toMap(languages, Language::getName, LanguageDto::fromEntity),
+                toMap(contractTypes, ContractType::getName, ContractTypeDto::fromEntity),
+                toMap(supervisors, User::getEmployeeId, User::getId),
+                toMap(departments, Address::getDepartmentName, AddressDto::fromEntity));
+    }
+
+    /**
+     * Retrieves the roles with the given names.
+     *
+     * @param names the comma-separated role names
+     * @return the roles that match the names
+     */
+    public List<RoleDto> getRoles(String names) {
+        return getAll(roles, names);
+    }
+
+    /**
+     * Retrieves the languages with the given names.
+     *
+     * @param names the comma-separated language names
+     * @return the languages that match the names
+     */
+    public List<LanguageDto> getLanguages(String names) {
+        return getAll(languages, names);
+    }
+
+    /**
+     * Retrieves the contract type with the given name.
+     *
+     * @param name the name of the contract type
+     * @return the matching contract type, or null if no match is found
+     */
+    public ContractTypeDto getContractType(String name) {
+        return contractTypes.get(name);
+    }
+
+    /**
+     * Retrieves the ID of the supervisor with the given employee ID.
+     *
+     * @param employeeId the employee ID of the supervisor
+     * @return the ID of the matching supervisor, or -1L if no match is found
+     */
+    public Long getSupervisorId(String employeeId) {
+        return supervisorIds.getOrDefault(employeeId, -1L);
+    }
+
+    /**
+     * Retrieves the department with the given name.
+     *
+     * @param name the name of the department
+     * @return the matching department, or null if no match is found
+     */
+    public AddressDto getDepartment(String name) {
+        return departments.get(name);
+    }
+
+    private static <T> List<T> getAll(Map<String, T> values, String names) {
+        return Arrays.stream(names.split(","))
+                .map(String::trim)
+                .distinct()
+                .map(values::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    private static <E, V> Map<String, V> toMap(List<E> entities, Function<E, String> keyGetter, Function<E, V> valueGetter) {
+        Map<String, V> map = new HashMap<>();
+        for (E entity : entities) {
+            String key = keyGetter.apply(entity);
+            if (key != null) {
+                map.putIfAbsent(key, valueGetter.apply(entity));
+            }
+        }
+        return map;
+    }
+}
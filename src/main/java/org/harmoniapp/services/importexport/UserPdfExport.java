@@ -4,15 +4,12 @@ import com.lowagie.text.Font;
 import com.lowagie.text.*;
 import com.lowagie.text.pdf.PdfPCell;
 import com.lowagie.text.pdf.PdfPTable;
-import com.lowagie.text.pdf.PdfWriter;
 import lombok.RequiredArgsConstructor;
-import org.harmoniapp.contracts.user.UserDto;
-import org.harmoniapp.exception.FileGenerationException;
-import org.springframework.core.io.InputStreamResource;
+import org.harmoniapp.contracts.user.UserExportDto;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.awt.*;
-import java.io.ByteArrayOutputStream;
 import java.util.List;
 
 /**
@@ -31,35 +28,17 @@ public class UserPdfExport extends PdfExport implements ExportUser {
 
     /**
      * Exports user data to a PDF file.
+     * The users are loaded before the response is committed, the document is streamed to the response as it is written.
      *
-     * @return an InputStreamResource containing the exported data
+     * @return a StreamingResponseBody writing the exported data
      */
     @Override
-    public InputStreamResource exportUsers() {
-        List<UserDto> users = userDataService.getAllUsers();
-        Document document = new Document(PageSize.A4.rotate());
-        ByteArrayOutputStream out = new ByteArrayOutputStream();
-        writeDocument(document, out, users);
-        return convertToInputStreamResource(out);
-    }
-
-    /**
-     * Writes the user data to the PDF document.
-     *
-     * @param document the document to write to
-     * @param out      the output stream to write to
-     * @param users    the list of users to include in the document
-     */
-    void writeDocument(Document document, ByteArrayOutputStream out, List<UserDto> users) {
-        try {
-            PdfWriter.getInstance(document, out);
-            document.open();
+    public StreamingResponseBody exportUsers() {
+        List<UserExportDto> users = userDataService.getAllUsers();
+        return writeDocument(document -> {
             addTitle(document);
             addTable(document, users);
-            document.close();
-        } catch (DocumentException e) {
-            throw new FileGenerationException("Nie udało się wygenerować pliku PDF. Spróbuj ponownie.");
-        }
+        });
     }
 
     /**
@@ -78,44 +57,45 @@ public class UserPdfExport extends PdfExport implements ExportUser {
 
     /**
      * Adds a table with user data to the PDF document.
+     * The rows are added to the document in chunks as the table grows.
      *
      * @param document the document to add the table to
      * @param users    the list of users to include in the table
      * @throws DocumentException if there is an error adding the table
      */
-    void addTable(Document document, List<UserDto> users) throws DocumentException {
-        PdfPTable table = new PdfPTable(headersCell.size());
-        table.setWidthPercentage(100);
-        addTableHeader(headersCell, table);
-        addRows(table, users);
-        document.add(table);
+    void addTable(Document document, List<UserExportDto> users) throws DocumentException {
+        PdfPTable table = createTable(headersCell);
+        int rowCount = 0;
+        for (UserExportDto user : users) {
+            addRow(table, user);
+            flushChunk(document, table, ++rowCount);
+        }
+        completeTable(document, table);
     }
 
     /**
-     * Adds rows to the table with user data.
+     * Adds a row to the table with user data.
      *
-     * @param table the table to add rows to
-     * @param users the list of users to include in the rows
+     * @param table the table to add the row to
+     * @param user  the user to include in the row
      */
-    void addRows(PdfPTable table, List<UserDto> users) {
-        for (UserDto user : users) {
-            table.addCell(new PdfPCell(new Phrase(user.employeeId())));
-            table.addCell(new PdfPCell(new Phrase(user.firstname())));
-            table.addCell(new PdfPCell(new Phrase(user.surname())));
-            table.addCell(new PdfPCell(new Phrase(user.email())));
-            table.addCell(new PdfPCell(new Phrase(user.phoneNumber())));
-            table.addCell(new PdfPCell(new Phrase(user.residence().city())));
-            table.addCell(new PdfPCell(new Phrase(user.residence().street())));
-            table.addCell(new PdfPCell(new Phrase(user.residence().apartment())));
-            table.addCell(new PdfPCell(new Phrase(user.residence().zipCode())));
-            table.addCell(new PdfPCell(new Phrase(user.residence().buildingNumber())));
-            table.addCell(new PdfPCell(new Phrase(userDataService.getRoles(user))));
-            table.addCell(new PdfPCell(new Phrase(userDataService.getLanguages(user))));
-            table.addCell(new PdfPCell(new Phrase(user.contractType().name())));
-            table.addCell(new PdfPCell(new Phrase(user.contractSignature().toString())));
-            table.addCell(new PdfPCell(new Phrase(user.contractExpiration().toString())));
-            table.addCell(new PdfPCell(new Phrase(userDataService.getSupervisorEmployeeId(user))));
-            table.addCell(new PdfPCell(new Phrase(user.workAddress().departmentName())));
-        }
+    void addRow(PdfPTable table, UserExportDto user) {
+        table.addCell(new PdfPCell(new Phrase(user.employeeId())));
+        table.addCell(new PdfPCell(new Phrase(user.firstname())));
+        table.addCell(new PdfPCell(new Phrase(user.surname())));
+        table.addCell(new PdfPCell(new Phrase(user.email())));
+        table.addCell(new PdfPCell(new Phrase(user.phoneNumber())));
+        table.addCell(new PdfPCell(new Phrase(user.city())));
+        table.addCell(new PdfPCell(new Phrase(user.street())));
+        table.addCell(new PdfPCell(new Phrase(user.apartment())));
+        table.addCell(new PdfPCell(new Phrase(user.zipCode())));
+        table.addCell(new PdfPCell(new Phrase(user.buildingNumber())));
+        table.addCell(new PdfPCell(new Phrase(user.roles())));
+        table.addCell(new PdfPCell(new Phrase(user.languages())));
+        table.addCell(new PdfPCell(new Phrase(user.contractType())));
+        table.addCell(new PdfPCell(new Phrase(user.contractSignature())));
+        table.addCell(new PdfPCell(new Phrase(user.contractExpiration())));
+        table.addCell(new PdfPCell(new Phrase(user.supervisorEmployeeId())));
+        table.addCell(new PdfPCell(new Phrase(user.departmentName())));
     }
 }
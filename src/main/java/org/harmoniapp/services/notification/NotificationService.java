@@ -1,5 +1,6 @@
 package org.harmoniapp.services.notification;
 
+import org.harmoniapp.contracts.CursorPageDto;
 import org.harmoniapp.contracts.notification.NotificationDto;
 
 import java.util.List;
@@ -17,6 +18,24 @@ public interface NotificationService {
      */
     List<NotificationDto> getAllByUserId(long userId);
 
+    /**
+     * Retrieves a page of notifications for a specific user, newest first.
+     *
+     * @param userId   the ID of the user
+     * @param cursor   the cursor returned with the previous page, or null for the first page
+     * @param pageSize the number of notifications per page
+     * @return a page of notifications
+     */
+    CursorPageDto<NotificationDto> getPageByUserId(long userId, Long cursor, int pageSize);
+
+    /**
+     * Counts the unread notifications of a specific user.
+     *
+     * @param userId the ID of the user
+     * @return the number of unread notifications
+     */
+    long countUnreadByUserId(long userId);
+
     /**
      * Retrieves all unread notifications for a specific user.
      *
@@ -33,6 +52,14 @@ public interface NotificationService {
      */
     NotificationDto create(NotificationDto notificationDto);
 
+    /**
+     * Creates many notifications at once, inserting them in a single batch.
+     *
+     * @param notificationDtos the notification data transfer objects
+     * @return the created notifications
+     */
+    List<NotificationDto> createAll(List<NotificationDto> notificationDtos);
+
     /**
      * Marks all notifications as read for a specific user.
      *
@@ -41,6 +68,13 @@ public interface NotificationService {
      */
     List<NotificationDto> markAllAsReadByUserId(long userId);
 
+    /**
+     * Deletes read notifications older than the configured retention period.
+     *
+     * @return the number of deleted notifications
+     */
+    int purgeReadNotifications();
+
     /**
      * Deletes a notification by its ID.
      *
@@ -2,25 +2,38 @@ package org.harmoniapp.services.notification;
 
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.harmoniapp.contracts.CursorPageDto;
 import org.harmoniapp.contracts.notification.NotificationDto;
 import org.harmoniapp.entities.notification.Notification;
 import org.harmoniapp.entities.user.User;
 import org.harmoniapp.exception.EntityNotFoundException;
 import org.harmoniapp.repositories.RepositoryCollector;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
  * Service implementation for managing notifications.
  */
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class NotificationServiceImpl implements NotificationService {
     private final RepositoryCollector repositoryCollector;
     private final SimpMessagingTemplate messagingTemplate;
 
+    @Value("${notification.retention.days:90}")
+    private int retentionDays;
+
+    @Value("${notification.retention.batch-size:1000}")
+    private int retentionBatchSize;
+
     /**
      * Retrieves all notifications for a specific user, ordered by creation date in descending order.
      *
@@ -38,6 +51,38 @@ public class NotificationServiceImpl implements NotificationService {
                 .toList();
     }
 
+    /**
+     * Retrieves a page of notifications for a specific user, newest first.
+     * The page is located by the ID of the last notification of the previous page instead of an offset,
+     * so deep pages cost the same as the first one and no count query is needed.
+     *
+     * @param userId   the ID of the user whose notifications are to be retrieved
+     * @param cursor   the cursor returned with the previous page, or null for the first page
+     * @param pageSize the number of notifications per page
+     * @return a CursorPageDto of NotificationDto objects
+     * @throws EntityNotFoundException if the user with the specified ID does not exist
+     */
+    @Override
+    public CursorPageDto<NotificationDto> getPageByUserId(long userId, Long cursor, int pageSize) {
+        verifyUserExist(userId);
+        Limit limit = Limit.of(pageSize + 1);
+        List<Notification> notifications = cursor == null
+                ? repositoryCollector.getNotifications().findAllByUserIdOrderByIdDesc(userId, limit)
+                : repositoryCollector.getNotifications().findAllByUserIdAndIdLessThanOrderByIdDesc(userId, cursor, limit);
+        return CursorPageDto.mapRows(notifications, pageSize, NotificationDto::fromEntity, Notification::getId);
+    }
+
+    /**
+     * Counts the unread notifications of a specific user.
+     *
+     * @param userId the ID of the user
+     * @return the number of unread notifications
+     */
+    @Override
+    public long countUnreadByUserId(long userId) {
+        return repositoryCollector.getNotifications().countUnreadByUserId(userId);
+    }
+
     /**
      * Verifies if a user with the given ID exists.
      *
@@ -82,6 +127,25 @@ public class NotificationServiceImpl implements NotificationService {
         return notificationCreateResponse(savedNotification);
     }
 
+    /**
+     * Creates many notifications at once.
+     * Users are referenced by ID without being loaded, all notifications are inserted in a single JDBC batch
+     * and every created notification is pushed to its user.
+     *
+     * @param notificationDtos the data transfer objects containing the notification details
+     * @return a list of NotificationDto objects representing the created notifications
+     */
+    @Override
+    @Transactional
+    public List<NotificationDto> createAll(List<NotificationDto> notificationDtos) {
+        List<Notification> notifications = notificationDtos.stream()
+                .map(dto -> dto.toEntity(repositoryCollector.getUsers().getReferenceById(dto.userId())))
+                .toList();
+        return repositoryCollector.getNotifications().insertAll(notifications).stream()
+                .map(this::notificationCreateResponse)
+                .toList();
+    }
+
     /**
      * Converts a Notification entity to a NotificationDto and sends it to the client.
      *
@@ -143,6 +207,27 @@ public class NotificationServiceImpl implements NotificationService {
                 .toList();
     }
 
+    /**
+     * Scheduled task to delete read notifications older than the retention period.
+     * Notifications are deleted in batches, each in its own transaction.
+     * This task runs every day at 03:00.
+     *
+     * @return the number of deleted notifications
+     */
+    @Override
+    @Scheduled(cron = "${notification.retention.cron:0 0 3 * * ?}")
+    public int purgeReadNotifications() {
+        LocalDateTime before = LocalDateTime.now().minusDays(retentionDays);
+        int total = 0;
+        int deleted;
+        do {
+            deleted = repositoryCollector.getNotifications().deleteReadCreatedBefore(before, retentionBatchSize);
+            total += deleted;
+        } while (deleted == retentionBatchSize);
+        log.info("Deleted {} read notifications created before {}", total, before);
+        return total;
+    }
+
     /**
      * Deletes a notification by its ID.
      *
@@ -7,6 +7,7 @@ import org.harmoniapp.entities.user.User;
 import org.harmoniapp.exception.EntityNotFoundException;
 import org.harmoniapp.exception.LanguageExistsException;
 import org.harmoniapp.repositories.RepositoryCollector;
+import org.harmoniapp.services.user.UserDirectory;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
@@ -20,6 +21,7 @@ import java.util.List;
 @RequiredArgsConstructor
 public class LanguageServiceImpl implements LanguageService {
     private final RepositoryCollector repositoryCollector;
+    private final UserDirectory userDirectory;
     private static final String CACHE_NAME = "languages";
 
     /**
@@ -105,6 +107,7 @@ public class LanguageServiceImpl implements LanguageService {
             Language language = getLanguageById(id);
             languageExists(languageDto.name());
             language = updateLanguage(language, languageDto);
+            userDirectory.rebuild();
             return LanguageDto.fromEntity(language);
         } catch (EntityNotFoundException e) {
             return create(languageDto);
@@ -135,6 +138,7 @@ public class LanguageServiceImpl implements LanguageService {
         Language language = getLanguageById(id);
         removeLanguageFromUsers(language);
         repositoryCollector.getLanguages().deleteById(language.getId());
+        userDirectory.rebuild();
     }
 
     /**
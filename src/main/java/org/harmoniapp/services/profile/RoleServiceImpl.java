@@ -8,6 +8,7 @@ import org.harmoniapp.entities.user.User;
 import org.harmoniapp.exception.AdminRoleModificationException;
 import org.harmoniapp.exception.EntityNotFoundException;
 import org.harmoniapp.repositories.RepositoryCollector;
+import org.harmoniapp.services.schedule.ScheduleVersionService;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
@@ -23,6 +24,7 @@ import java.util.Set;
 @RequiredArgsConstructor
 public class RoleServiceImpl implements RoleService {
     private final RepositoryCollector repositoryCollector;
+    private final ScheduleVersionService scheduleVersionService;
     private static final String CACHE_NAME = "roles";
 
     /**
@@ -103,6 +105,7 @@ public class RoleServiceImpl implements RoleService {
             Role role = getRoleById(id);
             checkRoleIsAdmin(role);
             role = updateRole(role, roleDto);
+            scheduleVersionService.bump();
             return RoleDto.fromEntity(role);
         } catch (EntityNotFoundException e) {
             return create(roleDto);
@@ -203,6 +206,7 @@ public class RoleServiceImpl implements RoleService {
         if (!shifts.isEmpty()) {
             shifts.forEach((shift -> shift.setRole(null)));
             repositoryCollector.getShifts().saveAll(shifts);
+            scheduleVersionService.bump();
         }
     }
 }
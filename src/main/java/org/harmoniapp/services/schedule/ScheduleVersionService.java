@@ -0,0 +1,22 @@
+package org.harmoniapp.services.schedule;
+
+/**
+ * Interface for tracking the version of the schedule.
+ * The version changes whenever shifts are created, updated, published or deleted, so it can be used
+ * as a part of the key of data derived from the schedule, e.g. exported files.
+ */
+public interface ScheduleVersionService {
+
+    /**
+     * Retrieves the current version of the schedule.
+     *
+     * @return the current version
+     */
+    long getVersion();
+
+    /**
+     * Bumps the version of the schedule.
+     * Within a transaction the new version becomes visible when the transaction commits.
+     */
+    void bump();
+}
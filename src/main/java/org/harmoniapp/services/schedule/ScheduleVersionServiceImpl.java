@@ -0,0 +1,35 @@
+package org.harmoniapp.services.schedule;
+
+import lombok.RequiredArgsConstructor;
+import org.harmoniapp.repositories.RepositoryCollector;
+import org.springframework.stereotype.Service;
+
+/**
+ * Service implementation for tracking the version of the schedule.
+ * The version is stored in the database, so it survives restarts and is the same on every instance.
+ */
+@Service
+@RequiredArgsConstructor
+public class ScheduleVersionServiceImpl implements ScheduleVersionService {
+    private final RepositoryCollector repositoryCollector;
+
+    /**
+     * Retrieves the current version of the schedule.
+     *
+     * @return the current version
+     */
+    @Override
+    public long getVersion() {
+        return repositoryCollector.getScheduleVersions().findCurrentVersion();
+    }
+
+    /**
+     * Bumps the version of the schedule.
+     * Within a transaction the version is bumped together with the changed shifts, so other transactions see
+     * the new version only after the commit and a rolled back transaction leaves the version unchanged.
+     */
+    @Override
+    public void bump() {
+        repositoryCollector.getScheduleVersions().increment();
+    }
+}
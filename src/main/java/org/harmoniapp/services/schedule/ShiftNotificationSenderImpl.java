@@ -1,6 +1,7 @@
 package org.harmoniapp.services.schedule;
 
 import lombok.RequiredArgsConstructor;
+import org.harmoniapp.configuration.AsyncConfig;
 import org.harmoniapp.contracts.notification.NotificationDto;
 import org.harmoniapp.entities.schedule.Shift;
 import org.harmoniapp.enums.ShiftNotificationType;
@@ -9,7 +10,12 @@ import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 /**
  * Implementation of the ShiftNotificationSender interface.
@@ -22,15 +28,26 @@ public class ShiftNotificationSenderImpl implements ShiftNotificationSender {
 
     /**
      * Sends notifications for a list of shifts asynchronously.
+     * The shifts are grouped by user, so every user receives a single notification, and all notifications
+     * are created in one batch.
      *
      * @param shifts the list of Shift entities for which notifications are to be sent
      * @param type   the type of notification to be sent
      */
     @Override
     @Transactional
-    @Async
+    @Async(AsyncConfig.NOTIFICATION_EXECUTOR)
     public void send(List<Shift> shifts, ShiftNotificationType type) {
-        shifts.forEach(shift -> send(shift, type));
+        Map<Long, List<Shift>> shiftsByUser = shifts.stream()
+                .collect(Collectors.groupingBy(shift -> shift.getUser().getId(), LinkedHashMap::new, Collectors.toList()));
+        List<NotificationDto> notifications = shiftsByUser.values().stream()
+                .map(userShifts -> userShifts.size() == 1
+                        ? createNotification(userShifts.getFirst(), type)
+                        : createSummaryNotification(userShifts, type))
+                .toList();
+        if (!notifications.isEmpty()) {
+            notificationService.createAll(notifications);
+        }
     }
 
     /**
@@ -41,7 +58,7 @@ public class ShiftNotificationSenderImpl implements ShiftNotificationSender {
      */
     @Override
     @Transactional
-    @Async
+    @Async(AsyncConfig.NOTIFICATION_EXECUTOR)
     public void send(Shift shift, ShiftNotificationType type) {
         NotificationDto notificationDto = createNotification(shift, type);
         notificationService.create(notificationDto);
@@ -65,6 +82,26 @@ public class ShiftNotificationSenderImpl implements ShiftNotificationSender {
         }
     }
 
+    /**
+     * Creates a single NotificationDto summarizing several shifts of the same user.
+     *
+     * @param shifts the non-empty list of Shift entities of one user
+     * @param type   the type of notification to be created
+     * @return the created NotificationDto
+     * @throws IllegalArgumentException if the notification type is unknown
+     */
+    private static NotificationDto createSummaryNotification(List<Shift> shifts, ShiftNotificationType type) {
+        long receiverId = shifts.getFirst().getUser().getId();
+        LocalDate from = shifts.stream().map(Shift::getStart).min(Comparator.naturalOrder()).orElseThrow().toLocalDate();
+        LocalDate to = shifts.stream().map(Shift::getEnd).max(Comparator.naturalOrder()).orElseThrow().toLocalDate();
+        switch (type) {
+            case PUBLISHED_SHIFT, DELETED_SHIFT -> {
+                return createNotification(receiverId, type.getSummaryTitle(), type.formatSummaryMessage(shifts.size(), from, to));
+            }
+            default -> throw new IllegalArgumentException("Nieznany typ powiadomienia");
+        }
+    }
+
     /**
      * Creates a NotificationDto with the specified receiver ID, title, and message.
      *
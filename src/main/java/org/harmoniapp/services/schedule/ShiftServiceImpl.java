@@ -26,6 +26,7 @@ import java.util.List;
 public class ShiftServiceImpl implements ShiftService {
     private final RepositoryCollector repositoryCollector;
     private final ShiftNotificationSender shiftNotificationSender;
+    private final ScheduleVersionService scheduleVersionService;
 
     /**
      * Retrieves a ShiftDto for the shift with the specified ID.
@@ -131,6 +132,7 @@ public class ShiftServiceImpl implements ShiftService {
         validateShiftTimes(shiftDto);
         User user = getUserById(shiftDto.userId());
         Role role = getRoleByName(shiftDto.roleName());
+        scheduleVersionService.bump();
         return createNewShift(shiftDto, user, role);
     }
 
@@ -150,6 +152,7 @@ public class ShiftServiceImpl implements ShiftService {
         Shift existingShift = findExistingShift(id);
         User user = getUserById(shiftDto.userId());
         Role role = getRoleByName(shiftDto.roleName());
+        scheduleVersionService.bump();
 
         if (existingShift == null) {
             validateShiftTimes(shiftDto);
@@ -224,6 +227,7 @@ public class ShiftServiceImpl implements ShiftService {
     public List<ShiftDto> publish(LocalDate start, LocalDate end) {
         List<Shift> shifts = findShiftsByDateRange(start, end);
         List<Shift> updatedShifts = publishShiftsAndSave(shifts);
+        scheduleVersionService.bump();
         shiftNotificationSender.send(updatedShifts, ShiftNotificationType.PUBLISHED_SHIFT);
 
         return updatedShifts.stream()
@@ -272,6 +276,7 @@ public class ShiftServiceImpl implements ShiftService {
             shiftNotificationSender.send(shift, ShiftNotificationType.DELETED_SHIFT);
         }
         repositoryCollector.getShifts().delete(shift);
+        scheduleVersionService.bump();
     }
 
     /**
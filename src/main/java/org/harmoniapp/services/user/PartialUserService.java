@@ -32,8 +32,9 @@ public interface PartialUserService {
     /**
      * Searches for users based on a query string.
      *
-     * @param q the query string
-     * @return a list of users matching the query
+     * @param q              the query string
+     * @param pageRequestDto the page number and page size of the results
+     * @return a list of users matching the query, the most relevant first
      */
-    List<PartialUserDto> getUsersSearch(String q);
+    List<PartialUserDto> getUsersSearch(String q, PageRequestDto pageRequestDto);
 }
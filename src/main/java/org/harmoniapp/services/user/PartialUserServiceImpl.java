@@ -23,6 +23,7 @@ import java.util.List;
 public class PartialUserServiceImpl implements PartialUserService {
     private final RepositoryCollector repositoryCollector;
     private final UserSearchService userSearchService;
+    private final UserDirectory userDirectory;
 
     /**
      * Retrieves a user by their ID.
@@ -61,14 +62,13 @@ public class PartialUserServiceImpl implements PartialUserService {
 
     /**
      * Searches for users based on a query string.
+     * The search is served by the in-memory user directory, without querying the database.
      *
-     * @param q the query string
-     * @return a list of partial user data transfer objects
+     * @param q              the query string
+     * @param pageRequestDto the page number and page size of the results
+     * @return a list of partial user data transfer objects, the most relevant first
      */
-    public List<PartialUserDto> getUsersSearch(String q) {
-        return userSearchService.searchUsers(q)
-                .stream()
-                .map(PartialUserDto::fromEntity)
-                .toList();
+    public List<PartialUserDto> getUsersSearch(String q, PageRequestDto pageRequestDto) {
+        return userDirectory.search(q, pageRequestDto);
     }
 }
@@ -0,0 +1,60 @@
+package org.harmoniapp.services.user;
+
+import org.harmoniapp.exception.UnsupportedFileTypeException;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Interface for generating the fixed-size thumbnails of user photos.
+ */
+public interface PhotoThumbnailGenerator {
+
+    /**
+     * Generates the thumbnails of a photo and saves them next to it.
+     *
+     * @param photo     the content of the photo
+     * @param photoName the file name of the photo, its extension determines the format of the thumbnails
+     * @param directory the directory to save the thumbnails to
+     * @throws UnsupportedFileTypeException if the photo is not a JPG or PNG image
+     * @throws IOException                  if a thumbnail cannot be saved
+     */
+    void generate(byte[] photo, String photoName, Path directory) throws IOException;
+
+    /**
+     * Detects the format of a photo from its content.
+     *
+     * @param photo the content of the photo
+     * @return the file extension of the format of the photo, {@code .jpg} or {@code .png}
+     * @throws UnsupportedFileTypeException if the photo is not a JPG or PNG image
+     * @throws IOException                  if the photo cannot be read
+     */
+    String extension(byte[] photo) throws IOException;
+
+    /**
+     * Resolves the size of the thumbnail to serve for a requested size.
+     *
+     * @param size the requested size in pixels, or null for the original photo
+     * @return the size of the smallest thumbnail at least as large as requested, or null if the original photo
+     * should be served
+     */
+    Integer resolveSize(Integer size);
+
+    /**
+     * Creates the file name of a thumbnail of a photo.
+     *
+     * @param photoName the file name of the photo
+     * @param size      the size of the thumbnail
+     * @return the file name of the thumbnail
+     */
+    String thumbnailName(String photoName, int size);
+
+    /**
+     * Creates the file names of all thumbnails of a photo.
+     *
+     * @param photoName the file name of the photo
+     * @return the file names of the thumbnails
+     */
+    List<String> thumbnailNames(String photoName);
+}
@@ -0,0 +1,227 @@
+package org.harmoniapp.services.user;
+
+import org.harmoniapp.exception.UnsupportedFileTypeException;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.IIOException;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Service implementation generating square thumbnails of user photos with ImageIO.
+ * <p>
+ * The photo is decoded with subsampling, so a large photo is never held in memory at its full resolution. Its center
+ * square is then scaled down to every size from the largest to the smallest, halving it at most at each step to keep
+ * the thumbnails sharp. Thumbnails keep the format of the photo and are saved as {@code <name>_<size>.<extension>}.
+ * </p>
+ */
+@Service
+public class PhotoThumbnailGeneratorImpl implements PhotoThumbnailGenerator {
+    private static final List<Integer> THUMBNAIL_SIZES = List.of(48, 128, 512);
+    private static final Set<String> SUPPORTED_FORMATS = Set.of("jpeg", "png");
+
+    /**
+     * Generates the thumbnails of a photo and saves them next to it.
+     *
+     * @param photo     the content of the photo
+     * @param photoName the file name of the photo, its extension determines the format of the thumbnails
+     * @param directory the directory to save the thumbnails to
+     * @throws UnsupportedFileTypeException if the photo is not a JPG or PNG image
+     * @throws IOException                  if a thumbnail cannot be saved
+     */
+    @Override
+    public void generate(byte[] photo, String photoName, Path directory) throws IOException {
+        boolean png = photoName.endsWith(".png");
+        int largestSize = THUMBNAIL_SIZES.getLast();
+        BufferedImage thumbnail = cropToSquare(read(photo, largestSize));
+        for (int size : THUMBNAIL_SIZES.reversed()) {
+            thumbnail = scale(thumbnail, size, png ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+            write(thumbnail, png ? "png" : "jpg", directory.resolve(thumbnailName(photoName, size)));
+        }
+    }
+
+    /**
+     * Detects the format of a photo from its content.
+     *
+     * @param photo the content of the photo
+     * @return the file extension of the format of the photo, {@code .jpg} or {@code .png}
+     * @throws UnsupportedFileTypeException if the photo is not a JPG or PNG image
+     * @throws IOException                  if the photo cannot be read
+     */
+    @Override
+    public String extension(byte[] photo) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(new ByteArrayInputStream(photo))) {
+            ImageReader reader = reader(in);
+            try {
+                return reader.getFormatName().equalsIgnoreCase("png") ? ".png" : ".jpg";
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * Resolves the size of the thumbnail to serve for a requested size.
+     *
+     * @param size the requested size in pixels, or null for the original photo
+     * @return the size of the smallest thumbnail at least as large as requested, or null if the original photo
+     * should be served
+     */
+    @Override
+    public Integer resolveSize(Integer size) {
+        if (size == null) {
+            return null;
+        }
+        return THUMBNAIL_SIZES.stream()
+                .filter(thumbnailSize -> thumbnailSize >= size)
+                .findFirst()
+                .orElse(null);
+    }
+
+    /**
+     * Creates the file name of a thumbnail of a photo.
+     *
+     * @param photoName the file name of the photo
+     * @param size      the size of the thumbnail
+     * @return the file name of the thumbnail
+     */
+    @Override
+    public String thumbnailName(String photoName, int size) {
+        int extension = photoName.lastIndexOf('.');
+        if (extension < 0) {
+            return photoName + "_" + size;
+        }
+        return photoName.substring(0, extension) + "_" + size + photoName.substring(extension);
+    }
+
+    /**
+     * Creates the file names of all thumbnails of a photo.
+     *
+     * @param photoName the file name of the photo
+     * @return the file names of the thumbnails
+     */
+    @Override
+    public List<String> thumbnailNames(String photoName) {
+        return THUMBNAIL_SIZES.stream()
+                .map(size -> thumbnailName(photoName, size))
+                .toList();
+    }
+
+    /**
+     * Decodes a JPG or PNG photo, subsampled to at least twice the given size on its shorter side.
+     *
+     * @param photo the content of the photo
+     * @param size  the size of the largest thumbnail
+     * @return the decoded photo
+     * @throws UnsupportedFileTypeException if the photo is not a JPG or PNG image
+     * @throws IOException                  if the photo cannot be read
+     */
+    private BufferedImage read(byte[] photo, int size) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(new ByteArrayInputStream(photo))) {
+            ImageReader reader = reader(in);
+            try {
+                reader.setInput(in, true, true);
+                int subsampling = Math.max(1, Math.min(reader.getWidth(0), reader.getHeight(0)) / (2 * size));
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                return reader.read(0, param);
+            } catch (IIOException e) {
+                throw new UnsupportedFileTypeException("Plik musi być w formacie JPG lub PNG");
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * Finds the reader of a JPG or PNG image.
+     *
+     * @param in the image
+     * @return the reader of the image, without its input set
+     * @throws UnsupportedFileTypeException if the image is not a JPG or PNG image
+     * @throws IOException                  if the image cannot be read
+     */
+    private ImageReader reader(ImageInputStream in) throws IOException {
+        Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+        if (!readers.hasNext()) {
+            throw new UnsupportedFileTypeException("Plik musi być w formacie JPG lub PNG");
+        }
+        ImageReader reader = readers.next();
+        if (!SUPPORTED_FORMATS.contains(reader.getFormatName().toLowerCase(Locale.ROOT))) {
+            reader.dispose();
+            throw new UnsupportedFileTypeException("Plik musi być w formacie JPG lub PNG");
+        }
+        return reader;
+    }
+
+    /**
+     * Crops the center square of an image.
+     *
+     * @param image the image to crop
+     * @return the center square of the image
+     */
+    private BufferedImage cropToSquare(BufferedImage image) {
+        int side = Math.min(image.getWidth(), image.getHeight());
+        return image.getSubimage((image.getWidth() - side) / 2, (image.getHeight() - side) / 2, side, side);
+    }
+
+    /**
+     * Scales a square image to the given size, halving it at most at each step.
+     *
+     * @param image the square image to scale
+     * @param size  the target size
+     * @param type  the type of the scaled image
+     * @return the scaled image
+     */
+    private BufferedImage scale(BufferedImage image, int size, int type) {
+        BufferedImage scaled = image;
+        do {
+            int side = Math.max(size, scaled.getWidth() / 2);
+            BufferedImage step = new BufferedImage(side, side, type);
+            Graphics2D graphics = step.createGraphics();
+            try {
+                graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                graphics.drawImage(scaled, 0, 0, side, side, null);
+            } finally {
+                graphics.dispose();
+            }
+            scaled = step;
+        } while (scaled.getWidth() > size);
+        return scaled;
+    }
+
+    /**
+     * Writes an image to a temporary file and moves it to the target path, so a thumbnail is never served
+     * half written.
+     *
+     * @param image  the image to write
+     * @param format the format of the image
+     * @param target the path of the thumbnail
+     * @throws IOException if the image cannot be written
+     */
+    private void write(BufferedImage image, String format, Path target) throws IOException {
+        Path temp = Files.createTempFile(target.getParent(), "thumbnail-", ".tmp");
+        try {
+            if (!ImageIO.write(image, format, temp.toFile())) {
+                throw new IOException("No image writer for the format " + format);
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+    }
+}
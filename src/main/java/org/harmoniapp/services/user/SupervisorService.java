@@ -1,5 +1,6 @@
 package org.harmoniapp.services.user;
 
+import org.harmoniapp.contracts.CursorPageDto;
 import org.harmoniapp.contracts.PageDto;
 import org.harmoniapp.contracts.PageRequestDto;
 import org.harmoniapp.contracts.user.SupervisorDto;
@@ -16,4 +17,12 @@ public interface SupervisorService {
      * @return a paginated list of SupervisorDto objects
      */
     PageDto<SupervisorDto> getAllSupervisors(PageRequestDto pageRequest);
+
+    /**
+     * Retrieves a keyset paginated list of supervisors.
+     *
+     * @param pageRequest the cursor and page size
+     * @return a keyset paginated list of SupervisorDto objects
+     */
+    CursorPageDto<SupervisorDto> getSupervisorsPage(PageRequestDto pageRequest);
 }
@@ -1,15 +1,19 @@
 package org.harmoniapp.services.user;
 
 import lombok.RequiredArgsConstructor;
+import org.harmoniapp.contracts.CursorPageDto;
 import org.harmoniapp.contracts.PageDto;
 import org.harmoniapp.contracts.PageRequestDto;
 import org.harmoniapp.contracts.user.SupervisorDto;
 import org.harmoniapp.entities.user.User;
 import org.harmoniapp.repositories.RepositoryCollector;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+
 /**
  * Service implementation for managing supervisors.
  */
@@ -30,4 +34,16 @@ public class SupervisorServiceImpl implements SupervisorService {
         Page<User> users = repositoryCollector.getUsers().findSupervisors(pageable);
         return PageDto.mapPage(users, SupervisorDto::fromEntity);
     }
+
+    /**
+     * Retrieves a page of supervisors in ID order, located by the cursor of the page request instead of a page number.
+     *
+     * @param pageRequest the page request containing the cursor and page size.
+     * @return a CursorPageDto containing a list of {@link SupervisorDto} and the cursor of the next page.
+     */
+    public CursorPageDto<SupervisorDto> getSupervisorsPage(PageRequestDto pageRequest) {
+        int pageSize = userSearchService.cursorPageSize(pageRequest);
+        List<User> users = repositoryCollector.getUsers().findSupervisorsAfter(pageRequest.cursor(), Limit.of(pageSize + 1));
+        return CursorPageDto.mapRows(users, pageSize, SupervisorDto::fromEntity, User::getId);
+    }
 }
\ No newline at end of file
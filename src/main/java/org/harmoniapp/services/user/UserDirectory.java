@@ -0,0 +1,46 @@
+package org.harmoniapp.services.user;
+
+import org.harmoniapp.contracts.PageRequestDto;
+import org.harmoniapp.contracts.user.PartialUserDto;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Service interface for an in-memory directory of active users, serving type-ahead searches without
+ * querying the database.
+ */
+public interface UserDirectory {
+
+    /**
+     * Searches for active users whose first name, surname or employee ID start with every word of the query.
+     *
+     * @param q              the query string
+     * @param pageRequestDto the page number and page size of the results
+     * @return a list of users matching the query, the most relevant first
+     * @throws IllegalArgumentException if the query string is null or empty
+     */
+    List<PartialUserDto> search(String q, PageRequestDto pageRequestDto);
+
+    /**
+     * Reloads a user into the directory, or removes the user if it is no longer active.
+     * Within a transaction the user is reloaded after the transaction commits.
+     *
+     * @param userId the ID of the user
+     */
+    void refresh(long userId);
+
+    /**
+     * Reloads users into the directory, removing those no longer active, e.g. after a bulk creation.
+     * Within a transaction the users are reloaded after the transaction commits.
+     *
+     * @param userIds the IDs of the users
+     */
+    void refreshAll(Collection<Long> userIds);
+
+    /**
+     * Reloads all active users into the directory, e.g. after a bulk change.
+     * Within a transaction the directory is reloaded after the transaction commits.
+     */
+    void rebuild();
+}
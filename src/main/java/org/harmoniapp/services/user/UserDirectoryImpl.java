@@ -0,0 +1,319 @@
+package org.harmoniapp.services.user;
+
+import lombok.extern.slf4j.Slf4j;
+import org.harmoniapp.contracts.PageRequestDto;
+import org.harmoniapp.contracts.user.PartialUserDto;
+import org.harmoniapp.repositories.RepositoryCollector;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Service implementation of an in-memory directory of active users.
+ * <p>
+ * The directory keeps the partial users and a sorted array of the normalized words of their first names, surnames
+ * and employee IDs, so every word of a query is matched as a prefix by a binary search. Users matching a word exactly
+ * are ranked first. The directory is loaded on startup and reloaded every hour, the user services refresh single users
+ * after their changes are committed. Searches read an immutable snapshot, which is replaced on every change; refreshing
+ * a user only merges the words of that user into the sorted array instead of sorting it again.
+ * </p>
+ * <p>
+ * Every instance keeps its own directory and refreshes are only applied on the instance that made the change, so other
+ * instances may return stale results until their next hourly rebuild ({@code user.directory.rebuild.cron}).
+ * </p>
+ */
+@Slf4j
+@Service
+public class UserDirectoryImpl implements UserDirectory {
+    private static final int DEFAULT_PAGE_SIZE = 10;
+    private static final int MAX_PAGE_SIZE = 50;
+    private static final Pattern NON_WORD_CHARACTERS = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+
+    private final RepositoryCollector repositoryCollector;
+    private final TransactionOperations transactionOperations;
+    private volatile Snapshot snapshot = Snapshot.of(Map.of());
+
+    @Autowired
+    public UserDirectoryImpl(RepositoryCollector repositoryCollector, PlatformTransactionManager transactionManager) {
+        this(repositoryCollector, readOnlyTransaction(transactionManager));
+    }
+
+    UserDirectoryImpl(RepositoryCollector repositoryCollector, TransactionOperations transactionOperations) {
+        this.repositoryCollector = repositoryCollector;
+        this.transactionOperations = transactionOperations;
+    }
+
+    /**
+     * Searches for active users whose first name, surname or employee ID start with every word of the query.
+     * Users matching more words exactly come first, the others are ordered by surname and first name.
+     * At most {@value #MAX_PAGE_SIZE} users are returned per page.
+     *
+     * @param q              the query string
+     * @param pageRequestDto the page number and page size of the results
+     * @return a list of users matching the query, the most relevant first
+     * @throws IllegalArgumentException if the query string is null or empty
+     */
+    @Override
+    public List<PartialUserDto> search(String q, PageRequestDto pageRequestDto) {
+        if (q == null || q.isBlank()) {
+            throw new IllegalArgumentException("Zapytanie wyszukiwania nie może być puste.");
+        }
+        List<String> tokens = words(q);
+        if (tokens.isEmpty()) {
+            return List.of();
+        }
+        int pageSize = pageRequestDto.pageSize() == null || pageRequestDto.pageSize() < 1
+                ? DEFAULT_PAGE_SIZE : Math.min(pageRequestDto.pageSize(), MAX_PAGE_SIZE);
+        int pageNumber = pageRequestDto.pageNumber() == null || pageRequestDto.pageNumber() < 1
+                ? 0 : pageRequestDto.pageNumber() - 1;
+        return snapshot.search(tokens, (long) pageNumber * pageSize, pageSize);
+    }
+
+    /**
+     * Reloads a user into the directory, or removes the user if it is no longer active.
+     *
+     * @param userId the ID of the user
+     */
+    @Override
+    public void refresh(long userId) {
+        afterCommit(() -> {
+            PartialUserDto user = transactionOperations.execute(status ->
+                    repositoryCollector.getUsers().findByIdAndIsActiveTrue(userId)
+                            .map(PartialUserDto::fromEntity)
+                            .orElse(null));
+            Map<Long, PartialUserDto> changes = new HashMap<>();
+            changes.put(userId, user);
+            replace(changes);
+        });
+    }
+
+    /**
+     * Reloads users into the directory with a single query, removing those no longer active.
+     *
+     * @param userIds the IDs of the users
+     */
+    @Override
+    public void refreshAll(Collection<Long> userIds) {
+        if (userIds.isEmpty()) {
+            return;
+        }
+        afterCommit(() -> {
+            Map<Long, PartialUserDto> changes = new HashMap<>();
+            userIds.forEach(userId -> changes.put(userId, null));
+            transactionOperations.executeWithoutResult(status ->
+                    repositoryCollector.getUsers().findAllByIdInAndIsActiveTrue(userIds)
+                            .forEach(user -> changes.put(user.getId(), PartialUserDto.fromEntity(user))));
+            replace(changes);
+        });
+    }
+
+    /**
+     * Reloads all active users into the directory.
+     * This task runs on startup and every hour, bounding the changes made outside of the user services.
+     * Like the refreshes, it reads in a new transaction, as after a commit the committed transaction is still bound.
+     */
+    @Override
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${user.directory.rebuild.cron:0 0 * * * ?}")
+    public void rebuild() {
+        afterCommit(() -> {
+            Map<Long, PartialUserDto> users = transactionOperations.execute(status ->
+                    repositoryCollector.getUsers().findAllByIsActiveTrue().stream()
+                            .map(PartialUserDto::fromEntity)
+                            .collect(Collectors.toMap(PartialUserDto::id, user -> user)));
+            synchronized (this) {
+                snapshot = Snapshot.of(users);
+            }
+            log.debug("Loaded {} users into the user directory", users.size());
+        });
+    }
+
+    private synchronized void replace(Map<Long, PartialUserDto> changes) {
+        snapshot = snapshot.with(changes);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private static TransactionOperations readOnlyTransaction(PlatformTransactionManager transactionManager) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        template.setReadOnly(true);
+        return template;
+    }
+
+    /**
+     * Collects the normalized words of the first name, surname and employee ID of a user.
+     * The employee ID is also indexed as a single word, so it can be searched without its separators.
+     *
+     * @param user the user
+     * @return the distinct normalized words of the user
+     */
+    static Set<String> words(PartialUserDto user) {
+        Set<String> words = new HashSet<>(words(user.firstname()));
+        words.addAll(words(user.surname()));
+        words.addAll(words(user.employeeId()));
+        if (user.employeeId() != null) {
+            words.add(String.join("", words(user.employeeId())));
+        }
+        return words;
+    }
+
+    /**
+     * Splits a text into lowercase words without diacritics.
+     *
+     * @param text the text to split
+     * @return the normalized words of the text
+     */
+    static List<String> words(String text) {
+        if (text == null) {
+            return List.of();
+        }
+        String normalized = Normalizer.normalize(text.toLowerCase(Locale.ROOT).replace('ł', 'l'), Normalizer.Form.NFD);
+        return Arrays.stream(NON_WORD_CHARACTERS.split(COMBINING_MARKS.matcher(normalized).replaceAll("")))
+                .filter(word -> !word.isEmpty())
+                .toList();
+    }
+
+    /**
+     * An immutable index of the directory.
+     *
+     * @param users the users by their IDs
+     * @param keys  the sorted normalized words of the users
+     * @param ids   the IDs of the users owning the words, in the order of the keys
+     */
+    private record Snapshot(Map<Long, PartialUserDto> users, String[] keys, long[] ids) {
+        private static final Comparator<PartialUserDto> BY_NAME = Comparator
+                .comparing((PartialUserDto user) -> String.join(" ", words(user.surname())))
+                .thenComparing(user -> String.join(" ", words(user.firstname())))
+                .thenComparingLong(PartialUserDto::id);
+
+        static Snapshot of(Map<Long, PartialUserDto> users) {
+            List<Map.Entry<String, Long>> entries = new ArrayList<>();
+            for (PartialUserDto user : users.values()) {
+                words(user).forEach(word -> entries.add(Map.entry(word, user.id())));
+            }
+            entries.sort(Map.Entry.comparingByKey());
+            String[] keys = new String[entries.size()];
+            long[] ids = new long[entries.size()];
+            for (int i = 0; i < entries.size(); i++) {
+                keys[i] = entries.get(i).getKey();
+                ids[i] = entries.get(i).getValue();
+            }
+            return new Snapshot(Map.copyOf(users), keys, ids);
+        }
+
+        /**
+         * Creates a snapshot with users replaced, added or removed.
+         * The words of the changed users are merged into the sorted keys in a single pass, without sorting them again.
+         *
+         * @param changes the changed users by their IDs, null values remove the users
+         * @return the new snapshot
+         */
+        Snapshot with(Map<Long, PartialUserDto> changes) {
+            Map<Long, PartialUserDto> updated = new HashMap<>(users);
+            List<Map.Entry<String, Long>> added = new ArrayList<>();
+            changes.forEach((userId, user) -> {
+                if (user != null) {
+                    updated.put(userId, user);
+                    words(user).forEach(word -> added.add(Map.entry(word, userId)));
+                } else {
+                    updated.remove(userId);
+                }
+            });
+            added.sort(Map.Entry.comparingByKey());
+            String[] mergedKeys = new String[keys.length + added.size()];
+            long[] mergedIds = new long[keys.length + added.size()];
+            int size = 0;
+            int i = 0;
+            int j = 0;
+            while (i < keys.length || j < added.size()) {
+                if (i < keys.length && changes.containsKey(ids[i])) {
+                    i++;
+                    continue;
+                }
+                if (j < added.size() && (i == keys.length || added.get(j).getKey().compareTo(keys[i]) < 0)) {
+                    mergedKeys[size] = added.get(j).getKey();
+                    mergedIds[size] = added.get(j++).getValue();
+                } else {
+                    mergedKeys[size] = keys[i];
+                    mergedIds[size] = ids[i++];
+                }
+                size++;
+            }
+            return new Snapshot(Map.copyOf(updated), Arrays.copyOf(mergedKeys, size), Arrays.copyOf(mergedIds, size));
+        }
+
+        List<PartialUserDto> search(List<String> tokens, long offset, int limit) {
+            Map<Long, Integer> exactMatches = null;
+            for (String token : tokens) {
+                Map<Long, Integer> matches = new HashMap<>();
+                for (int i = lowerBound(token); i < keys.length && keys[i].startsWith(token); i++) {
+                    matches.merge(ids[i], keys[i].equals(token) ? 1 : 0, Math::max);
+                }
+                if (exactMatches != null) {
+                    matches.keySet().retainAll(exactMatches.keySet());
+                    exactMatches.forEach((id, exact) -> matches.computeIfPresent(id, (key, value) -> value + exact));
+                }
+                exactMatches = matches;
+                if (exactMatches.isEmpty()) {
+                    return List.of();
+                }
+            }
+            Map<Long, Integer> ranks = exactMatches;
+            return ranks.keySet().stream()
+                    .map(users::get)
+                    .sorted(Comparator.comparingInt((PartialUserDto user) -> -ranks.get(user.id())).thenComparing(BY_NAME))
+                    .skip(offset)
+                    .limit(limit)
+                    .toList();
+        }
+
+        private int lowerBound(String token) {
+            int low = 0;
+            int high = keys.length;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (keys[middle].compareTo(token) < 0) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+    }
+}
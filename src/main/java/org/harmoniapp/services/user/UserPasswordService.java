@@ -3,6 +3,8 @@ package org.harmoniapp.services.user;
 import org.harmoniapp.contracts.user.UserNewPasswordDto;
 import org.harmoniapp.entities.user.User;
 
+import java.util.List;
+
 /**
  * Service interface for managing user passwords.
  */
@@ -16,6 +18,14 @@ public interface UserPasswordService {
      */
     String setPassword(User user);
 
+    /**
+     * Sets new passwords for the given users.
+     *
+     * @param users the users for whom the passwords are to be set
+     * @return the new passwords, in the order of the users
+     */
+    List<String> setPasswords(List<User> users);
+
     /**
      * Sets a new password for the given user with an option to mark it as temporary.
      *
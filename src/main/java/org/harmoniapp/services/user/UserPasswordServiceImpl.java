@@ -1,26 +1,48 @@
 package org.harmoniapp.services.user;
 
-import lombok.RequiredArgsConstructor;
+import org.harmoniapp.configuration.AsyncConfig;
 import org.harmoniapp.contracts.user.UserNewPasswordDto;
 import org.harmoniapp.entities.user.User;
 import org.harmoniapp.exception.EasyPasswordException;
 import org.harmoniapp.repositories.RepositoryCollector;
+import org.harmoniapp.services.auth.TokenRevocationService;
+import org.harmoniapp.services.auth.UserAuthenticationCache;
 import org.harmoniapp.utils.PasswordGenerator;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.security.authentication.password.CompromisedPasswordChecker;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.stream.IntStream;
 
 /**
  * Service implementation for managing user passwords.
  */
 @Service
-@RequiredArgsConstructor
 public class UserPasswordServiceImpl implements UserPasswordService {
     private final RepositoryCollector repositoryCollector;
     private final PasswordEncoder passwordEncoder;
     private final CompromisedPasswordChecker passwordChecker;
+    private final Executor passwordHashingExecutor;
+    private final TokenRevocationService tokenRevocationService;
+    private final UserAuthenticationCache userAuthenticationCache;
+
+    public UserPasswordServiceImpl(RepositoryCollector repositoryCollector, PasswordEncoder passwordEncoder,
+                                   CompromisedPasswordChecker passwordChecker,
+                                   @Qualifier(AsyncConfig.PASSWORD_HASHING_EXECUTOR) Executor passwordHashingExecutor,
+                                   TokenRevocationService tokenRevocationService,
+                                   UserAuthenticationCache userAuthenticationCache) {
+        this.repositoryCollector = repositoryCollector;
+        this.passwordEncoder = passwordEncoder;
+        this.passwordChecker = passwordChecker;
+        this.passwordHashingExecutor = passwordHashingExecutor;
+        this.tokenRevocationService = tokenRevocationService;
+        this.userAuthenticationCache = userAuthenticationCache;
+    }
 
     /**
      * Sets a new password for the given user.
@@ -35,6 +57,26 @@ public class UserPasswordServiceImpl implements UserPasswordService {
         return rawPwd;
     }
 
+    /**
+     * Sets new passwords for the given users.
+     * The passwords are hashed in parallel on the password hashing executor, and the method returns once all of them are set.
+     *
+     * @param users the users for whom the passwords are being set
+     * @return the raw passwords that were generated and set, in the order of the users
+     */
+    @Override
+    public List<String> setPasswords(List<User> users) {
+        List<String> rawPwds = users.stream()
+                .map(user -> PasswordGenerator.generateCommonTextPassword())
+                .toList();
+        CompletableFuture<?>[] hashing = IntStream.range(0, users.size())
+                .mapToObj(i -> CompletableFuture.runAsync(
+                        () -> setPassword(users.get(i), rawPwds.get(i), true), passwordHashingExecutor))
+                .toArray(CompletableFuture[]::new);
+        CompletableFuture.allOf(hashing).join();
+        return rawPwds;
+    }
+
     /**
      * Sets the password for the given user.
      *
@@ -69,6 +111,7 @@ public class UserPasswordServiceImpl implements UserPasswordService {
 
     /**
      * Generates a new password for the user with the given ID.
+     * The tokens issued to the user so far are revoked, as the password is reset by an administrator.
      *
      * @param id the ID of the user for whom the new password is being generated
      * @return the raw password that was generated and set
@@ -78,6 +121,8 @@ public class UserPasswordServiceImpl implements UserPasswordService {
         User user = getUserById(id);
         String rawPass = setPassword(user);
         repositoryCollector.getUsers().save(user);
+        userAuthenticationCache.evict(user.getEmail());
+        tokenRevocationService.revokeTokens(id);
         return rawPass;
     }
 
@@ -107,5 +152,6 @@ public class UserPasswordServiceImpl implements UserPasswordService {
     private void updatePassword(User user, String newPassword) {
         setPassword(user, newPassword, false);
         repositoryCollector.getUsers().save(user);
+        userAuthenticationCache.evict(user.getEmail());
     }
 }
@@ -0,0 +1,26 @@
+package org.harmoniapp.services.user;
+
+import org.harmoniapp.exception.EntityNotFoundException;
+
+/**
+ * Service interface for a cache of the photo file names of users, used to serve user photos without loading
+ * the user on every request.
+ */
+public interface UserPhotoCache {
+
+    /**
+     * Retrieves the photo file name of an active user.
+     *
+     * @param userId the ID of the user
+     * @return the photo file name of the user
+     * @throws EntityNotFoundException if the user is not found or inactive
+     */
+    String getPhoto(long userId);
+
+    /**
+     * Evicts the photo file name of a user, e.g. after the photo has been changed.
+     *
+     * @param userId the ID of the user
+     */
+    void evict(long userId);
+}
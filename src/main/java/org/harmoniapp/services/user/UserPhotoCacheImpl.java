@@ -0,0 +1,66 @@
+package org.harmoniapp.services.user;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.harmoniapp.exception.EntityNotFoundException;
+import org.harmoniapp.repositories.RepositoryCollector;
+import org.harmoniapp.utils.TtlLruCache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+
+/**
+ * Service implementation of a bounded cache of the photo file names of users.
+ * <p>
+ * File names are kept in a {@link TtlLruCache} named {@code userPhoto}. Services changing the photo or the activity
+ * of a user evict the file name explicitly, so the time to live only bounds changes made outside of them.
+ * </p>
+ */
+@Service
+public class UserPhotoCacheImpl implements UserPhotoCache {
+    private final RepositoryCollector repositoryCollector;
+    private final TtlLruCache<Long, String> photos;
+
+    @Autowired
+    public UserPhotoCacheImpl(RepositoryCollector repositoryCollector,
+                              MeterRegistry meterRegistry,
+                              @Value("${user.photo-cache.max-size:10000}") int maxSize,
+                              @Value("${user.photo-cache.ttl:5m}") Duration ttl) {
+        this(repositoryCollector, meterRegistry, maxSize, ttl, Clock.systemUTC());
+    }
+
+    UserPhotoCacheImpl(RepositoryCollector repositoryCollector, MeterRegistry meterRegistry,
+                       int maxSize, Duration ttl, Clock clock) {
+        this.repositoryCollector = repositoryCollector;
+        this.photos = new TtlLruCache<>("userPhoto", meterRegistry, maxSize, ttl, clock);
+    }
+
+    /**
+     * Retrieves the photo file name of an active user, loading it from the database on a miss.
+     *
+     * @param userId the ID of the user
+     * @return the photo file name of the user
+     * @throws EntityNotFoundException if the user is not found or inactive
+     */
+    @Override
+    public String getPhoto(long userId) {
+        return photos.get(userId, this::load);
+    }
+
+    /**
+     * Evicts the photo file name of a user.
+     *
+     * @param userId the ID of the user
+     */
+    @Override
+    public void evict(long userId) {
+        photos.evict(userId);
+    }
+
+    private String load(long userId) {
+        return repositoryCollector.getUsers().findActivePhotoById(userId)
+                .orElseThrow(() -> new EntityNotFoundException("Nie znaleziono użytkownika"));
+    }
+}
@@ -2,8 +2,6 @@ package org.harmoniapp.services.user;
 
 import org.harmoniapp.contracts.user.PhotoDto;
 import org.harmoniapp.contracts.user.UserDto;
-import org.springframework.core.io.InputStreamResource;
-import org.springframework.http.ResponseEntity;
 import org.springframework.web.multipart.MultipartFile;
 
 /**
@@ -31,8 +29,9 @@ public interface UserPhotoService  {
     /**
      * Retrieves the photo of the user with the given ID.
      *
-     * @param id the ID of the user
+     * @param id   the ID of the user
+     * @param size the requested size of the photo in pixels, or null for the original photo
      * @return the user's photo as a PhotoDto
      */
-    PhotoDto getUserPhoto(long id);
+    PhotoDto getUserPhoto(long id, Integer size);
 }
@@ -7,63 +7,116 @@ import org.harmoniapp.entities.user.User;
 import org.harmoniapp.exception.EntityNotFoundException;
 import org.harmoniapp.exception.UnsupportedFileTypeException;
 import org.harmoniapp.repositories.RepositoryCollector;
-import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.FileSystemResource;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
-import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
 import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
 
 /**
  * Service implementation for managing user photos.
+ * <p>
+ * Uploaded photos are stored under the SHA-256 hash of their content, next to their thumbnails generated by
+ * the {@link PhotoThumbnailGenerator}. Users uploading the same photo share its files, which are deleted once no user
+ * refers to them. Storing a photo with the reference to it, and checking the references of a photo with deleting it,
+ * hold the same lock, so a photo reused by an upload is never deleted under it. The lock is local, like the directory
+ * the photos are stored in.
+ * </p>
  */
 @Service
 @RequiredArgsConstructor
 public class UserPhotoServiceImpl implements UserPhotoService {
+    private static final Pattern CONTENT_ADDRESSED_NAME = Pattern.compile("^[0-9a-f]{64}(_\\d+)?\\.[a-z]+$");
     private final RepositoryCollector repositoryCollector;
+    private final UserPhotoCache userPhotoCache;
+    private final PhotoThumbnailGenerator photoThumbnailGenerator;
     private final String photoDirPath = "src/main/resources/static/userPhoto/";
+    private final Object photoFilesLock = new Object();
 
     /**
-     * Retrieves the photo of a specific user by their ID.
+     * Retrieves the photo of a specific user by their ID, or its thumbnail of the requested size.
+     * The photo file name is read from the {@link UserPhotoCache} instead of the user, and the file is not opened
+     * until the response body is written, so a request answered with 304 Not Modified reads neither.
+     * Photos without thumbnails, like the default photos, are served in their original size.
      *
-     * @param id The ID of the user whose photo is to be retrieved.
+     * @param id   The ID of the user whose photo is to be retrieved.
+     * @param size The requested size of the photo in pixels, or null for the original photo.
      * @return The user's photo as a PhotoDto object.
-     * @throws IllegalArgumentException if the user with the specified ID is not found.
-     * @throws RuntimeException         if there is an error reading the photo file.
+     * @throws EntityNotFoundException if the user with the specified ID is not found.
+     * @throws RuntimeException        if there is an error reading the photo file.
      */
     @Override
-    public PhotoDto getUserPhoto(long id) {
-        User user = getUserById(id);
-        String photo = (user.getPhoto() != null) ? user.getPhoto() : "default.jpg";
-
+    public PhotoDto getUserPhoto(long id, Integer size) {
+        String photo = userPhotoCache.getPhoto(id);
         Path photoPath = getPhotoPath(photo);
         if (!Files.exists(photoPath)) {
-            photoPath = getPhotoPath("default.jpg");
+            photo = "default.jpg";
+            photoPath = getPhotoPath(photo);
+        }
+
+        String servedPhoto = photo;
+        Integer thumbnailSize = photoThumbnailGenerator.resolveSize(size);
+        if (thumbnailSize != null) {
+            String thumbnail = photoThumbnailGenerator.thumbnailName(photo, thumbnailSize);
+            Path thumbnailPath = getPhotoPath(thumbnail);
+            if (Files.exists(thumbnailPath)) {
+                servedPhoto = thumbnail;
+                photoPath = thumbnailPath;
+            }
         }
 
         try {
-            InputStream in = new FileInputStream(photoPath.toString());
-            return new PhotoDto(new InputStreamResource(in), determineContentType(photo));
+            BasicFileAttributes attributes = Files.readAttributes(photoPath, BasicFileAttributes.class);
+            return new PhotoDto(new FileSystemResource(photoPath), determineContentType(photo), createETag(servedPhoto, attributes));
         } catch (IOException e) {
             throw new RuntimeException("Odczyt pliku nie powiódł się", e);
         }
     }
 
     /**
-     * Uploads a photo for a specific user and saves it to the disk.
+     * Creates a strong entity tag of a photo file.
+     * Uploaded photos and their thumbnails are named after the SHA-256 hash of the photo, so their name without
+     * the extension identifies their content and is used as the tag. Other photos, like the default photos, are
+     * tagged with their name, size and modification time, as photo files are only written whole and never modified
+     * in place.
+     *
+     * @param photo      The name of the photo file.
+     * @param attributes The attributes of the photo file.
+     * @return The entity tag of the photo file, without quotes.
+     */
+    private String createETag(String photo, BasicFileAttributes attributes) {
+        if (CONTENT_ADDRESSED_NAME.matcher(photo).matches()) {
+            return photo.substring(0, photo.lastIndexOf('.'));
+        }
+        return HexFormat.of().formatHex(photo.getBytes(StandardCharsets.UTF_8)) + "-"
+                + Long.toHexString(attributes.size()) + "-" + Long.toHexString(attributes.lastModifiedTime().toMillis());
+    }
+
+    /**
+     * Uploads a photo for a specific user and saves it to the disk with its thumbnails.
      *
      * @param id   The ID of the user to associate the photo with.
      * @param file The photo file to be uploaded (must be in JPG or PNG format).
      * @return The updated UserDto object after saving the photo information.
-     * @throws EntityNotFoundException if the user is not found or the file format is not supported.
-     * @throws RuntimeException        if there is an error saving the file.
+     * @throws EntityNotFoundException      if the user is not found.
+     * @throws UnsupportedFileTypeException if the file is not a JPG or PNG image.
+     * @throws RuntimeException             if there is an error saving the file.
      */
     @Override
     public UserDto uploadPhoto(long id, MultipartFile file) {
@@ -73,10 +126,13 @@ public class UserPhotoServiceImpl implements UserPhotoService {
 
         try {
             String oldPhoto = user.getPhoto();
-            String newFileName = saveNewPhoto(file, user, uploadDirectory);
-            user.setPhoto(newFileName);
-            repositoryCollector.getUsers().save(user);
-            deleteOldPhoto(uploadDirectory, oldPhoto);
+            synchronized (photoFilesLock) {
+                String newFileName = saveNewPhoto(file, uploadDirectory);
+                user.setPhoto(newFileName);
+                repositoryCollector.getUsers().save(user);
+            }
+            userPhotoCache.evict(id);
+            deleteOldPhotoAfterCommit(uploadDirectory, oldPhoto);
         } catch (IOException e) {
             throw new RuntimeException("Zapis pliku nie powiódł się", e);
         }
@@ -100,11 +156,11 @@ public class UserPhotoServiceImpl implements UserPhotoService {
             return UserDto.fromEntity(user);
         }
 
-        String uploadDirectory = createUploadDirectory();
-        deleteOldPhoto(uploadDirectory, user.getPhoto());
-
+        String oldPhoto = user.getPhoto();
         user.setPhoto("default.jpg");
         repositoryCollector.getUsers().save(user);
+        userPhotoCache.evict(id);
+        deleteOldPhotoAfterCommit(createUploadDirectory(), oldPhoto);
 
         return UserDto.fromEntity(user);
     }
@@ -149,7 +205,8 @@ public class UserPhotoServiceImpl implements UserPhotoService {
      * @throws UnsupportedFileTypeException if the file format is not JPG or PNG.
      */
     private void validateFileFormat(MultipartFile file) {
-        String originalFilename = file.getOriginalFilename();
+        String originalFilename = file.getOriginalFilename() == null
+                ? null : file.getOriginalFilename().toLowerCase(Locale.ROOT);
         if (originalFilename == null ||
                 !(originalFilename.endsWith(".jpg") || originalFilename.endsWith(".png") || originalFilename.endsWith(".jpeg"))) {
             throw new UnsupportedFileTypeException("Plik musi być w formacie JPG lub PNG");
@@ -171,37 +228,92 @@ public class UserPhotoServiceImpl implements UserPhotoService {
     }
 
     /**
-     * Saves a new photo for the user to the specified upload directory.
+     * Saves a new photo and its thumbnails to the specified upload directory, unless a photo with the same content
+     * is already stored there. The photo is named after the hash of its content, with the extension of the format
+     * detected from the content, and saved after its thumbnails, so an existing photo always has its thumbnails.
      *
      * @param file            The MultipartFile containing the photo to be saved.
-     * @param user            The user for whom the photo is being saved.
      * @param uploadDirectory The directory where the photo will be saved.
      * @return The name of the saved photo file.
-     * @throws IOException if an I/O error occurs while saving the photo.
+     * @throws UnsupportedFileTypeException if the file is not a JPG or PNG image.
+     * @throws IOException                  if an I/O error occurs while saving the photo.
      */
-    private String saveNewPhoto(MultipartFile file, User user, String uploadDirectory) throws IOException {
-        String originalFilename = file.getOriginalFilename();
-        String newFileName = user.getId() + "_" + originalFilename;
+    private String saveNewPhoto(MultipartFile file, String uploadDirectory) throws IOException {
+        byte[] content = file.getBytes();
+        String newFileName = hashContent(content) + photoThumbnailGenerator.extension(content);
         Path path = Paths.get(uploadDirectory, newFileName);
-        Files.write(path, file.getBytes());
+        if (!Files.exists(path)) {
+            photoThumbnailGenerator.generate(content, newFileName, path.getParent());
+            Path temp = Files.createTempFile(path.getParent(), "photo-", ".tmp");
+            try {
+                Files.write(temp, content);
+                Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException | RuntimeException e) {
+                Files.deleteIfExists(temp);
+                throw e;
+            }
+        }
         return newFileName;
     }
 
     /**
-     * Deletes the old photo file from the disk if it is not a default photo.
+     * Computes the hexadecimal SHA-256 hash of a photo.
+     *
+     * @param content The content of the photo.
+     * @return The hash of the photo.
+     */
+    private String hashContent(byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Deletes the old photo file once the transaction replacing it commits, or immediately without a transaction,
+     * so the references to the photo are checked after the change of the user is visible.
+     *
+     * @param uploadDirectory The directory where the photo is stored.
+     * @param oldPhoto        The name of the old photo file to be deleted.
+     */
+    private void deleteOldPhotoAfterCommit(String uploadDirectory, String oldPhoto) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    deleteOldPhoto(uploadDirectory, oldPhoto);
+                }
+            });
+        } else {
+            deleteOldPhoto(uploadDirectory, oldPhoto);
+        }
+    }
+
+    /**
+     * Deletes the old photo file and its thumbnails from the disk if it is not a default photo
+     * and no user refers to it anymore.
      *
      * @param uploadDirectory The directory where the photo is stored.
      * @param oldPhoto        The name of the old photo file to be deleted.
      * @throws RuntimeException if there is an error deleting the old photo file.
      */
     private void deleteOldPhoto(String uploadDirectory, String oldPhoto) {
-        try {
-            Path oldPhotoPath = Paths.get(uploadDirectory, oldPhoto);
-            if (!isDefaultPhoto(oldPhoto) && Files.exists(oldPhotoPath)) {
-                Files.delete(oldPhotoPath);
+        if (oldPhoto == null || isDefaultPhoto(oldPhoto)) {
+            return;
+        }
+        synchronized (photoFilesLock) {
+            if (repositoryCollector.getUsers().existsByPhoto(oldPhoto)) {
+                return;
+            }
+            try {
+                Files.deleteIfExists(Paths.get(uploadDirectory, oldPhoto));
+                for (String thumbnail : photoThumbnailGenerator.thumbnailNames(oldPhoto)) {
+                    Files.deleteIfExists(Paths.get(uploadDirectory, thumbnail));
+                }
+            } catch (IOException e) {
+                throw new RuntimeException("Usunięcie zdjęci nie powiodło się", e);
             }
-        } catch (IOException e) {
-            throw new RuntimeException("Usunięcie zdjęci nie powiodło się", e);
         }
     }
 
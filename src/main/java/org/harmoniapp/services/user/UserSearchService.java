@@ -3,6 +3,7 @@ package org.harmoniapp.services.user;
 import org.harmoniapp.contracts.PageRequestDto;
 import org.harmoniapp.contracts.user.UserSearchParamsDto;
 import org.harmoniapp.entities.user.User;
+import org.harmoniapp.repositories.user.UserListRow;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
@@ -14,12 +15,13 @@ import java.util.List;
 public interface UserSearchService {
 
     /**
-     * Searches for users based on a query string.
+     * Searches for active users based on a query string, ranked by relevance.
      *
-     * @param q the query string to search for
-     * @return a list of users matching the query
+     * @param q              the query string to search for
+     * @param pageRequestDto the page request containing the page number and page size
+     * @return a page of users matching the query
      */
-    List<User> searchUsers(String q);
+    List<User> searchUsers(String q, PageRequestDto pageRequestDto);
 
     /**
      * Finds a paginated list of users based on page request and search parameters.
@@ -38,6 +40,33 @@ public interface UserSearchService {
      */
     Page<User> findUsersPage(PageRequestDto pageRequestDto);
 
+    /**
+     * Finds a paginated list of user list rows based on page request and search parameters.
+     *
+     * @param pageRequestDto  the page request details
+     * @param searchParamsDto the search parameters
+     * @return a paginated list of user list rows
+     */
+    Page<UserListRow> findUserListPage(PageRequestDto pageRequestDto, UserSearchParamsDto searchParamsDto);
+
+    /**
+     * Finds the users following the cursor of the page request, in ID order, based on search parameters.
+     * One user more than the page size is returned when a next page exists.
+     *
+     * @param pageRequestDto  the page request details
+     * @param searchParamsDto the search parameters
+     * @return a list of users
+     */
+    List<User> findUsersAfter(PageRequestDto pageRequestDto, UserSearchParamsDto searchParamsDto);
+
+    /**
+     * Resolves the page size of a cursor page, capped so a single page cannot read the whole table.
+     *
+     * @param pageRequestDto the page request details
+     * @return the page size
+     */
+    int cursorPageSize(PageRequestDto pageRequestDto);
+
     /**
      * Creates a Pageable object based on the given PageRequestDto.
      *
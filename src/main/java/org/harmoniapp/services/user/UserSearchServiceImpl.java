@@ -5,6 +5,8 @@ import org.harmoniapp.contracts.PageRequestDto;
 import org.harmoniapp.contracts.user.UserSearchParamsDto;
 import org.harmoniapp.entities.user.User;
 import org.harmoniapp.repositories.RepositoryCollector;
+import org.harmoniapp.repositories.user.UserListRow;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -12,7 +14,11 @@ import org.springframework.data.domain.Sort;
 import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
 
+import java.util.Arrays;
 import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
 /**
  * Implementation of the UserSearchService interface.
@@ -21,20 +27,33 @@ import java.util.List;
 @Service
 @RequiredArgsConstructor
 public class UserSearchServiceImpl implements UserSearchService {
+    private static final int MAX_SEARCH_PAGE_SIZE = 50;
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
+    private static final Pattern NON_WORD_CHARACTERS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
     private final RepositoryCollector repositoryCollector;
 
     /**
-     * Searches for users based on the provided query string.
+     * Searches for active users based on the provided query string, the most relevant first.
+     * Every word of the query matches the beginning of a word in the first name, surname, email or employee ID,
+     * and misspelled queries match similar words. At most {@value #MAX_SEARCH_PAGE_SIZE} users are returned per page.
      *
-     * @param q The search query string.
-     * @return A list of users that match the search criteria.
+     * @param q              The search query string.
+     * @param pageRequestDto The PageRequestDto containing the page number and page size.
+     * @return A page of users that match the search criteria.
      * @throws IllegalArgumentException if the search query is null or empty.
      */
     @Override
-    public List<User> searchUsers(String q) {
+    public List<User> searchUsers(String q, PageRequestDto pageRequestDto) {
         validateSearchQuery(q);
-        List<String> qSplit = splitQuery(q);
-        return searchUsersInDb(qSplit);
+        List<String> tokens = tokenizeQuery(q);
+        if (tokens.isEmpty()) {
+            return List.of();
+        }
+        Pageable pageable = createPageable(pageRequestDto);
+        int pageSize = Math.min(pageable.getPageSize(), MAX_SEARCH_PAGE_SIZE);
+        return repositoryCollector.getUsers().searchActive(toTsQuery(tokens), String.join(" ", tokens),
+                pageSize, (long) pageable.getPageNumber() * pageSize);
     }
 
     /**
@@ -44,33 +63,34 @@ public class UserSearchServiceImpl implements UserSearchService {
      * @throws IllegalArgumentException if the search query is null or empty.
      */
     private void validateSearchQuery(String q) {
-        if (q == null || q.isEmpty()) {
+        if (q == null || q.isBlank()) {
             throw new IllegalArgumentException("Zapytanie wyszukiwania nie może być puste.");
         }
     }
 
     /**
-     * Splits the search query string into a list of uppercase words.
+     * Splits the search query string into lowercase words, dropping the characters other than letters and digits,
+     * so the words can be safely used in a full-text query.
      *
      * @param q The search query string to split.
-     * @return A list of uppercase words from the search query string.
+     * @return A list of lowercase words from the search query string.
      */
-    private List<String> splitQuery(String q) {
-        return List.of(q.toUpperCase().split(" "));
+    private List<String> tokenizeQuery(String q) {
+        return Arrays.stream(NON_WORD_CHARACTERS.split(q.toLowerCase(Locale.ROOT)))
+                .filter(token -> !token.isEmpty())
+                .toList();
     }
 
     /**
-     * Searches for users in the database based on the split query string.
+     * Creates a full-text query matching all the words as prefixes.
      *
-     * @param qSplit The list of uppercase words from the search query string.
-     * @return A list of users that match the search criteria.
+     * @param tokens The words of the search query.
+     * @return The full-text query.
      */
-    private List<User> searchUsersInDb(List<String> qSplit) {
-        if (qSplit.size() > 1) {
-            return repositoryCollector.getUsers().findAllActiveBySearchName(qSplit);
-        } else {
-            return repositoryCollector.getUsers().findAllActiveBySearch(qSplit.getFirst());
-        }
+    private String toTsQuery(List<String> tokens) {
+        return tokens.stream()
+                .map(token -> token + ":*")
+                .collect(Collectors.joining(" & "));
     }
 
     /**
@@ -97,6 +117,64 @@ public class UserSearchServiceImpl implements UserSearchService {
         return retrieveUsers(pageable, searchParamsDto);
     }
 
+    /**
+     * Finds a paginated list of user list rows based on the provided PageRequestDto and optional search parameters.
+     * The rows are read by a single query, without loading the users and their relations.
+     *
+     * @param pageRequestDto  The PageRequestDto containing pagination and sorting details.
+     * @param searchParamsDto The optional UserSearchParamsDto containing search parameters for filtering users.
+     * @return A Page of UserListRow projections that match the search criteria.
+     */
+    @Override
+    public Page<UserListRow> findUserListPage(PageRequestDto pageRequestDto, @Nullable UserSearchParamsDto searchParamsDto) {
+        Pageable pageable = createPageable(pageRequestDto);
+        if (searchParamsDto == null) {
+            return repositoryCollector.getUsers().findListPage(null, null, null, pageable);
+        }
+        return repositoryCollector.getUsers().findListPage(nullIfEmpty(searchParamsDto.contracts()),
+                nullIfEmpty(searchParamsDto.roles()), nullIfEmpty(searchParamsDto.language()), pageable);
+    }
+
+    /**
+     * Finds the users following the cursor of the PageRequestDto, in ID order, based on optional search parameters.
+     * The users are located by the ID of the last user of the previous page instead of an offset, and no count query
+     * is run. One user more than the page size is read, so the caller knows whether a next page exists.
+     *
+     * @param pageRequestDto  The PageRequestDto containing the cursor and page size.
+     * @param searchParamsDto The optional UserSearchParamsDto containing search parameters for filtering users.
+     * @return A list of User entities that match the search criteria.
+     */
+    @Override
+    public List<User> findUsersAfter(PageRequestDto pageRequestDto, @Nullable UserSearchParamsDto searchParamsDto) {
+        Limit limit = Limit.of(cursorPageSize(pageRequestDto) + 1);
+        if (searchParamsDto == null) {
+            return repositoryCollector.getUsers().findActiveAfter(null, null, null, pageRequestDto.cursor(), limit);
+        }
+        return repositoryCollector.getUsers().findActiveAfter(nullIfEmpty(searchParamsDto.contracts()),
+                nullIfEmpty(searchParamsDto.roles()), nullIfEmpty(searchParamsDto.language()), pageRequestDto.cursor(), limit);
+    }
+
+    /**
+     * Resolves the page size of a cursor page, capped at {@value #MAX_CURSOR_PAGE_SIZE} like the other cursor pages.
+     *
+     * @param pageRequestDto The PageRequestDto containing the page size.
+     * @return The page size.
+     */
+    @Override
+    public int cursorPageSize(PageRequestDto pageRequestDto) {
+        return Math.min(createPageable(pageRequestDto).getPageSize(), MAX_CURSOR_PAGE_SIZE);
+    }
+
+    /**
+     * Replaces an empty filter with null, which disables the filter in the query.
+     *
+     * @param ids The IDs to filter by.
+     * @return The IDs, or null if there are none.
+     */
+    private List<Long> nullIfEmpty(@Nullable List<Long> ids) {
+        return ids == null || ids.isEmpty() ? null : ids;
+    }
+
     /**
      * Creates a Pageable object based on the provided PageRequestDto.
      *
@@ -1,8 +1,10 @@
 package org.harmoniapp.services.user;
 
+import org.harmoniapp.contracts.CursorPageDto;
 import org.harmoniapp.contracts.PageDto;
 import org.harmoniapp.contracts.PageRequestDto;
 import org.harmoniapp.contracts.user.UserDto;
+import org.harmoniapp.contracts.user.UserListItemDto;
 import org.harmoniapp.contracts.user.UserSearchParamsDto;
 
 import java.util.List;
@@ -29,13 +31,32 @@ public interface UserService {
      */
     PageDto<UserDto> getPage(UserSearchParamsDto searchParamsDto, PageRequestDto pageRequestDto);
 
+    /**
+     * Retrieves a keyset paginated list of users based on search parameters.
+     *
+     * @param searchParamsDto the search parameters
+     * @param pageRequestDto  the cursor and page size
+     * @return a keyset paginated list of users
+     */
+    CursorPageDto<UserDto> getCursorPage(UserSearchParamsDto searchParamsDto, PageRequestDto pageRequestDto);
+
+    /**
+     * Retrieves a paginated list of users with the data shown on the user list page.
+     *
+     * @param searchParamsDto the search parameters
+     * @param pageRequestDto  the pagination information
+     * @return a paginated list of user list items
+     */
+    PageDto<UserListItemDto> getListPage(UserSearchParamsDto searchParamsDto, PageRequestDto pageRequestDto);
+
     /**
      * Searches for users based on a query string.
      *
-     * @param q the query string
-     * @return a list of users matching the query
+     * @param q              the query string
+     * @param pageRequestDto the page number and page size of the results
+     * @return a list of users matching the query, the most relevant first
      */
-    List<UserDto> getUsersSearch(String q);
+    List<UserDto> getUsersSearch(String q, PageRequestDto pageRequestDto);
 
     /**
      * Creates a new user.
@@ -45,6 +66,14 @@ public interface UserService {
      */
     UserDto create(UserDto userDto);
 
+    /**
+     * Creates many new users at once, e.g. during an import.
+     *
+     * @param userDtos the user data transfer objects
+     * @return the created users with their generated passwords, in the order of the input
+     */
+    List<UserDto> createAll(List<UserDto> userDtos);
+
     /**
      * Updates an existing user.
      *
@@ -1,9 +1,13 @@
 package org.harmoniapp.services.user;
 
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
+import org.harmoniapp.contracts.CursorPageDto;
 import org.harmoniapp.contracts.PageDto;
 import org.harmoniapp.contracts.PageRequestDto;
 import org.harmoniapp.contracts.user.UserDto;
+import org.harmoniapp.contracts.user.UserListItemDto;
 import org.harmoniapp.contracts.user.UserSearchParamsDto;
 import org.harmoniapp.entities.profile.Address;
 import org.harmoniapp.entities.profile.ContractType;
@@ -11,16 +15,22 @@ import org.harmoniapp.entities.profile.Language;
 import org.harmoniapp.entities.profile.Role;
 import org.harmoniapp.entities.user.User;
 import org.harmoniapp.exception.EntityNotFoundException;
+import org.harmoniapp.exception.InvalidBulkItemException;
 import org.harmoniapp.exception.InvalidDateException;
 import org.harmoniapp.repositories.RepositoryCollector;
+import org.harmoniapp.repositories.user.UserListRow;
+import org.harmoniapp.services.auth.TokenRevocationService;
+import org.harmoniapp.services.auth.UserAuthenticationCache;
 import org.harmoniapp.services.profile.AddressService;
 import org.springframework.data.domain.Page;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
-import java.util.List;
+import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 /**
  * Implementation of the UserService interface.
@@ -33,6 +43,11 @@ public class UserServiceImpl implements UserService {
     private final UserPasswordService userPassword;
     private final AddressService addressService;
     private final UserSearchService userSearchService;
+    private final Validator validator;
+    private final TokenRevocationService tokenRevocationService;
+    private final UserAuthenticationCache userAuthenticationCache;
+    private final UserDirectory userDirectory;
+    private final UserPhotoCache userPhotoCache;
 
     /**
      * Retrieves a specific user by their ID.
@@ -58,15 +73,45 @@ public class UserServiceImpl implements UserService {
         return PageDto.mapPage(users, UserDto::fromEntity);
     }
 
+    /**
+     * Retrieves a page of users based on search parameters, in ID order.
+     * The page is located by the cursor of the page request instead of a page number, so deep pages cost the same
+     * as the first one and no count query is needed. The sorting of the page request is ignored.
+     *
+     * @param searchParamsDto The search parameters for filtering users.
+     * @param pageRequestDto  The cursor and page size.
+     * @return A CursorPageDto containing the list of UserDto objects and the cursor of the next page.
+     */
+    public CursorPageDto<UserDto> getCursorPage(UserSearchParamsDto searchParamsDto, PageRequestDto pageRequestDto) {
+        int pageSize = userSearchService.cursorPageSize(pageRequestDto);
+        List<User> users = userSearchService.findUsersAfter(pageRequestDto, searchParamsDto);
+        return CursorPageDto.mapRows(users, pageSize, UserDto::fromEntity, User::getId);
+    }
+
+    /**
+     * Retrieves a paginated list of users with the data shown on the user list page.
+     * Unlike {@link #getPage}, the users are read as projections, without their addresses, contract types,
+     * roles and languages.
+     *
+     * @param searchParamsDto The search parameters for filtering users.
+     * @param pageRequestDto  The pagination and sorting details.
+     * @return A PageDto containing the list of UserListItemDto objects, page size, current page number, and total pages.
+     */
+    public PageDto<UserListItemDto> getListPage(UserSearchParamsDto searchParamsDto, PageRequestDto pageRequestDto) {
+        Page<UserListRow> users = userSearchService.findUserListPage(pageRequestDto, searchParamsDto);
+        return PageDto.mapPage(users, UserListItemDto::fromRow);
+    }
+
     /**
      * Searches for users based on a query string.
      *
-     * @param q The query string used to search for users. Must not be null or empty.
-     * @return A list of UserDto objects that match the search criteria.
+     * @param q              The query string used to search for users. Must not be null or empty.
+     * @param pageRequestDto The page number and page size of the results.
+     * @return A list of UserDto objects that match the search criteria, the most relevant first.
      * @throws IllegalArgumentException if the query string is null or empty.
      */
-    public List<UserDto> getUsersSearch(String q) {
-        return userSearchService.searchUsers(q)
+    public List<UserDto> getUsersSearch(String q, PageRequestDto pageRequestDto) {
+        return userSearchService.searchUsers(q, pageRequestDto)
                 .stream()
                 .map(UserDto::fromEntity)
                 .toList();
@@ -87,11 +132,185 @@ public class UserServiceImpl implements UserService {
         String rawPass = userPassword.setPassword(user);
 
         User response = repositoryCollector.getUsers().save(user);
+        userDirectory.refresh(response.getId());
         return UserDto.fromEntity(response, rawPass);
     }
 
     /**
-     * Marks a user as inactive (soft delete) by their ID.
+     * Creates many new users at once.
+     * Referenced entities are loaded once and resolved through maps, all users are validated before
+     * their passwords are hashed, and the addresses, users and their assignments are inserted in JDBC batches.
+     *
+     * @param userDtos The UserDto objects representing the new users.
+     * @return The created UserDto objects with their generated passwords, in the order of the input.
+     * @throws InvalidBulkItemException if any of the users is invalid.
+     */
+    @Transactional
+    public List<UserDto> createAll(List<UserDto> userDtos) {
+        if (userDtos.isEmpty()) {
+            return List.of();
+        }
+        NewUserReferences references = loadNewUserReferences(userDtos);
+
+        List<User> users = new ArrayList<>(userDtos.size());
+        for (int i = 0; i < userDtos.size(); i++) {
+            try {
+                User user = buildNewUser(userDtos.get(i), references);
+                validateNewUser(user, references);
+                users.add(user);
+            } catch (RuntimeException e) {
+                throw new InvalidBulkItemException(i, e.getMessage());
+            }
+        }
+
+        List<String> rawPasswords = userPassword.setPasswords(users);
+        repositoryCollector.getAddresses().insertAll(users.stream().map(User::getResidence).toList());
+        repositoryCollector.getUsers().insertAll(users);
+        userDirectory.refreshAll(users.stream().map(User::getId).toList());
+
+        return IntStream.range(0, users.size())
+                .mapToObj(i -> UserDto.fromEntity(users.get(i), rawPasswords.get(i)))
+                .toList();
+    }
+
+    /**
+     * Loads the entities referenced by the new users and the already taken unique values.
+     *
+     * @param userDtos The UserDto objects representing the new users.
+     * @return The loaded references.
+     */
+    private NewUserReferences loadNewUserReferences(List<UserDto> userDtos) {
+        Set<Long> supervisorIds = userDtos.stream()
+                .map(UserDto::supervisorId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Set<String> emails = userDtos.stream()
+                .map(UserDto::email)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Set<String> employeeIds = userDtos.stream()
+                .map(UserDto::employeeId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+
+        return new NewUserReferences(
+                toMapById(repositoryCollector.getContractTypes().findAll(), ContractType::getId),
+                toMapById(repositoryCollector.getLanguages().findAll(), Language::getId),
+                toMapById(repositoryCollector.getRoles().findAll(), Role::getId),
+                toMapById(repositoryCollector.getAddresses().findByDepartmentNameNotNull(), Address::getId),
+                toMapById(repositoryCollector.getUsers().findAllById(supervisorIds), User::getId),
+                new HashSet<>(repositoryCollector.getUsers().findExistingEmails(emails)),
+                new HashSet<>(repositoryCollector.getUsers().findExistingEmployeeIds(employeeIds)));
+    }
+
+    /**
+     * Builds a new, not yet saved user from the given UserDto using the loaded references.
+     *
+     * @param userDto    The UserDto representing the new user.
+     * @param references The loaded references.
+     * @return The built User entity.
+     * @throws IllegalArgumentException if a referenced entity is not found or a required value is missing.
+     */
+    private User buildNewUser(UserDto userDto, NewUserReferences references) {
+        validateContractDates(userDto);
+        if (userDto.contractType() == null) {
+            throw new IllegalArgumentException("Typ umowy nie może być pusty");
+        }
+        if (userDto.residence() == null) {
+            throw new IllegalArgumentException("Adres zamieszkania nie może być pusty");
+        }
+
+        User user = userDto.toEntity();
+        user.setContractType(getReference(references.contractTypes(), userDto.contractType().id(),
+                "Nie znaleziono typu umowy o ID %d"));
+        user.setSupervisor(userDto.supervisorId() == null ? null : references.supervisors().get(userDto.supervisorId()));
+        Address residence = userDto.residence().toEntity();
+        residence.setId(null);
+        user.setResidence(residence);
+        if (userDto.workAddress() != null) {
+            user.setWorkAddress(getReference(references.departments(), userDto.workAddress().id(),
+                    "Nie znaleziono oddziału o ID %d"));
+        }
+        if (userDto.languages() != null) {
+            user.setLanguages(userDto.languages().stream()
+                    .map(l -> getReference(references.languages(), l.id(), "Nie znaleziono języka o ID %d"))
+                    .collect(Collectors.toSet()));
+        }
+        if (userDto.roles() != null) {
+            user.setRoles(userDto.roles().stream()
+                    .map(r -> getReference(references.roles(), r.id(), "Nie znaleziono roli o ID %d"))
+                    .collect(Collectors.toSet()));
+        }
+        setUserDetails(user);
+        return user;
+    }
+
+    /**
+     * Validates a new user against the entity constraints and the already taken unique values.
+     * The password is skipped, as it is generated and hashed after the validation.
+     *
+     * @param user       The new User entity.
+     * @param references The loaded references, whose taken values are extended with the user's values.
+     * @throws IllegalArgumentException if the user is invalid.
+     */
+    private void validateNewUser(User user, NewUserReferences references) {
+        Optional<String> violation = validator.validate(user).stream()
+                .filter(v -> !v.getPropertyPath().toString().equals("password"))
+                .map(ConstraintViolation::getMessage)
+                .findFirst()
+                .or(() -> validator.validate(user.getResidence()).stream()
+                        .map(ConstraintViolation::getMessage)
+                        .findFirst());
+        if (violation.isPresent()) {
+            throw new IllegalArgumentException(violation.get());
+        }
+        if (!references.takenEmails().add(user.getEmail())) {
+            throw new IllegalArgumentException("Użytkownik o adresie e-mail %s już istnieje".formatted(user.getEmail()));
+        }
+        if (!references.takenEmployeeIds().add(user.getEmployeeId())) {
+            throw new IllegalArgumentException("Użytkownik o ID pracownika %s już istnieje".formatted(user.getEmployeeId()));
+        }
+    }
+
+    /**
+     * Retrieves a referenced entity from the given map.
+     *
+     * @param entities The entities by their IDs.
+     * @param id       The ID of the entity.
+     * @param message  The format of the error message, taking the ID as an argument.
+     * @return The referenced entity.
+     * @throws IllegalArgumentException if the entity is not found.
+     */
+    private static <T> T getReference(Map<Long, T> entities, Long id, String message) {
+        T entity = id == null ? null : entities.get(id);
+        if (entity == null) {
+            throw new IllegalArgumentException(message.formatted(id));
+        }
+        return entity;
+    }
+
+    /**
+     * Collects the given entities into a map by their IDs.
+     *
+     * @param entities The entities to collect.
+     * @param idGetter The function returning the ID of an entity.
+     * @return The map of the entities by their IDs.
+     */
+    private static <T> Map<Long, T> toMapById(Collection<T> entities, Function<T, Long> idGetter) {
+        return entities.stream().collect(Collectors.toMap(idGetter, Function.identity(), (first, second) -> first));
+    }
+
+    /**
+     * Entities referenced by new users and the unique values already taken, loaded once for a bulk creation.
+     */
+    private record NewUserReferences(Map<Long, ContractType> contractTypes, Map<Long, Language> languages,
+                                     Map<Long, Role> roles, Map<Long, Address> departments,
+                                     Map<Long, User> supervisors, Set<String> takenEmails,
+                                     Set<String> takenEmployeeIds) {
+    }
+
+    /**
+     * Marks a user as inactive (soft delete) by their ID and revokes the tokens issued to the user.
      *
      * @param id The ID of the user to deactivate.
      * @throws IllegalArgumentException if the user with the specified ID is not found.
@@ -104,10 +323,16 @@ public class UserServiceImpl implements UserService {
 
         user.setIsActive(false);
         repositoryCollector.getUsers().save(user);
+        userAuthenticationCache.evict(user.getEmail());
+        userDirectory.refresh(id);
+        userPhotoCache.evict(id);
+        tokenRevocationService.revokeTokens(id);
     }
 
     /**
      * Updates an existing user.
+     * If the email or the administrator role of the user changes, the tokens issued to the user are revoked,
+     * as they carry the email and the authorities of the user.
      *
      * @param id      The ID of the user to update.
      * @param userDto The UserDto object containing the updated user data.
@@ -118,6 +343,8 @@ public class UserServiceImpl implements UserService {
         validateContractDates(userDto);
 
         User existingUser = getUserById(id);
+        String email = existingUser.getEmail();
+        boolean admin = isAdmin(existingUser);
         updateUserDetails(existingUser, userDto);
         updateUserAddresses(existingUser, userDto);
         setContractType(existingUser, userDto);
@@ -126,9 +353,26 @@ public class UserServiceImpl implements UserService {
         setRoles(existingUser, userDto);
 
         User response = repositoryCollector.getUsers().save(existingUser);
+        userAuthenticationCache.evict(email);
+        userAuthenticationCache.evict(response.getEmail());
+        userDirectory.refresh(id);
+        if (!Objects.equals(email, response.getEmail()) || admin != isAdmin(response)) {
+            tokenRevocationService.revokeTokens(id);
+        }
         return UserDto.fromEntity(response);
     }
 
+    /**
+     * Checks whether the user has the administrator role.
+     *
+     * @param user The User entity to check.
+     * @return true if the user has the administrator role, false otherwise.
+     */
+    private boolean isAdmin(User user) {
+        return user.getRoles() != null
+                && user.getRoles().stream().anyMatch(role -> role.getName().equalsIgnoreCase("ADMIN"));
+    }
+
     /**
      * Retrieves a user by their ID.
      *
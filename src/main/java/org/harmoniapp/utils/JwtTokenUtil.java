@@ -1,19 +1,23 @@
 package org.harmoniapp.utils;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import lombok.AccessLevel;
 import lombok.Getter;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.AuthorityUtils;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
 import java.util.Date;
+import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
@@ -21,7 +25,8 @@ import java.util.stream.Collectors;
  * Utility class for handling JWT token generation, validation, and decoding.
  * <p>
  * This component provides methods to create JWT tokens using user authentication data, decode tokens to extract claims,
- * and validate tokens based on expiration and user details.
+ * and validate tokens based on expiration and user details. The signing key and the parser are built once, as creating
+ * them for every decoded token is needlessly expensive on the authentication path of every request.
  * </p>
  */
 @Component
@@ -37,12 +42,20 @@ public final class JwtTokenUtil {
 
     private final Long OTP_EXPIRATION;
 
+    @Getter(AccessLevel.NONE)
+    private final SecretKey secretKey;
+
+    @Getter(AccessLevel.NONE)
+    private final JwtParser parser;
+
     public JwtTokenUtil(@Value("${jwt.secret-key}") String SECRET_KEY,
                         @Value("${jwt.default-expiration}") Long DEFAULT_EXPIRATION,
                         @Value("${jwt.opt-expiration}") Long OTP_EXPIRATION) {
         this.SECRET_KEY = SECRET_KEY;
         this.DEFAULT_EXPIRATION = DEFAULT_EXPIRATION;
         this.OTP_EXPIRATION = OTP_EXPIRATION;
+        this.secretKey = Keys.hmacShaKeyFor(SECRET_KEY.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parser().verifyWith(secretKey).build();
     }
 
     /**
@@ -54,8 +67,6 @@ public final class JwtTokenUtil {
      * @return a signed JWT token as a {@link String}.
      */
     public String generateToken(Authentication authentication, Map<String, Object> extraClaims, boolean isOTP) {
-        SecretKey secretKey = Keys.hmacShaKeyFor(SECRET_KEY.getBytes(StandardCharsets.UTF_8));
-
         long exp = isOTP ? OTP_EXPIRATION : DEFAULT_EXPIRATION;
         Date expDate = new Date((new Date()).getTime() + exp);
 
@@ -76,10 +87,7 @@ public final class JwtTokenUtil {
      * @return a {@link Claims} object containing the token's claims.
      */
     public Claims decodeJWT(String token) {
-        SecretKey secretKey = Keys.hmacShaKeyFor(SECRET_KEY.getBytes(StandardCharsets.UTF_8));
-
-        return Jwts.parser().verifyWith(secretKey)
-                .build().parseSignedClaims(token).getPayload();
+        return parser.parseSignedClaims(token).getPayload();
     }
 
     /**
@@ -99,7 +107,17 @@ public final class JwtTokenUtil {
      * @return the user ID as a {@link Long}.
      */
     public Long getUserId(String token) {
-        return Long.parseLong(String.valueOf(decodeJWT(token).get("id")));
+        return getUserId(decodeJWT(token));
+    }
+
+    /**
+     * Extracts the user ID from decoded JWT claims.
+     *
+     * @param claims the decoded claims of the token.
+     * @return the user ID as a {@link Long}.
+     */
+    public Long getUserId(Claims claims) {
+        return Long.parseLong(String.valueOf(claims.get("id")));
     }
 
     /**
@@ -122,6 +140,16 @@ public final class JwtTokenUtil {
         return String.valueOf(decodeJWT(token).get("authorities"));
     }
 
+    /**
+     * Extracts the granted authorities from decoded JWT claims.
+     *
+     * @param claims the decoded claims of the token.
+     * @return the list of {@link GrantedAuthority} signed into the token.
+     */
+    public List<GrantedAuthority> getGrantedAuthorities(Claims claims) {
+        return AuthorityUtils.commaSeparatedStringToAuthorityList(claims.get("authorities", String.class));
+    }
+
     /**
      * Validates a JWT token based on the user details and expiration data.
      *
@@ -131,8 +159,9 @@ public final class JwtTokenUtil {
      */
     public boolean isTokenValid(String token, UserDetails userDetails) {
         try {
-            return decodeJWT(token).getSubject().equals(userDetails.getUsername())
-                    && !isTokenExpired(token);
+            Claims claims = decodeJWT(token);
+            return claims.getSubject().equals(userDetails.getUsername())
+                    && !claims.getExpiration().before(new Date(System.currentTimeMillis()));
         } catch (Exception e) {
             return false;
         }
@@ -0,0 +1,137 @@
+package org.harmoniapp.utils;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * A bounded in-memory cache whose entries expire after a time to live.
+ * <p>
+ * Entries are evicted in least recently used order once the cache is full. Values are loaded outside the lock, so
+ * a slow load does not block lookups of other keys; a value that fails to load is not cached. Hits and misses are
+ * published as the {@code cache.gets} metric and the number of entries as the {@code cache.size} gauge, both tagged
+ * with the name of the cache.
+ * </p>
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the values
+ */
+public class TtlLruCache<K, V> {
+    private final int maxSize;
+    private final Duration ttl;
+    private final Clock clock;
+    private final Counter hits;
+    private final Counter misses;
+    private final Map<K, CachedValue<V>> entries;
+
+    /**
+     * Creates a cache.
+     *
+     * @param name          the name of the cache, used as the metric tag
+     * @param meterRegistry the registry of the metrics
+     * @param maxSize       the maximum number of entries
+     * @param ttl           the time after which an entry expires
+     * @param clock         the clock measuring the age of the entries
+     */
+    public TtlLruCache(String name, MeterRegistry meterRegistry, int maxSize, Duration ttl, Clock clock) {
+        this.maxSize = maxSize;
+        this.ttl = ttl;
+        this.clock = clock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, CachedValue<V>> eldest) {
+                return size() > TtlLruCache.this.maxSize;
+            }
+        };
+        this.hits = cacheGets(meterRegistry, name, "hit");
+        this.misses = cacheGets(meterRegistry, name, "miss");
+        meterRegistry.gauge("cache.size", Tags.of("cache", name), this, TtlLruCache::size);
+    }
+
+    /**
+     * Retrieves the value of a key, loading it on a miss.
+     *
+     * @param key    the key
+     * @param loader the function loading the value of the key; exceptions it throws are propagated
+     * @return the value of the key
+     */
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        V value = lookup(key);
+        if (value != null) {
+            hits.increment();
+            return value;
+        }
+        misses.increment();
+        value = loader.apply(key);
+        put(key, value);
+        return value;
+    }
+
+    /**
+     * Evicts the value of a key.
+     * Within a transaction the key is evicted again after the transaction commits, so a value loaded before
+     * the commit does not stay in the cache.
+     *
+     * @param key the key
+     */
+    public void evict(K key) {
+        remove(key);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    remove(key);
+                }
+            });
+        }
+    }
+
+    /**
+     * Returns the number of entries, including expired entries not looked up since they expired.
+     *
+     * @return the number of entries
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private synchronized V lookup(K key) {
+        CachedValue<V> cached = entries.get(key);
+        if (cached == null) {
+            return null;
+        }
+        if (cached.loadedAt().plus(ttl).isBefore(clock.instant())) {
+            entries.remove(key);
+            return null;
+        }
+        return cached.value();
+    }
+
+    private synchronized void put(K key, V value) {
+        entries.put(key, new CachedValue<>(value, clock.instant()));
+    }
+
+    private synchronized void remove(K key) {
+        entries.remove(key);
+    }
+
+    private static Counter cacheGets(MeterRegistry meterRegistry, String name, String result) {
+        return Counter.builder("cache.gets")
+                .description("The number of times the cache was looked up")
+                .tag("cache", name)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private record CachedValue<V>(V value, Instant loadedAt) {
+    }
+}
@@ -0,0 +1,11 @@
+-- Read receipts of group chats (GroupReadReceipt) and the index backing MessageRepository.countUnreadByGroupId.
+CREATE TABLE IF NOT EXISTS group_read_receipt (
+    group_id             bigint NOT NULL,
+    user_id              bigint NOT NULL,
+    last_read_message_id bigint NOT NULL,
+    CONSTRAINT group_read_receipt_pkey PRIMARY KEY (group_id, user_id),
+    CONSTRAINT group_read_receipt_group_fk FOREIGN KEY (group_id) REFERENCES "group" (id),
+    CONSTRAINT group_read_receipt_user_fk FOREIGN KEY (user_id) REFERENCES "user" (id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_message_group_id_id ON message (group_id, id);
@@ -0,0 +1,14 @@
+-- Background export jobs (ExportJob), shared by all instances. The generated files are kept in export.jobs.directory.
+CREATE TABLE IF NOT EXISTS export_job (
+    id           uuid        NOT NULL,
+    owner_id     bigint      NOT NULL,
+    type         varchar(32) NOT NULL,
+    status       varchar(32) NOT NULL,
+    created_at   timestamptz NOT NULL,
+    completed_at timestamptz,
+    error        varchar(1000),
+    CONSTRAINT export_job_pkey PRIMARY KEY (id),
+    CONSTRAINT export_job_owner_fk FOREIGN KEY (owner_id) REFERENCES "user" (id) ON DELETE CASCADE
+);
+
+CREATE INDEX IF NOT EXISTS idx_export_job_completed_at ON export_job (completed_at);
@@ -0,0 +1,6 @@
+-- Extensions required by the init scripts. Creating an extension needs elevated privileges, so the script is not
+-- run by the application (spring.sql.init.schema-locations) and has to be run once per database by a DBA:
+--   psql -d <database> -f src/main/resources/db/extensions.sql
+
+-- Trigram operator classes used by the user_search_trgm_idx index (db/user-search.sql).
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
@@ -0,0 +1,10 @@
+-- Indexes of the notification table.
+
+-- Keyset pagination of the notifications of a user (NotificationRepository.findAllByUserIdAndIdLessThanOrderByIdDesc).
+CREATE INDEX IF NOT EXISTS idx_notification_user_id_id ON notification (user_id, id);
+
+-- Unread notifications of a user and their count; only the small unread part of the table is indexed.
+CREATE INDEX IF NOT EXISTS idx_notification_user_id_unread ON notification (user_id, created_at) WHERE read = false;
+
+-- Batched purge of old read notifications (NotificationRepository.deleteReadCreatedBefore).
+CREATE INDEX IF NOT EXISTS idx_notification_read_created_at ON notification (created_at) WHERE read = true;
@@ -0,0 +1,6 @@
+-- Version of the schedule (ScheduleVersion), shared by all instances and used in the keys of cached exports.
+CREATE TABLE IF NOT EXISTS schedule_version (
+    id      smallint NOT NULL,
+    version bigint   NOT NULL,
+    CONSTRAINT schedule_version_pkey PRIMARY KEY (id)
+);
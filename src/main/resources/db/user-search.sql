@@ -0,0 +1,12 @@
+-- Indexes backing UserRepository.searchActive. The indexed expression must stay identical to the one in the query.
+-- The trigram index needs the pg_trgm extension, created by a DBA with db/extensions.sql; without it startup fails.
+
+CREATE INDEX IF NOT EXISTS user_search_tsv_idx ON "user" USING gin (
+    to_tsvector('simple', lower(coalesce(firstname, '') || ' ' || coalesce(surname, '') || ' '
+        || coalesce(email, '') || ' ' || coalesce(employee_id, ''))))
+    WHERE is_active = true;
+
+CREATE INDEX IF NOT EXISTS user_search_trgm_idx ON "user" USING gin (
+    lower(coalesce(firstname, '') || ' ' || coalesce(surname, '') || ' '
+        || coalesce(email, '') || ' ' || coalesce(employee_id, '')) gin_trgm_ops)
+    WHERE is_active = true;
@@ -0,0 +1,4 @@
+-- Columns of the user table added after its creation.
+
+-- Time since which the tokens of the user are valid (User.tokensValidSince), moved forward when they are revoked.
+ALTER TABLE "user" ADD COLUMN IF NOT EXISTS tokens_valid_since timestamptz;
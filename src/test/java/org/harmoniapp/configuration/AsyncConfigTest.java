@@ -0,0 +1,114 @@
+package org.harmoniapp.configuration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AsyncConfigTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withBean(MeterRegistry.class, SimpleMeterRegistry::new)
+            .withUserConfiguration(AsyncConfig.class);
+
+    @Test
+    public void executorsUseDefaultsTest() {
+        contextRunner.run(context -> {
+            ThreadPoolTaskExecutor mvc = context.getBean(AsyncConfig.MVC_ASYNC_EXECUTOR, ThreadPoolTaskExecutor.class);
+            assertEquals(4, mvc.getCorePoolSize());
+            assertEquals(8, mvc.getMaxPoolSize());
+            assertEquals(50, mvc.getQueueCapacity());
+            assertEquals(AsyncConfig.MVC_ASYNC_EXECUTOR + "-", mvc.getThreadNamePrefix());
+
+            ThreadPoolTaskExecutor chat = context.getBean(AsyncConfig.CHAT_EXECUTOR, ThreadPoolTaskExecutor.class);
+            assertEquals(4, chat.getCorePoolSize());
+            assertEquals(8, chat.getMaxPoolSize());
+            assertEquals(500, chat.getQueueCapacity());
+
+            ThreadPoolTaskExecutor exportJob = context.getBean(AsyncConfig.EXPORT_JOB_EXECUTOR, ThreadPoolTaskExecutor.class);
+            assertEquals(2, exportJob.getCorePoolSize());
+            assertEquals(50, exportJob.getQueueCapacity());
+        });
+    }
+
+    @Test
+    public void executorsUsePropertiesTest() {
+        contextRunner.withPropertyValues("async.mvc.core-pool-size=1", "async.mvc.max-pool-size=3",
+                        "async.mvc.queue-capacity=5")
+                .run(context -> {
+                    ThreadPoolTaskExecutor mvc = context.getBean(AsyncConfig.MVC_ASYNC_EXECUTOR, ThreadPoolTaskExecutor.class);
+                    assertEquals(1, mvc.getCorePoolSize());
+                    assertEquals(3, mvc.getMaxPoolSize());
+                    assertEquals(5, mvc.getQueueCapacity());
+                });
+    }
+
+    @Test
+    public void mvcAsyncExecutorRejectsTasksWhenFullTest() {
+        contextRunner.withPropertyValues("async.mvc.core-pool-size=1", "async.mvc.max-pool-size=1",
+                        "async.mvc.queue-capacity=1")
+                .run(context -> {
+                    ThreadPoolTaskExecutor mvc = context.getBean(AsyncConfig.MVC_ASYNC_EXECUTOR, ThreadPoolTaskExecutor.class);
+                    CountDownLatch release = new CountDownLatch(1);
+                    try {
+                        mvc.execute(() -> await(release));
+                        mvc.execute(() -> await(release));
+
+                        assertThrows(TaskRejectedException.class, () -> mvc.execute(() -> {
+                        }));
+                    } finally {
+                        release.countDown();
+                    }
+                });
+    }
+
+    @Test
+    public void chatExecutorRunsTaskOnCallerWhenFullTest() {
+        contextRunner.withPropertyValues("async.chat.core-pool-size=1", "async.chat.max-pool-size=1",
+                        "async.chat.queue-capacity=1")
+                .run(context -> {
+                    ThreadPoolTaskExecutor chat = context.getBean(AsyncConfig.CHAT_EXECUTOR, ThreadPoolTaskExecutor.class);
+                    CountDownLatch release = new CountDownLatch(1);
+                    AtomicReference<Thread> runner = new AtomicReference<>();
+                    try {
+                        chat.execute(() -> await(release));
+                        chat.execute(() -> await(release));
+
+                        chat.execute(() -> runner.set(Thread.currentThread()));
+
+                        assertSame(Thread.currentThread(), runner.get());
+                    } finally {
+                        release.countDown();
+                    }
+                });
+    }
+
+    @Test
+    public void executorRecordsTimersTest() {
+        contextRunner.run(context -> {
+            ThreadPoolTaskExecutor mvc = context.getBean(AsyncConfig.MVC_ASYNC_EXECUTOR, ThreadPoolTaskExecutor.class);
+            CountDownLatch done = new CountDownLatch(1);
+            mvc.execute(done::countDown);
+            assertTrue(done.await(5, TimeUnit.SECONDS));
+
+            MeterRegistry meterRegistry = context.getBean(MeterRegistry.class);
+            assertEquals(1, meterRegistry.get("harmoni.executor.wait").tag("name", AsyncConfig.MVC_ASYNC_EXECUTOR).timer().count());
+        });
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
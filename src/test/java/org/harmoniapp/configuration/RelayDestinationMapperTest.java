@@ -0,0 +1,52 @@
+package org.harmoniapp.configuration;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RelayDestinationMapperTest {
+
+    private final RelayDestinationMapper mapper = new RelayDestinationMapper();
+
+    @Test
+    public void toBrokerDestinationTest() {
+        assertEquals("/topic/client.group.5", mapper.toBrokerDestination("/client/group/5"));
+        assertEquals("/topic/client.group.5.readStatus", mapper.toBrokerDestination("/client/group/5/readStatus"));
+        assertEquals("/server/messages", mapper.toBrokerDestination("/server/messages"));
+        assertNull(mapper.toBrokerDestination(null));
+    }
+
+    @Test
+    public void toClientDestinationTest() {
+        assertEquals("/client/group/5", mapper.toClientDestination("/topic/client.group.5"));
+        assertEquals("/client/messages/readStatus/3", mapper.toClientDestination("/topic/client.messages.readStatus.3"));
+        assertEquals("/topic/other", mapper.toClientDestination("/topic/other"));
+        assertNull(mapper.toClientDestination(null));
+    }
+
+    @Test
+    public void toBrokerInterceptorTest() {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.SUBSCRIBE);
+        accessor.setDestination("/client/notifications/1");
+        Message<byte[]> message = MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+
+        Message<?> result = mapper.toBrokerInterceptor().preSend(message, null);
+
+        StompHeaderAccessor resultAccessor = StompHeaderAccessor.wrap(result);
+        assertEquals("/topic/client.notifications.1", resultAccessor.getDestination());
+        assertEquals("/topic/client.notifications.1", resultAccessor.getFirstNativeHeader(StompHeaderAccessor.STOMP_DESTINATION_HEADER));
+        assertEquals(StompCommand.SUBSCRIBE, resultAccessor.getCommand());
+    }
+
+    @Test
+    public void toClientInterceptorLeavesOtherMessagesTest() {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.CONNECTED);
+        Message<byte[]> message = MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+
+        assertSame(message, mapper.toClientInterceptor().preSend(message, null));
+    }
+}
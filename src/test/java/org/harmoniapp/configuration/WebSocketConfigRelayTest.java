@@ -0,0 +1,168 @@
+package org.harmoniapp.configuration;
+
+import org.apache.activemq.artemis.core.config.impl.ConfigurationImpl;
+import org.apache.activemq.artemis.core.server.embedded.EmbeddedActiveMQ;
+import org.harmoniapp.configuration.authmanagers.GroupSubscriptionValidator;
+import org.harmoniapp.services.auth.UserAuthenticationCache;
+import org.harmoniapp.services.chat.GroupMembershipCache;
+import org.harmoniapp.utils.JwtTokenUtil;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.SubscribableChannel;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.stomp.StompBrokerRelayMessageHandler;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.junit.jupiter.web.SpringJUnitWebConfig;
+import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
+
+import java.net.ServerSocket;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Runs the broker relay against an embedded ActiveMQ Artemis broker that, like RabbitMQ,
+ * only routes the {@code /topic/} destinations to topics.
+ */
+@SpringJUnitWebConfig(WebSocketConfigRelayTest.Config.class)
+public class WebSocketConfigRelayTest {
+
+    private static EmbeddedActiveMQ broker;
+
+    @Autowired
+    private StompBrokerRelayMessageHandler relayHandler;
+
+    @Autowired
+    @Qualifier("clientInboundChannel")
+    private SubscribableChannel clientInboundChannel;
+
+    @Autowired
+    @Qualifier("clientOutboundChannel")
+    private SubscribableChannel clientOutboundChannel;
+
+    @Autowired
+    private SimpMessagingTemplate messagingTemplate;
+
+    @Autowired
+    private GroupMembershipCache groupMembershipCache;
+
+    @DynamicPropertySource
+    public static void relayProperties(DynamicPropertyRegistry registry) throws Exception {
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        broker = new EmbeddedActiveMQ();
+        broker.setConfiguration(new ConfigurationImpl()
+                .setPersistenceEnabled(false)
+                .setSecurityEnabled(false)
+                .addAcceptorConfiguration("stomp", "tcp://localhost:" + port + "?protocols=STOMP;multicastPrefix=/topic/"));
+        broker.start();
+        registry.add("websocket.broker.relay.enabled", () -> "true");
+        registry.add("websocket.broker.relay.port", () -> port);
+    }
+
+    @AfterAll
+    public static void stopBroker() throws Exception {
+        broker.stop();
+    }
+
+    @Test
+    public void messageReachesSubscriberThroughRelayTest() throws Exception {
+        awaitBrokerAvailable();
+        BlockingQueue<Message<?>> received = new LinkedBlockingQueue<>();
+        MessageHandler handler = received::add;
+        clientOutboundChannel.subscribe(handler);
+        try {
+            when(groupMembershipCache.isMember(5L, 1L)).thenReturn(true);
+            UsernamePasswordAuthenticationToken user =
+                    new UsernamePasswordAuthenticationToken(new Principle(1L, "user@example.com"), null, List.of());
+
+            StompHeaderAccessor connect = StompHeaderAccessor.create(StompCommand.CONNECT);
+            connect.setSessionId("session1");
+            connect.setAcceptVersion("1.2");
+            connect.setHeartbeat(0, 0);
+            connect.setUser(user);
+            clientInboundChannel.send(MessageBuilder.createMessage(new byte[0], connect.getMessageHeaders()));
+            awaitFrame(received, StompCommand.CONNECTED);
+
+            StompHeaderAccessor subscribe = StompHeaderAccessor.create(StompCommand.SUBSCRIBE);
+            subscribe.setSessionId("session1");
+            subscribe.setSubscriptionId("sub1");
+            subscribe.setDestination("/client/group/5");
+            subscribe.setReceipt("receipt1");
+            subscribe.setUser(user);
+            clientInboundChannel.send(MessageBuilder.createMessage(new byte[0], subscribe.getMessageHeaders()));
+            awaitFrame(received, StompCommand.RECEIPT);
+
+            messagingTemplate.convertAndSend("/client/group/5", "hello");
+
+            StompHeaderAccessor message = awaitFrame(received, StompCommand.MESSAGE);
+            assertEquals("sub1", message.getSubscriptionId());
+            assertEquals("/client/group/5", message.getDestination());
+        } finally {
+            clientOutboundChannel.unsubscribe(handler);
+        }
+    }
+
+    private void awaitBrokerAvailable() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!relayHandler.isBrokerAvailable() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        assertTrue(relayHandler.isBrokerAvailable());
+    }
+
+    private StompHeaderAccessor awaitFrame(BlockingQueue<Message<?>> received, StompCommand command) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        Message<?> message;
+        while ((message = received.poll(Math.max(0, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS)) != null) {
+            StompHeaderAccessor accessor = StompHeaderAccessor.wrap(message);
+            if (command.equals(accessor.getCommand())) {
+                if (command == StompCommand.MESSAGE) {
+                    assertEquals("hello", new String((byte[]) message.getPayload(), StandardCharsets.UTF_8));
+                }
+                return accessor;
+            }
+        }
+        return fail("No " + command + " frame received");
+    }
+
+    @Configuration
+    @EnableWebSocketMessageBroker
+    @Import({WebSocketConfig.class, GroupSubscriptionValidator.class})
+    public static class Config {
+
+        @Bean
+        public JwtTokenUtil jwtTokenUtil() {
+            return mock(JwtTokenUtil.class);
+        }
+
+        @Bean
+        public UserAuthenticationCache userAuthenticationCache() {
+            return mock(UserAuthenticationCache.class);
+        }
+
+        @Bean
+        public GroupMembershipCache groupMembershipCache() {
+            return mock(GroupMembershipCache.class);
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package org.harmoniapp.configuration.authmanagers;
+
+import org.harmoniapp.configuration.Principle;
+import org.harmoniapp.services.chat.GroupMembershipCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class GroupSubscriptionValidatorTest {
+
+    private GroupMembershipCache groupMembershipCache;
+    private GroupSubscriptionValidator validator;
+
+    @BeforeEach
+    public void setUp() {
+        groupMembershipCache = mock(GroupMembershipCache.class);
+        validator = new GroupSubscriptionValidator(groupMembershipCache);
+    }
+
+    @Test
+    public void validateMemberTest() {
+        when(groupMembershipCache.isMember(5L, 1L)).thenReturn(true);
+
+        assertDoesNotThrow(() -> validator.validate(subscribe("/client/group/5", 1L)));
+        assertDoesNotThrow(() -> validator.validate(subscribe("/client/group/5/readStatus", 1L)));
+    }
+
+    @Test
+    public void validateNonMemberTest() {
+        when(groupMembershipCache.isMember(5L, 2L)).thenReturn(false);
+
+        assertThrows(AccessDeniedException.class, () -> validator.validate(subscribe("/client/group/5", 2L)));
+    }
+
+    @Test
+    public void validateMalformedGroupDestinationTest() {
+        assertThrows(AccessDeniedException.class, () -> validator.validate(subscribe("/client/group/x", 1L)));
+        assertThrows(AccessDeniedException.class, () -> validator.validate(subscribe("/client/group/", 1L)));
+        assertThrows(AccessDeniedException.class, () -> validator.validate(subscribe("/client/group/99999999999999999999", 1L)));
+        verifyNoInteractions(groupMembershipCache);
+    }
+
+    @Test
+    public void validateMissingPrincipalTest() {
+        assertThrows(AccessDeniedException.class, () -> validator.validate(subscribe("/client/group/5", null)));
+        verifyNoInteractions(groupMembershipCache);
+    }
+
+    @Test
+    public void validateDottedGroupDestinationTest() {
+        when(groupMembershipCache.isMember(5L, 2L)).thenReturn(false);
+
+        assertThrows(AccessDeniedException.class, () -> validator.validate(subscribe("/client/group.5", 2L)));
+        assertThrows(AccessDeniedException.class, () -> validator.validate(subscribe("/client/group.5.readStatus", 2L)));
+        verify(groupMembershipCache, times(2)).isMember(5L, 2L);
+    }
+
+    @Test
+    public void validateWildcardDestinationTest() {
+        for (String destination : List.of("/client/*/5", "/client/**", "/client/group.*", "/client/#",
+                "/client/group/?", "/client/{group}/5", "/user/*")) {
+            assertThrows(AccessDeniedException.class, () -> validator.validate(subscribe(destination, 1L)), destination);
+        }
+        verifyNoInteractions(groupMembershipCache);
+    }
+
+    @Test
+    public void validateBrokerDestinationTest() {
+        assertThrows(AccessDeniedException.class, () -> validator.validate(subscribe("/topic/client.group.5", 1L)));
+        assertThrows(AccessDeniedException.class, () -> validator.validate(subscribe("/topic/client.notifications.1", 1L)));
+        verifyNoInteractions(groupMembershipCache);
+    }
+
+    @Test
+    public void validateOtherDestinationTest() {
+        assertDoesNotThrow(() -> validator.validate(subscribe("/client/groups/5", null)));
+        assertDoesNotThrow(() -> validator.validate(subscribe("/client/notifications/1", null)));
+        verifyNoInteractions(groupMembershipCache);
+    }
+
+    private StompHeaderAccessor subscribe(String destination, Long userId) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.SUBSCRIBE);
+        accessor.setDestination(destination);
+        if (userId != null) {
+            accessor.setUser(new UsernamePasswordAuthenticationToken(new Principle(userId, "user@example.com"), null, List.of()));
+        }
+        return accessor;
+    }
+}
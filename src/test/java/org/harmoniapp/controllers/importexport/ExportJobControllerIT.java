@@ -0,0 +1,77 @@
+package org.harmoniapp.controllers.importexport;
+
+import org.harmoniapp.contracts.auth.LoginRequestDto;
+import org.harmoniapp.services.auth.LoginService;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultHandlers;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.UUID;
+
+/**
+ * Test class for {@link ExportJobController} class
+ */
+@SpringBootTest
+@ExtendWith(SpringExtension.class)
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@Transactional
+public class ExportJobControllerIT {
+
+    private final MockMvc mockMvc;
+    private static String jwtAdmin;
+
+    @Autowired
+    public ExportJobControllerIT(MockMvc mockMvc) {
+        this.mockMvc = mockMvc;
+    }
+
+    @BeforeAll
+    public static void setUp(@Autowired LoginService loginService) {
+        // Login as an admin to get a JWT token
+        var credentialsAdmin = new LoginRequestDto("jan.kowalski@example.com", "StrongPassword!2137");
+        jwtAdmin = loginService.login(credentialsAdmin).jwtToken();
+    }
+
+    @Test
+    public void submitTest() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.post("/export-jobs")
+                        .header("Authorization", "Bearer " + jwtAdmin)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"type\": \"USERS_PDF\"}"))
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.status().isAccepted())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.id").exists());
+    }
+
+    @Test
+    public void submitMissingDateTest() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.post("/export-jobs")
+                        .header("Authorization", "Bearer " + jwtAdmin)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"type\": \"SCHEDULE_XLSX\", \"start_date\": \"2025-01-06\"}"))
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+    }
+
+    @Test
+    public void getJobNotFoundTest() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/export-jobs/" + UUID.randomUUID())
+                        .header("Authorization", "Bearer " + jwtAdmin))
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.status().isNotFound());
+    }
+}
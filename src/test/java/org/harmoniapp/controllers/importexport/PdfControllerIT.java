@@ -54,6 +54,27 @@ public class PdfControllerIT {
                 .andExpect(MockMvcResultMatchers.content().contentType(MediaType.APPLICATION_PDF));
     }
 
+    @Test
+    public void generatePdfForMultipleWeeksTest() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/pdf/generate-pdf-shift")
+                        .param("startOfWeek", "2025-01-06")
+                        .param("weeks", "4")
+                        .header("Authorization", "Bearer " + jwtAdmin))
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.content().contentType(MediaType.APPLICATION_PDF));
+    }
+
+    @Test
+    public void generatePdfForTooManyWeeksTest() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/pdf/generate-pdf-shift")
+                        .param("startOfWeek", "2025-01-06")
+                        .param("weeks", "13")
+                        .header("Authorization", "Bearer " + jwtAdmin))
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+    }
+
     @Test
     public void generatePdfForWeekInvalidDateTest() throws Exception {
         mockMvc.perform(MockMvcRequestBuilders.get("/pdf/generate-pdf-shift")
@@ -118,4 +118,33 @@ public class NotificationControllerIT {
                 .andDo(MockMvcResultHandlers.print())
                 .andExpect(MockMvcResultMatchers.status().isForbidden());
     }
+
+    @Test
+    public void getNotificationsPageByUserIdTest() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/notification/user/1/page")
+                        .param("pageSize", "1")
+                        .header("Authorization", "Bearer " + jwt))
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content").isArray())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.pageSize").value(1));
+    }
+
+    @Test
+    public void countUnreadNotificationsByUserIdTest() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/notification/user/1/unread/count")
+                        .header("Authorization", "Bearer " + jwt))
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$").isNumber());
+    }
+
+    @Test
+    public void countUnreadNotificationsOfAnotherUserTest() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/notification/user/2/unread/count")
+                        .header("Authorization", "Bearer " + jwt))
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.status().isForbidden());
+    }
 }
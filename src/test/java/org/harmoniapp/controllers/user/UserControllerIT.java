@@ -82,6 +82,25 @@ public class UserControllerIT {
                 .andExpect(MockMvcResultMatchers.status().isForbidden());
     }
 
+    @Test
+    public void getUserListAsAdminTest() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/user/list")
+                        .header("Authorization", "Bearer " + jwtAdmin))
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content").isArray())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content[0].residence").doesNotExist());
+    }
+
+    @Test
+    public void getUserListAsUserTest() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/user/list")
+                        .header("Authorization", "Bearer " + jwtUser))
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.status().isForbidden());
+    }
+
     @Test
     public void getAllUserWithQueryParamTest() throws Exception {
         mockMvc.perform(MockMvcRequestBuilders.get("/user")
@@ -2,6 +2,7 @@ package org.harmoniapp.controllers.user;
 
 import org.harmoniapp.contracts.auth.LoginRequestDto;
 import org.harmoniapp.services.auth.LoginService;
+import org.hamcrest.Matchers;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInstance;
@@ -58,6 +59,22 @@ public class UserPhotoControllerIT {
                 .andExpect(MockMvcResultMatchers.content().contentType(MediaType.IMAGE_JPEG));
     }
 
+    @Test
+    public void getUserPhotoNotModifiedTest() throws Exception {
+        String eTag = mockMvc.perform(MockMvcRequestBuilders.get("/user/3/photo")
+                        .header("Authorization", "Bearer " + jwtUser))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().exists("ETag"))
+                .andExpect(MockMvcResultMatchers.header().string("Cache-Control", "max-age=60, private"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/user/3/photo")
+                        .header("Authorization", "Bearer " + jwtUser)
+                        .header("If-None-Match", eTag))
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.status().isNotModified());
+    }
+
     @Test
     public void getUserPhotoInvalidIdTest() throws Exception {
         mockMvc.perform(MockMvcRequestBuilders.get("/user/0/photo")
@@ -98,7 +115,7 @@ public class UserPhotoControllerIT {
                         .header("Authorization", "Bearer " + jwtUser))
                 .andDo(MockMvcResultHandlers.print())
                 .andExpect(MockMvcResultMatchers.status().isOk())
-                .andExpect(MockMvcResultMatchers.jsonPath("$.photo").value("3_test_photo.jpg"));
+                .andExpect(MockMvcResultMatchers.jsonPath("$.photo").value(Matchers.matchesPattern("[0-9a-f]{64}\\.jpg")));
     }
 
     @Test
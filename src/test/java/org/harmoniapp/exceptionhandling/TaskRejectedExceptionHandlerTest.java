@@ -0,0 +1,30 @@
+package org.harmoniapp.exceptionhandling;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TaskRejectedExceptionHandlerTest {
+
+    private final TaskRejectedExceptionHandler handler = new TaskRejectedExceptionHandler();
+
+    @Test
+    public void handleTaskRejectedTest() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/excel/users/export-excel");
+
+        ResponseEntity<Map<String, Object>> response = handler.handleTaskRejected(request, new TaskRejectedException("full"));
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertEquals(TaskRejectedExceptionHandler.RETRY_AFTER_SECONDS, response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        assertNotNull(response.getBody());
+        assertEquals(503, response.getBody().get("status"));
+        assertEquals("/excel/users/export-excel", response.getBody().get("path"));
+    }
+}
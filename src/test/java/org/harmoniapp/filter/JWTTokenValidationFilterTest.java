@@ -0,0 +1,36 @@
+package org.harmoniapp.filter;
+
+import org.harmoniapp.services.auth.TokenRevocationService;
+import org.harmoniapp.utils.JwtTokenUtil;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class JWTTokenValidationFilterTest {
+
+    private final JWTTokenValidationFilter filter =
+            new JWTTokenValidationFilter(mock(JwtTokenUtil.class), mock(TokenRevocationService.class));
+
+    @Test
+    public void shouldNotFilterPublicEndpointsTest() throws Exception {
+        assertTrue(filter.shouldNotFilter(request("/login")));
+        assertTrue(filter.shouldNotFilter(request("/ws/info")));
+        assertTrue(filter.shouldNotFilter(request("/actuator/health")));
+        assertTrue(filter.shouldNotFilter(request("/actuator/health/liveness")));
+    }
+
+    @Test
+    public void shouldFilterProtectedEndpointsTest() throws Exception {
+        assertFalse(filter.shouldNotFilter(request("/actuator/metrics")));
+        assertFalse(filter.shouldNotFilter(request("/actuator/healthz")));
+        assertFalse(filter.shouldNotFilter(request("/user/1")));
+    }
+
+    private MockHttpServletRequest request(String path) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        request.setServletPath(path);
+        return request;
+    }
+}
@@ -0,0 +1,179 @@
+package org.harmoniapp.repositories.user;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.harmoniapp.entities.profile.Address;
+import org.harmoniapp.entities.profile.ContractType;
+import org.harmoniapp.entities.profile.Role;
+import org.harmoniapp.entities.user.User;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the entity graphs of {@link UserRepository}.
+ * The repository is called outside of a transaction, so a relation missing from a graph fails with
+ * a {@code LazyInitializationException}, like in the code running outside the open-session-in-view interceptor.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class UserRepositoryIT {
+    private static final String PASSWORD = "$2a$10$" + "a".repeat(53);
+
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final List<Object> created = new ArrayList<>();
+    private Statistics statistics;
+
+    /**
+     * Repository slice without the web and messaging configuration of the application.
+     */
+    @SpringBootConfiguration
+    @EntityScan("org.harmoniapp.entities")
+    @EnableJpaRepositories(basePackageClasses = UserRepository.class)
+    static class RepositoryConfig {
+    }
+
+    @BeforeAll
+    public void setUpUsers() {
+        inTransaction(entityManager -> {
+            Role role = new Role(null, "Grafy", "#123456");
+            ContractType contractType = new ContractType(null, "Umowa grafy", 26);
+            Address address = Address.builder()
+                    .zipCode("00-001")
+                    .city("Warszawa")
+                    .street("Marszalkowska")
+                    .buildingNumber("1")
+                    .build();
+            User supervisor = user(0, address, contractType, null, role);
+            List.of(role, contractType, address, supervisor).forEach(entityManager::persist);
+            created.addAll(List.of(role, contractType, address, supervisor));
+            for (int i = 1; i <= 4; i++) {
+                User user = user(i, address, contractType, supervisor, role);
+                entityManager.persist(user);
+                created.add(user);
+            }
+        });
+    }
+
+    @AfterAll
+    public void tearDownUsers() {
+        inTransaction(entityManager -> created.reversed().forEach(entity ->
+                entityManager.remove(entityManager.merge(entity))));
+    }
+
+    @BeforeEach
+    public void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    public void findByEmailLoadsRolesTest() {
+        User user = userRepository.findByEmail("graph-test-1@example.com").orElseThrow();
+
+        assertEquals(List.of("Grafy"), user.getRoles().stream().map(Role::getName).toList());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    public void findAllByIsActiveTrueLoadsListRelationsTest() {
+        Page<User> page = userRepository.findAllByIsActiveTrue(PageRequest.of(0, 3, Sort.by("id")));
+
+        assertEquals(3, page.getNumberOfElements());
+        for (User user : page) {
+            assertNotNull(user.getResidence().getCity());
+            if (user.getContractType() != null) {
+                assertNotNull(user.getContractType().getName());
+            }
+            if (user.getWorkAddress() != null) {
+                assertNotNull(user.getWorkAddress().getCity());
+            }
+            if (user.getSupervisor() != null) {
+                assertNotNull(user.getSupervisor().getFirstname());
+            }
+        }
+        assertEquals(2, statistics.getPrepareStatementCount(), "the page and count queries only");
+    }
+
+    @Test
+    public void findByIdAndIsActiveTrueLoadsAllRelationsTest() {
+        Long id = ((User) created.get(4)).getId();
+
+        User user = userRepository.findByIdAndIsActiveTrue(id).orElseThrow();
+
+        assertEquals("Umowa grafy", user.getContractType().getName());
+        assertEquals("Warszawa", user.getWorkAddress().getCity());
+        assertEquals("Anna", user.getSupervisor().getFirstname());
+        assertEquals(1, user.getRoles().size());
+        assertTrue(user.getLanguages().isEmpty());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    private void inTransaction(Consumer<EntityManager> action) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            EntityManager entityManager = entityManagerFactory.createEntityManager();
+            entityManager.joinTransaction();
+            action.accept(entityManager);
+            entityManager.flush();
+            entityManager.close();
+        });
+    }
+
+    private static User user(int number, Address address, ContractType contractType, User supervisor, Role role) {
+        return User.builder()
+                .firstname(supervisor == null ? "Anna" : "Jan")
+                .surname("Grafowa")
+                .email("graph-test-" + number + "@example.com")
+                .password(PASSWORD)
+                .contractType(contractType)
+                .residence(address)
+                .workAddress(address)
+                .supervisor(supervisor)
+                .phoneNumber("123456789")
+                .employeeId("GRAPH-" + number)
+                .photo("default.jpg")
+                .failedLoginAttempts(0)
+                .passwordExpirationDate(LocalDate.now().plusDays(30))
+                .isActive(true)
+                .availableAbsenceDays(26)
+                .unusedAbsenceDays(0)
+                .roles(Set.of(role))
+                .languages(Set.of())
+                .build();
+    }
+}
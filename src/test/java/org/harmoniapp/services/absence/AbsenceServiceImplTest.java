@@ -1,5 +1,6 @@
 package org.harmoniapp.services.absence;
 
+import org.harmoniapp.contracts.CursorPageDto;
 import org.harmoniapp.contracts.PageDto;
 import org.harmoniapp.contracts.absence.AbsenceDto;
 import org.harmoniapp.contracts.absence.StatusDto;
@@ -139,6 +140,40 @@ public class AbsenceServiceImplTest {
         assertEquals(1, result.content().size());
     }
 
+    @Test
+    public void getPageByStatusTest() {
+        List<Absence> absences = List.of(absence(9L), absence(7L), absence(4L));
+        when(repositoryCollector.getAbsences()).thenReturn(absenceRepository);
+        when(absenceRepository.findAbsenceByStatusIdBefore(1L, 10L, Limit.of(3))).thenReturn(absences);
+
+        CursorPageDto<AbsenceDto> result = absenceService.getPageByStatus(1L, 10L, 2);
+
+        assertEquals(List.of(9L, 7L), result.content().stream().map(AbsenceDto::id).toList());
+        assertEquals(7L, result.nextCursor());
+    }
+
+    @Test
+    public void getPageLastPageTest() {
+        when(repositoryCollector.getAbsences()).thenReturn(absenceRepository);
+        when(absenceRepository.findAllWithActiveUsersBefore(null, Limit.of(11))).thenReturn(List.of(absence(1L)));
+
+        CursorPageDto<AbsenceDto> result = absenceService.getPage(null, 10);
+
+        assertEquals(1, result.content().size());
+        assertNull(result.nextCursor());
+    }
+
+    private Absence absence(long id) {
+        return Absence.builder()
+                .id(id)
+                .start(LocalDate.now())
+                .end(LocalDate.now().plusDays(4))
+                .absenceType(new AbsenceType(1L, "Sick leave"))
+                .user(User.builder().id(1L).build())
+                .status(new Status(1L, "Awaiting"))
+                .build();
+    }
+
     @Test
     public void createTest() {
         LocalDate start = LocalDate.now();
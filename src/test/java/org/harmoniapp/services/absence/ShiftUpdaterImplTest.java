@@ -5,6 +5,7 @@ import org.harmoniapp.entities.schedule.Shift;
 import org.harmoniapp.entities.user.User;
 import org.harmoniapp.repositories.RepositoryCollector;
 import org.harmoniapp.repositories.schedule.ShiftRepository;
+import org.harmoniapp.services.schedule.ScheduleVersionService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -27,6 +28,9 @@ public class ShiftUpdaterImplTest {
     @Mock
     private ShiftRepository shiftRepository;
 
+    @Mock
+    private ScheduleVersionService scheduleVersionService;
+
     @InjectMocks
     private ShiftUpdaterImpl shiftUpdater;
 
@@ -41,6 +41,12 @@ public class LoginServiceImplTest {
     @Mock
     private JwtTokenUtil jwtTokenUtil;
 
+    @Mock
+    private TokenRevocationService tokenRevocationService;
+
+    @Mock
+    private UserAuthenticationCache userAuthenticationCache;
+
     @InjectMocks
     private LoginServiceImpl loginService;
 
@@ -106,4 +112,17 @@ public class LoginServiceImplTest {
 
         assertThrows(AccessDeniedException.class, () -> loginService.login(loginRequest));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void loginInvalidCredentialsLockoutTest() {
+        LoginRequestDto loginRequest = new LoginRequestDto("user@example.com", "password");
+        when(repositoryCollector.getUsers()).thenReturn(userRepository);
+        when(userRepository.findByEmail(loginRequest.username())).thenReturn(Optional.of(user));
+        when(authenticationManager.authenticate(any(Authentication.class))).thenThrow(new BadCredentialsException("Invalid credentials"));
+        when(user.getFailedLoginAttempts()).thenReturn(2, 3);
+        when(user.getId()).thenReturn(1L);
+
+        assertThrows(AccessDeniedException.class, () -> loginService.login(loginRequest));
+        verify(tokenRevocationService).revokeTokens(1L);
+    }
+}
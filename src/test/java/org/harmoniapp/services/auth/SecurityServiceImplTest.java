@@ -4,15 +4,11 @@ import org.harmoniapp.configuration.Principle;
 import org.harmoniapp.contracts.absence.AbsenceDto;
 import org.harmoniapp.contracts.chat.ChatRequestDto;
 import org.harmoniapp.contracts.chat.MessageDto;
-import org.harmoniapp.entities.chat.Group;
-import org.harmoniapp.entities.notification.Notification;
-import org.harmoniapp.entities.schedule.Shift;
-import org.harmoniapp.entities.user.User;
 import org.harmoniapp.repositories.RepositoryCollector;
 import org.harmoniapp.repositories.absence.AbsenceRepository;
-import org.harmoniapp.repositories.chat.GroupRepository;
 import org.harmoniapp.repositories.notification.NotificationRepository;
 import org.harmoniapp.repositories.schedule.ShiftRepository;
+import org.harmoniapp.services.chat.GroupMembershipCache;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -20,9 +16,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.core.Authentication;
 
-import java.util.HashSet;
 import java.util.List;
-import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -43,7 +37,7 @@ public class SecurityServiceImplTest {
     private AbsenceRepository absenceRepository;
 
     @Mock
-    private GroupRepository groupRepository;
+    private GroupMembershipCache groupMembershipCache;
 
     @Mock
     private Authentication authentication;
@@ -56,14 +50,10 @@ public class SecurityServiceImplTest {
 
     @Test
     public void isNotificationOwnerTest() {
-        Notification notification = mock(Notification.class);
-        User user = mock(User.class);
         when(repositoryCollector.getNotifications()).thenReturn(notificationRepository);
-        when(notificationRepository.findById(1L)).thenReturn(Optional.of(notification));
         when(authentication.getPrincipal()).thenReturn(principle);
         when(principle.id()).thenReturn(1L);
-        when(notification.getUser()).thenReturn(user);
-        when(user.getId()).thenReturn(1L);
+        when(notificationRepository.existsByIdAndUserId(1L, 1L)).thenReturn(true);
 
         boolean result = securityService.isNotificationOwner(1L, authentication);
 
@@ -73,7 +63,9 @@ public class SecurityServiceImplTest {
     @Test
     public void isNotificationOwnerNotFoundTest() {
         when(repositoryCollector.getNotifications()).thenReturn(notificationRepository);
-        when(notificationRepository.findById(1L)).thenReturn(Optional.empty());
+        when(authentication.getPrincipal()).thenReturn(principle);
+        when(principle.id()).thenReturn(1L);
+        when(notificationRepository.existsByIdAndUserId(1L, 1L)).thenReturn(false);
 
         boolean result = securityService.isNotificationOwner(1L, authentication);
 
@@ -82,14 +74,10 @@ public class SecurityServiceImplTest {
 
     @Test
     public void isShiftOwnerTest() {
-        Shift shift = mock(Shift.class);
-        User user = mock(User.class);
         when(repositoryCollector.getShifts()).thenReturn(shiftRepository);
-        when(shiftRepository.findById(1L)).thenReturn(Optional.of(shift));
         when(authentication.getPrincipal()).thenReturn(principle);
         when(principle.id()).thenReturn(1L);
-        when(shift.getUser()).thenReturn(user);
-        when(user.getId()).thenReturn(1L);
+        when(shiftRepository.existsByIdAndUserId(1L, 1L)).thenReturn(true);
 
         boolean result = securityService.isShiftOwner(1L, authentication);
 
@@ -99,7 +87,9 @@ public class SecurityServiceImplTest {
     @Test
     public void isShiftOwnerNotFoundTest() {
         when(repositoryCollector.getShifts()).thenReturn(shiftRepository);
-        when(shiftRepository.findById(1L)).thenReturn(Optional.empty());
+        when(authentication.getPrincipal()).thenReturn(principle);
+        when(principle.id()).thenReturn(1L);
+        when(shiftRepository.existsByIdAndUserId(1L, 1L)).thenReturn(false);
 
         boolean result = securityService.isShiftOwner(1L, authentication);
 
@@ -174,12 +164,7 @@ public class SecurityServiceImplTest {
         when(authentication.getPrincipal()).thenReturn(principle);
         when(principle.id()).thenReturn(1L);
         when(chatRequestDto.groupId()).thenReturn(1L);
-        when(repositoryCollector.getGroups()).thenReturn(groupRepository);
-        Group group = mock(Group.class);
-        when(groupRepository.findById(1L)).thenReturn(Optional.of(group));
-        User user = mock(User.class);
-        when(group.getMembers()).thenReturn(new HashSet<>(List.of(user)));
-        when(user.getId()).thenReturn(2L);
+        when(groupMembershipCache.isMember(1L, 1L)).thenReturn(false);
 
         boolean result = securityService.canMarkAllMessagesAsRead(chatRequestDto, authentication);
 
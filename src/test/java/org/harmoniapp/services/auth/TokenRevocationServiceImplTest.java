@@ -0,0 +1,120 @@
+package org.harmoniapp.services.auth;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.harmoniapp.entities.user.User;
+import org.harmoniapp.repositories.RepositoryCollector;
+import org.harmoniapp.repositories.user.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class TokenRevocationServiceImplTest {
+    private static final String USERNAME = "user@example.com";
+
+    private RepositoryCollector repositoryCollector;
+    private UserRepository userRepository;
+    private User user;
+
+    @BeforeEach
+    public void setUp() {
+        user = User.builder()
+                .id(1L)
+                .email(USERNAME)
+                .password("{bcrypt}hash")
+                .isActive(true)
+                .failedLoginAttempts(0)
+                .roles(Set.of())
+                .build();
+        repositoryCollector = mock(RepositoryCollector.class);
+        userRepository = mock(UserRepository.class);
+        when(repositoryCollector.getUsers()).thenReturn(userRepository);
+        when(userRepository.findByEmail(USERNAME)).thenAnswer(invocation -> Optional.of(copy(user)));
+        doAnswer(invocation -> {
+            user.setTokensValidSince(invocation.getArgument(1));
+            return null;
+        }).when(userRepository).updateTokensValidSince(eq(1L), any());
+    }
+
+    @Test
+    public void isRevokedValidTokenTest() {
+        UserAuthenticationCache cache = mock(UserAuthenticationCache.class);
+        when(cache.get(USERNAME)).thenReturn(new UserAuthenticationView(USERNAME, true, true, false, List.of(), Instant.EPOCH));
+        TokenRevocationServiceImpl tokenRevocationService = new TokenRevocationServiceImpl(repositoryCollector, cache);
+
+        assertFalse(tokenRevocationService.isRevoked(1L, USERNAME, Instant.now().minus(1, ChronoUnit.HOURS)));
+    }
+
+    @Test
+    public void isRevokedInactiveUserTest() {
+        UserAuthenticationCache cache = mock(UserAuthenticationCache.class);
+        when(cache.get(USERNAME)).thenThrow(new UsernameNotFoundException("Nieprawidłowy login lub hasło"));
+        TokenRevocationServiceImpl tokenRevocationService = new TokenRevocationServiceImpl(repositoryCollector, cache);
+
+        assertTrue(tokenRevocationService.isRevoked(1L, USERNAME, Instant.now()));
+    }
+
+    @Test
+    public void revokeTokensTest() {
+        UserAuthenticationCache cache = cache(Clock.systemUTC());
+        TokenRevocationServiceImpl tokenRevocationService = new TokenRevocationServiceImpl(repositoryCollector, cache);
+        Instant issuedBefore = Instant.now().minus(1, ChronoUnit.MINUTES);
+
+        tokenRevocationService.revokeTokens(1L);
+        cache.evict(USERNAME);
+
+        assertTrue(tokenRevocationService.isRevoked(1L, USERNAME, issuedBefore));
+        assertFalse(tokenRevocationService.isRevoked(1L, USERNAME, Instant.now().plusSeconds(1)));
+        verify(userRepository).updateTokensValidSince(eq(1L), any());
+    }
+
+    @Test
+    public void revokeTokensSeenByAnotherInstanceTest() {
+        Clock otherClock = mock(Clock.class);
+        Instant now = Instant.now();
+        when(otherClock.instant()).thenReturn(now);
+        UserAuthenticationCache cache = cache(Clock.systemUTC());
+        UserAuthenticationCache otherCache = cache(otherClock);
+        TokenRevocationServiceImpl instance = new TokenRevocationServiceImpl(repositoryCollector, cache);
+        TokenRevocationServiceImpl otherInstance = new TokenRevocationServiceImpl(repositoryCollector, otherCache);
+        Instant issuedAt = now.minus(1, ChronoUnit.HOURS);
+        assertFalse(otherInstance.isRevoked(1L, USERNAME, issuedAt));
+
+        instance.revokeTokens(1L);
+        cache.evict(USERNAME);
+
+        assertTrue(instance.isRevoked(1L, USERNAME, issuedAt));
+        assertTrue(new TokenRevocationServiceImpl(repositoryCollector, cache(Clock.systemUTC())).isRevoked(1L, USERNAME, issuedAt));
+        assertFalse(otherInstance.isRevoked(1L, USERNAME, issuedAt));
+        when(otherClock.instant()).thenReturn(now.plus(Duration.ofMinutes(6)));
+        assertTrue(otherInstance.isRevoked(1L, USERNAME, issuedAt));
+    }
+
+    private UserAuthenticationCache cache(Clock clock) {
+        return new UserAuthenticationCacheImpl(repositoryCollector, new SimpleMeterRegistry(), 10, Duration.ofMinutes(5), clock);
+    }
+
+    private User copy(User user) {
+        return User.builder()
+                .id(user.getId())
+                .email(user.getEmail())
+                .password(user.getPassword())
+                .isActive(user.getIsActive())
+                .failedLoginAttempts(user.getFailedLoginAttempts())
+                .roles(user.getRoles())
+                .tokensValidSince(user.getTokensValidSince())
+                .build();
+    }
+}
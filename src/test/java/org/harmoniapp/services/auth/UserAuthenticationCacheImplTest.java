@@ -0,0 +1,119 @@
+package org.harmoniapp.services.auth;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.harmoniapp.entities.profile.Role;
+import org.harmoniapp.entities.user.User;
+import org.harmoniapp.repositories.RepositoryCollector;
+import org.harmoniapp.repositories.user.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class UserAuthenticationCacheImplTest {
+
+    private UserRepository userRepository;
+    private Clock clock;
+    private SimpleMeterRegistry meterRegistry;
+    private UserAuthenticationCacheImpl cache;
+
+    @BeforeEach
+    public void setUp() {
+        RepositoryCollector repositoryCollector = mock(RepositoryCollector.class);
+        userRepository = mock(UserRepository.class);
+        when(repositoryCollector.getUsers()).thenReturn(userRepository);
+        clock = mock(Clock.class);
+        when(clock.instant()).thenReturn(Instant.parse("2024-05-06T08:00:00Z"));
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new UserAuthenticationCacheImpl(repositoryCollector, meterRegistry, 2, Duration.ofMinutes(5), clock);
+    }
+
+    @Test
+    public void getCachesViewTest() {
+        when(userRepository.findByEmail("admin@example.com")).thenReturn(Optional.of(user("admin@example.com", "ADMIN", 0)));
+
+        UserAuthenticationView first = cache.get("admin@example.com");
+        UserAuthenticationView second = cache.get("admin@example.com");
+
+        assertEquals(List.of("ROLE_ADMIN"), first.authorities().stream().map(GrantedAuthority::getAuthority).toList());
+        assertSame(first, second);
+        verify(userRepository, times(1)).findByEmail("admin@example.com");
+        assertEquals(1, meterRegistry.get("cache.gets").tag("result", "hit").counter().count());
+        assertEquals(1, meterRegistry.get("cache.gets").tag("result", "miss").counter().count());
+    }
+
+    @Test
+    public void getExpiredViewTest() {
+        when(userRepository.findByEmail("user@example.com")).thenReturn(Optional.of(user("user@example.com", "Kasjer", 0)));
+        cache.get("user@example.com");
+
+        when(clock.instant()).thenReturn(Instant.parse("2024-05-06T08:06:00Z"));
+        cache.get("user@example.com");
+
+        verify(userRepository, times(2)).findByEmail("user@example.com");
+    }
+
+    @Test
+    public void evictTest() {
+        when(userRepository.findByEmail("user@example.com")).thenReturn(Optional.of(user("user@example.com", "Kasjer", 0)));
+        cache.get("user@example.com");
+
+        cache.evict("user@example.com");
+        cache.get("user@example.com");
+
+        verify(userRepository, times(2)).findByEmail("user@example.com");
+    }
+
+    @Test
+    public void getEvictsLeastRecentlyUsedTest() {
+        for (String email : List.of("a@example.com", "b@example.com", "c@example.com")) {
+            when(userRepository.findByEmail(email)).thenReturn(Optional.of(user(email, "Kasjer", 0)));
+        }
+        cache.get("a@example.com");
+        cache.get("b@example.com");
+        cache.get("a@example.com");
+        cache.get("c@example.com");
+
+        cache.get("a@example.com");
+        cache.get("b@example.com");
+
+        verify(userRepository, times(1)).findByEmail("a@example.com");
+        verify(userRepository, times(2)).findByEmail("b@example.com");
+    }
+
+    @Test
+    public void getLockedUserTest() {
+        when(userRepository.findByEmail("user@example.com")).thenReturn(Optional.of(user("user@example.com", "Kasjer", 3)));
+
+        assertThrows(UsernameNotFoundException.class, () -> cache.get("user@example.com"));
+        assertThrows(UsernameNotFoundException.class, () -> cache.get("user@example.com"));
+        verify(userRepository, times(1)).findByEmail("user@example.com");
+    }
+
+    @Test
+    public void getUserNotFoundTest() {
+        when(userRepository.findByEmail("user@example.com")).thenReturn(Optional.empty());
+
+        assertThrows(UsernameNotFoundException.class, () -> cache.get("user@example.com"));
+    }
+
+    private User user(String email, String role, int failedLoginAttempts) {
+        return User.builder()
+                .email(email)
+                .password("{bcrypt}hash")
+                .isActive(true)
+                .failedLoginAttempts(failedLoginAttempts)
+                .roles(Set.of(new Role(1L, role, "#000000")))
+                .build();
+    }
+}
@@ -0,0 +1,101 @@
+package org.harmoniapp.services.chat;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.harmoniapp.repositories.RepositoryCollector;
+import org.harmoniapp.repositories.chat.GroupRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class GroupMembershipCacheImplTest {
+
+    private GroupRepository groupRepository;
+    private Clock clock;
+    private SimpleMeterRegistry meterRegistry;
+    private GroupMembershipCacheImpl cache;
+
+    @BeforeEach
+    public void setUp() {
+        RepositoryCollector repositoryCollector = mock(RepositoryCollector.class);
+        groupRepository = mock(GroupRepository.class);
+        when(repositoryCollector.getGroups()).thenReturn(groupRepository);
+        clock = mock(Clock.class);
+        when(clock.instant()).thenReturn(Instant.parse("2024-05-06T08:00:00Z"));
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new GroupMembershipCacheImpl(repositoryCollector, meterRegistry, 2, Duration.ofMinutes(1), clock);
+    }
+
+    @Test
+    public void isMemberCachesMembersTest() {
+        when(groupRepository.findMemberIdsById(1L)).thenReturn(List.of(1L, 5L));
+
+        assertTrue(cache.isMember(1L, 5L));
+        assertTrue(cache.isMember(1L, 1L));
+        assertFalse(cache.isMember(1L, 2L));
+
+        verify(groupRepository, times(1)).findMemberIdsById(1L);
+        assertEquals(2, meterRegistry.get("cache.gets").tag("result", "hit").counter().count());
+        assertEquals(1, meterRegistry.get("cache.gets").tag("result", "miss").counter().count());
+    }
+
+    @Test
+    public void isMemberGroupNotFoundTest() {
+        when(groupRepository.findMemberIdsById(1L)).thenReturn(List.of());
+
+        assertFalse(cache.isMember(1L, 1L));
+    }
+
+    @Test
+    public void isMemberExpiredTest() {
+        when(groupRepository.findMemberIdsById(1L)).thenReturn(List.of(1L));
+        cache.isMember(1L, 1L);
+
+        when(clock.instant()).thenReturn(Instant.parse("2024-05-06T08:02:00Z"));
+        cache.isMember(1L, 1L);
+
+        verify(groupRepository, times(2)).findMemberIdsById(1L);
+    }
+
+    @Test
+    public void evictTest() {
+        when(groupRepository.findMemberIdsById(1L)).thenReturn(List.of(1L), List.of(1L, 2L));
+        assertFalse(cache.isMember(1L, 2L));
+
+        cache.evict(1L);
+
+        assertTrue(cache.isMember(1L, 2L));
+    }
+
+    @Test
+    public void isMemberEvictsLeastRecentlyUsedTest() {
+        when(groupRepository.findMemberIdsById(anyLong())).thenReturn(List.of(1L));
+        cache.isMember(1L, 1L);
+        cache.isMember(2L, 1L);
+        cache.isMember(1L, 1L);
+        cache.isMember(3L, 1L);
+
+        cache.isMember(1L, 1L);
+        cache.isMember(2L, 1L);
+
+        verify(groupRepository, times(1)).findMemberIdsById(1L);
+        verify(groupRepository, times(2)).findMemberIdsById(2L);
+    }
+
+    @Test
+    public void isMemberLargeUserIdTest() {
+        long userId = Integer.MAX_VALUE + 1L;
+        when(groupRepository.findMemberIdsById(1L)).thenReturn(List.of(userId, 7L, 3L));
+
+        assertTrue(cache.isMember(1L, userId));
+        assertTrue(cache.isMember(1L, 3L));
+        assertFalse(cache.isMember(1L, 5L));
+        verify(groupRepository, times(1)).findMemberIdsById(1L);
+    }
+}
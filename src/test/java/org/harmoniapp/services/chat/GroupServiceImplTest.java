@@ -7,6 +7,7 @@ import org.harmoniapp.contracts.user.PartialUserDto;
 import org.harmoniapp.entities.chat.Group;
 import org.harmoniapp.entities.user.User;
 import org.harmoniapp.repositories.RepositoryCollector;
+import org.harmoniapp.repositories.chat.GroupReadReceiptRepository;
 import org.harmoniapp.repositories.chat.GroupRepository;
 import org.harmoniapp.repositories.chat.MessageRepository;
 import org.harmoniapp.repositories.user.UserRepository;
@@ -41,6 +42,12 @@ public class GroupServiceImplTest {
     @Mock
     private MessageRepository messageRepository;
 
+    @Mock
+    private GroupReadReceiptRepository groupReadReceiptRepository;
+
+    @Mock
+    private GroupMembershipCache groupMembershipCache;
+
     @InjectMocks
     private GroupServiceImpl groupService;
 
@@ -116,6 +123,7 @@ public class GroupServiceImplTest {
         }
 
         assertNotNull(result);
+        verify(groupMembershipCache).evict(1L);
     }
 
     @Test
@@ -125,6 +133,7 @@ public class GroupServiceImplTest {
         when(repositoryCollector.getGroups()).thenReturn(groupRepository);
         when(repositoryCollector.getUsers()).thenReturn(userRepository);
         when(repositoryCollector.getMessages()).thenReturn(messageRepository);
+        when(repositoryCollector.getGroupReadReceipts()).thenReturn(groupReadReceiptRepository);
         when(groupRepository.existsById(1L)).thenReturn(true);
         when(groupRepository.findById(1L)).thenReturn(java.util.Optional.of(group));
         when(userRepository.findById(1L)).thenReturn(java.util.Optional.of(user));
@@ -146,11 +155,14 @@ public class GroupServiceImplTest {
         when(repositoryCollector.getGroups()).thenReturn(groupRepository);
         when(groupRepository.existsById(1L)).thenReturn(true);
         when(repositoryCollector.getMessages()).thenReturn(messageRepository);
+        when(repositoryCollector.getGroupReadReceipts()).thenReturn(groupReadReceiptRepository);
         doNothing().when(messageRepository).deleteByGroupId(1L);
 
         groupService.delete(1L);
 
+        verify(groupReadReceiptRepository, times(1)).deleteByGroupId(1L);
         verify(repositoryCollector.getMessages(), times(1)).deleteByGroupId(1L);
         verify(repositoryCollector.getGroups(), times(1)).deleteById(1L);
+        verify(groupMembershipCache).evict(1L);
     }
 }
\ No newline at end of file
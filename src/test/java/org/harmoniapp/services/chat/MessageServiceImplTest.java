@@ -9,6 +9,7 @@ import org.harmoniapp.entities.chat.Group;
 import org.harmoniapp.entities.chat.Message;
 import org.harmoniapp.entities.user.User;
 import org.harmoniapp.repositories.RepositoryCollector;
+import org.harmoniapp.repositories.chat.GroupReadReceiptRepository;
 import org.harmoniapp.repositories.chat.GroupRepository;
 import org.harmoniapp.repositories.chat.MessageRepository;
 import org.harmoniapp.repositories.user.UserRepository;
@@ -24,7 +25,9 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -42,6 +45,9 @@ public class MessageServiceImplTest {
     @Mock
     private GroupRepository groupRepository;
 
+    @Mock
+    private GroupReadReceiptRepository groupReadReceiptRepository;
+
     @Mock
     private WebsocketMessageServiceImpl websocketMessageService;
 
@@ -193,4 +199,48 @@ public class MessageServiceImplTest {
 
         assertNotNull(result);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void markAllGroupMessagesAsReadTest() {
+        ChatRequestDto chatRequestDto = new ChatRequestDto(1L, null, 3L);
+        User sender = User.builder().id(2L).build();
+        Group group = new Group(3L, "group", new HashSet<>(List.of(sender)));
+        Message first = new Message(10L, sender, null, group, "first", null, false);
+        Message second = new Message(11L, sender, null, group, "second", null, false);
+        when(repositoryCollector.getMessages()).thenReturn(messageRepository);
+        when(repositoryCollector.getGroupReadReceipts()).thenReturn(groupReadReceiptRepository);
+        when(repositoryCollector.getGroups()).thenReturn(groupRepository);
+        when(messageRepository.findUnreadByGroupId(1L, 3L)).thenReturn(List.of(first, second));
+        when(groupRepository.findById(3L)).thenReturn(Optional.of(group));
+
+        List<MessageDto> result = messageService.markAllMessagesAsRead(chatRequestDto);
+
+        assertEquals(2, result.size());
+        assertTrue(result.stream().allMatch(MessageDto::isRead));
+        verify(groupReadReceiptRepository).markRead(3L, 1L, 11L);
+        verify(messageRepository, never()).saveAll(anyList());
+        verify(websocketMessageService).sendStatusUpdate(group, result);
+    }
+
+    @Test
+    public void getUnreadCountForGroupTest() {
+        ChatRequestDto chatRequestDto = new ChatRequestDto(1L, null, 3L);
+        when(repositoryCollector.getMessages()).thenReturn(messageRepository);
+        when(messageRepository.countUnreadByGroupId(1L, 3L)).thenReturn(5L);
+
+        long result = messageService.getUnreadCount(chatRequestDto);
+
+        assertEquals(5L, result);
+    }
+
+    @Test
+    public void getUnreadCountForDirectConversationTest() {
+        ChatRequestDto chatRequestDto = new ChatRequestDto(1L, 2L, null);
+        when(repositoryCollector.getMessages()).thenReturn(messageRepository);
+        when(messageRepository.countUnreadByUsersIds(1L, 2L)).thenReturn(4L);
+
+        long result = messageService.getUnreadCount(chatRequestDto);
+
+        assertEquals(4L, result);
+    }
+}
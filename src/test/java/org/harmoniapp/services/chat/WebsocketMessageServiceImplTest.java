@@ -2,7 +2,6 @@ package org.harmoniapp.services.chat;
 
 import org.harmoniapp.contracts.chat.MessageDto;
 import org.harmoniapp.entities.chat.Group;
-import org.harmoniapp.entities.user.User;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -10,7 +9,6 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 
-import java.util.HashSet;
 import java.util.List;
 
 import static org.mockito.Mockito.*;
@@ -38,29 +36,23 @@ public class WebsocketMessageServiceImplTest {
     public void sendMessageToGroupTest() {
         Group group = mock(Group.class);
         MessageDto messageDto = mock(MessageDto.class);
-        User member = mock(User.class);
-        when(group.getMembers()).thenReturn(new HashSet<>(List.of(member)));
-        when(member.getId()).thenReturn(2L);
-        when(messageDto.senderId()).thenReturn(1L);
+        when(group.getId()).thenReturn(3L);
 
         websocketMessageService.sendMessageToGroup(group, messageDto);
 
-        verify(messagingTemplate, times(1)).convertAndSend("/client/groupMessages/2", messageDto);
+        verify(messagingTemplate, times(1)).convertAndSend("/client/group/3", messageDto);
+        verify(group, never()).getMembers();
     }
 
     @Test
     public void sendStatusUpdateGroupTest() {
         Group group = mock(Group.class);
-        MessageDto messageDto = mock(MessageDto.class);
-        List<MessageDto> messages = List.of(messageDto);
-        User member = mock(User.class);
-        when(group.getMembers()).thenReturn(new HashSet<>(List.of(member)));
-        when(member.getId()).thenReturn(2L);
-        when(messageDto.senderId()).thenReturn(1L);
+        List<MessageDto> messages = List.of(mock(MessageDto.class));
+        when(group.getId()).thenReturn(3L);
 
         websocketMessageService.sendStatusUpdate(group, messages);
 
-        verify(messagingTemplate, times(1)).convertAndSend("/client/groupMessages/readStatus/2", messages);
+        verify(messagingTemplate, times(1)).convertAndSend("/client/group/3/readStatus", messages);
     }
 
     @Test
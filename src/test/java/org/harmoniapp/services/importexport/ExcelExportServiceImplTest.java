@@ -2,16 +2,20 @@
 package org.harmoniapp.services.importexport;
 
 import org.harmoniapp.exception.InvalidDateException;
+import org.harmoniapp.services.schedule.ScheduleVersionService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.core.io.InputStreamResource;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
+import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -23,15 +27,21 @@ public class ExcelExportServiceImplTest {
     @Mock
     private ExportSchedule scheduleExcelExport;
 
+    @Mock
+    private ExportFileCache exportFileCache;
+
+    @Mock
+    private ScheduleVersionService scheduleVersionService;
+
     @InjectMocks
     private ExcelExportServiceImpl excelExportService;
 
     @Test
     public void exportUsersTest() {
-        InputStreamResource resource = mock(InputStreamResource.class);
+        StreamingResponseBody resource = mock(StreamingResponseBody.class);
         when(userExcelExport.exportUsers()).thenReturn(resource);
 
-        InputStreamResource result = excelExportService.exportUsers();
+        StreamingResponseBody result = excelExportService.exportUsers();
 
         assertNotNull(result);
         assertEquals(resource, result);
@@ -41,10 +51,13 @@ public class ExcelExportServiceImplTest {
     public void exportShiftsTest() {
         LocalDate startDate = LocalDate.now();
         LocalDate endDate = startDate.plusDays(6);
-        InputStreamResource resource = mock(InputStreamResource.class);
+        StreamingResponseBody resource = mock(StreamingResponseBody.class);
         when(scheduleExcelExport.exportShifts(startDate, endDate)).thenReturn(resource);
+        when(scheduleVersionService.getVersion()).thenReturn(3L);
+        when(exportFileCache.getOrRender(eq(new ExportCacheKey("xlsx", startDate, endDate, 3L)), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<StreamingResponseBody>>getArgument(1).get());
 
-        InputStreamResource result = excelExportService.exportShifts(startDate.toString(), endDate.toString());
+        StreamingResponseBody result = excelExportService.exportShifts(startDate.toString(), endDate.toString());
 
         assertNotNull(result);
         assertEquals(resource, result);
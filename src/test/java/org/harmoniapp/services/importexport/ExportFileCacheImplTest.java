@@ -0,0 +1,159 @@
+package org.harmoniapp.services.importexport;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ExportFileCacheImplTest {
+
+    @TempDir
+    private Path directory;
+
+    private Clock clock;
+    private ExportFileCacheImpl exportFileCache;
+    private final AtomicInteger renders = new AtomicInteger();
+
+    @BeforeEach
+    public void setUp() {
+        clock = mock(Clock.class);
+        when(clock.instant()).thenReturn(Instant.parse("2024-05-06T08:00:00Z"));
+        exportFileCache = new ExportFileCacheImpl(directory, DataSize.ofBytes(10), Duration.ofHours(1), clock);
+        renders.set(0);
+    }
+
+    @Test
+    public void getOrRenderMissTest() throws IOException {
+        ExportCacheKey key = key(1);
+
+        String result = write(exportFileCache.getOrRender(key, renderer("abcd")));
+
+        assertEquals("abcd", result);
+        assertEquals(1, renders.get());
+        assertEquals("abcd", Files.readString(directory.resolve(key.fileName())));
+    }
+
+    @Test
+    public void getOrRenderHitTest() throws IOException {
+        write(exportFileCache.getOrRender(key(1), renderer("abcd")));
+
+        String result = write(exportFileCache.getOrRender(key(1), renderer("other")));
+
+        assertEquals("abcd", result);
+        assertEquals(1, renders.get());
+    }
+
+    @Test
+    public void getOrRenderNewVersionTest() throws IOException {
+        write(exportFileCache.getOrRender(key(1), renderer("abcd")));
+
+        String result = write(exportFileCache.getOrRender(key(2), renderer("efgh")));
+
+        assertEquals("efgh", result);
+        assertEquals(2, renders.get());
+    }
+
+    @Test
+    public void getOrRenderEvictsLeastRecentlyUsedTest() throws IOException {
+        write(exportFileCache.getOrRender(key(1), renderer("abcd")));
+        write(exportFileCache.getOrRender(key(2), renderer("efgh")));
+        write(exportFileCache.getOrRender(key(1), renderer("abcd")));
+
+        write(exportFileCache.getOrRender(key(3), renderer("ijkl")));
+
+        assertTrue(Files.exists(directory.resolve(key(1).fileName())));
+        assertFalse(Files.exists(directory.resolve(key(2).fileName())));
+        assertTrue(Files.exists(directory.resolve(key(3).fileName())));
+    }
+
+    @Test
+    public void getOrRenderExpiredTest() throws IOException {
+        write(exportFileCache.getOrRender(key(1), renderer("abcd")));
+        when(clock.instant()).thenReturn(Instant.parse("2024-05-06T09:00:01Z"));
+
+        String result = write(exportFileCache.getOrRender(key(1), renderer("efgh")));
+
+        assertEquals("efgh", result);
+        assertEquals(2, renders.get());
+    }
+
+    @Test
+    public void getOrRenderFailedTest() {
+        StreamingResponseBody failing = out -> {
+            out.write('a');
+            throw new IOException("failed");
+        };
+        StreamingResponseBody body = exportFileCache.getOrRender(key(1), () -> failing);
+
+        assertThrows(IOException.class, () -> write(body));
+        assertEquals(0, directory.toFile().list().length);
+    }
+
+    @Test
+    public void getOrRenderWaitsForPendingRenderTest() throws IOException {
+        StreamingResponseBody leader = exportFileCache.getOrRender(key(1), renderer("abcd"));
+        StreamingResponseBody follower = exportFileCache.getOrRender(key(1), renderer("other"));
+
+        assertEquals("abcd", write(leader));
+        assertEquals("abcd", write(follower));
+        assertEquals(1, renders.get());
+    }
+
+    @Test
+    public void getOrRenderPendingRenderFailedTest() throws IOException {
+        StreamingResponseBody leader = exportFileCache.getOrRender(key(1), () -> out -> {
+            throw new IOException("failed");
+        });
+        StreamingResponseBody follower = exportFileCache.getOrRender(key(1), renderer("abcd"));
+
+        assertThrows(IOException.class, () -> write(leader));
+        assertEquals("abcd", write(follower));
+        assertEquals(1, renders.get());
+    }
+
+    @Test
+    public void clearDirectoryOnStartupTest() throws IOException {
+        Files.writeString(directory.resolve(key(1).fileName()), "stale");
+        Files.writeString(directory.resolve("export-123.tmp"), "partial");
+        Files.writeString(directory.resolve("unrelated.pdf"), "keep");
+
+        new ExportFileCacheImpl(directory, DataSize.ofBytes(10), Duration.ofHours(1), Clock.system(ZoneOffset.UTC));
+
+        assertArrayEquals(new String[]{"unrelated.pdf"}, directory.toFile().list());
+    }
+
+    private ExportCacheKey key(long version) {
+        return new ExportCacheKey("pdf", LocalDate.of(2024, 5, 6), LocalDate.of(2024, 5, 12), version);
+    }
+
+    private Supplier<StreamingResponseBody> renderer(String content) {
+        return () -> {
+            renders.incrementAndGet();
+            return out -> out.write(content.getBytes(StandardCharsets.UTF_8));
+        };
+    }
+
+    private String write(StreamingResponseBody body) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        body.writeTo(out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,304 @@
+package org.harmoniapp.services.importexport;
+
+import org.harmoniapp.configuration.Principle;
+import org.harmoniapp.contracts.importexport.ExportJobDto;
+import org.harmoniapp.contracts.importexport.ExportJobRequestDto;
+import org.harmoniapp.contracts.notification.NotificationDto;
+import org.harmoniapp.entities.importexport.ExportJob;
+import org.harmoniapp.enums.ExportJobNotificationType;
+import org.harmoniapp.enums.ExportJobStatus;
+import org.harmoniapp.enums.ExportJobType;
+import org.harmoniapp.exception.EntityNotFoundException;
+import org.harmoniapp.exception.ExportJobNotReadyException;
+import org.harmoniapp.exception.ExportJobRejectedException;
+import org.harmoniapp.exception.InvalidDateException;
+import org.harmoniapp.repositories.RepositoryCollector;
+import org.harmoniapp.repositories.importexport.ExportJobRepository;
+import org.harmoniapp.services.notification.NotificationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.security.core.Authentication;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.Executor;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class ExportJobServiceImplTest {
+
+    @TempDir
+    private Path directory;
+
+    private PdfExportService pdfExportService;
+    private ExcelExportService excelExportService;
+    private NotificationService notificationService;
+    private Clock clock;
+    private RepositoryCollector repositoryCollector;
+    private final Map<UUID, ExportJob> storedJobs = new HashMap<>();
+    private final List<Runnable> queuedTasks = new ArrayList<>();
+    private ExportJobServiceImpl exportJobService;
+
+    @BeforeEach
+    public void setUp() {
+        pdfExportService = mock(PdfExportService.class);
+        excelExportService = mock(ExcelExportService.class);
+        notificationService = mock(NotificationService.class);
+        clock = mock(Clock.class);
+        when(clock.instant()).thenReturn(Instant.parse("2024-05-06T08:00:00Z"));
+        queuedTasks.clear();
+        storedJobs.clear();
+        repositoryCollector = mock(RepositoryCollector.class);
+        ExportJobRepository exportJobRepository = exportJobRepository();
+        when(repositoryCollector.getExportJobs()).thenReturn(exportJobRepository);
+        exportJobService = createService(queuedTasks::add);
+    }
+
+    @Test
+    public void submitTest() {
+        ExportJobDto job = exportJobService.submit(request(ExportJobType.USERS_XLSX), authentication(1L));
+
+        assertEquals(ExportJobStatus.PENDING, job.status());
+        assertEquals(ExportJobType.USERS_XLSX, job.type());
+        assertEquals(1, queuedTasks.size());
+        verifyNoInteractions(excelExportService);
+    }
+
+    @Test
+    public void submitCompletedTest() throws IOException {
+        when(pdfExportService.generatePdfForWeeks(LocalDate.of(2024, 5, 6), 4))
+                .thenReturn(out -> out.write("pdf".getBytes(StandardCharsets.UTF_8)));
+        Authentication authentication = authentication(1L);
+        ExportJobRequestDto request = new ExportJobRequestDto(ExportJobType.SCHEDULE_PDF,
+                LocalDate.of(2024, 5, 6), null, 4);
+
+        UUID id = exportJobService.submit(request, authentication).id();
+        runQueuedTasks();
+
+        ExportJobDto job = exportJobService.getById(id, authentication);
+        assertEquals(ExportJobStatus.COMPLETED, job.status());
+        assertNotNull(job.completedAt());
+        ExportJobFile file = exportJobService.getFile(id, authentication);
+        assertEquals("pdf", Files.readString(file.path()));
+        assertEquals("export-schedule_pdf.pdf", file.fileName());
+        ArgumentCaptor<NotificationDto> captor = ArgumentCaptor.forClass(NotificationDto.class);
+        verify(notificationService).create(captor.capture());
+        assertEquals(1L, captor.getValue().userId());
+        assertEquals(ExportJobNotificationType.SUCCESS.getTitle(), captor.getValue().title());
+    }
+
+    @Test
+    public void submitFailedTest() throws IOException {
+        when(excelExportService.exportShifts("2024-05-06", "2024-05-12"))
+                .thenThrow(new InvalidDateException("Nieprawidłowy format daty"));
+        Authentication authentication = authentication(1L);
+        ExportJobRequestDto request = new ExportJobRequestDto(ExportJobType.SCHEDULE_XLSX,
+                LocalDate.of(2024, 5, 6), LocalDate.of(2024, 5, 12), null);
+
+        UUID id = exportJobService.submit(request, authentication).id();
+        runQueuedTasks();
+
+        ExportJobDto job = exportJobService.getById(id, authentication);
+        assertEquals(ExportJobStatus.FAILED, job.status());
+        assertEquals("Nieprawidłowy format daty", job.error());
+        assertThrows(ExportJobNotReadyException.class, () -> exportJobService.getFile(id, authentication));
+        try (var files = Files.list(directory)) {
+            assertEquals(0, files.count());
+        }
+        ArgumentCaptor<NotificationDto> captor = ArgumentCaptor.forClass(NotificationDto.class);
+        verify(notificationService).create(captor.capture());
+        assertEquals(ExportJobNotificationType.FAILURE.getTitle(), captor.getValue().title());
+    }
+
+    @Test
+    public void submitUnexpectedErrorTest() {
+        when(pdfExportService.generatePdfForAllEmployees()).thenThrow(new IllegalStateException("connection lost"));
+        Authentication authentication = authentication(1L);
+
+        UUID id = exportJobService.submit(request(ExportJobType.USERS_PDF), authentication).id();
+        runQueuedTasks();
+
+        ExportJobDto job = exportJobService.getById(id, authentication);
+        assertEquals(ExportJobStatus.FAILED, job.status());
+        assertEquals(ExportJobNotificationType.FAILURE.getMessage(), job.error());
+    }
+
+    @Test
+    public void submitMissingDateTest() {
+        ExportJobRequestDto request = new ExportJobRequestDto(ExportJobType.SCHEDULE_XLSX,
+                LocalDate.of(2024, 5, 6), null, null);
+
+        assertThrows(InvalidDateException.class, () -> exportJobService.submit(request, authentication(1L)));
+        assertTrue(queuedTasks.isEmpty());
+    }
+
+    @Test
+    public void submitInvalidRangeTest() {
+        ExportJobRequestDto request = new ExportJobRequestDto(ExportJobType.SCHEDULE_XLSX,
+                LocalDate.of(2024, 5, 6), LocalDate.of(2024, 5, 5), null);
+
+        assertThrows(InvalidDateException.class, () -> exportJobService.submit(request, authentication(1L)));
+    }
+
+    @Test
+    public void submitRejectedTest() {
+        exportJobService = createService(task -> {
+            throw new TaskRejectedException("queue full");
+        });
+
+        assertThrows(ExportJobRejectedException.class,
+                () -> exportJobService.submit(request(ExportJobType.USERS_PDF), authentication(1L)));
+    }
+
+    @Test
+    public void getByIdOtherUserTest() {
+        UUID id = exportJobService.submit(request(ExportJobType.USERS_PDF), authentication(1L)).id();
+
+        assertThrows(EntityNotFoundException.class, () -> exportJobService.getById(id, authentication(2L)));
+    }
+
+    @Test
+    public void getByIdNotFoundTest() {
+        assertThrows(EntityNotFoundException.class,
+                () -> exportJobService.getById(UUID.randomUUID(), authentication(1L)));
+    }
+
+    @Test
+    public void jobVisibleFromAnotherInstanceTest() throws IOException {
+        when(excelExportService.exportUsers()).thenReturn(out -> out.write(1));
+        Authentication authentication = authentication(1L);
+        UUID id = exportJobService.submit(request(ExportJobType.USERS_XLSX), authentication).id();
+        runQueuedTasks();
+
+        ExportJobServiceImpl otherInstance = createService(queuedTasks::add);
+
+        assertEquals(ExportJobStatus.COMPLETED, otherInstance.getById(id, authentication).status());
+        assertEquals(1, Files.size(otherInstance.getFile(id, authentication).path()));
+    }
+
+    @Test
+    public void purgedJobNotRecreatedTest() {
+        when(excelExportService.exportUsers()).thenReturn(out -> out.write(1));
+        Authentication authentication = authentication(1L);
+        UUID id = exportJobService.submit(request(ExportJobType.USERS_XLSX), authentication).id();
+        storedJobs.remove(id);
+
+        runQueuedTasks();
+
+        assertTrue(storedJobs.isEmpty());
+        verifyNoInteractions(excelExportService, notificationService);
+    }
+
+    @Test
+    public void purgeAbandonedJobsTest() {
+        Authentication authentication = authentication(1L);
+        UUID abandoned = exportJobService.submit(request(ExportJobType.USERS_XLSX), authentication).id();
+
+        when(clock.instant()).thenReturn(Instant.parse("2024-05-07T08:30:00Z"));
+        int removed = exportJobService.purgeExpiredJobs();
+
+        assertEquals(1, removed);
+        assertThrows(EntityNotFoundException.class, () -> exportJobService.getById(abandoned, authentication));
+    }
+
+    @Test
+    public void purgeExpiredJobsTest() {
+        when(excelExportService.exportUsers()).thenReturn(out -> out.write(1));
+        Authentication authentication = authentication(1L);
+        UUID completed = exportJobService.submit(request(ExportJobType.USERS_XLSX), authentication).id();
+        runQueuedTasks();
+        Path path = exportJobService.getFile(completed, authentication).path();
+        UUID pending = exportJobService.submit(request(ExportJobType.USERS_XLSX), authentication).id();
+
+        when(clock.instant()).thenReturn(Instant.parse("2024-05-06T09:30:00Z"));
+        int removed = exportJobService.purgeExpiredJobs();
+
+        assertEquals(1, removed);
+        assertFalse(Files.exists(path));
+        assertThrows(EntityNotFoundException.class, () -> exportJobService.getById(completed, authentication));
+        assertEquals(ExportJobStatus.PENDING, exportJobService.getById(pending, authentication).status());
+    }
+
+    private ExportJobServiceImpl createService(Executor executor) {
+        return new ExportJobServiceImpl(repositoryCollector, pdfExportService, excelExportService, notificationService,
+                executor, TransactionOperations.withoutTransaction(), directory, Duration.ofHours(1), clock);
+    }
+
+    /**
+     * Creates a repository keeping the jobs in a map shared by all service instances of a test.
+     */
+    private ExportJobRepository exportJobRepository() {
+        ExportJobRepository repository = mock(ExportJobRepository.class);
+        when(repository.save(any())).thenAnswer(invocation -> {
+            ExportJob job = invocation.getArgument(0);
+            storedJobs.put(job.getId(), copy(job));
+            return job;
+        });
+        when(repository.findByIdAndOwnerId(any(), any())).thenAnswer(invocation ->
+                Optional.ofNullable(storedJobs.get(invocation.<UUID>getArgument(0)))
+                        .filter(job -> job.getOwnerId().equals(invocation.getArgument(1)))
+                        .map(this::copy));
+        when(repository.updateStatus(any(), any())).thenAnswer(invocation -> {
+            ExportJob job = storedJobs.get(invocation.<UUID>getArgument(0));
+            if (job == null || job.getCompletedAt() != null) {
+                return 0;
+            }
+            job.setStatus(invocation.getArgument(1));
+            return 1;
+        });
+        when(repository.finish(any(), any(), any(), any())).thenAnswer(invocation -> {
+            ExportJob job = storedJobs.get(invocation.<UUID>getArgument(0));
+            if (job == null || job.getCompletedAt() != null) {
+                return 0;
+            }
+            job.setStatus(invocation.getArgument(1));
+            job.setCompletedAt(invocation.getArgument(2));
+            job.setError(invocation.getArgument(3));
+            return 1;
+        });
+        when(repository.findExpired(any(), any())).thenAnswer(invocation -> {
+            Instant before = invocation.getArgument(0);
+            Instant abandonedBefore = invocation.getArgument(1);
+            return storedJobs.values().stream()
+                    .filter(job -> job.getCompletedAt() != null ? job.getCompletedAt().isBefore(before)
+                            : job.getCreatedAt().isBefore(abandonedBefore))
+                    .map(this::copy)
+                    .toList();
+        });
+        when(repository.deleteJobById(any())).thenAnswer(invocation ->
+                storedJobs.remove(invocation.<UUID>getArgument(0)) != null ? 1 : 0);
+        return repository;
+    }
+
+    private ExportJob copy(ExportJob job) {
+        return new ExportJob(job.getId(), job.getOwnerId(), job.getType(), job.getStatus(), job.getCreatedAt(),
+                job.getCompletedAt(), job.getError());
+    }
+
+    private void runQueuedTasks() {
+        queuedTasks.forEach(Runnable::run);
+        queuedTasks.clear();
+    }
+
+    private ExportJobRequestDto request(ExportJobType type) {
+        return new ExportJobRequestDto(type, null, null, null);
+    }
+
+    private Authentication authentication(Long userId) {
+        Authentication authentication = mock(Authentication.class);
+        when(authentication.getPrincipal()).thenReturn(new Principle(userId, "user@example.com"));
+        return authentication;
+    }
+}
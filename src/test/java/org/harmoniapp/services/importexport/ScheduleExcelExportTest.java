@@ -10,8 +10,11 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
-import org.springframework.core.io.InputStreamResource;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.time.LocalDate;
 import java.util.HashMap;
 import java.util.List;
@@ -35,7 +38,7 @@ public class ScheduleExcelExportTest {
     }
 
     @Test
-    public void exportShiftsTest() {
+    public void exportShiftsTest() throws IOException {
         LocalDate startDate = LocalDate.of(2023, 1, 1);
         LocalDate endDate = LocalDate.of(2023, 1, 7);
 
@@ -49,9 +52,16 @@ public class ScheduleExcelExportTest {
         List<Shift> shifts = List.of(shift);
         when(scheduleDataService.getShifts(startDate, endDate)).thenReturn(shifts);
 
-        InputStreamResource resource = scheduleExcelExport.exportShifts(startDate, endDate);
+        StreamingResponseBody resource = scheduleExcelExport.exportShifts(startDate, endDate);
 
         assertNotNull(resource);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        resource.writeTo(out);
+        try (Workbook workbook = new XSSFWorkbook(new ByteArrayInputStream(out.toByteArray()))) {
+            Sheet sheet = workbook.getSheetAt(0);
+            assertEquals(1, sheet.getLastRowNum());
+            assertEquals("123", sheet.getRow(1).getCell(0).getStringCellValue());
+        }
     }
 
     @Test
@@ -1,22 +1,33 @@
 package org.harmoniapp.services.importexport;
 
-import org.apache.poi.ss.usermodel.*;
+import org.harmoniapp.entities.absence.Absence;
+import org.harmoniapp.entities.profile.Role;
 import org.harmoniapp.entities.schedule.Shift;
 import org.harmoniapp.entities.user.User;
+import org.harmoniapp.exception.InvalidCellException;
 import org.harmoniapp.repositories.RepositoryCollector;
+import org.harmoniapp.repositories.absence.AbsenceRepository;
+import org.harmoniapp.repositories.schedule.ShiftRepository;
 import org.harmoniapp.repositories.user.UserRepository;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockMultipartFile;
 
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
-import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -28,58 +39,132 @@ public class ScheduleExcelImportTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private ShiftRepository shiftRepository;
+
+    @Mock
+    private AbsenceRepository absenceRepository;
+
     @InjectMocks
     private ScheduleExcelImport scheduleExcelImport;
 
+    @Test
+    public void importScheduleTest() throws IOException {
+        MockMultipartFile file = new MockMultipartFile("file", "valid.xlsx", "multipart/form-data",
+                new FileInputStream("src/test/resources/testFiles/shifts/valid.xlsx"));
+        List<User> users = List.of(
+                User.builder().id(1L).employeeId("EMP014").build(),
+                User.builder().id(2L).employeeId("EMP017").build(),
+                User.builder().id(3L).employeeId("EMP011").build());
+        when(repositoryCollector.getUsers()).thenReturn(userRepository);
+        when(repositoryCollector.getShifts()).thenReturn(shiftRepository);
+        when(repositoryCollector.getAbsences()).thenReturn(absenceRepository);
+        when(userRepository.findAllByIsActiveTrue()).thenReturn(users);
+        scheduleExcelImport.chunkSize = 1;
+
+        String result = scheduleExcelImport.importSchedule(file);
+
+        assertEquals("Harmonogram zaimportowany pomyślnie", result);
+        verify(shiftRepository).findAllOverlapping(any(LocalDateTime.class), any(LocalDateTime.class));
+        verify(absenceRepository).findApprovedAbsenceByDateRange(any(LocalDate.class), any(LocalDate.class));
+        verify(shiftRepository, atLeast(2)).insertAll(anyList());
+    }
+
+    @Test
+    public void importScheduleConflictTest() throws IOException {
+        MockMultipartFile file = new MockMultipartFile("file", "valid.xlsx", "multipart/form-data",
+                new FileInputStream("src/test/resources/testFiles/shifts/valid.xlsx"));
+        List<User> users = List.of(
+                User.builder().id(1L).employeeId("EMP014").build(),
+                User.builder().id(2L).employeeId("EMP017").build(),
+                User.builder().id(3L).employeeId("EMP011").build());
+        when(repositoryCollector.getUsers()).thenReturn(userRepository);
+        when(repositoryCollector.getShifts()).thenReturn(shiftRepository);
+        when(repositoryCollector.getAbsences()).thenReturn(absenceRepository);
+        when(userRepository.findAllByIsActiveTrue()).thenReturn(users);
+        when(absenceRepository.findApprovedAbsenceByDateRange(any(LocalDate.class), any(LocalDate.class)))
+                .thenAnswer(invocation -> List.of(Absence.builder()
+                        .user(users.get(0))
+                        .start(invocation.getArgument(0))
+                        .end(invocation.getArgument(1))
+                        .build()));
+
+        InvalidCellException exception = assertThrows(InvalidCellException.class,
+                () -> scheduleExcelImport.importSchedule(file));
+        assertTrue(exception.getMessage().contains("z zatwierdzoną nieobecnością"));
+        verify(shiftRepository, never()).insertAll(anyList());
+    }
+
     @Test
     public void processShiftRowsTest() {
-        Iterator<Row> rows = mock(Iterator.class);
-        List<User> users = List.of(mock(User.class));
+        User user = User.builder().id(1L).employeeId("123").build();
+        List<ExcelRow> rows = List.of(new ExcelRow(1, List.of("123", "08:00-16:00")));
         List<LocalDateTime> dateHeaders = List.of(LocalDateTime.now());
-        when(rows.hasNext()).thenReturn(true, false);
-        when(rows.next()).thenReturn(mock(Row.class));
 
-        List<Shift> result = scheduleExcelImport.processShiftRows(rows, users, dateHeaders);
+        List<Shift> result = scheduleExcelImport.processShiftRows(rows, Map.of("123", user), dateHeaders,
+                new ShiftIntervalIndex());
 
-        assertNotNull(result);
+        assertEquals(1, result.size());
+        assertEquals(user, result.getFirst().getUser());
+    }
+
+    @Test
+    public void processShiftRowsOverlappingRowsTest() {
+        User user = User.builder().id(1L).employeeId("123").build();
+        List<ExcelRow> rows = List.of(
+                new ExcelRow(1, List.of("123", "08:00-16:00")),
+                new ExcelRow(2, List.of("123", "12:00-20:00")));
+        List<LocalDateTime> dateHeaders = List.of(LocalDate.of(2024, 5, 1).atStartOfDay());
+        ShiftIntervalIndex occupied = new ShiftIntervalIndex();
+
+        List<Shift> result = scheduleExcelImport.processShiftRows(rows, Map.of("123", user), dateHeaders, occupied);
+
+        assertEquals(1, result.size());
+        assertTrue(occupied.hasConflicts());
+        assertEquals("Wykryto kolidujące zmiany: B3 koliduje ze zmianą z komórki B2", occupied.getConflictsMessage());
     }
 
     @Test
     public void getUserTest() {
-        List<User> users = List.of(mock(User.class));
-        Cell cell = mock(Cell.class);
-        when(cell.getStringCellValue()).thenReturn("123");
-        when(users.getFirst().getEmployeeId()).thenReturn("123");
+        User user = User.builder().employeeId("123").build();
+        ExcelRow row = new ExcelRow(1, List.of(" 123 "));
 
-        User result = scheduleExcelImport.getUser(users, cell);
+        User result = scheduleExcelImport.getUser(Map.of("123", user), row);
 
         assertNotNull(result);
         assertEquals("123", result.getEmployeeId());
     }
 
+    @Test
+    public void getUserInvalidEmployeeIdTest() {
+        ExcelRow row = new ExcelRow(1, List.of("456"));
+
+        InvalidCellException exception = assertThrows(InvalidCellException.class,
+                () -> scheduleExcelImport.getUser(Map.of(), row));
+        assertTrue(exception.getMessage().contains("A2"));
+    }
+
     @Test
     public void processRowEmptyCellTest() {
-        Row row = mock(Row.class);
+        ExcelRow row = new ExcelRow(1, List.of("123"));
         List<LocalDateTime> header = List.of(LocalDateTime.now());
         User user = mock(User.class);
-        List<Shift> shiftList = mock(List.class);
+        List<Shift> shiftList = new ArrayList<>();
 
-        assertDoesNotThrow(() -> scheduleExcelImport.processRow(row, header, user, shiftList));
+        assertDoesNotThrow(() -> scheduleExcelImport.processRow(row, header, user, new ShiftIntervalIndex(),
+                shiftList));
+        assertTrue(shiftList.isEmpty());
     }
 
     @Test
     public void processRowTest() {
-        Row row = mock(Row.class);
+        ExcelRow row = new ExcelRow(1, List.of("123", "08:00 - 16:00"));
         List<LocalDateTime> header = List.of(LocalDateTime.now());
         User user = mock(User.class);
         List<Shift> shiftList = new ArrayList<>();
-        Cell cell = mock(Cell.class);
-        when(row.getCell(anyInt())).thenReturn(cell);
-        when(cell.getStringCellValue()).thenReturn("08:00-16:00");
 
-        scheduleExcelImport.processRow(row, header, user, shiftList);
+        scheduleExcelImport.processRow(row, header, user, new ShiftIntervalIndex(), shiftList);
 
-        assertFalse(shiftList.isEmpty());
         assertEquals(1, shiftList.size());
         Shift shift = shiftList.get(0);
         assertEquals(user, shift.getUser());
@@ -87,28 +172,63 @@ public class ScheduleExcelImportTest {
         assertEquals(header.get(0).toLocalDate().atTime(16, 0), shift.getEnd());
     }
 
+    @Test
+    public void processRowOccupiedTest() {
+        ExcelRow row = new ExcelRow(1, List.of("123", "22:00-06:00"));
+        LocalDate day = LocalDate.of(2024, 5, 1);
+        User user = User.builder().id(1L).roles(Set.of(new Role(1L, "role", null))).build();
+        ShiftIntervalIndex occupied = new ShiftIntervalIndex();
+        occupied.add(1L, day.plusDays(1).atTime(5, 0), day.plusDays(1).atTime(13, 0), "z istniejącą zmianą");
+        List<Shift> shiftList = new ArrayList<>();
+
+        scheduleExcelImport.processRow(row, List.of(day.atStartOfDay()), user, occupied, shiftList);
+
+        assertTrue(shiftList.isEmpty());
+        assertEquals("Wykryto kolidujące zmiany: B2 koliduje z istniejącą zmianą", occupied.getConflictsMessage());
+    }
+
+    @Test
+    public void processRowDefaultRoleTest() {
+        ExcelRow row = new ExcelRow(1, List.of("123", "08:00-16:00"));
+        Role role = new Role(1L, "role", null);
+        User user = User.builder().id(1L).roles(Set.of(role)).build();
+        List<Shift> shiftList = new ArrayList<>();
+
+        scheduleExcelImport.processRow(row, List.of(LocalDateTime.now()), user, new ShiftIntervalIndex(), shiftList);
+
+        assertEquals(role, shiftList.getFirst().getRole());
+    }
+
+    @Test
+    public void processRowInvalidHoursTest() {
+        ExcelRow row = new ExcelRow(1, List.of("123", "08:00"));
+        List<LocalDateTime> header = List.of(LocalDateTime.now());
+
+        assertThrows(InvalidCellException.class,
+                () -> scheduleExcelImport.processRow(row, header, mock(User.class), new ShiftIntervalIndex(),
+                        new ArrayList<>()));
+    }
+
     @Test
     public void extractHeadersTest() {
-        Row headerRow = mock(Row.class);
-        Sheet sheet = mock(Sheet.class);
-        Workbook workbook = mock(Workbook.class);
-        CreationHelper creationHelper = mock(CreationHelper.class);
-        DataFormat dataFormat = mock(DataFormat.class);
-        Cell cell1 = mock(Cell.class);
-        Cell cell2 = mock(Cell.class);
-        CellStyle cellStyle = mock(CellStyle.class);
-        Iterator<Cell> cellIterator = List.of(cell1, cell2).iterator();
-        when(headerRow.cellIterator()).thenReturn(cellIterator);
-        when(cell1.getStringCellValue()).thenReturn("id pracownika");
-        when(cell2.getCellStyle()).thenReturn(cellStyle);
-        when(headerRow.getSheet()).thenReturn(sheet);
-        when(sheet.getWorkbook()).thenReturn(workbook);
-        when(workbook.getCreationHelper()).thenReturn(creationHelper);
-        when(creationHelper.createDataFormat()).thenReturn(dataFormat);
-        when(dataFormat.getFormat("yyyy-mm-dd")).thenReturn((short) 14);
+        ExcelRow headerRow = new ExcelRow(0, List.of("id pracownika", "2025-01-01", "2025-01-02"));
 
         List<LocalDateTime> result = scheduleExcelImport.extractHeaders(headerRow);
 
-        assertNotNull(result);
+        assertEquals(List.of(LocalDate.of(2025, 1, 1).atStartOfDay(), LocalDate.of(2025, 1, 2).atStartOfDay()), result);
+    }
+
+    @Test
+    public void extractHeadersInvalidDateTest() {
+        ExcelRow headerRow = new ExcelRow(0, List.of("id pracownika", "test"));
+
+        assertThrows(InvalidCellException.class, () -> scheduleExcelImport.extractHeaders(headerRow));
+    }
+
+    @Test
+    public void extractHeadersMissingEmployeeIdTest() {
+        ExcelRow headerRow = new ExcelRow(0, List.of("", "2025-01-01"));
+
+        assertThrows(InvalidCellException.class, () -> scheduleExcelImport.extractHeaders(headerRow));
     }
-}
\ No newline at end of file
+}
@@ -2,24 +2,28 @@
 package org.harmoniapp.services.importexport;
 
 import com.lowagie.text.Document;
-import com.lowagie.text.DocumentException;
+import com.lowagie.text.Element;
+import com.lowagie.text.pdf.PdfPTable;
 import org.harmoniapp.entities.profile.Role;
 import org.harmoniapp.entities.schedule.Shift;
 import org.harmoniapp.entities.user.User;
-import org.harmoniapp.exception.FileGenerationException;
 import org.harmoniapp.exception.InvalidDateException;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.core.io.InputStreamResource;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.LongStream;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -32,7 +36,7 @@ public class SchedulePdfExportTest {
     private SchedulePdfExport schedulePdfExport;
 
     @Test
-    public void exportShiftsTest() {
+    public void exportShiftsTest() throws IOException {
         LocalDate startDate = LocalDate.now();
         LocalDate endDate = startDate.plusDays(6);
         Shift shift = mock(Shift.class);
@@ -46,9 +50,26 @@ public class SchedulePdfExportTest {
         when(shift.getRole()).thenReturn(role);
         when(scheduleDataService.getShifts(startDate, endDate)).thenReturn(List.of(shift));
 
-        InputStreamResource result = schedulePdfExport.exportShifts(startDate, endDate);
+        StreamingResponseBody result = schedulePdfExport.exportShifts(startDate, endDate);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        result.writeTo(out);
+
+        assertTrue(out.toString().startsWith("%PDF"));
+    }
+
+    @Test
+    public void exportShiftsMultipleWeeksTest() throws IOException {
+        LocalDate startDate = LocalDate.of(2024, 5, 1);
+        LocalDate endDate = startDate.plusDays(30);
+        User user = User.builder().id(1L).employeeId("EMP01").build();
+        Shift shift = Shift.builder().user(user).start(endDate.atTime(8, 0)).end(endDate.atTime(16, 0)).build();
+        when(scheduleDataService.getShifts(startDate, endDate)).thenReturn(List.of(shift));
+
+        StreamingResponseBody result = schedulePdfExport.exportShifts(startDate, endDate);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        result.writeTo(out);
 
-        assertNotNull(result);
+        assertTrue(out.toString().startsWith("%PDF"));
     }
 
     @Test
@@ -76,31 +97,34 @@ public class SchedulePdfExportTest {
     }
 
     @Test
-    public void validateDateRangeTest() {
+    public void validateDateLongRangeTest() {
         LocalDate startDate = LocalDate.now();
-        LocalDate endDate = startDate.plusDays(8);
+        LocalDate endDate = startDate.plusDays(60);
 
-        assertThrows(InvalidDateException.class, () -> schedulePdfExport.validateDate(startDate, endDate));
+        assertDoesNotThrow(() -> schedulePdfExport.validateDate(startDate, endDate));
     }
 
     @Test
-    public void writeDocumentTest() {
+    public void addTableTest() throws Exception {
         Document document = mock(Document.class);
-        ByteArrayOutputStream out = new ByteArrayOutputStream();
-        LocalDate startDate = LocalDate.now();
-        LocalDate endDate = startDate.plusDays(6);
+        LocalDate startDate = LocalDate.of(2024, 5, 6);
+        List<User> users = LongStream.rangeClosed(1, 120)
+                .mapToObj(id -> User.builder().id(id).employeeId("EMP" + id).build())
+                .toList();
 
-        assertDoesNotThrow(() -> schedulePdfExport.writeDocument(document, out, startDate, endDate));
+        schedulePdfExport.addTable(document, users, Map.of(), startDate, startDate.plusDays(6));
+
+        verify(document, times(3)).add(any(PdfPTable.class));
+        verify(document, times(4)).add(any(Element.class));
     }
 
     @Test
-    public void writeDocumentExceptionTest() {
-        Document document = mock(Document.class);
-        ByteArrayOutputStream out = new ByteArrayOutputStream();
-        LocalDate startDate = LocalDate.now();
-        LocalDate endDate = startDate.plusDays(6);
-        doThrow(DocumentException.class).when(document).open();
+    public void createHeadersTest() {
+        LocalDate startDate = LocalDate.of(2024, 5, 6);
+
+        List<String> result = schedulePdfExport.createHeaders(startDate, startDate.plusDays(2));
 
-        assertThrows(FileGenerationException.class, () -> schedulePdfExport.writeDocument(document, out, startDate, endDate));
+        assertEquals(List.of("ID Pracownika", "Poniedzialek\n2024-05-06", "Wtorek\n2024-05-07", "Sroda\n2024-05-08"),
+                result);
     }
-}
\ No newline at end of file
+}
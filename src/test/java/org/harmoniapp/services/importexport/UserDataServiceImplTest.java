@@ -1,24 +1,20 @@
 package org.harmoniapp.services.importexport;
 
-import org.harmoniapp.contracts.profile.LanguageDto;
-import org.harmoniapp.contracts.profile.RoleDto;
-import org.harmoniapp.contracts.user.UserDto;
-import org.harmoniapp.entities.user.User;
+import org.harmoniapp.contracts.user.UserExportDto;
 import org.harmoniapp.repositories.RepositoryCollector;
+import org.harmoniapp.repositories.user.UserAttributeRow;
+import org.harmoniapp.repositories.user.UserExportRow;
 import org.harmoniapp.repositories.user.UserRepository;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
-import org.mockito.MockedStatic;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.Sort;
 
+import java.time.LocalDate;
 import java.util.List;
-import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -35,65 +31,33 @@ public class UserDataServiceImplTest {
 
     @Test
     public void getAllUsersTest() {
-        User user = mock(User.class);
+        UserExportRow first = new UserExportRow(1L, "EMP01", "Jan", "Kowalski", "jan@example.com", "123456789",
+                "city", "street", "1", "00-000", "2", "Umowa o pracę",
+                LocalDate.of(2024, 1, 1), LocalDate.of(2025, 1, 1), "EMP02", "department");
+        UserExportRow second = new UserExportRow(2L, "EMP02", "Anna", "Nowak", "anna@example.com", "987654321",
+                "city", "street", null, "00-000", "3", null, null, null, null, null);
         when(repositoryCollector.getUsers()).thenReturn(userRepository);
-        when(userRepository.findByIsActiveTrue(Sort.by("surname", "firstname"))).thenReturn(List.of(user));
-        try (MockedStatic<UserDto> mockedStatic = mockStatic(UserDto.class)) {
-            mockedStatic.when(() -> UserDto.fromEntity(user)).thenReturn(mock(UserDto.class));
-        }
-        List<UserDto> result = userDataService.getAllUsers();
-
-        assertNotNull(result);
-        assertEquals(1, result.size());
-    }
-
-    @Test
-    public void getRolesTest() {
-        UserDto user = mock(UserDto.class);
-        RoleDto role = new RoleDto(1L, "role", "#000000");
-        when(user.roles()).thenReturn(List.of(role));
-
-        String result = userDataService.getRoles(user);
-
-        assertNotNull(result);
-        assertEquals("role", result);
-    }
-
-    @Test
-    public void getLanguagesTest() {
-        UserDto user = mock(UserDto.class);
-        LanguageDto language = new LanguageDto(1L, "English", "en");
-        when(user.languages()).thenReturn(List.of(language));
-
-        String result = userDataService.getLanguages(user);
-
-        assertNotNull(result);
-        assertEquals("English", result);
-    }
-
-    @Test
-    public void getSupervisorEmployeeIdTest() {
-        UserDto user = mock(UserDto.class);
-        when(user.supervisorId()).thenReturn(1L);
-        User supervisor = mock(User.class);
-        when(repositoryCollector.getUsers()).thenReturn(userRepository);
-        when(userRepository.findById(1L)).thenReturn(Optional.of(supervisor));
-        when(supervisor.getEmployeeId()).thenReturn("EMP01");
-
-        String result = userDataService.getSupervisorEmployeeId(user);
-
-        assertNotNull(result);
-        assertEquals("EMP01", result);
-    }
-
-    @Test
-    public void getSupervisorEmployeeIdNullTest() {
-        UserDto user = mock(UserDto.class);
-        when(user.supervisorId()).thenReturn(null);
-
-        String result = userDataService.getSupervisorEmployeeId(user);
-
-        assertNotNull(result);
-        assertEquals("", result);
+        when(userRepository.findAllActiveForExport()).thenReturn(List.of(first, second));
+        when(userRepository.findAllActiveRoleNames()).thenReturn(List.of(
+                new UserAttributeRow(1L, "Kasjer"), new UserAttributeRow(1L, "Magazynier"),
+                new UserAttributeRow(2L, "admin")));
+        when(userRepository.findAllActiveLanguageNames()).thenReturn(List.of(new UserAttributeRow(1L, "English")));
+
+        List<UserExportDto> result = userDataService.getAllUsers();
+
+        assertEquals(2, result.size());
+        UserExportDto firstDto = result.get(0);
+        assertEquals("EMP01", firstDto.employeeId());
+        assertEquals("Kasjer, Magazynier", firstDto.roles());
+        assertEquals("English", firstDto.languages());
+        assertEquals("EMP02", firstDto.supervisorEmployeeId());
+        assertEquals("2024-01-01", firstDto.contractSignature());
+        UserExportDto secondDto = result.get(1);
+        assertEquals("admin", secondDto.roles());
+        assertEquals("", secondDto.languages());
+        assertEquals("", secondDto.supervisorEmployeeId());
+        assertEquals("", secondDto.contractExpiration());
+        assertEquals("", secondDto.apartment());
+        verify(userRepository, never()).findById(any());
     }
-}
\ No newline at end of file
+}
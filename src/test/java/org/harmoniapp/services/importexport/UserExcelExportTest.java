@@ -1,20 +1,23 @@
 package org.harmoniapp.services.importexport;
 
-import org.harmoniapp.contracts.profile.AddressDto;
-import org.harmoniapp.contracts.profile.ContractTypeDto;
-import org.harmoniapp.contracts.profile.LanguageDto;
-import org.harmoniapp.contracts.profile.RoleDto;
-import org.harmoniapp.contracts.user.UserDto;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.harmoniapp.contracts.user.UserExportDto;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.core.io.InputStreamResource;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.time.LocalDate;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.util.List;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.mockito.Mockito.when;
 
@@ -28,47 +31,40 @@ public class UserExcelExportTest {
     private UserExcelExport userExcelExport;
 
     @Test
-    public void exportUsersTest() {
-        LocalDate now = LocalDate.now();
-        AddressDto residence = AddressDto.builder()
+    public void exportUsersTest() throws IOException {
+        UserExportDto user = UserExportDto.builder()
+                .employeeId("EMP01")
+                .firstname("firstname")
+                .surname("surname")
+                .email("email@example.com")
+                .phoneNumber("123456789")
                 .city("city")
                 .street("street")
-                .buildingNumber("1")
                 .apartment("1")
                 .zipCode("00-000")
-                .build();
-        AddressDto workAddress = AddressDto.builder()
-                .city("city")
-                .street("street")
                 .buildingNumber("1")
-                .apartment("1")
-                .zipCode("00-000")
+                .roles("role")
+                .languages("English")
+                .contractType("contractType")
+                .contractSignature("2024-05-06")
+                .contractExpiration("2025-05-06")
+                .supervisorEmployeeId("EMP02")
                 .departmentName("department")
                 .build();
-        ContractTypeDto contractTypeDto = new ContractTypeDto(1L, "contractType", 2);
-        List<RoleDto> roleDtos = List.of(new RoleDto(1L, "role", "#000000"));
-        List<LanguageDto> languageDtos = List.of(new LanguageDto(1L, "English", "en"));
-        UserDto user = UserDto.builder()
-                .id(1L)
-                .firstname("firstname")
-                .surname("surname")
-                .email("email@example.com")
-                .contractType(contractTypeDto)
-                .contractSignature(now.plusDays(1))
-                .contractExpiration(now.plusYears(1))
-                .residence(residence)
-                .workAddress(workAddress)
-                .supervisorId(2L)
-                .photo("123456789")
-                .employeeId("EMP01")
-                .roles(roleDtos)
-                .languages(languageDtos)
-                .build();
-        List<UserDto> users = List.of(user);
-        when(userDataService.getAllUsers()).thenReturn(users);
+        when(userDataService.getAllUsers()).thenReturn(List.of(user));
 
-        InputStreamResource result = userExcelExport.exportUsers();
+        StreamingResponseBody result = userExcelExport.exportUsers();
 
         assertNotNull(result);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        result.writeTo(out);
+        try (Workbook workbook = new XSSFWorkbook(new ByteArrayInputStream(out.toByteArray()))) {
+            Sheet sheet = workbook.getSheet("Pracownicy");
+            assertEquals(1, sheet.getLastRowNum());
+            Row row = sheet.getRow(1);
+            assertEquals("EMP01", row.getCell(0).getStringCellValue());
+            assertEquals("role", row.getCell(10).getStringCellValue());
+            assertEquals("EMP02", row.getCell(15).getStringCellValue());
+        }
     }
-}
\ No newline at end of file
+}
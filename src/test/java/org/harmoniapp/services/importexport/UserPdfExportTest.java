@@ -1,26 +1,23 @@
 package org.harmoniapp.services.importexport;
 
 import com.lowagie.text.Document;
-import com.lowagie.text.DocumentException;
+import com.lowagie.text.pdf.PdfPCell;
 import com.lowagie.text.pdf.PdfPTable;
-import org.harmoniapp.contracts.profile.AddressDto;
-import org.harmoniapp.contracts.profile.ContractTypeDto;
-import org.harmoniapp.contracts.profile.LanguageDto;
-import org.harmoniapp.contracts.profile.RoleDto;
-import org.harmoniapp.contracts.user.UserDto;
-import org.harmoniapp.exception.FileGenerationException;
+import org.harmoniapp.contracts.user.UserExportDto;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.core.io.InputStreamResource;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.ByteArrayOutputStream;
-import java.time.LocalDate;
+import java.io.IOException;
+import java.util.Collections;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -33,194 +30,69 @@ public class UserPdfExportTest {
     private UserPdfExport userPdfExport;
 
     @Test
-    public void exportUsersTest() {
-        LocalDate now = LocalDate.now();
-        AddressDto residence = AddressDto.builder()
-                .city("city")
-                .street("street")
-                .buildingNumber("1")
-                .apartment("1")
-                .zipCode("00-000")
-                .build();
-        AddressDto workAddress = AddressDto.builder()
-                .city("city")
-                .street("street")
-                .buildingNumber("1")
-                .apartment("1")
-                .zipCode("00-000")
-                .departmentName("department")
-                .build();
-        ContractTypeDto contractTypeDto = new ContractTypeDto(1L, "contractType", 2);
-        List<RoleDto> roleDtos = List.of(new RoleDto(1L, "role", "#000000"));
-        List<LanguageDto> languageDtos = List.of(new LanguageDto(1L, "English", "en"));
-        UserDto user = UserDto.builder()
-                .id(1L)
-                .firstname("firstname")
-                .surname("surname")
-                .email("email@example.com")
-                .contractType(contractTypeDto)
-                .contractSignature(now.plusDays(1))
-                .contractExpiration(now.plusYears(1))
-                .residence(residence)
-                .workAddress(workAddress)
-                .supervisorId(2L)
-                .photo("123456789")
-                .employeeId("EMP01")
-                .roles(roleDtos)
-                .languages(languageDtos)
-                .build();
-        List<UserDto> users = List.of(user);
-        when(userDataService.getAllUsers()).thenReturn(users);
+    public void exportUsersTest() throws IOException {
+        when(userDataService.getAllUsers()).thenReturn(List.of(createUser()));
 
-        InputStreamResource result = userPdfExport.exportUsers();
+        StreamingResponseBody result = userPdfExport.exportUsers();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        result.writeTo(out);
 
-        assertNotNull(result);
+        assertTrue(out.toString().startsWith("%PDF"));
     }
 
     @Test
-    public void writeDocumentTest() {
+    public void addTitleTest() {
         Document document = mock(Document.class);
-        ByteArrayOutputStream out = new ByteArrayOutputStream();
-        LocalDate now = LocalDate.now();
-        AddressDto residence = AddressDto.builder()
-                .city("city")
-                .street("street")
-                .buildingNumber("1")
-                .apartment("1")
-                .zipCode("00-000")
-                .build();
-        AddressDto workAddress = AddressDto.builder()
-                .city("city")
-                .street("street")
-                .buildingNumber("1")
-                .apartment("1")
-                .zipCode("00-000")
-                .departmentName("department")
-                .build();
-        ContractTypeDto contractTypeDto = new ContractTypeDto(1L, "contractType", 2);
-        List<RoleDto> roleDtos = List.of(new RoleDto(1L, "role", "#000000"));
-        List<LanguageDto> languageDtos = List.of(new LanguageDto(1L, "English", "en"));
-        UserDto user = UserDto.builder()
-                .id(1L)
-                .firstname("firstname")
-                .surname("surname")
-                .email("email@example.com")
-                .contractType(contractTypeDto)
-                .contractSignature(now.plusDays(1))
-                .contractExpiration(now.plusYears(1))
-                .residence(residence)
-                .workAddress(workAddress)
-                .supervisorId(2L)
-                .photo("123456789")
-                .employeeId("EMP01")
-                .roles(roleDtos)
-                .languages(languageDtos)
-                .build();
-        List<UserDto> users = List.of(user);
 
-        assertDoesNotThrow(() -> userPdfExport.writeDocument(document, out, users));
+        assertDoesNotThrow(() -> userPdfExport.addTitle(document));
     }
 
     @Test
-    public void writeDocumentExceptionTest() {
+    public void addTableTest() {
         Document document = mock(Document.class);
-        ByteArrayOutputStream out = new ByteArrayOutputStream();
-        List<UserDto> users = List.of(mock(UserDto.class));
-        doThrow(DocumentException.class).when(document).open();
+        List<UserExportDto> users = List.of(createUser());
 
-        assertThrows(FileGenerationException.class, () -> userPdfExport.writeDocument(document, out, users));
+        assertDoesNotThrow(() -> userPdfExport.addTable(document, users));
+        verify(document).add(any(PdfPTable.class));
     }
 
     @Test
-    public void addTitleTest() {
+    public void addTableInChunksTest() throws Exception {
         Document document = mock(Document.class);
+        List<UserExportDto> users = Collections.nCopies(120, createUser());
 
-        assertDoesNotThrow(() -> userPdfExport.addTitle(document));
+        userPdfExport.addTable(document, users);
+
+        verify(document, times(3)).add(any(PdfPTable.class));
     }
 
     @Test
-    public void addTableTest() {
-        Document document = mock(Document.class);
-        LocalDate now = LocalDate.now();
-        AddressDto residence = AddressDto.builder()
-                .city("city")
-                .street("street")
-                .buildingNumber("1")
-                .apartment("1")
-                .zipCode("00-000")
-                .build();
-        AddressDto workAddress = AddressDto.builder()
-                .city("city")
-                .street("street")
-                .buildingNumber("1")
-                .apartment("1")
-                .zipCode("00-000")
-                .departmentName("department")
-                .build();
-        ContractTypeDto contractTypeDto = new ContractTypeDto(1L, "contractType", 2);
-        List<RoleDto> roleDtos = List.of(new RoleDto(1L, "role", "#000000"));
-        List<LanguageDto> languageDtos = List.of(new LanguageDto(1L, "English", "en"));
-        UserDto user = UserDto.builder()
-                .id(1L)
-                .firstname("firstname")
-                .surname("surname")
-                .email("email@example.com")
-                .contractType(contractTypeDto)
-                .contractSignature(now.plusDays(1))
-                .contractExpiration(now.plusYears(1))
-                .residence(residence)
-                .workAddress(workAddress)
-                .supervisorId(2L)
-                .photo("123456789")
-                .employeeId("EMP01")
-                .roles(roleDtos)
-                .languages(languageDtos)
-                .build();
-        List<UserDto> users = List.of(user);
+    public void addRowTest() {
+        PdfPTable table = mock(PdfPTable.class);
 
-        assertDoesNotThrow(() -> userPdfExport.addTable(document, users));
+        assertDoesNotThrow(() -> userPdfExport.addRow(table, createUser()));
+        verify(table, times(17)).addCell(any(PdfPCell.class));
     }
 
-    @Test
-    public void addRowsTest() {
-        PdfPTable table = mock(PdfPTable.class);
-        LocalDate now = LocalDate.now();
-        AddressDto residence = AddressDto.builder()
+    private UserExportDto createUser() {
+        return UserExportDto.builder()
+                .employeeId("EMP01")
+                .firstname("firstname")
+                .surname("surname")
+                .email("email@example.com")
+                .phoneNumber("123456789")
                 .city("city")
                 .street("street")
-                .buildingNumber("1")
                 .apartment("1")
                 .zipCode("00-000")
-                .build();
-        AddressDto workAddress = AddressDto.builder()
-                .city("city")
-                .street("street")
                 .buildingNumber("1")
-                .apartment("1")
-                .zipCode("00-000")
+                .roles("role")
+                .languages("English")
+                .contractType("contractType")
+                .contractSignature("2024-05-06")
+                .contractExpiration("2025-05-06")
+                .supervisorEmployeeId("EMP02")
                 .departmentName("department")
                 .build();
-        ContractTypeDto contractTypeDto = new ContractTypeDto(1L, "contractType", 2);
-        List<RoleDto> roleDtos = List.of(new RoleDto(1L, "role", "#000000"));
-        List<LanguageDto> languageDtos = List.of(new LanguageDto(1L, "English", "en"));
-        UserDto user = UserDto.builder()
-                .id(1L)
-                .firstname("firstname")
-                .surname("surname")
-                .email("email@example.com")
-                .contractType(contractTypeDto)
-                .contractSignature(now.plusDays(1))
-                .contractExpiration(now.plusYears(1))
-                .residence(residence)
-                .workAddress(workAddress)
-                .supervisorId(2L)
-                .photo("123456789")
-                .employeeId("EMP01")
-                .roles(roleDtos)
-                .languages(languageDtos)
-                .build();
-        List<UserDto> users = List.of(user);
-
-        assertDoesNotThrow(() -> userPdfExport.addRows(table, users));
     }
-}
\ No newline at end of file
+}
@@ -1,5 +1,6 @@
 package org.harmoniapp.services.notification;
 
+import org.harmoniapp.contracts.CursorPageDto;
 import org.harmoniapp.contracts.notification.NotificationDto;
 import org.harmoniapp.entities.notification.Notification;
 import org.harmoniapp.entities.user.User;
@@ -13,8 +14,11 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockedStatic;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -117,6 +121,82 @@ public class NotificationServiceImplTest {
         assertNotNull(result);
     }
 
+    @Test
+    public void getPageByUserIdTest() {
+        long userId = 1L;
+        User user = User.builder().id(userId).build();
+        List<Notification> rows = List.of(
+                Notification.builder().id(30L).user(user).read(false).build(),
+                Notification.builder().id(20L).user(user).read(false).build(),
+                Notification.builder().id(10L).user(user).read(true).build());
+        when(repositoryCollector.getUsers()).thenReturn(userRepository);
+        when(userRepository.existsById(userId)).thenReturn(true);
+        when(repositoryCollector.getNotifications()).thenReturn(notificationRepository);
+        when(notificationRepository.findAllByUserIdAndIdLessThanOrderByIdDesc(userId, 40L, Limit.of(3))).thenReturn(rows);
+
+        CursorPageDto<NotificationDto> result = notificationService.getPageByUserId(userId, 40L, 2);
+
+        assertEquals(2, result.content().size());
+        assertEquals(20L, result.nextCursor());
+    }
+
+    @Test
+    public void getLastPageByUserIdTest() {
+        long userId = 1L;
+        User user = User.builder().id(userId).build();
+        List<Notification> rows = List.of(Notification.builder().id(10L).user(user).read(true).build());
+        when(repositoryCollector.getUsers()).thenReturn(userRepository);
+        when(userRepository.existsById(userId)).thenReturn(true);
+        when(repositoryCollector.getNotifications()).thenReturn(notificationRepository);
+        when(notificationRepository.findAllByUserIdOrderByIdDesc(userId, Limit.of(3))).thenReturn(rows);
+
+        CursorPageDto<NotificationDto> result = notificationService.getPageByUserId(userId, null, 2);
+
+        assertEquals(1, result.content().size());
+        assertNull(result.nextCursor());
+    }
+
+    @Test
+    public void countUnreadByUserIdTest() {
+        when(repositoryCollector.getNotifications()).thenReturn(notificationRepository);
+        when(notificationRepository.countUnreadByUserId(1L)).thenReturn(7L);
+
+        assertEquals(7L, notificationService.countUnreadByUserId(1L));
+    }
+
+    @Test
+    public void purgeReadNotificationsTest() {
+        ReflectionTestUtils.setField(notificationService, "retentionDays", 30);
+        ReflectionTestUtils.setField(notificationService, "retentionBatchSize", 2);
+        when(repositoryCollector.getNotifications()).thenReturn(notificationRepository);
+        when(notificationRepository.deleteReadCreatedBefore(any(LocalDateTime.class), eq(2))).thenReturn(2, 2, 1);
+
+        int result = notificationService.purgeReadNotifications();
+
+        assertEquals(5, result);
+        verify(notificationRepository, times(3)).deleteReadCreatedBefore(any(LocalDateTime.class), eq(2));
+    }
+
+    @Test
+    public void createAllTest() {
+        User user = User.builder().id(1L).build();
+        NotificationDto first = NotificationDto.createNotification(1L, "title", "first");
+        NotificationDto second = NotificationDto.createNotification(2L, "title", "second");
+        when(repositoryCollector.getUsers()).thenReturn(userRepository);
+        when(userRepository.getReferenceById(1L)).thenReturn(user);
+        when(userRepository.getReferenceById(2L)).thenReturn(User.builder().id(2L).build());
+        when(repositoryCollector.getNotifications()).thenReturn(notificationRepository);
+        when(notificationRepository.insertAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        List<NotificationDto> result = notificationService.createAll(List.of(first, second));
+
+        assertEquals(2, result.size());
+        verify(notificationRepository, times(1)).insertAll(anyList());
+        verify(notificationRepository, never()).save(any());
+        verify(messagingTemplate, times(1)).convertAndSend(eq("/client/notifications/1"), any(NotificationDto.class));
+        verify(messagingTemplate, times(1)).convertAndSend(eq("/client/notifications/2"), any(NotificationDto.class));
+    }
+
     @Test
     public void createUserNotFoundTest() {
         NotificationDto notificationDto = NotificationDto.builder().id(1L).userId(1L).build();
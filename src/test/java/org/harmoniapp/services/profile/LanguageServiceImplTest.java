@@ -7,6 +7,7 @@ import org.harmoniapp.exception.EntityNotFoundException;
 import org.harmoniapp.repositories.RepositoryCollector;
 import org.harmoniapp.repositories.profile.LanguageRepository;
 import org.harmoniapp.repositories.user.UserRepository;
+import org.harmoniapp.services.user.UserDirectory;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -35,6 +36,9 @@ public class LanguageServiceImplTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private UserDirectory userDirectory;
+
     @InjectMocks
     private LanguageServiceImpl languageService;
 
@@ -115,5 +119,6 @@ public class LanguageServiceImplTest {
         languageService.deleteById(languageId);
 
         verify(repositoryCollector.getLanguages(), times(1)).deleteById(languageId);
+        verify(userDirectory).rebuild();
     }
 }
\ No newline at end of file
@@ -9,6 +9,7 @@ import org.harmoniapp.repositories.RepositoryCollector;
 import org.harmoniapp.repositories.profile.RoleRepository;
 import org.harmoniapp.repositories.schedule.ShiftRepository;
 import org.harmoniapp.repositories.user.UserRepository;
+import org.harmoniapp.services.schedule.ScheduleVersionService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -40,6 +41,9 @@ public class RoleServiceImplTest {
     @Mock
     private ShiftRepository shiftRepository;
 
+    @Mock
+    private ScheduleVersionService scheduleVersionService;
+
     @InjectMocks
     private RoleServiceImpl roleService;
 
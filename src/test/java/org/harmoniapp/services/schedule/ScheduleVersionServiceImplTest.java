@@ -0,0 +1,37 @@
+package org.harmoniapp.services.schedule;
+
+import org.harmoniapp.repositories.RepositoryCollector;
+import org.harmoniapp.repositories.schedule.ScheduleVersionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+public class ScheduleVersionServiceImplTest {
+
+    private ScheduleVersionRepository scheduleVersionRepository;
+    private ScheduleVersionServiceImpl scheduleVersionService;
+
+    @BeforeEach
+    public void setUp() {
+        RepositoryCollector repositoryCollector = mock(RepositoryCollector.class);
+        scheduleVersionRepository = mock(ScheduleVersionRepository.class);
+        when(repositoryCollector.getScheduleVersions()).thenReturn(scheduleVersionRepository);
+        scheduleVersionService = new ScheduleVersionServiceImpl(repositoryCollector);
+    }
+
+    @Test
+    public void getVersionTest() {
+        when(scheduleVersionRepository.findCurrentVersion()).thenReturn(7L);
+
+        assertEquals(7L, scheduleVersionService.getVersion());
+    }
+
+    @Test
+    public void bumpTest() {
+        scheduleVersionService.bump();
+
+        verify(scheduleVersionRepository).increment();
+    }
+}
@@ -7,12 +7,15 @@ import org.harmoniapp.enums.ShiftNotificationType;
 import org.harmoniapp.services.notification.NotificationService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
@@ -35,7 +38,31 @@ public class ShiftNotificationSenderImplTest {
 
         shiftNotificationSender.send(shifts, ShiftNotificationType.PUBLISHED_SHIFT);
 
-        verify(notificationService, times(1)).create(any(NotificationDto.class));
+        verify(notificationService, times(1)).createAll(anyList());
+        verify(notificationService, never()).create(any(NotificationDto.class));
+    }
+
+    @Test
+    public void sendAggregatesShiftsPerUserTest() {
+        User first = User.builder().id(1L).build();
+        User second = User.builder().id(2L).build();
+        LocalDateTime monday = LocalDateTime.of(2024, 10, 7, 8, 0);
+        List<Shift> shifts = List.of(
+                Shift.builder().user(first).start(monday).end(monday.plusHours(8)).build(),
+                Shift.builder().user(first).start(monday.plusDays(2)).end(monday.plusDays(2).plusHours(8)).build(),
+                Shift.builder().user(second).start(monday).end(monday.plusHours(8)).build());
+
+        shiftNotificationSender.send(shifts, ShiftNotificationType.PUBLISHED_SHIFT);
+
+        ArgumentCaptor<List<NotificationDto>> captor = ArgumentCaptor.forClass(List.class);
+        verify(notificationService, times(1)).createAll(captor.capture());
+        List<NotificationDto> notifications = captor.getValue();
+        assertEquals(2, notifications.size());
+        assertEquals(1L, notifications.getFirst().userId());
+        assertEquals(ShiftNotificationType.PUBLISHED_SHIFT.getSummaryTitle(), notifications.getFirst().title());
+        assertEquals(ShiftNotificationType.PUBLISHED_SHIFT.formatSummaryMessage(2, monday.toLocalDate(), monday.plusDays(2).toLocalDate()),
+                notifications.getFirst().message());
+        assertEquals(ShiftNotificationType.PUBLISHED_SHIFT.getTitle(), notifications.get(1).title());
     }
 
     @Test
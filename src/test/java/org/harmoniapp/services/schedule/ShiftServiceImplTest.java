@@ -44,6 +44,9 @@ public class ShiftServiceImplTest {
     @Mock
     private ShiftNotificationSender shiftNotificationSender;
 
+    @Mock
+    private ScheduleVersionService scheduleVersionService;
+
     @InjectMocks
     private ShiftServiceImpl shiftService;
 
@@ -167,6 +170,7 @@ public class ShiftServiceImplTest {
         List<ShiftDto> result = shiftService.publish(start, end);
 
         assertEquals(1, result.size());
+        verify(scheduleVersionService).bump();
     }
 
     @Test
@@ -181,5 +185,6 @@ public class ShiftServiceImplTest {
         shiftService.deleteById(shiftId);
 
         verify(shiftRepository, times(1)).delete(shift);
+        verify(scheduleVersionService).bump();
     }
 }
\ No newline at end of file
@@ -36,6 +36,9 @@ public class PartialUserServiceImplTest {
     @Mock
     private UserSearchService userSearchService;
 
+    @Mock
+    private UserDirectory userDirectory;
+
     @InjectMocks
     private PartialUserServiceImpl partialUserServiceImpl;
 
@@ -70,7 +73,7 @@ public class PartialUserServiceImplTest {
     @Test
     public void getPageSuccessTest() {
         UserSearchParamsDto searchParamsDto = new UserSearchParamsDto(List.of(1L), null, null);
-        PageRequestDto pageRequestDto = new PageRequestDto(0, 10, null, null);
+        PageRequestDto pageRequestDto = new PageRequestDto(0, 10, null, null, null);
         Page<User> userPage = mock(Page.class);
         when(userSearchService.findUsersPage(pageRequestDto, searchParamsDto)).thenReturn(userPage);
 
@@ -82,7 +85,7 @@ public class PartialUserServiceImplTest {
 
     @Test
     public void getPageWithNullSearchParamsTest() {
-        PageRequestDto pageRequestDto = new PageRequestDto(0, 10, null, null);
+        PageRequestDto pageRequestDto = new PageRequestDto(0, 10, null, null, null);
         Page<User> userPage = mock(Page.class);
         when(userSearchService.findUsersPage(pageRequestDto, null)).thenReturn(userPage);
 
@@ -95,18 +98,15 @@ public class PartialUserServiceImplTest {
     @Test
     void getUsersSearchTest() {
         String query = "test";
-        User user = User.builder()
-                .id(1L)
-                .roles(new HashSet<>())
-                .languages(new HashSet<>())
-                .build();
-        when(userSearchService.searchUsers(query)).thenReturn(List.of(user));
+        PageRequestDto pageRequestDto = new PageRequestDto(1, 10, null, null, null);
+        PartialUserDto user = PartialUserDto.builder().id(1L).build();
+        when(userDirectory.search(query, pageRequestDto)).thenReturn(List.of(user));
 
-        List<PartialUserDto> result = partialUserServiceImpl.getUsersSearch(query);
+        List<PartialUserDto> result = partialUserServiceImpl.getUsersSearch(query, pageRequestDto);
 
         assertNotNull(result);
         assertEquals(1, result.size());
         assertEquals(1L, result.get(0).id());
-        verify(userSearchService, times(1)).searchUsers(query);
+        verify(userDirectory, times(1)).search(query, pageRequestDto);
     }
 }
@@ -0,0 +1,80 @@
+package org.harmoniapp.services.user;
+
+import org.harmoniapp.exception.UnsupportedFileTypeException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PhotoThumbnailGeneratorImplTest {
+
+    @TempDir
+    private Path directory;
+
+    private final PhotoThumbnailGeneratorImpl photoThumbnailGenerator = new PhotoThumbnailGeneratorImpl();
+
+    @Test
+    public void generateJpgTest() throws IOException {
+        photoThumbnailGenerator.generate(image(1600, 900, "jpg"), "abc.jpg", directory);
+
+        for (int size : List.of(48, 128, 512)) {
+            BufferedImage thumbnail = ImageIO.read(directory.resolve("abc_" + size + ".jpg").toFile());
+            assertEquals(size, thumbnail.getWidth());
+            assertEquals(size, thumbnail.getHeight());
+        }
+    }
+
+    @Test
+    public void generatePngSmallerThanThumbnailTest() throws IOException {
+        photoThumbnailGenerator.generate(image(100, 200, "png"), "abc.png", directory);
+
+        BufferedImage thumbnail = ImageIO.read(directory.resolve("abc_512.png").toFile());
+        assertEquals(512, thumbnail.getWidth());
+        assertTrue(thumbnail.getColorModel().hasAlpha());
+    }
+
+    @Test
+    public void generateNotImageTest() {
+        byte[] photo = "not an image".getBytes(StandardCharsets.UTF_8);
+
+        assertThrows(UnsupportedFileTypeException.class,
+                () -> photoThumbnailGenerator.generate(photo, "abc.jpg", directory));
+    }
+
+    @Test
+    public void extensionTest() throws IOException {
+        assertEquals(".jpg", photoThumbnailGenerator.extension(image(10, 10, "jpg")));
+        assertEquals(".png", photoThumbnailGenerator.extension(image(10, 10, "png")));
+        assertThrows(UnsupportedFileTypeException.class,
+                () -> photoThumbnailGenerator.extension("not an image".getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    public void resolveSizeTest() {
+        assertNull(photoThumbnailGenerator.resolveSize(null));
+        assertEquals(48, photoThumbnailGenerator.resolveSize(32));
+        assertEquals(128, photoThumbnailGenerator.resolveSize(128));
+        assertEquals(512, photoThumbnailGenerator.resolveSize(200));
+        assertNull(photoThumbnailGenerator.resolveSize(1024));
+    }
+
+    @Test
+    public void thumbnailNamesTest() {
+        assertEquals(List.of("abc_48.png", "abc_128.png", "abc_512.png"), photoThumbnailGenerator.thumbnailNames("abc.png"));
+    }
+
+    private byte[] image(int width, int height, String format) throws IOException {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, format, out);
+        return out.toByteArray();
+    }
+}
@@ -1,5 +1,6 @@
 package org.harmoniapp.services.user;
 
+import org.harmoniapp.contracts.CursorPageDto;
 import org.harmoniapp.contracts.PageDto;
 import org.harmoniapp.contracts.PageRequestDto;
 import org.harmoniapp.contracts.user.SupervisorDto;
@@ -11,6 +12,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
@@ -22,6 +24,7 @@ import java.util.List;
 
 import static org.hibernate.validator.internal.util.Contracts.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -43,7 +46,7 @@ public class SupervisorServiceImplTest {
     @Test
     void getAllSupervisorsTest() {
         // given
-        PageRequestDto pageRequestDto = new PageRequestDto(0, 10, null, null);
+        PageRequestDto pageRequestDto = new PageRequestDto(0, 10, null, null, null);
         Pageable pageable = PageRequest.of(0, 10);
         User user1 = User.builder().id(1L).roles(new HashSet<>()).languages(new HashSet<>()).build();
         User user2 = User.builder().id(2L).roles(new HashSet<>()).languages(new HashSet<>()).build();
@@ -62,4 +65,21 @@ public class SupervisorServiceImplTest {
         verify(userSearchService).createPageable(pageRequestDto);
         verify(repositoryCollector.getUsers()).findSupervisors(pageable);
     }
+
+    @Test
+    void getSupervisorsPageTest() {
+        // given
+        PageRequestDto pageRequestDto = new PageRequestDto(null, 10, null, null, 5L);
+        User user = User.builder().id(8L).roles(new HashSet<>()).languages(new HashSet<>()).build();
+        when(userSearchService.cursorPageSize(pageRequestDto)).thenReturn(10);
+        when(repositoryCollector.getUsers()).thenReturn(userRepository);
+        when(userRepository.findSupervisorsAfter(5L, Limit.of(11))).thenReturn(List.of(user));
+
+        // when
+        CursorPageDto<SupervisorDto> result = supervisorService.getSupervisorsPage(pageRequestDto);
+
+        // than
+        assertEquals(1, result.content().size());
+        assertNull(result.nextCursor());
+    }
 }
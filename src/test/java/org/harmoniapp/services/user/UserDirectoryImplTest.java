@@ -0,0 +1,144 @@
+package org.harmoniapp.services.user;
+
+import org.harmoniapp.contracts.PageRequestDto;
+import org.harmoniapp.contracts.user.PartialUserDto;
+import org.harmoniapp.entities.user.User;
+import org.harmoniapp.repositories.RepositoryCollector;
+import org.harmoniapp.repositories.user.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class UserDirectoryImplTest {
+    private static final PageRequestDto FIRST_PAGE = new PageRequestDto(1, 10, null, null, null);
+
+    private UserRepository userRepository;
+    private UserDirectoryImpl userDirectory;
+
+    @BeforeEach
+    public void setUp() {
+        RepositoryCollector repositoryCollector = mock(RepositoryCollector.class);
+        userRepository = mock(UserRepository.class);
+        when(repositoryCollector.getUsers()).thenReturn(userRepository);
+        when(userRepository.findAllByIsActiveTrue()).thenReturn(List.of(
+                user(1L, "Jan", "Kowalski", "EMP-001"),
+                user(2L, "Janina", "Nowak", "EMP-002"),
+                user(3L, "Łukasz", "Janowski", "EMP-003"),
+                user(4L, "Anna", "Jan", "EMP-004")));
+        userDirectory = new UserDirectoryImpl(repositoryCollector, TransactionOperations.withoutTransaction());
+        userDirectory.rebuild();
+    }
+
+    @Test
+    public void searchPrefixTest() {
+        List<PartialUserDto> result = userDirectory.search("jan", FIRST_PAGE);
+
+        assertEquals(List.of(4L, 1L, 3L, 2L), ids(result));
+    }
+
+    @Test
+    public void searchMultipleWordsTest() {
+        List<PartialUserDto> result = userDirectory.search("Kow  jan", FIRST_PAGE);
+
+        assertEquals(List.of(1L), ids(result));
+    }
+
+    @Test
+    public void searchDiacriticsTest() {
+        assertEquals(List.of(3L), ids(userDirectory.search("lukasz", FIRST_PAGE)));
+        assertEquals(List.of(3L), ids(userDirectory.search("ŁUK", FIRST_PAGE)));
+    }
+
+    @Test
+    public void searchEmployeeIdTest() {
+        assertEquals(List.of(2L), ids(userDirectory.search("emp-002", FIRST_PAGE)));
+        assertEquals(List.of(2L), ids(userDirectory.search("EMP002", FIRST_PAGE)));
+    }
+
+    @Test
+    public void searchPageTest() {
+        List<PartialUserDto> result = userDirectory.search("jan", new PageRequestDto(2, 3, null, null, null));
+
+        assertEquals(List.of(2L), ids(result));
+    }
+
+    @Test
+    public void searchNoMatchTest() {
+        assertTrue(userDirectory.search("xyz", FIRST_PAGE).isEmpty());
+        assertTrue(userDirectory.search("?!", FIRST_PAGE).isEmpty());
+    }
+
+    @Test
+    public void searchBlankQueryTest() {
+        assertThrows(IllegalArgumentException.class, () -> userDirectory.search(" ", FIRST_PAGE));
+    }
+
+    @Test
+    public void refreshTest() {
+        when(userRepository.findByIdAndIsActiveTrue(2L)).thenReturn(Optional.of(user(2L, "Janina", "Zielińska", "EMP-002")));
+        when(userRepository.findByIdAndIsActiveTrue(5L)).thenReturn(Optional.of(user(5L, "Zenon", "Zieliński", "EMP-005")));
+
+        userDirectory.refresh(2L);
+        userDirectory.refresh(5L);
+
+        assertTrue(userDirectory.search("nowak", FIRST_PAGE).isEmpty());
+        assertEquals(List.of(2L, 5L), ids(userDirectory.search("zielin", FIRST_PAGE)));
+    }
+
+    @Test
+    public void refreshKeepsOtherUsersTest() {
+        when(userRepository.findByIdAndIsActiveTrue(1L)).thenReturn(Optional.of(user(1L, "Jan", "Adamski", "EMP-101")));
+
+        userDirectory.refresh(1L);
+
+        assertTrue(userDirectory.search("kowalski", FIRST_PAGE).isEmpty());
+        assertTrue(userDirectory.search("emp001", FIRST_PAGE).isEmpty());
+        assertEquals(List.of(1L), ids(userDirectory.search("adam", FIRST_PAGE)));
+        assertEquals(List.of(1L), ids(userDirectory.search("emp101", FIRST_PAGE)));
+        assertEquals(List.of(1L, 4L, 3L, 2L), ids(userDirectory.search("jan", FIRST_PAGE)));
+        assertEquals(List.of(3L), ids(userDirectory.search("lukasz", FIRST_PAGE)));
+    }
+
+    @Test
+    public void refreshAllTest() {
+        when(userRepository.findAllByIdInAndIsActiveTrue(List.of(1L, 5L, 6L))).thenReturn(List.of(
+                user(5L, "Zenon", "Zieliński", "EMP-005"),
+                user(6L, "Zofia", "Zielińska", "EMP-006")));
+
+        userDirectory.refreshAll(List.of(1L, 5L, 6L));
+
+        assertEquals(List.of(6L, 5L), ids(userDirectory.search("zielin", FIRST_PAGE)));
+        assertEquals(List.of(4L, 3L, 2L), ids(userDirectory.search("jan", FIRST_PAGE)));
+        verify(userRepository, never()).findByIdAndIsActiveTrue(anyLong());
+    }
+
+    @Test
+    public void refreshInactiveUserTest() {
+        when(userRepository.findByIdAndIsActiveTrue(1L)).thenReturn(Optional.empty());
+
+        userDirectory.refresh(1L);
+
+        assertEquals(List.of(4L, 3L, 2L), ids(userDirectory.search("jan", FIRST_PAGE)));
+    }
+
+    private List<Long> ids(List<PartialUserDto> users) {
+        return users.stream().map(PartialUserDto::id).toList();
+    }
+
+    private User user(Long id, String firstname, String surname, String employeeId) {
+        return User.builder()
+                .id(id)
+                .firstname(firstname)
+                .surname(surname)
+                .employeeId(employeeId)
+                .languages(new HashSet<>())
+                .build();
+    }
+}
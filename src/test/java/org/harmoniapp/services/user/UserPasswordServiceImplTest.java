@@ -5,6 +5,8 @@ import org.harmoniapp.entities.user.User;
 import org.harmoniapp.exception.EasyPasswordException;
 import org.harmoniapp.repositories.RepositoryCollector;
 import org.harmoniapp.repositories.user.UserRepository;
+import org.harmoniapp.services.auth.TokenRevocationService;
+import org.harmoniapp.services.auth.UserAuthenticationCache;
 import org.harmoniapp.utils.PasswordGenerator;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -17,11 +19,15 @@ import org.springframework.security.authentication.password.CompromisedPasswordD
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.time.LocalDate;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -40,6 +46,12 @@ public class UserPasswordServiceImplTest {
     @Mock
     private CompromisedPasswordChecker passwordChecker;
 
+    @Mock
+    private TokenRevocationService tokenRevocationService;
+
+    @Mock
+    private UserAuthenticationCache userAuthenticationCache;
+
     @InjectMocks
     private UserPasswordServiceImpl userPasswordService;
 
@@ -59,6 +71,28 @@ public class UserPasswordServiceImplTest {
         assertEquals(0, user.getFailedLoginAttempts());
     }
 
+    @Test
+    public void setPasswordsTest() {
+        List<User> users = List.of(new User(), new User(), new User());
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        UserPasswordServiceImpl service = new UserPasswordServiceImpl(repositoryCollector, passwordEncoder,
+                passwordChecker, executor, tokenRevocationService, userAuthenticationCache);
+        when(passwordEncoder.encode(any(String.class))).thenReturn("hashedPassword");
+
+        try {
+            List<String> result = service.setPasswords(users);
+
+            assertEquals(3, result.size());
+            verify(passwordEncoder, times(3)).encode(any(String.class));
+            users.forEach(user -> {
+                assertEquals("hashedPassword", user.getPassword());
+                assertEquals(LocalDate.now().minusDays(1), user.getPasswordExpirationDate());
+            });
+        } finally {
+            executor.shutdown();
+        }
+    }
+
     @Test
     public void setPasswordWithTemporaryFlagTest() {
         User user = new User();
@@ -143,5 +177,6 @@ public class UserPasswordServiceImplTest {
         assertEquals("hashedPassword", user.getPassword());
         assertEquals(LocalDate.now().minusDays(1), user.getPasswordExpirationDate());
         assertEquals(0, user.getFailedLoginAttempts());
+        verify(tokenRevocationService).revokeTokens(userId);
     }
 }
@@ -0,0 +1,95 @@
+package org.harmoniapp.services.user;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.harmoniapp.exception.EntityNotFoundException;
+import org.harmoniapp.repositories.RepositoryCollector;
+import org.harmoniapp.repositories.user.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class UserPhotoCacheImplTest {
+
+    private UserRepository userRepository;
+    private Clock clock;
+    private SimpleMeterRegistry meterRegistry;
+    private UserPhotoCacheImpl cache;
+
+    @BeforeEach
+    public void setUp() {
+        RepositoryCollector repositoryCollector = mock(RepositoryCollector.class);
+        userRepository = mock(UserRepository.class);
+        when(repositoryCollector.getUsers()).thenReturn(userRepository);
+        clock = mock(Clock.class);
+        when(clock.instant()).thenReturn(Instant.parse("2024-05-06T08:00:00Z"));
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new UserPhotoCacheImpl(repositoryCollector, meterRegistry, 2, Duration.ofMinutes(10), clock);
+    }
+
+    @Test
+    public void getPhotoCachesFileNameTest() {
+        when(userRepository.findActivePhotoById(1L)).thenReturn(Optional.of("1_photo.jpg"));
+
+        assertEquals("1_photo.jpg", cache.getPhoto(1L));
+        assertEquals("1_photo.jpg", cache.getPhoto(1L));
+
+        verify(userRepository, times(1)).findActivePhotoById(1L);
+        assertEquals(1, meterRegistry.get("cache.gets").tag("result", "hit").counter().count());
+        assertEquals(1, meterRegistry.get("cache.gets").tag("result", "miss").counter().count());
+    }
+
+    @Test
+    public void getPhotoExpiredTest() {
+        when(userRepository.findActivePhotoById(1L)).thenReturn(Optional.of("1_photo.jpg"));
+        cache.getPhoto(1L);
+
+        when(clock.instant()).thenReturn(Instant.parse("2024-05-06T08:11:00Z"));
+        cache.getPhoto(1L);
+
+        verify(userRepository, times(2)).findActivePhotoById(1L);
+    }
+
+    @Test
+    public void evictTest() {
+        when(userRepository.findActivePhotoById(1L)).thenReturn(Optional.of("1_photo.jpg"), Optional.of("default.jpg"));
+        cache.getPhoto(1L);
+
+        cache.evict(1L);
+
+        assertEquals("default.jpg", cache.getPhoto(1L));
+    }
+
+    @Test
+    public void getPhotoEvictsLeastRecentlyUsedTest() {
+        for (long id = 1; id <= 3; id++) {
+            when(userRepository.findActivePhotoById(id)).thenReturn(Optional.of(id + "_photo.jpg"));
+        }
+        cache.getPhoto(1L);
+        cache.getPhoto(2L);
+        cache.getPhoto(1L);
+        cache.getPhoto(3L);
+
+        cache.getPhoto(1L);
+        cache.getPhoto(2L);
+
+        verify(userRepository, times(1)).findActivePhotoById(1L);
+        verify(userRepository, times(2)).findActivePhotoById(2L);
+    }
+
+    @Test
+    public void getPhotoUserNotFoundTest() {
+        when(userRepository.findActivePhotoById(1L)).thenReturn(Optional.empty());
+
+        assertThrows(EntityNotFoundException.class, () -> cache.getPhoto(1L));
+        assertThrows(EntityNotFoundException.class, () -> cache.getPhoto(1L));
+
+        verify(userRepository, times(2)).findActivePhotoById(1L);
+    }
+}
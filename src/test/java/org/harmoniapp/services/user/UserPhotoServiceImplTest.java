@@ -6,7 +6,6 @@ import org.harmoniapp.entities.user.User;
 import org.harmoniapp.exception.EntityNotFoundException;
 import org.harmoniapp.repositories.RepositoryCollector;
 import org.harmoniapp.repositories.user.UserRepository;
-import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -20,9 +19,14 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.util.HexFormat;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -34,31 +38,31 @@ public class UserPhotoServiceImplTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private UserPhotoCache userPhotoCache;
+
+    @Mock
+    private PhotoThumbnailGenerator photoThumbnailGenerator;
+
     @InjectMocks
     private UserPhotoServiceImpl userPhotoService;
 
-    @BeforeEach
-    public void setUp() {
-        when(repositoryCollector.getUsers()).thenReturn(userRepository);
-    }
-
     @Test
     void getUserPhotoUserExistsWithPhotoTest() throws Exception {
         long userId = 1L;
-        User user = new User();
-        user.setId(userId);
-        user.setPhoto("userPhoto.jpg");
 
-        when(userRepository.findByIdAndIsActiveTrue(userId)).thenReturn(Optional.of(user));
+        when(userPhotoCache.getPhoto(userId)).thenReturn("userPhoto.jpg");
+        when(photoThumbnailGenerator.resolveSize(null)).thenReturn(null);
         Path photoPath = Paths.get("src/test/resources/static/userPhoto/test_photo1.jpg");
         Files.createDirectories(photoPath.getParent());
         Files.write(photoPath, "dummy content".getBytes());
 
-        PhotoDto photoDto = userPhotoService.getUserPhoto(userId);
+        PhotoDto photoDto = userPhotoService.getUserPhoto(userId, null);
 
         assertNotNull(photoDto);
         assertEquals(MediaType.IMAGE_JPEG, photoDto.contentType());
         assertTrue(photoDto.photo().getInputStream().available() > 0);
+        assertNotNull(photoDto.eTag());
 
         Files.deleteIfExists(photoPath);
     }
@@ -66,16 +70,14 @@ public class UserPhotoServiceImplTest {
     @Test
     void getUserPhotoUserExistsWithoutPhotoTest() throws Exception {
         long userId = 1L;
-        User user = new User();
-        user.setId(userId);
-        user.setPhoto(null);
 
-        when(userRepository.findByIdAndIsActiveTrue(userId)).thenReturn(Optional.of(user));
+        when(userPhotoCache.getPhoto(userId)).thenReturn("default.jpg");
+        when(photoThumbnailGenerator.resolveSize(null)).thenReturn(null);
         Path defaultPhotoPath = Paths.get("src/test/resources/static/userPhoto/test_photo2.jpg");
         Files.createDirectories(defaultPhotoPath.getParent());
         Files.write(defaultPhotoPath, "dummy content".getBytes());
 
-        PhotoDto photoDto = userPhotoService.getUserPhoto(userId);
+        PhotoDto photoDto = userPhotoService.getUserPhoto(userId, null);
 
         assertNotNull(photoDto);
         assertEquals(MediaType.IMAGE_JPEG, photoDto.contentType());
@@ -85,12 +87,76 @@ public class UserPhotoServiceImplTest {
         Files.deleteIfExists(defaultPhotoPath);
     }
 
+    @Test
+    void getUserPhotoETagChangesWithFileTest() throws Exception {
+        long userId = 1L;
+        when(userPhotoCache.getPhoto(userId)).thenReturn("1_etag_test.png");
+        when(photoThumbnailGenerator.resolveSize(null)).thenReturn(null);
+        Path photoPath = Paths.get("src/main/resources/static/userPhoto/1_etag_test.png");
+        Files.createDirectories(photoPath.getParent());
+        Files.write(photoPath, "first".getBytes());
+
+        PhotoDto first = userPhotoService.getUserPhoto(userId, null);
+        Files.write(photoPath, "second content".getBytes());
+        PhotoDto second = userPhotoService.getUserPhoto(userId, null);
+
+        assertEquals(MediaType.IMAGE_PNG, first.contentType());
+        assertEquals(second.eTag(), userPhotoService.getUserPhoto(userId, null).eTag());
+        assertNotEquals(first.eTag(), second.eTag());
+
+        Files.deleteIfExists(photoPath);
+    }
+
+    @Test
+    void getUserPhotoContentAddressedETagTest() throws Exception {
+        long userId = 1L;
+        String hash = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest("etag".getBytes()));
+        when(userPhotoCache.getPhoto(userId)).thenReturn(hash + ".jpg");
+        when(photoThumbnailGenerator.resolveSize(40)).thenReturn(48);
+        when(photoThumbnailGenerator.thumbnailName(hash + ".jpg", 48)).thenReturn(hash + "_48.jpg");
+        Path photoPath = Paths.get("src/main/resources/static/userPhoto/" + hash + ".jpg");
+        Path thumbnailPath = Paths.get("src/main/resources/static/userPhoto/" + hash + "_48.jpg");
+        Files.createDirectories(photoPath.getParent());
+        Files.write(photoPath, "etag".getBytes());
+        Files.write(thumbnailPath, "thumbnail".getBytes());
+
+        PhotoDto photoDto = userPhotoService.getUserPhoto(userId, 40);
+
+        assertEquals(hash + "_48", photoDto.eTag());
+
+        Files.deleteIfExists(photoPath);
+        Files.deleteIfExists(thumbnailPath);
+    }
+
+    @Test
+    void getUserPhotoThumbnailTest() throws Exception {
+        long userId = 1L;
+        when(userPhotoCache.getPhoto(userId)).thenReturn("thumbnail_test.jpg");
+        when(photoThumbnailGenerator.resolveSize(null)).thenReturn(null);
+        when(photoThumbnailGenerator.resolveSize(40)).thenReturn(48);
+        when(photoThumbnailGenerator.thumbnailName("thumbnail_test.jpg", 48)).thenReturn("thumbnail_test_48.jpg");
+        Path photoPath = Paths.get("src/main/resources/static/userPhoto/thumbnail_test.jpg");
+        Path thumbnailPath = Paths.get("src/main/resources/static/userPhoto/thumbnail_test_48.jpg");
+        Files.createDirectories(photoPath.getParent());
+        Files.write(photoPath, "original content".getBytes());
+        Files.write(thumbnailPath, "thumbnail".getBytes());
+
+        PhotoDto photoDto = userPhotoService.getUserPhoto(userId, 40);
+
+        assertEquals("thumbnail_test_48.jpg", photoDto.photo().getFilename());
+        assertEquals(MediaType.IMAGE_JPEG, photoDto.contentType());
+        assertNotEquals(userPhotoService.getUserPhoto(userId, null).eTag(), photoDto.eTag());
+
+        Files.deleteIfExists(photoPath);
+        Files.deleteIfExists(thumbnailPath);
+    }
+
     @Test
     void getUserPhotoUserNotFoundTest() {
         long userId = 1L;
-        when(userRepository.findByIdAndIsActiveTrue(userId)).thenReturn(Optional.empty());
+        when(userPhotoCache.getPhoto(userId)).thenThrow(new EntityNotFoundException("Nie znaleziono użytkownika"));
 
-        assertThrows(EntityNotFoundException.class, () -> userPhotoService.getUserPhoto(userId));
+        assertThrows(EntityNotFoundException.class, () -> userPhotoService.getUserPhoto(userId, null));
     }
 
     @Test
@@ -100,19 +166,24 @@ public class UserPhotoServiceImplTest {
         user.setId(userId);
         user.setPhoto("oldPhoto.jpg");
 
+        when(repositoryCollector.getUsers()).thenReturn(userRepository);
         when(userRepository.findByIdAndIsActiveTrue(userId)).thenReturn(Optional.of(user));
         Path oldPhotoPath = Paths.get("src/test/resources/static/userPhoto/oldPhoto.jpg");
         Files.createDirectories(oldPhotoPath.getParent());
         Files.write(oldPhotoPath, "old content".getBytes());
 
-        MultipartFile file = new MockMultipartFile("file", "newPhoto.jpg", MediaType.IMAGE_JPEG_VALUE, "new content".getBytes());
-        Path photoPath = Paths.get("src/main/resources/static/userPhoto/1_newPhoto.jpg");
+        MultipartFile file = new MockMultipartFile("file", "newPhoto.JPG", MediaType.IMAGE_JPEG_VALUE, "new content".getBytes());
+        when(photoThumbnailGenerator.extension(any())).thenReturn(".jpg");
+        String hash = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest("new content".getBytes()));
+        Path photoPath = Paths.get("src/main/resources/static/userPhoto/" + hash + ".jpg");
 
         UserDto userDto = userPhotoService.uploadPhoto(userId, file);
 
         assertNotNull(userDto);
-        assertEquals("1_newPhoto.jpg", userDto.photo());
+        assertEquals(hash + ".jpg", userDto.photo());
         assertTrue(Files.exists(photoPath));
+        verify(photoThumbnailGenerator).generate(any(), eq(hash + ".jpg"), any(Path.class));
+        verify(userPhotoCache).evict(userId);
 
         Files.deleteIfExists(photoPath);
     }
@@ -124,6 +195,7 @@ public class UserPhotoServiceImplTest {
         user.setId(userId);
         user.setPhoto("customPhoto.jpg");
         try {
+            when(repositoryCollector.getUsers()).thenReturn(userRepository);
             when(userRepository.findByIdAndIsActiveTrue(userId)).thenReturn(Optional.of(user));
             Path customPhotoPath = Paths.get("src/main/resources/static/userPhoto/customPhoto.jpg");
             Files.createDirectories(customPhotoPath.getParent());
@@ -134,10 +206,32 @@ public class UserPhotoServiceImplTest {
             assertNotNull(userDto);
             assertEquals("default.jpg", userDto.photo());
             assertFalse(Files.exists(customPhotoPath));
+            verify(userPhotoCache).evict(userId);
 
             Files.deleteIfExists(customPhotoPath);
         } catch (IOException e) {
             fail("An error occurred while creating the custom photo file");
         }
     }
+
+    @Test
+    void setDefaultPhotoSharedPhotoTest() throws Exception {
+        long userId = 1L;
+        User user = new User();
+        user.setId(userId);
+        user.setPhoto("sharedPhoto.jpg");
+        when(repositoryCollector.getUsers()).thenReturn(userRepository);
+        when(userRepository.findByIdAndIsActiveTrue(userId)).thenReturn(Optional.of(user));
+        when(userRepository.existsByPhoto("sharedPhoto.jpg")).thenReturn(true);
+        Path sharedPhotoPath = Paths.get("src/main/resources/static/userPhoto/sharedPhoto.jpg");
+        Files.createDirectories(sharedPhotoPath.getParent());
+        Files.write(sharedPhotoPath, "shared content".getBytes());
+
+        UserDto userDto = userPhotoService.setDefaultPhoto(userId);
+
+        assertEquals("default.jpg", userDto.photo());
+        assertTrue(Files.exists(sharedPhotoPath));
+
+        Files.deleteIfExists(sharedPhotoPath);
+    }
 }
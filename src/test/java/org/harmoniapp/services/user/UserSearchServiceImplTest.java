@@ -4,6 +4,7 @@ import org.harmoniapp.contracts.PageRequestDto;
 import org.harmoniapp.contracts.user.UserSearchParamsDto;
 import org.harmoniapp.entities.user.User;
 import org.harmoniapp.repositories.RepositoryCollector;
+import org.harmoniapp.repositories.user.UserListRow;
 import org.harmoniapp.repositories.user.UserRepository;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -14,10 +15,11 @@ import org.springframework.data.domain.*;
 
 import java.util.List;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
-import static org.mockito.Mockito.when;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 public class UserSearchServiceImplTest {
@@ -33,21 +35,54 @@ public class UserSearchServiceImplTest {
 
     @Test
     public void searchUsersTest() {
-        String query = "test query";
-        List<String> qSplit = List.of("TEST", "QUERY");
+        String query = "Jan  Kowal";
         List<User> expectedUsers = List.of(new User(), new User());
 
         when(repositoryCollector.getUsers()).thenReturn(userRepository);
-        when(userRepository.findAllActiveBySearchName(qSplit)).thenReturn(expectedUsers);
+        when(userRepository.searchActive("jan:* & kowal:*", "jan kowal", 10, 0)).thenReturn(expectedUsers);
 
-        List<User> result = userSearchService.searchUsers(query);
+        List<User> result = userSearchService.searchUsers(query, new PageRequestDto(1, 10, null, null, null));
 
         assertEquals(expectedUsers, result);
     }
 
+    @Test
+    public void searchUsersSpecialCharactersTest() {
+        when(repositoryCollector.getUsers()).thenReturn(userRepository);
+        when(userRepository.searchActive("jan:* & example:* & com:*", "jan example com", 20, 40)).thenReturn(List.of());
+
+        List<User> result = userSearchService.searchUsers("jan@example.com'", new PageRequestDto(3, 20, null, null, null));
+
+        assertTrue(result.isEmpty());
+    }
+
+    @Test
+    public void searchUsersPageSizeLimitTest() {
+        when(repositoryCollector.getUsers()).thenReturn(userRepository);
+        when(userRepository.searchActive("ewa:*", "ewa", 50, 50)).thenReturn(List.of());
+
+        userSearchService.searchUsers("Ewa", new PageRequestDto(2, 1000, null, null, null));
+
+        verify(userRepository).searchActive("ewa:*", "ewa", 50, 50);
+    }
+
+    @Test
+    public void searchUsersNoWordsTest() {
+        List<User> result = userSearchService.searchUsers("!?", new PageRequestDto(1, 10, null, null, null));
+
+        assertTrue(result.isEmpty());
+        verifyNoInteractions(repositoryCollector);
+    }
+
+    @Test
+    public void searchUsersBlankQueryTest() {
+        assertThrows(IllegalArgumentException.class,
+                () -> userSearchService.searchUsers(" ", new PageRequestDto(1, 10, null, null, null)));
+    }
+
     @Test
     public void findUsersPageTest() {
-        PageRequestDto pageRequestDto = new PageRequestDto(1, 10, "desc", "surname");
+        PageRequestDto pageRequestDto = new PageRequestDto(1, 10, "desc", "surname", null);
         List<User> users = List.of(new User(), new User());
         Page<User> expectedPage = new PageImpl<>(users);
 
@@ -61,7 +96,7 @@ public class UserSearchServiceImplTest {
 
     @Test
     public void findUsersPageWithSearchParamsTest() {
-        PageRequestDto pageRequestDto = new PageRequestDto(1, 10, "asc", "surname");
+        PageRequestDto pageRequestDto = new PageRequestDto(1, 10, "asc", "surname", null);
         UserSearchParamsDto searchParamsDto = new UserSearchParamsDto(List.of(1L), List.of(1L), List.of(1L));
         List<User> users = List.of(new User(), new User());
         Page<User> expectedPage = new PageImpl<>(users);
@@ -78,7 +113,7 @@ public class UserSearchServiceImplTest {
 
     @Test
     public void createPageableTest() {
-        PageRequestDto pageRequestDto = new PageRequestDto(1, 10, "asc", "surname");
+        PageRequestDto pageRequestDto = new PageRequestDto(1, 10, "asc", "surname", null);
 
         Pageable pageable = userSearchService.createPageable(pageRequestDto);
 
@@ -88,7 +123,7 @@ public class UserSearchServiceImplTest {
 
     @Test
     public void createPageableNullPageNumberTest() {
-        PageRequestDto pageRequestDto = new PageRequestDto(null, 10, "asc", "surname");
+        PageRequestDto pageRequestDto = new PageRequestDto(null, 10, "asc", "surname", null);
         Pageable pageable = userSearchService.createPageable(pageRequestDto);
         assertEquals(0, pageable.getPageNumber());
         assertEquals(10, pageable.getPageSize());
@@ -96,7 +131,7 @@ public class UserSearchServiceImplTest {
 
     @Test
     public void createPageableNegativePageNumberTest() {
-        PageRequestDto pageRequestDto = new PageRequestDto(-1, 10, "asc", "surname");
+        PageRequestDto pageRequestDto = new PageRequestDto(-1, 10, "asc", "surname", null);
         Pageable pageable = userSearchService.createPageable(pageRequestDto);
         assertEquals(0, pageable.getPageNumber());
         assertEquals(10, pageable.getPageSize());
@@ -104,7 +139,7 @@ public class UserSearchServiceImplTest {
 
     @Test
     public void createPageableNullPageSizeTest() {
-        PageRequestDto pageRequestDto = new PageRequestDto(1, null, "asc", "surname");
+        PageRequestDto pageRequestDto = new PageRequestDto(1, null, "asc", "surname", null);
         Pageable pageable = userSearchService.createPageable(pageRequestDto);
         assertEquals(0, pageable.getPageNumber());
         assertEquals(10, pageable.getPageSize());
@@ -112,7 +147,7 @@ public class UserSearchServiceImplTest {
 
     @Test
     public void createPageableNegativePageSizeTest() {
-        PageRequestDto pageRequestDto = new PageRequestDto(1, -1, "asc", "surname");
+        PageRequestDto pageRequestDto = new PageRequestDto(1, -1, "asc", "surname", null);
         Pageable pageable = userSearchService.createPageable(pageRequestDto);
         assertEquals(0, pageable.getPageNumber());
         assertEquals(10, pageable.getPageSize());
@@ -120,7 +155,7 @@ public class UserSearchServiceImplTest {
 
     @Test
     public void createPageableNullOrderTest() {
-        PageRequestDto pageRequestDto = new PageRequestDto(1, 10, null, "surname");
+        PageRequestDto pageRequestDto = new PageRequestDto(1, 10, null, "surname", null);
         Pageable pageable = userSearchService.createPageable(pageRequestDto);
         assertEquals(0, pageable.getPageNumber());
         assertEquals(10, pageable.getPageSize());
@@ -128,7 +163,7 @@ public class UserSearchServiceImplTest {
 
     @Test
     public void createPageableEmptyOrderTest() {
-        PageRequestDto pageRequestDto = new PageRequestDto(1, 10, "", "surname");
+        PageRequestDto pageRequestDto = new PageRequestDto(1, 10, "", "surname", null);
         Pageable pageable = userSearchService.createPageable(pageRequestDto);
         assertEquals(0, pageable.getPageNumber());
         assertEquals(10, pageable.getPageSize());
@@ -136,7 +171,7 @@ public class UserSearchServiceImplTest {
 
     @Test
     public void createPageableDescOrderTest() {
-        PageRequestDto pageRequestDto = new PageRequestDto(1, 10, "desc", "surname");
+        PageRequestDto pageRequestDto = new PageRequestDto(1, 10, "desc", "surname", null);
         Pageable pageable = userSearchService.createPageable(pageRequestDto);
         assertEquals(0, pageable.getPageNumber());
         assertEquals(10, pageable.getPageSize());
@@ -144,7 +179,7 @@ public class UserSearchServiceImplTest {
 
     @Test
     public void createPageableNullSortByTest() {
-        PageRequestDto pageRequestDto = new PageRequestDto(1, 10, "asc", null);
+        PageRequestDto pageRequestDto = new PageRequestDto(1, 10, "asc", null, null);
         Pageable pageable = userSearchService.createPageable(pageRequestDto);
         assertEquals(0, pageable.getPageNumber());
         assertEquals(10, pageable.getPageSize());
@@ -195,4 +230,40 @@ public class UserSearchServiceImplTest {
 
         assertEquals(expectedPage, result);
     }
+
+    @Test
+    public void findUsersAfterTest() {
+        UserSearchParamsDto searchParamsDto = new UserSearchParamsDto(List.of(), List.of(2L), null);
+        List<User> users = List.of(new User());
+
+        when(repositoryCollector.getUsers()).thenReturn(userRepository);
+        when(userRepository.findActiveAfter(eq(List.of(2L)), isNull(), isNull(), eq(15L), eq(Limit.of(21)))).thenReturn(users);
+
+        List<User> result = userSearchService.findUsersAfter(new PageRequestDto(3, 20, null, null, 15L), searchParamsDto);
+
+        assertEquals(users, result);
+    }
+
+    @Test
+    public void findUsersAfterLargePageTest() {
+        when(repositoryCollector.getUsers()).thenReturn(userRepository);
+        when(userRepository.findActiveAfter(isNull(), isNull(), isNull(), isNull(), eq(Limit.of(101)))).thenReturn(List.of());
+
+        userSearchService.findUsersAfter(new PageRequestDto(null, Integer.MAX_VALUE, null, null, null), null);
+
+        assertEquals(100, userSearchService.cursorPageSize(new PageRequestDto(null, Integer.MAX_VALUE, null, null, null)));
+    }
+
+    @Test
+    public void findUserListPageTest() {
+        UserSearchParamsDto searchParamsDto = new UserSearchParamsDto(List.of(), List.of(2L), null);
+        Page<UserListRow> expectedPage = new PageImpl<>(List.of(new UserListRow(1L, "Jan", "Kowalski", "EMP-1", "default.jpg", "Kasjer")));
+
+        when(repositoryCollector.getUsers()).thenReturn(userRepository);
+        when(userRepository.findListPage(eq(List.of(2L)), isNull(), isNull(), any(Pageable.class))).thenReturn(expectedPage);
+
+        Page<UserListRow> result = userSearchService.findUserListPage(new PageRequestDto(1, 10, null, null, null), searchParamsDto);
+
+        assertEquals(expectedPage, result);
+    }
 }
@@ -1,5 +1,7 @@
 package org.harmoniapp.services.user;
 
+import jakarta.validation.Validator;
+import org.harmoniapp.contracts.CursorPageDto;
 import org.harmoniapp.contracts.PageDto;
 import org.harmoniapp.contracts.PageRequestDto;
 import org.harmoniapp.contracts.profile.AddressDto;
@@ -7,18 +9,23 @@ import org.harmoniapp.contracts.profile.ContractTypeDto;
 import org.harmoniapp.contracts.profile.LanguageDto;
 import org.harmoniapp.contracts.profile.RoleDto;
 import org.harmoniapp.contracts.user.UserDto;
+import org.harmoniapp.contracts.user.UserListItemDto;
 import org.harmoniapp.contracts.user.UserSearchParamsDto;
 import org.harmoniapp.entities.profile.Address;
 import org.harmoniapp.entities.profile.ContractType;
 import org.harmoniapp.entities.profile.Language;
 import org.harmoniapp.entities.profile.Role;
 import org.harmoniapp.entities.user.User;
+import org.harmoniapp.exception.InvalidBulkItemException;
 import org.harmoniapp.repositories.RepositoryCollector;
 import org.harmoniapp.repositories.profile.AddressRepository;
 import org.harmoniapp.repositories.profile.ContractTypeRepository;
 import org.harmoniapp.repositories.profile.LanguageRepository;
 import org.harmoniapp.repositories.profile.RoleRepository;
+import org.harmoniapp.repositories.user.UserListRow;
 import org.harmoniapp.repositories.user.UserRepository;
+import org.harmoniapp.services.auth.TokenRevocationService;
+import org.harmoniapp.services.auth.UserAuthenticationCache;
 import org.harmoniapp.services.profile.AddressService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -36,6 +43,11 @@ import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -50,6 +62,18 @@ public class UserServiceImplTest {
     @Mock
     private UserPasswordService userPasswordService;
 
+    @Mock
+    private TokenRevocationService tokenRevocationService;
+
+    @Mock
+    private UserAuthenticationCache userAuthenticationCache;
+
+    @Mock
+    private UserDirectory userDirectory;
+
+    @Mock
+    private UserPhotoCache userPhotoCache;
+
     @Mock
     private ContractTypeRepository contractTypeRepository;
 
@@ -68,6 +92,9 @@ public class UserServiceImplTest {
     @Mock
     private UserSearchService userSearchService;
 
+    @Mock
+    private Validator validator;
+
     @InjectMocks
     private UserServiceImpl userService;
 
@@ -75,7 +102,7 @@ public class UserServiceImplTest {
     @Test
     public void getPageTest() {
         UserSearchParamsDto searchParamsDto = new UserSearchParamsDto(null, null, null);
-        PageRequestDto pageRequestDto = new PageRequestDto(0, 10, null, null);
+        PageRequestDto pageRequestDto = new PageRequestDto(0, 10, null, null, null);
         Pageable pageable = PageRequest.of(0, 10);
         User user = new User();
         Page<User> userPage = new PageImpl<>(List.of(user), pageable, 1);
@@ -101,14 +128,41 @@ public class UserServiceImplTest {
         assertEquals(userId, result.id());
     }
 
+    @Test
+    public void getListPageTest() {
+        PageRequestDto pageRequestDto = new PageRequestDto(1, 10, null, null, null);
+        UserSearchParamsDto searchParamsDto = new UserSearchParamsDto(null, null, null);
+        UserListRow row = new UserListRow(1L, "Jan", "Kowalski", "EMP-1", "default.jpg", "Kasjer");
+        when(userSearchService.findUserListPage(pageRequestDto, searchParamsDto)).thenReturn(new PageImpl<>(List.of(row)));
+
+        PageDto<UserListItemDto> result = userService.getListPage(searchParamsDto, pageRequestDto);
+
+        assertEquals(List.of(new UserListItemDto(1L, "Jan", "Kowalski", "EMP-1", "default.jpg", "Kasjer")), result.content());
+    }
+
+    @Test
+    public void getCursorPageTest() {
+        PageRequestDto pageRequestDto = new PageRequestDto(null, 2, null, null, null);
+        UserSearchParamsDto searchParamsDto = new UserSearchParamsDto(null, null, null);
+        List<User> users = List.of(User.builder().id(1L).build(), User.builder().id(2L).build(), User.builder().id(3L).build());
+        when(userSearchService.cursorPageSize(pageRequestDto)).thenReturn(2);
+        when(userSearchService.findUsersAfter(pageRequestDto, searchParamsDto)).thenReturn(users);
+
+        CursorPageDto<UserDto> result = userService.getCursorPage(searchParamsDto, pageRequestDto);
+
+        assertEquals(2, result.content().size());
+        assertEquals(2L, result.nextCursor());
+    }
+
     @Test
     public void getUsersSearchTest() {
         String query = "test";
         User user = new User();
         List<User> users = List.of(user);
-        when(userSearchService.searchUsers(query)).thenReturn(users);
+        PageRequestDto pageRequestDto = new PageRequestDto(1, 10, null, null, null);
+        when(userSearchService.searchUsers(query, pageRequestDto)).thenReturn(users);
 
-        List<UserDto> result = userService.getUsersSearch(query);
+        List<UserDto> result = userService.getUsersSearch(query, pageRequestDto);
 
         assertEquals(1, result.size());
     }
@@ -126,6 +180,7 @@ public class UserServiceImplTest {
                 .workAddress(AddressDto.builder().id(1L).build())
                 .build();
         User user = new User();
+        user.setId(1L);
         when(repositoryCollector.getUsers()).thenReturn(userRepository);
         when(repositoryCollector.getContractTypes()).thenReturn(contractTypeRepository);
         when(contractTypeRepository.findById(1L)).thenReturn(Optional.of(new ContractType()));
@@ -142,6 +197,73 @@ public class UserServiceImplTest {
         UserDto result = userService.create(userDto);
 
         assertNotNull(result);
+        verify(userDirectory).refresh(1L);
+    }
+
+    @Test
+    public void createAllTest() {
+        List<UserDto> userDtos = List.of(newUserDto("a@example.com", "EMP001"), newUserDto("b@example.com", "EMP002"));
+        stubNewUserReferences();
+        when(userPasswordService.setPasswords(anyList())).thenReturn(List.of("rawPass1", "rawPass2"));
+        doAnswer(invocation -> {
+            List<Address> residences = invocation.getArgument(0);
+            residences.forEach(residence -> residence.setId(1L));
+            return residences;
+        }).when(addressRepository).insertAll(anyList());
+
+        List<UserDto> result = userService.createAll(userDtos);
+
+        assertEquals(2, result.size());
+        assertEquals("rawPass1", result.get(0).password());
+        assertEquals("EMP002", result.get(1).employeeId());
+        verify(userRepository).insertAll(anyList());
+        verify(userDirectory).refreshAll(anyList());
+        verify(userDirectory, never()).rebuild();
+    }
+
+    @Test
+    public void createAllDuplicateItemTest() {
+        List<UserDto> userDtos = List.of(newUserDto("a@example.com", "EMP001"), newUserDto("b@example.com", "EMP001"));
+        stubNewUserReferences();
+
+        InvalidBulkItemException exception = assertThrows(InvalidBulkItemException.class, () -> userService.createAll(userDtos));
+
+        assertEquals(1, exception.getIndex());
+        verify(userRepository, never()).insertAll(anyList());
+    }
+
+    @Test
+    public void createAllEmptyTest() {
+        List<UserDto> result = userService.createAll(List.of());
+
+        assertTrue(result.isEmpty());
+    }
+
+    private UserDto newUserDto(String email, String employeeId) {
+        LocalDate now = LocalDate.now();
+        return UserDto.builder()
+                .email(email)
+                .employeeId(employeeId)
+                .contractSignature(now.plusDays(1))
+                .contractExpiration(now.plusYears(1))
+                .contractType(new ContractTypeDto(1L, null, 0))
+                .languages(List.of(new LanguageDto(1L, null, null)))
+                .roles(List.of(new RoleDto(1L, null, null)))
+                .residence(AddressDto.builder().build())
+                .workAddress(AddressDto.builder().id(2L).build())
+                .build();
+    }
+
+    private void stubNewUserReferences() {
+        when(repositoryCollector.getUsers()).thenReturn(userRepository);
+        when(repositoryCollector.getContractTypes()).thenReturn(contractTypeRepository);
+        when(contractTypeRepository.findAll()).thenReturn(List.of(new ContractType(1L, null, 0)));
+        when(repositoryCollector.getLanguages()).thenReturn(languageRepository);
+        when(languageRepository.findAll()).thenReturn(List.of(new Language(1L, null, null)));
+        when(repositoryCollector.getRoles()).thenReturn(roleRepository);
+        when(roleRepository.findAll()).thenReturn(List.of(new Role(1L, null, null)));
+        when(repositoryCollector.getAddresses()).thenReturn(addressRepository);
+        when(addressRepository.findByDepartmentNameNotNull()).thenReturn(List.of(Address.builder().id(2L).build()));
     }
 
     @Test
@@ -149,6 +271,7 @@ public class UserServiceImplTest {
         long userId = 1L;
         User user = new User();
         user.setId(userId);
+        user.setEmail("user@example.com");
         user.setIsActive(true);
         when(repositoryCollector.getUsers()).thenReturn(userRepository);
         when(userRepository.findByIdAndIsActiveTrue(userId)).thenReturn(Optional.of(user));
@@ -156,6 +279,9 @@ public class UserServiceImplTest {
         userService.delete(userId);
 
         assertFalse(user.getIsActive());
+        verify(tokenRevocationService).revokeTokens(userId);
+        verify(userAuthenticationCache).evict("user@example.com");
+        verify(userPhotoCache).evict(userId);
     }
 
     @Test
@@ -178,5 +304,30 @@ public class UserServiceImplTest {
         UserDto result = userService.update(userId, userDto);
 
         assertNotNull(result);
+        verify(tokenRevocationService, never()).revokeTokens(anyLong());
+    }
+
+    @Test
+    public void updateEmailChangedTest() {
+        long userId = 1L;
+        LocalDate now = LocalDate.now();
+        UserDto userDto = UserDto.builder()
+                .email("new@example.com")
+                .contractSignature(now.plusDays(1))
+                .contractExpiration(now.plusYears(1))
+                .contractType(new ContractTypeDto(1L, null, 0))
+                .build();
+        User user = new User();
+        user.setEmail("old@example.com");
+        ContractType contractType = new ContractType(1L, null, 0);
+        when(repositoryCollector.getUsers()).thenReturn(userRepository);
+        when(repositoryCollector.getContractTypes()).thenReturn(contractTypeRepository);
+        when(contractTypeRepository.findById(1L)).thenReturn(Optional.of(contractType));
+        when(userRepository.findByIdAndIsActiveTrue(userId)).thenReturn(Optional.of(user));
+        when(userRepository.save(any(User.class))).thenReturn(user);
+
+        userService.update(userId, userDto);
+
+        verify(tokenRevocationService).revokeTokens(userId);
     }
 }
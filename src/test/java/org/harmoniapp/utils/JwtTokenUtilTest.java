@@ -103,6 +103,18 @@ public class JwtTokenUtilTest {
         assertEquals("ROLE_USER", authorities);
     }
 
+    @Test
+    public void getClaimsValuesTest() {
+        SecretKey secretKey = Keys.hmacShaKeyFor("mysecretkeymysecretkeymysecretkeymysecretkey".getBytes(StandardCharsets.UTF_8));
+        String token = Jwts.builder().subject("user").claim("id", 5).claim("authorities", "ROLE_ADMIN").signWith(secretKey).compact();
+
+        Claims claims = jwtTokenUtil.decodeJWT(token);
+
+        assertEquals(5L, jwtTokenUtil.getUserId(claims));
+        assertEquals(List.of("ROLE_ADMIN"), jwtTokenUtil.getGrantedAuthorities(claims).stream()
+                .map(GrantedAuthority::getAuthority).toList());
+    }
+
     @Test
     public void isTokenValidTest() {
         when(userDetails.getUsername()).thenReturn("user");
@@ -0,0 +1,90 @@
+package org.harmoniapp.utils;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class TtlLruCacheTest {
+
+    private Clock clock;
+    private SimpleMeterRegistry meterRegistry;
+    private TtlLruCache<String, Integer> cache;
+    private AtomicInteger loads;
+    private Function<String, Integer> loader;
+
+    @BeforeEach
+    public void setUp() {
+        clock = mock(Clock.class);
+        when(clock.instant()).thenReturn(Instant.parse("2024-05-06T08:00:00Z"));
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new TtlLruCache<>("test", meterRegistry, 2, Duration.ofMinutes(1), clock);
+        loads = new AtomicInteger();
+        loader = key -> {
+            loads.incrementAndGet();
+            return key.length();
+        };
+    }
+
+    @Test
+    public void getCachesValueTest() {
+        assertEquals(3, cache.get("abc", loader));
+        assertEquals(3, cache.get("abc", loader));
+
+        assertEquals(1, loads.get());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "test").tag("result", "hit").counter().count());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "test").tag("result", "miss").counter().count());
+        assertEquals(1.0, meterRegistry.get("cache.size").tag("cache", "test").gauge().value());
+    }
+
+    @Test
+    public void getExpiredTest() {
+        cache.get("abc", loader);
+        when(clock.instant()).thenReturn(Instant.parse("2024-05-06T08:01:01Z"));
+
+        cache.get("abc", loader);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void getLoaderFailureNotCachedTest() {
+        assertThrows(IllegalStateException.class, () -> cache.get("abc", key -> {
+            throw new IllegalStateException();
+        }));
+
+        assertEquals(0, cache.size());
+        assertEquals(3, cache.get("abc", loader));
+    }
+
+    @Test
+    public void getEvictsLeastRecentlyUsedTest() {
+        cache.get("a", loader);
+        cache.get("bb", loader);
+        cache.get("a", loader);
+        cache.get("ccc", loader);
+
+        assertEquals(2, cache.size());
+        cache.get("a", loader);
+        cache.get("bb", loader);
+        assertEquals(4, loads.get());
+    }
+
+    @Test
+    public void evictTest() {
+        cache.get("abc", loader);
+
+        cache.evict("abc");
+        cache.get("abc", loader);
+
+        assertEquals(2, loads.get());
+    }
+}